@@ -0,0 +1,144 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.LookupBudget;
+import io.gitlab.rxp90.jsymspell.api.LookupResult;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Non-blocking facade over {@link SymSpellImpl}.
+ * <p>
+ * Lookups run on the given {@link Executor}. Cancelling a returned future stops the lookup at the next candidate, and
+ * lookups with a deadline complete with the suggestions found so far once the deadline has passed, flagged as partial.
+ * Any exception or error thrown by a lookup completes its future exceptionally.
+ */
+public class AsyncSymSpell {
+
+    private final SymSpellImpl symSpell;
+    private final Executor executor;
+
+    /**
+     * Creates an instance running lookups on {@link #defaultExecutor()}.
+     * @param symSpell instance performing the lookups
+     */
+    public AsyncSymSpell(SymSpellImpl symSpell) {
+        this(symSpell, defaultExecutor());
+    }
+
+    /**
+     * Creates an instance running lookups on {@code executor}.
+     * @param symSpell instance performing the lookups
+     * @param executor executor the lookups run on
+     */
+    public AsyncSymSpell(SymSpellImpl symSpell, Executor executor) {
+        this.symSpell = symSpell;
+        this.executor = executor;
+    }
+
+    /**
+     * Asynchronous version of {@link SymSpell#lookup(String, Verbosity, boolean)}.
+     * @param input string to apply spelling correction to
+     * @param verbosity see {@link Verbosity}
+     * @param includeUnknown controls whether non-lexicon words should be considered
+     * @return future completed with the sorted {@code List} of {@code SuggestItem} for a given {@code input}
+     */
+    public CompletableFuture<List<SuggestItem>> lookup(String input, Verbosity verbosity, boolean includeUnknown) {
+        return submit(guard -> symSpell.lookup(input, verbosity, includeUnknown, guard), LookupBudget.unlimited());
+    }
+
+    /**
+     * Same as {@link AsyncSymSpell#lookup(String, Verbosity, boolean)}, completing with the suggestions found so far once
+     * {@code deadline} has elapsed since this call.
+     * @param input string to apply spelling correction to
+     * @param verbosity see {@link Verbosity}
+     * @param includeUnknown controls whether non-lexicon words should be considered
+     * @param deadline maximum time the lookup may spend, including the time waiting for the executor
+     * @return future completed with the sorted suggestions for a given {@code input}, partial if the deadline passed
+     */
+    public CompletableFuture<LookupResult> lookup(String input, Verbosity verbosity, boolean includeUnknown, Duration deadline) {
+        return submit(guard -> new LookupResult(symSpell.lookup(input, verbosity, includeUnknown, guard), guard.isExhausted()),
+                      LookupBudget.unlimited().withTimeLimit(deadline));
+    }
+
+    /**
+     * Asynchronous version of {@link SymSpell#lookupCompound(String, int, boolean)}.
+     * @param input string to apply spelling correction to, where words are separated by spaces
+     * @param editDistanceMax limit up to which lexicon words can be considered suggestions
+     * @param includeUnknown controls whether non-lexicon words should be considered
+     * @return future completed with the {@code List} holding the corrected line
+     */
+    public CompletableFuture<List<SuggestItem>> lookupCompound(String input, int editDistanceMax, boolean includeUnknown) {
+        return submit(guard -> symSpell.lookupCompound(input, editDistanceMax, includeUnknown, guard), LookupBudget.unlimited());
+    }
+
+    /**
+     * Same as {@link AsyncSymSpell#lookupCompound(String, int, boolean)}, where every word is corrected with the suggestions
+     * found so far once {@code deadline} has elapsed since this call.
+     * @param input string to apply spelling correction to, where words are separated by spaces
+     * @param editDistanceMax limit up to which lexicon words can be considered suggestions
+     * @param includeUnknown controls whether non-lexicon words should be considered
+     * @param deadline maximum time the lookup may spend, including the time waiting for the executor
+     * @return future completed with the corrected line, partial if the deadline passed
+     */
+    public CompletableFuture<LookupResult> lookupCompound(String input, int editDistanceMax, boolean includeUnknown, Duration deadline) {
+        return submit(guard -> new LookupResult(symSpell.lookupCompound(input, editDistanceMax, includeUnknown, guard), guard.isExhausted()),
+                      LookupBudget.unlimited().withTimeLimit(deadline));
+    }
+
+    private <T> CompletableFuture<T> submit(Lookup<T> lookup, LookupBudget budget) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        LookupGuard guard = new LookupGuard(budget, future::isDone);
+        try {
+            executor.execute(() -> {
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    future.complete(lookup.run(guard));
+                } catch (Throwable t) {
+                    // Errors too, or the future would never complete
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Executor used when none is provided: a virtual thread per task when running on Java 21+, the common
+     * {@link ForkJoinPool} otherwise.
+     * @return executor used when none is provided
+     */
+    public static Executor defaultExecutor() {
+        return DefaultExecutorHolder.EXECUTOR;
+    }
+
+    @FunctionalInterface
+    private interface Lookup<T> {
+        T run(LookupGuard guard) throws Exception;
+    }
+
+    private static final class DefaultExecutorHolder {
+        private static final Executor EXECUTOR = createDefaultExecutor();
+
+        private static Executor createDefaultExecutor() {
+            try {
+                // Looked up reflectively so the library keeps compiling and running on Java 8
+                Method newVirtualThreadPerTaskExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (Executor) newVirtualThreadPerTaskExecutor.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                return ForkJoinPool.commonPool();
+            }
+        }
+    }
+}
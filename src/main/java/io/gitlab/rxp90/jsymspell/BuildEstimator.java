@@ -0,0 +1,150 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.BuildEstimate;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Predicts the size of an index from the deletes of a sample of its lexicon.
+ * <p>
+ * Postings grow linearly with the number of words. Distinct deletes grow more slowly, as words share more of them, so
+ * their number is extrapolated as a power of the number of words, fitted on the last doubling of the sample. Bytes follow
+ * the layout of {@link DeleteIndex}. Only the words indexed by their deletes during the build are sampled, those left to
+ * the {@link TailIndex} adding a few bytes each.
+ */
+final class BuildEstimator {
+
+    /**
+     * Bytes per distinct delete in {@link DeleteIndex.Builder}, besides its chars: hash map node, {@code String} and
+     * posting list
+     */
+    private static final int BUILDER_BYTES_PER_DELETE = 32 + 24 + 16 + 16 + 16;
+
+    private BuildEstimator() {
+    }
+
+    static BuildEstimate estimate(SymSpellBuilder builder, int sampleSize) {
+        if (sampleSize <= 0) {
+            throw new IllegalArgumentException("Sample size must be positive");
+        }
+        String[] words = builder.getUnigramLexicon().keySet().toArray(new String[0]);
+        int wordCount = words.length;
+        String[] sample = eagerWords(builder.getUnigramLexicon(), builder.getEagerWordCount());
+        int eagerCount = sample.length;
+        int sampled = Math.min(sampleSize, eagerCount);
+        // Partial Fisher-Yates shuffle, leaving the sample at the start
+        Random random = new Random(42);
+        for (int i = 0; i < sampled; i++) {
+            int j = i + random.nextInt(eagerCount - i);
+            String word = sample[i];
+            sample[i] = sample[j];
+            sample[j] = word;
+        }
+
+        Set<String> distinctDeletes = new HashSet<>();
+        int quarter = sampled / 4;
+        int half = 2 * quarter;
+        int distinctAtQuarter = 0;
+        int distinctAtHalf = 0;
+        long postings = 0;
+        long deleteChars = 0;
+        for (int i = 0; i < 4 * quarter; i++) {
+            if (i == quarter) {
+                distinctAtQuarter = distinctDeletes.size();
+            } else if (i == half) {
+                distinctAtHalf = distinctDeletes.size();
+            }
+            for (String delete : SymSpellImpl.indexedDeletes(sample[i], builder.getMaxDictionaryEditDistance(), builder.getPrefixLength(), builder.getDeletePartition())) {
+                postings++;
+                if (distinctDeletes.add(delete)) {
+                    deleteChars += delete.length();
+                }
+            }
+        }
+
+        sampled = 4 * quarter;
+        if (sampled < Math.min(sampleSize, eagerCount)) {
+            // The last words, left out to split the sample in quarters, still count for the postings
+            for (int i = sampled; i < Math.min(sampleSize, eagerCount); i++) {
+                postings += SymSpellImpl.indexedDeletes(sample[i], builder.getMaxDictionaryEditDistance(), builder.getPrefixLength(), builder.getDeletePartition()).size();
+            }
+            sampled = Math.min(sampleSize, eagerCount);
+        }
+        double scale = sampled == 0 ? 0 : (double) eagerCount / sampled;
+        long estimatedPostings = Math.round(postings * scale);
+        long estimatedDeletes;
+        if (sampled == eagerCount) {
+            estimatedDeletes = distinctDeletes.size();
+        } else if (distinctAtQuarter == 0) {
+            estimatedDeletes = Math.round(distinctDeletes.size() * scale);
+        } else {
+            estimatedDeletes = Math.min(estimatedPostings, extrapolate(distinctAtQuarter, distinctAtHalf, distinctDeletes.size(), (double) eagerCount / (4 * quarter)));
+        }
+        double meanDeleteLength = distinctDeletes.isEmpty() ? 0 : (double) deleteChars / distinctDeletes.size();
+
+        int capacity = DeleteIndex.capacityFor((int) Math.min(estimatedDeletes, Integer.MAX_VALUE / 2));
+        DeleteIndex.Alphabet alphabet = DeleteIndex.Alphabet.of(words);
+        long tableBytes = alphabet != null && alphabet.fitsInLong(builder.getPrefixLength())
+                ? DeleteIndex.arrayBytes(8, capacity) + alphabet.bytes()
+                : DeleteIndex.arrayBytes(4, capacity) + estimatedDeletes * (24 + DeleteIndex.arrayBytes(1, Math.round(meanDeleteLength)));
+        long indexBytes = tableBytes
+                + DeleteIndex.arrayBytes(4, capacity)
+                + DeleteIndex.arrayBytes(4, estimatedDeletes + 1)
+                + DeleteIndex.arrayBytes(4, estimatedPostings)
+                + DeleteIndex.arrayBytes(4, wordCount)
+                + DeleteIndex.arrayBytes(8, wordCount)
+                + (sampled == 0 ? 0 : Math.round(new WordIndex(Arrays.copyOf(sample, sampled)).estimatedBytes() * (double) wordCount / sampled))
+                // Hit counts of all words, then an id and two masks per tail word
+                + (eagerCount == wordCount ? 0 : DeleteIndex.arrayBytes(4, wordCount) + (wordCount - eagerCount) * (4L + 16))
+                + (builder.isDeleteFilterEnabled() ? DeleteFilter.estimatedBytes(estimatedDeletes, builder.getPrefixLength()) : 0)
+                + (builder.isLogProbabilityScoring() ? LogProbabilities.estimatedBytes(wordCount, builder.getBigramLexicon().size()) : 0)
+                + SymSpellImpl.lexiconBytes(wordCount)
+                + SymSpellImpl.lexiconBytes(builder.getBigramLexicon().size());
+        // Posting lists grow by doubling, so they hold up to twice their postings
+        long builderBytes = estimatedDeletes * (BUILDER_BYTES_PER_DELETE + Math.round(meanDeleteLength))
+                + 2 * 4 * estimatedPostings
+                + DeleteIndex.arrayBytes(4, capacity)
+                + DeleteIndex.arrayBytes(4, estimatedDeletes);
+        return new BuildEstimate(sampled, wordCount, estimatedDeletes, estimatedPostings, indexBytes, builderBytes + indexBytes);
+    }
+
+    /**
+     * Words indexed by their deletes during the build, the {@code eagerWordCount} most frequent ones.
+     */
+    private static String[] eagerWords(Map<String, Long> unigramLexicon, int eagerWordCount) {
+        if (eagerWordCount >= unigramLexicon.size()) {
+            return unigramLexicon.keySet().toArray(new String[0]);
+        }
+        return unigramLexicon.entrySet().stream()
+                             .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                             .limit(eagerWordCount)
+                             .map(Map.Entry::getKey)
+                             .toArray(String[]::new);
+    }
+
+    /**
+     * Extrapolates the number of distinct deletes from their number after a quarter, half and all of the sample. Each
+     * doubling of the words multiplies the deletes by {@code 2^exponent}, where the exponent decays by the same factor at
+     * every doubling as between the last two of the sample.
+     */
+    private static long extrapolate(int atQuarter, int atHalf, int atSample, double scale) {
+        double firstExponent = log2((double) atHalf / atQuarter);
+        double exponent = Math.max(0, Math.min(1, log2((double) atSample / atHalf)));
+        double decay = firstExponent > 0 ? Math.max(0, Math.min(1, exponent / firstExponent)) : 1;
+        double doublings = log2(scale);
+        double log2Growth = 0;
+        for (double doubling = 0; doubling < doublings; doubling++) {
+            exponent *= decay;
+            log2Growth += exponent * Math.min(1, doublings - doubling);
+        }
+        return Math.round(atSample * Math.pow(2, log2Growth));
+    }
+
+    private static double log2(double value) {
+        return Math.log(value) / Math.log(2);
+    }
+}
@@ -0,0 +1,171 @@
+package io.gitlab.rxp90.jsymspell;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact encoding where every code point takes exactly one {@code char}, so that deletes, prefixes and distances can keep
+ * working on UTF-16 strings without splitting surrogate pairs.
+ * <p>
+ * Each supplementary code point found in the lexicon is mapped to a BMP {@code char} the lexicon does not use, preferably
+ * from the private use area. Strings without surrogates are returned as they are, so mostly-ASCII dictionaries pay no
+ * memory overhead. Code points unknown to the lexicon are encoded as a sentinel that never matches a lexicon character.
+ */
+final class CodePointEncoder {
+
+    static final CodePointEncoder IDENTITY = new CodePointEncoder();
+
+    private static final int CHAR_COUNT = Character.MAX_VALUE + 1;
+    private static final char PRIVATE_USE_AREA_START = '\uE000';
+    private static final char REPLACEMENT_CHARACTER = '\uFFFD';
+
+    private final Map<Integer, Character> slotByCodePoint;
+    /**
+     * Code point encoded by each {@code char}, 0 when the {@code char} stands for itself
+     */
+    private final int[] codePointBySlot;
+    private final char unknown;
+
+    private CodePointEncoder() {
+        this.slotByCodePoint = null;
+        this.codePointBySlot = null;
+        this.unknown = 0;
+    }
+
+    private CodePointEncoder(Map<Integer, Character> slotByCodePoint, int[] codePointBySlot, char unknown) {
+        this.slotByCodePoint = slotByCodePoint;
+        this.codePointBySlot = codePointBySlot;
+        this.unknown = unknown;
+    }
+
+    /**
+     * Builds the encoding for the code points used by {@code words}.
+     * @param words lexicon words
+     * @return encoder mapping every supplementary code point of {@code words} to a single {@code char}
+     * @throws IllegalArgumentException if the lexicon uses too many distinct code points to fit the BMP
+     */
+    static CodePointEncoder forLexicon(Collection<String> words) {
+        boolean[] usedChars = new boolean[CHAR_COUNT];
+        Map<Integer, Character> slotByCodePoint = new HashMap<>();
+        for (String word : words) {
+            word.codePoints().forEach(codePoint -> {
+                if (Character.isBmpCodePoint(codePoint)) {
+                    usedChars[codePoint] = true;
+                } else {
+                    slotByCodePoint.put(codePoint, null);
+                }
+            });
+        }
+        int[] codePointBySlot = new int[CHAR_COUNT];
+        FreeChars freeChars = new FreeChars(usedChars);
+        char unknown = freeChars.next();
+        codePointBySlot[unknown] = REPLACEMENT_CHARACTER;
+        for (Map.Entry<Integer, Character> entry : slotByCodePoint.entrySet()) {
+            char slot = freeChars.next();
+            entry.setValue(slot);
+            codePointBySlot[slot] = entry.getKey();
+        }
+        return new CodePointEncoder(slotByCodePoint, codePointBySlot, unknown);
+    }
+
+    /**
+     * Encodes {@code string} so that each of its code points takes one {@code char}.
+     * @param string string to encode
+     * @return {@code string} itself if it needs no encoding, its encoded form otherwise
+     */
+    String encode(String string) {
+        if (codePointBySlot == null || !needsEncoding(string)) {
+            return string;
+        }
+        StringBuilder encoded = new StringBuilder(string.length());
+        for (int i = 0; i < string.length(); ) {
+            int codePoint = string.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isBmpCodePoint(codePoint)) {
+                boolean clashesWithSlot = codePointBySlot[codePoint] != 0 || Character.isSurrogate((char) codePoint);
+                encoded.append(clashesWithSlot ? unknown : (char) codePoint);
+            } else {
+                Character slot = slotByCodePoint.get(codePoint);
+                encoded.append(slot == null ? unknown : slot);
+            }
+        }
+        return encoded.toString();
+    }
+
+    /**
+     * Reverts {@link CodePointEncoder#encode(String)} for strings made of lexicon code points.
+     * @param encoded encoded string
+     * @return decoded string
+     */
+    String decode(String encoded) {
+        if (codePointBySlot == null || !isEncoded(encoded)) {
+            return encoded;
+        }
+        StringBuilder decoded = new StringBuilder(encoded.length() + 8);
+        for (int i = 0; i < encoded.length(); i++) {
+            char ch = encoded.charAt(i);
+            int codePoint = codePointBySlot[ch];
+            if (codePoint == 0) {
+                decoded.append(ch);
+            } else {
+                decoded.appendCodePoint(codePoint);
+            }
+        }
+        return decoded.toString();
+    }
+
+    /**
+     * Whether a split between {@code index - 1} and {@code index} keeps code points whole.
+     * @param string string to split
+     * @param index split position
+     * @return false if the split would break a surrogate pair while encoding is enabled
+     */
+    boolean isBoundary(String string, int index) {
+        return codePointBySlot == null || !Character.isSurrogatePair(string.charAt(index - 1), string.charAt(index));
+    }
+
+    private boolean needsEncoding(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            char ch = string.charAt(i);
+            if (Character.isSurrogate(ch) || codePointBySlot[ch] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isEncoded(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (codePointBySlot[string.charAt(i)] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Iterates over the non-surrogate BMP chars not used by the lexicon, starting at the private use area.
+     */
+    private static final class FreeChars {
+        private final boolean[] usedChars;
+        private int next = PRIVATE_USE_AREA_START;
+        private int visited = 0;
+
+        private FreeChars(boolean[] usedChars) {
+            this.usedChars = usedChars;
+        }
+
+        private char next() {
+            while (visited < CHAR_COUNT) {
+                char candidate = (char) next;
+                next = (next + 1) % CHAR_COUNT;
+                visited++;
+                if (candidate != 0 && !usedChars[candidate] && !Character.isSurrogate(candidate) && candidate != REPLACEMENT_CHARACTER) {
+                    return candidate;
+                }
+            }
+            throw new IllegalArgumentException("The lexicon uses too many distinct code points to be encoded");
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.Bigram;
+import io.gitlab.rxp90.jsymspell.api.LatticeOptions;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lattice of the corrections of a compound input, decoded with a beam search.
+ * <p>
+ * Each word of the input leads to the next one through its closest suggestions, through its best splits in two words, or
+ * to the word after next through the suggestions for both words written together. Lines are scored by their probability
+ * under a bigram model backing off to unigrams, multiplied by the edit probability for each edit. The beam keeps the best
+ * partial lines ending at each word, so that the work grows linearly with the input.
+ */
+final class CompoundLattice {
+
+    /**
+     * Weight of the unigram probability of a word when the bigram it forms with the previous word is unknown
+     */
+    private static final double BACKOFF = 0.4;
+    private static final double LOG_BACKOFF = Math.log(BACKOFF);
+    private static final Comparator<Hypothesis> BEST_FIRST = Comparator.comparingDouble((Hypothesis hypothesis) -> hypothesis.score).reversed();
+
+    private final SymSpellImpl symSpell;
+    private final Map<Bigram, Long> bigramLexicon;
+    /**
+     * Precomputed log probabilities, null to compute them from the lexicons
+     */
+    private final LogProbabilities logProbabilities;
+    private final double n;
+    private final int editDistanceMax;
+    private final LatticeOptions options;
+    private final double logEditProbability;
+
+    CompoundLattice(SymSpellImpl symSpell, double n, int editDistanceMax, LatticeOptions options) {
+        this.symSpell = symSpell;
+        this.bigramLexicon = symSpell.getBigramLexicon();
+        this.logProbabilities = symSpell.getLogProbabilities();
+        this.n = n;
+        this.editDistanceMax = editDistanceMax;
+        this.options = options;
+        this.logEditProbability = Math.log(options.getEditProbability());
+    }
+
+    /**
+     * Finds the most likely corrections of {@code input}.
+     * @param input words separated by spaces
+     * @return up to {@link LatticeOptions#getMaxResults()} distinct lines, best first
+     * @throws NotInitializedException if the lexicon is empty
+     */
+    List<Line> decode(String input) throws NotInitializedException {
+        String[] tokens = input.split(" ");
+        List<List<Hypothesis>> beams = new ArrayList<>();
+        for (int i = 0; i <= tokens.length; i++) {
+            beams.add(new ArrayList<>());
+        }
+        beams.get(0).add(new Hypothesis(null, null, null, 0, 0, 0));
+        for (int i = 0; i < tokens.length; i++) {
+            List<Hypothesis> beam = prune(beams.get(i), options.getBeamWidth());
+            if (beam.isEmpty()) {
+                continue;
+            }
+            for (Edge edge : edges(tokens, i)) {
+                List<Hypothesis> next = beams.get(i + edge.span);
+                for (Hypothesis hypothesis : beam) {
+                    next.add(extend(hypothesis, edge));
+                }
+            }
+        }
+
+        Set<String> texts = new LinkedHashSet<>();
+        List<Line> lines = new ArrayList<>();
+        for (Hypothesis hypothesis : prune(beams.get(tokens.length), options.getBeamWidth())) {
+            String text = hypothesis.text();
+            if (texts.add(text)) {
+                lines.add(new Line(text, hypothesis.logProbability));
+                if (lines.size() == options.getMaxResults()) {
+                    break;
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static List<Hypothesis> prune(List<Hypothesis> hypotheses, int beamWidth) {
+        hypotheses.sort(BEST_FIRST);
+        return hypotheses.size() > beamWidth ? hypotheses.subList(0, beamWidth) : hypotheses;
+    }
+
+    /**
+     * Corrections of the word at index {@code i}: its suggestions, itself if unknown, its splits, and the suggestions for
+     * the word combined with the next one.
+     */
+    private List<Edge> edges(String[] tokens, int i) throws NotInitializedException {
+        String token = tokens[i];
+        int candidates = options.getCandidatesPerWord();
+        List<Edge> edges = new ArrayList<>();
+        // Suggestions come sorted, closest first
+        List<SuggestItem> suggestions = symSpell.lookup(token, Verbosity.ALL, editDistanceMax, false, LookupGuard.UNLIMITED);
+        for (SuggestItem suggestion : suggestions.subList(0, Math.min(candidates, suggestions.size()))) {
+            edges.add(new Edge(1, suggestion.getEditDistance(), suggestion.getSuggestion()));
+        }
+        boolean known = !suggestions.isEmpty() && suggestions.get(0).getEditDistance() == 0;
+        if (!known) {
+            edges.add(new Edge(1, editDistanceMax + 1, token));
+            edges.addAll(splits(token, candidates));
+        }
+        if (i + 1 < tokens.length) {
+            List<SuggestItem> combinations = symSpell.lookup(token + tokens[i + 1], Verbosity.CLOSEST, editDistanceMax, false, LookupGuard.UNLIMITED);
+            for (SuggestItem combination : combinations.subList(0, Math.min(candidates, combinations.size()))) {
+                // Removing the space is one more edit
+                edges.add(new Edge(2, combination.getEditDistance() + 1, combination.getSuggestion()));
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Best splits of {@code token} in two words, each part being corrected into its top suggestion.
+     */
+    private List<Edge> splits(String token, int candidates) throws NotInitializedException {
+        List<Edge> splits = new ArrayList<>();
+        for (int j = 1; j < token.length(); j++) {
+            if (!symSpell.isSplitPoint(token, j)) {
+                continue;
+            }
+            List<SuggestItem> suggestions1 = symSpell.lookup(token.substring(0, j), Verbosity.TOP, editDistanceMax, false, LookupGuard.UNLIMITED);
+            if (suggestions1.isEmpty()) {
+                continue;
+            }
+            List<SuggestItem> suggestions2 = symSpell.lookup(token.substring(j), Verbosity.TOP, editDistanceMax, false, LookupGuard.UNLIMITED);
+            if (suggestions2.isEmpty()) {
+                continue;
+            }
+            SuggestItem part1 = suggestions1.get(0);
+            SuggestItem part2 = suggestions2.get(0);
+            // Inserting the space is one more edit
+            splits.add(new Edge(1, part1.getEditDistance() + part2.getEditDistance() + 1, part1.getSuggestion(), part2.getSuggestion()));
+        }
+        splits.sort(Comparator.comparingDouble(this::edgeScore).reversed());
+        return splits.size() > candidates ? splits.subList(0, candidates) : splits;
+    }
+
+    private double edgeScore(Edge edge) {
+        double score = edge.edits * logEditProbability;
+        String previous = null;
+        for (String word : edge.words) {
+            score += logProbability(previous, word);
+            previous = word;
+        }
+        return score;
+    }
+
+    private Hypothesis extend(Hypothesis hypothesis, Edge edge) {
+        double logProbability = hypothesis.logProbability;
+        String previous = hypothesis.lastWord;
+        for (String word : edge.words) {
+            logProbability += logProbability(previous, word);
+            previous = word;
+        }
+        int edits = hypothesis.edits + edge.edits;
+        return new Hypothesis(hypothesis, edge, previous, logProbability, edits, logProbability + edits * logEditProbability);
+    }
+
+    /**
+     * Log probability of {@code word} following {@code previous}, or starting the line if null.
+     */
+    private double logProbability(String previous, String word) {
+        if (logProbabilities != null) {
+            return precomputedLogProbability(previous, word);
+        }
+        double unigramProbability = unigramProbability(word);
+        if (previous == null || bigramLexicon.isEmpty()) {
+            return Math.log(unigramProbability);
+        }
+        Long bigramCount = bigramLexicon.get(new Bigram(previous, word));
+        long previousCount = symSpell.frequency(previous);
+        if (bigramCount != null && previousCount > 0) {
+            return Math.log(Math.min(1, (double) bigramCount / previousCount));
+        }
+        return Math.log(BACKOFF * unigramProbability);
+    }
+
+    /**
+     * Same as {@link CompoundLattice#logProbability(String, String)}, without allocating a bigram nor computing a log.
+     */
+    private double precomputedLogProbability(String previous, String word) {
+        int wordId = symSpell.wordId(word);
+        double unigramLogProbability = logProbabilities.word(wordId, word.length());
+        if (previous == null || bigramLexicon.isEmpty()) {
+            return unigramLogProbability;
+        }
+        double following = logProbabilities.following(symSpell.wordId(previous), wordId);
+        return Double.isNaN(following) ? LOG_BACKOFF + unigramLogProbability : following;
+    }
+
+    private double unigramProbability(String word) {
+        long count = symSpell.frequency(word);
+        if (count > 0) {
+            return count / n;
+        }
+        // Same estimate of the occurrences of an unknown word as lookupCompound: 10 / 10^length
+        return Math.max(Double.MIN_NORMAL, 10 / Math.pow(10, word.length()) / n);
+    }
+
+    /**
+     * Correction of the word at a position of the input, spanning one or two words of the input.
+     */
+    private static final class Edge {
+        private final int span;
+        private final int edits;
+        private final String[] words;
+
+        Edge(int span, int edits, String... words) {
+            this.span = span;
+            this.edits = edits;
+            this.words = words;
+        }
+    }
+
+    /**
+     * Partial line, from the start of the input to the end of its last edge.
+     */
+    private static final class Hypothesis {
+        private final Hypothesis previous;
+        private final Edge edge;
+        private final String lastWord;
+        private final double logProbability;
+        private final int edits;
+        private final double score;
+
+        Hypothesis(Hypothesis previous, Edge edge, String lastWord, double logProbability, int edits, double score) {
+            this.previous = previous;
+            this.edge = edge;
+            this.lastWord = lastWord;
+            this.logProbability = logProbability;
+            this.edits = edits;
+            this.score = score;
+        }
+
+        String text() {
+            List<Edge> edges = new ArrayList<>();
+            for (Hypothesis hypothesis = this; hypothesis.edge != null; hypothesis = hypothesis.previous) {
+                edges.add(hypothesis.edge);
+            }
+            StringBuilder text = new StringBuilder();
+            for (int i = edges.size() - 1; i >= 0; i--) {
+                for (String word : edges.get(i).words) {
+                    if (text.length() > 0) {
+                        text.append(' ');
+                    }
+                    text.append(word);
+                }
+            }
+            return text.toString();
+        }
+    }
+
+    /**
+     * Decoded line, with its probability under the language model.
+     */
+    static final class Line {
+        final String text;
+        final double logProbability;
+
+        Line(String text, double logProbability) {
+            this.text = text;
+            this.logProbability = logProbability;
+        }
+    }
+}
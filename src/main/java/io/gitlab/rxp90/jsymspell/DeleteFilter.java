@@ -0,0 +1,118 @@
+package io.gitlab.rxp90.jsymspell;
+
+/**
+ * Blocked Bloom filter over the keys of a {@link DeleteIndex}, rejecting most deletes that are not in the index without
+ * probing it.
+ * <p>
+ * Keys are hashed with a polynomial hash, so that the hash of a string with one char deleted can be derived from the
+ * prefix hashes of the string, without building the delete. All the bits of a key fall in the same {@code long}, so that a
+ * probe reads a single word.
+ */
+final class DeleteFilter {
+
+    private static final long BASE = 0x100000001B3L;
+    private static final int BITS_PER_KEY = 10;
+    private static final int HASH_FUNCTIONS = 6;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private final long[] blocks;
+    private final int blockShift;
+    /**
+     * {@code BASE^k}, for every length of delete
+     */
+    private final long[] powers;
+
+    DeleteFilter(DeleteIndex deletes, int maxKeyLength) {
+        this.blocks = new long[blockCount(deletes.size())];
+        this.blockShift = Long.SIZE - Integer.numberOfTrailingZeros(blocks.length);
+        this.powers = new long[maxKeyLength + 1];
+        powers[0] = 1;
+        for (int k = 1; k <= maxKeyLength; k++) {
+            powers[k] = powers[k - 1] * BASE;
+        }
+        deletes.forEachKey(key -> add(hash(key)));
+    }
+
+    private static int blockCount(long keys) {
+        // At least two blocks, as shifting a long by 64 bits would not clear it
+        int minBlocks = (int) Math.max(2, keys * BITS_PER_KEY / Long.SIZE);
+        return Integer.highestOneBit(minBlocks - 1) << 1;
+    }
+
+    /**
+     * Heap a filter over {@code keys} deletes would take.
+     * @param keys number of deletes
+     * @param maxKeyLength maximum length of a delete
+     * @return estimated size in bytes
+     */
+    static long estimatedBytes(long keys, int maxKeyLength) {
+        return DeleteIndex.arrayBytes(8, blockCount(keys)) + DeleteIndex.arrayBytes(8, maxKeyLength + 1);
+    }
+
+    static long hash(String string) {
+        long hash = 0;
+        for (int i = 0; i < string.length(); i++) {
+            hash = hash * BASE + string.charAt(i);
+        }
+        return hash;
+    }
+
+    /**
+     * Fills {@code prefixHashes} with the hashes of the prefixes of {@code string}.
+     * @param string string to hash
+     * @param prefixHashes array of at least {@code string.length() + 1} elements, where {@code prefixHashes[k]} is set to
+     *                     the hash of the first {@code k} chars
+     */
+    static void prefixHashes(String string, long[] prefixHashes) {
+        prefixHashes[0] = 0;
+        for (int i = 0; i < string.length(); i++) {
+            prefixHashes[i + 1] = prefixHashes[i] * BASE + string.charAt(i);
+        }
+    }
+
+    /**
+     * Hash of {@code string} without its char at {@code index}, equal to {@code hash(string.deleteCharAt(index))}.
+     * @param prefixHashes prefix hashes of the string, see {@link DeleteFilter#prefixHashes(String, long[])}
+     * @param length length of the string
+     * @param index index of the deleted char
+     * @return hash of the delete
+     */
+    long deleteHash(long[] prefixHashes, int length, int index) {
+        long suffixPower = powers[length - 1 - index];
+        long suffixHash = prefixHashes[length] - prefixHashes[index + 1] * suffixPower;
+        return prefixHashes[index] * suffixPower + suffixHash;
+    }
+
+    boolean mightContain(String delete) {
+        return mightContain(hash(delete));
+    }
+
+    boolean mightContain(long hash) {
+        long mixed = hash * GOLDEN_RATIO;
+        long mask = bitMask(mixed);
+        return (blocks[(int) (mixed >>> blockShift)] & mask) == mask;
+    }
+
+    long estimatedBytes() {
+        return DeleteIndex.arrayBytes(8, blocks.length) + DeleteIndex.arrayBytes(8, powers.length);
+    }
+
+    private void add(long hash) {
+        long mixed = hash * GOLDEN_RATIO;
+        blocks[(int) (mixed >>> blockShift)] |= bitMask(mixed);
+    }
+
+    /**
+     * Picks {@link DeleteFilter#HASH_FUNCTIONS} bits of the block, out of a second hash independent from the high bits of
+     * {@code mixed} that select the block.
+     */
+    private static long bitMask(long mixed) {
+        long bits = (mixed ^ (mixed >>> 32)) * 0xBF58476D1CE4E5B9L;
+        long mask = 0;
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            bits = Long.rotateLeft(bits, 6);
+            mask |= 1L << (bits & 63);
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,568 @@
+package io.gitlab.rxp90.jsymspell;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+/**
+ * Immutable map of Delete -> ids of the words that lead to that edited word.
+ * <p>
+ * Postings of all deletes are stored back to back in a single {@code int[]}, indexed by an entry id. Deletes are mapped to
+ * their entry through an open addressing table, keyed either by the delete packed into a {@code long} when the alphabet of
+ * the lexicon is small enough, or by the delete {@code String} otherwise.
+ */
+abstract class DeleteIndex {
+
+    static final int NOT_FOUND = -1;
+
+    private static final int EMPTY = -1;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Start of the postings of each entry in {@link DeleteIndex#postings}, plus the total number of postings at the end
+     */
+    private final int[] offsets;
+    private final int[] postings;
+    /**
+     * Entry stored in each slot of the hash table, {@link DeleteIndex#EMPTY} for free slots
+     */
+    final int[] entryBySlot;
+    final int mask;
+
+    DeleteIndex(int[] offsets, int[] postings, int capacity) {
+        this.offsets = offsets;
+        this.postings = postings;
+        this.entryBySlot = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(entryBySlot, EMPTY);
+    }
+
+    /**
+     * Finds the entry of {@code delete}.
+     * @param delete delete to look for
+     * @return entry id, or {@link DeleteIndex#NOT_FOUND} if no word leads to {@code delete}
+     */
+    abstract int entry(String delete);
+
+    /**
+     * Rebuilds the delete stored in a slot of the hash table.
+     * @param slot occupied slot
+     * @return delete stored in the slot
+     */
+    abstract String keyAt(int slot);
+
+    /**
+     * Bytes taken by the hash table, excluding postings.
+     * @return estimated size of the hash table
+     */
+    abstract long tableBytes();
+
+    /**
+     * Rebuilds every delete with its entry id. Meant for tests and statistics rather than lookups.
+     * @return map of delete -> entry id
+     */
+    Map<String, Integer> entries() {
+        Map<String, Integer> entries = new HashMap<>();
+        for (int slot = 0; slot < entryBySlot.length; slot++) {
+            if (entryBySlot[slot] != EMPTY) {
+                entries.put(keyAt(slot), entryBySlot[slot]);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Rebuilds every delete, without collecting them.
+     * @param consumer called with each delete
+     */
+    void forEachKey(Consumer<String> consumer) {
+        for (int slot = 0; slot < entryBySlot.length; slot++) {
+            if (entryBySlot[slot] != EMPTY) {
+                consumer.accept(keyAt(slot));
+            }
+        }
+    }
+
+    /**
+     * Deletes leading to the most words, with the number of words, most first. Meant for statistics rather than lookups.
+     * @param count maximum number of deletes returned
+     * @return map of delete -> number of words
+     */
+    Map<String, Integer> largestPostingLists(int count) {
+        Comparator<Integer> bySize = Comparator.comparingInt(slot -> postingLength(entryBySlot[slot]));
+        PriorityQueue<Integer> smallestFirst = new PriorityQueue<>(bySize);
+        for (int slot = 0; slot < entryBySlot.length && count > 0; slot++) {
+            if (entryBySlot[slot] == EMPTY) {
+                continue;
+            }
+            if (smallestFirst.size() < count) {
+                smallestFirst.add(slot);
+            } else if (bySize.compare(slot, smallestFirst.peek()) > 0) {
+                smallestFirst.poll();
+                smallestFirst.add(slot);
+            }
+        }
+        Integer[] slots = smallestFirst.toArray(new Integer[0]);
+        Arrays.sort(slots, bySize.reversed());
+        Map<String, Integer> largest = new LinkedHashMap<>();
+        for (int slot : slots) {
+            largest.put(keyAt(slot), postingLength(entryBySlot[slot]));
+        }
+        return largest;
+    }
+
+    int postingLength(int entry) {
+        return offsets[entry + 1] - offsets[entry];
+    }
+
+    int start(int entry) {
+        return offsets[entry];
+    }
+
+    int end(int entry) {
+        return offsets[entry + 1];
+    }
+
+    int wordId(int offset) {
+        return postings[offset];
+    }
+
+    /**
+     * Number of distinct deletes.
+     * @return number of entries
+     */
+    int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Number of (delete, word) pairs.
+     * @return number of postings
+     */
+    int postingCount() {
+        return postings.length;
+    }
+
+    /**
+     * Estimated heap taken by this index.
+     * @return estimated size in bytes
+     */
+    long estimatedBytes() {
+        return hashTableBytes() + postingListBytes();
+    }
+
+    /**
+     * Estimated heap taken by the hash table mapping deletes to their entry.
+     * @return estimated size in bytes
+     */
+    long hashTableBytes() {
+        return tableBytes() + arrayBytes(4, entryBySlot.length);
+    }
+
+    /**
+     * Estimated heap taken by the postings and their offsets.
+     * @return estimated size in bytes
+     */
+    long postingListBytes() {
+        return arrayBytes(4, offsets.length) + arrayBytes(4, postings.length);
+    }
+
+    static long arrayBytes(int elementBytes, long length) {
+        return 16 + elementBytes * length;
+    }
+
+    static int spread(long hash) {
+        return (int) ((hash * GOLDEN_RATIO) >>> 32);
+    }
+
+    static int capacityFor(int size) {
+        // Smallest power of two keeping the load factor <= 0.75
+        int minCapacity = Math.max(2, (int) Math.ceil(size / 0.75));
+        return Integer.highestOneBit(minCapacity - 1) << 1;
+    }
+
+    /**
+     * Collects (delete, word id) pairs, then freezes them into a {@link DeleteIndex}. Not thread-safe.
+     */
+    static final class Builder {
+        private final Map<String, IntList> postingsByDelete = new HashMap<>();
+        private int postingCount = 0;
+
+        void add(String delete, int wordId) {
+            postingsByDelete.computeIfAbsent(delete, ignored -> new IntList()).add(wordId);
+            postingCount++;
+        }
+
+        /**
+         * Appends the postings collected by {@code other} after those of this builder.
+         * @param other builder of the postings of later words
+         */
+        void addAll(Builder other) {
+            other.postingsByDelete.forEach((delete, wordIds) -> {
+                IntList merged = postingsByDelete.putIfAbsent(delete, wordIds);
+                if (merged != null) {
+                    merged.addAll(wordIds);
+                }
+            });
+            postingCount += other.postingCount;
+            other.postingsByDelete.clear();
+        }
+
+        /**
+         * Freezes the collected deletes.
+         * @param words words the postings refer to, whose chars make up the alphabet of the deletes
+         * @param prefixLength maximum length of a delete
+         * @return packed index if the deletes fit in a {@code long}, {@code String} keyed index otherwise
+         */
+        DeleteIndex build(String[] words, int prefixLength) {
+            return build(Collections.singletonList(this), words, prefixLength);
+        }
+
+        /**
+         * Freezes the deletes collected by several builders, none of them sharing a delete with another.
+         * @param builders builders of disjoint sets of deletes
+         * @param words words the postings refer to, whose chars make up the alphabet of the deletes
+         * @param prefixLength maximum length of a delete
+         * @return packed index if the deletes fit in a {@code long}, {@code String} keyed index otherwise
+         */
+        static DeleteIndex build(List<Builder> builders, String[] words, int prefixLength) {
+            int size = 0;
+            int postingCount = 0;
+            for (Builder builder : builders) {
+                size += builder.postingsByDelete.size();
+                postingCount += builder.postingCount;
+            }
+            String[] keys = new String[size];
+            int[] offsets = new int[size + 1];
+            int[] postings = new int[postingCount];
+            int entry = 0;
+            int offset = 0;
+            for (Builder builder : builders) {
+                for (Map.Entry<String, IntList> delete : builder.postingsByDelete.entrySet()) {
+                    keys[entry] = delete.getKey();
+                    offsets[entry] = offset;
+                    IntList wordIds = delete.getValue();
+                    System.arraycopy(wordIds.values, 0, postings, offset, wordIds.size);
+                    offset += wordIds.size;
+                    entry++;
+                }
+                builder.postingsByDelete.clear();
+            }
+            offsets[size] = offset;
+
+            Alphabet alphabet = Alphabet.of(words);
+            int capacity = capacityFor(size);
+            return alphabet != null && alphabet.fitsInLong(prefixLength)
+                    ? new PackedDeleteIndex(offsets, postings, capacity, alphabet, keys)
+                    : new StringDeleteIndex(offsets, postings, capacity, keys);
+        }
+    }
+
+    /**
+     * Collects the deletes of ranges of words on several threads, then freezes them into a {@link DeleteIndex}.
+     * <p>
+     * Each range is collected by a single task into builders of its own, one per shard of the deletes, so that no
+     * structure is shared while deletes are generated. Each shard is then merged by a single task, appending the postings
+     * of the ranges in order, so that the postings of every delete are sorted by word id, as with a sequential build.
+     */
+    static final class ParallelBuilder {
+        private final Executor executor;
+        private final int parallelism;
+
+        /**
+         * @param executor runs the tasks collecting and merging the deletes
+         * @param parallelism number of ranges of words, and of shards of the deletes
+         */
+        ParallelBuilder(Executor executor, int parallelism) {
+            this.executor = executor;
+            this.parallelism = parallelism;
+        }
+
+        /**
+         * Generates the deletes of every word and freezes them.
+         * @param words words to index, the id of a word being its index
+         * @param prefixLength maximum length of a delete
+         * @param deletesOfWord deletes of a word id, called from the threads of the executor
+         * @param progress called with the number of words whose deletes were generated so far, never concurrently
+         * @return packed index if the deletes fit in a {@code long}, {@code String} keyed index otherwise
+         */
+        DeleteIndex build(String[] words, int prefixLength, IntFunction<Collection<String>> deletesOfWord, IntConsumer progress) {
+            int rangeCount = Math.max(1, Math.min(parallelism, words.length));
+            int progressStep = Math.max(1, words.length / 100);
+            Builder[][] shardsByRange = new Builder[rangeCount][];
+            int[] done = new int[1];
+            List<CompletableFuture<Void>> ranges = new ArrayList<>();
+            for (int range = 0; range < rangeCount; range++) {
+                int index = range;
+                int from = (int) ((long) words.length * range / rangeCount);
+                int to = (int) ((long) words.length * (range + 1) / rangeCount);
+                ranges.add(CompletableFuture.runAsync(() -> {
+                    Builder[] shards = new Builder[rangeCount];
+                    for (int shard = 0; shard < rangeCount; shard++) {
+                        shards[shard] = new Builder();
+                    }
+                    int pending = 0;
+                    for (int wordId = from; wordId < to; wordId++) {
+                        for (String delete : deletesOfWord.apply(wordId)) {
+                            shards[shardOf(delete, rangeCount)].add(delete, wordId);
+                        }
+                        if (++pending == progressStep || wordId + 1 == to) {
+                            synchronized (done) {
+                                done[0] += pending;
+                                progress.accept(done[0]);
+                            }
+                            pending = 0;
+                        }
+                    }
+                    shardsByRange[index] = shards;
+                }, executor));
+            }
+            join(ranges);
+
+            List<Builder> shards = new ArrayList<>();
+            List<CompletableFuture<Void>> merges = new ArrayList<>();
+            for (int shard = 0; shard < rangeCount; shard++) {
+                int index = shard;
+                Builder merged = shardsByRange[0][shard];
+                shards.add(merged);
+                merges.add(CompletableFuture.runAsync(() -> {
+                    for (int range = 1; range < rangeCount; range++) {
+                        merged.addAll(shardsByRange[range][index]);
+                    }
+                }, executor));
+            }
+            join(merges);
+            return Builder.build(shards, words, prefixLength);
+        }
+
+        private static int shardOf(String delete, int shardCount) {
+            return (int) (((long) spread(delete.hashCode()) & 0xFFFFFFFFL) % shardCount);
+        }
+
+        private static void join(List<CompletableFuture<Void>> tasks) {
+            try {
+                CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Deletes keyed by their {@code String}.
+     */
+    static final class StringDeleteIndex extends DeleteIndex {
+        private final String[] keyBySlot;
+
+        StringDeleteIndex(int[] offsets, int[] postings, int capacity, String[] keys) {
+            super(offsets, postings, capacity);
+            this.keyBySlot = new String[capacity];
+            for (int entry = 0; entry < keys.length; entry++) {
+                int slot = spread(keys[entry].hashCode()) & mask;
+                while (entryBySlot[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                entryBySlot[slot] = entry;
+                keyBySlot[slot] = keys[entry];
+            }
+        }
+
+        @Override
+        int entry(String delete) {
+            int slot = spread(delete.hashCode()) & mask;
+            int entry;
+            while ((entry = entryBySlot[slot]) != EMPTY) {
+                if (delete.equals(keyBySlot[slot])) {
+                    return entry;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        String keyAt(int slot) {
+            return keyBySlot[slot];
+        }
+
+        @Override
+        long tableBytes() {
+            long stringBytes = 0;
+            for (String key : keyBySlot) {
+                if (key != null) {
+                    stringBytes += 24 + arrayBytes(1, key.length());
+                }
+            }
+            return arrayBytes(4, keyBySlot.length) + stringBytes;
+        }
+    }
+
+    /**
+     * Deletes packed into a {@code long}, {@link Alphabet#bitsPerChar} bits per char, so that hashing and equality work on
+     * primitives and no {@code String} is kept per delete.
+     */
+    static final class PackedDeleteIndex extends DeleteIndex {
+        private final Alphabet alphabet;
+        private final long[] keyBySlot;
+
+        PackedDeleteIndex(int[] offsets, int[] postings, int capacity, Alphabet alphabet, String[] keys) {
+            super(offsets, postings, capacity);
+            this.alphabet = alphabet;
+            this.keyBySlot = new long[capacity];
+            for (int entry = 0; entry < keys.length; entry++) {
+                long key = alphabet.pack(keys[entry]);
+                int slot = spread(key) & mask;
+                while (entryBySlot[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                entryBySlot[slot] = entry;
+                keyBySlot[slot] = key;
+            }
+        }
+
+        @Override
+        int entry(String delete) {
+            if (delete.length() > alphabet.maxPackedLength) {
+                return NOT_FOUND;
+            }
+            long key = alphabet.pack(delete);
+            if (key == Alphabet.UNKNOWN_CHAR) {
+                return NOT_FOUND;
+            }
+            int slot = spread(key) & mask;
+            int entry;
+            while ((entry = entryBySlot[slot]) != EMPTY) {
+                if (keyBySlot[slot] == key) {
+                    return entry;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        String keyAt(int slot) {
+            return alphabet.unpack(keyBySlot[slot]);
+        }
+
+        @Override
+        long tableBytes() {
+            return arrayBytes(8, keyBySlot.length) + alphabet.bytes();
+        }
+    }
+
+    /**
+     * Maps each char of the lexicon to a code in {@code [1, size]}, 0 being reserved for the end of the string.
+     */
+    static final class Alphabet {
+        static final long UNKNOWN_CHAR = -1L;
+
+        private final byte[] codeByChar;
+        private final char[] charByCode;
+        private final int bitsPerChar;
+        private final int maxPackedLength;
+
+        private Alphabet(byte[] codeByChar, char[] charByCode) {
+            this.codeByChar = codeByChar;
+            this.charByCode = charByCode;
+            this.bitsPerChar = 32 - Integer.numberOfLeadingZeros(charByCode.length - 1);
+            // One bit is kept free so that packed keys are never negative, i.e. never UNKNOWN_CHAR
+            this.maxPackedLength = 63 / Math.max(1, bitsPerChar);
+        }
+
+        /**
+         * Collects the chars of {@code words}.
+         * @param words words of the lexicon
+         * @return alphabet of the lexicon, or null if it has more than 255 distinct chars
+         */
+        static Alphabet of(String[] words) {
+            byte[] codeByChar = new byte[Character.MAX_VALUE + 1];
+            StringBuilder chars = new StringBuilder().append('\0');
+            for (String word : words) {
+                for (int i = 0; i < word.length(); i++) {
+                    char ch = word.charAt(i);
+                    if (codeByChar[ch] == 0) {
+                        if (chars.length() == 256) {
+                            return null;
+                        }
+                        codeByChar[ch] = (byte) chars.length();
+                        chars.append(ch);
+                    }
+                }
+            }
+            return new Alphabet(codeByChar, chars.toString().toCharArray());
+        }
+
+        boolean fitsInLong(int prefixLength) {
+            return prefixLength <= maxPackedLength;
+        }
+
+        long pack(String string) {
+            long key = 0;
+            for (int i = string.length() - 1; i >= 0; i--) {
+                int code = codeByChar[string.charAt(i)] & 0xFF;
+                if (code == 0) {
+                    return UNKNOWN_CHAR;
+                }
+                key = (key << bitsPerChar) | code;
+            }
+            return key;
+        }
+
+        String unpack(long key) {
+            StringBuilder string = new StringBuilder();
+            long charMask = (1L << bitsPerChar) - 1;
+            while (key != 0) {
+                string.append(charByCode[(int) (key & charMask)]);
+                key >>>= bitsPerChar;
+            }
+            return string.toString();
+        }
+
+        long bytes() {
+            return arrayBytes(1, codeByChar.length) + arrayBytes(2, charByCode.length);
+        }
+    }
+
+    /**
+     * Growable list of primitive ints.
+     */
+    static final class IntList {
+        private int[] values = new int[2];
+        private int size = 0;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(IntList other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(size + other.size, size * 2));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+        }
+    }
+}
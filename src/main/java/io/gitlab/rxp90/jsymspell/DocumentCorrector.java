@@ -0,0 +1,261 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Corrects the words of a document, leaving everything else as it is: punctuation, whitespace, numbers, URLs and e-mail
+ * addresses.
+ * <p>
+ * The text is read once. It is cut into chunks of non-whitespace chars, and each chunk into words made of letters and
+ * inner apostrophes. Chunks that look like a URL or an e-mail address are skipped, as well as words containing digits,
+ * words of mixed case such as "iPhone", single letters, and words of the lexicon, found with an exact match, along with
+ * their possessives. The other words are looked up in lower case, and their corrections are written with the casing of
+ * the original word: lower case, capitalized or upper case. The output is the input with these corrections applied at
+ * their offsets, so that unchanged text is copied in ranges rather than token by token. Each correction is written as
+ * soon as it is found, preceded by the unchanged text before it.
+ */
+public class DocumentCorrector {
+
+    private final SymSpell symSpell;
+    private final Map<String, Long> unigramLexicon;
+
+    /**
+     * @param symSpell dictionary whose lexicon is in lower case
+     */
+    public DocumentCorrector(SymSpell symSpell) {
+        this.symSpell = symSpell;
+        this.unigramLexicon = symSpell.getUnigramLexicon();
+    }
+
+    /**
+     * Corrects the misspelled words of {@code text}.
+     * @param text document to correct
+     * @return corrected document
+     * @throws NotInitializedException if the lexicon is empty
+     */
+    public String correct(CharSequence text) throws NotInitializedException {
+        StringBuilder corrected = new StringBuilder(text.length() + 16);
+        correct(text, corrected);
+        return corrected.toString();
+    }
+
+    /**
+     * Writes {@code text} to {@code out}, with its misspelled words corrected. Corrections are written as they are found,
+     * so that {@code out} receives the beginning of the document before the end of it has been read.
+     * @param text document to correct
+     * @param out receives the corrected document, unchanged ranges being appended as they are
+     * @throws NotInitializedException if the lexicon is empty
+     * @throws UncheckedIOException if {@code out} fails
+     */
+    public void correct(CharSequence text, Appendable out) throws NotInitializedException {
+        // Offset up to which the text has been written
+        int[] copied = {0};
+        try {
+            scan(text, correction -> {
+                out.append(text, copied[0], correction.start).append(correction.replacement);
+                copied[0] = correction.end;
+            });
+            out.append(text, copied[0], text.length());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Finds the misspelled words of {@code text}, without applying their corrections.
+     * @param text document to correct
+     * @return corrections, in the order of the text
+     * @throws NotInitializedException if the lexicon is empty
+     */
+    public List<Correction> corrections(CharSequence text) throws NotInitializedException {
+        List<Correction> corrections = new ArrayList<>();
+        try {
+            scan(text, corrections::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return corrections;
+    }
+
+    /**
+     * Passes the corrections of {@code text} to {@code sink}, in the order of the text.
+     */
+    private void scan(CharSequence text, CorrectionSink sink) throws NotInitializedException, IOException {
+        if (unigramLexicon.isEmpty()) {
+            throw new NotInitializedException("There are no words in the lexicon.");
+        }
+        // Words of the current chunk, as start and end offsets
+        int[] words = new int[32];
+        int wordCount = 0;
+        boolean skipChunk = false;
+        int wordStart = -1;
+        boolean wordHasDigit = false;
+        int length = text.length();
+        for (int i = 0; i <= length; i++) {
+            char ch = i < length ? text.charAt(i) : ' ';
+            boolean letter = Character.isLetter(ch);
+            boolean digit = !letter && Character.isDigit(ch);
+            boolean innerApostrophe = wordStart >= 0 && isApostrophe(ch) && i + 1 < length && Character.isLetter(text.charAt(i + 1));
+            if (letter || digit || innerApostrophe) {
+                if (wordStart < 0) {
+                    wordStart = i;
+                    wordHasDigit = false;
+                }
+                wordHasDigit |= digit;
+                continue;
+            }
+            if (wordStart >= 0) {
+                if (!wordHasDigit && i - wordStart > 1) {
+                    if (2 * wordCount + 2 > words.length) {
+                        words = Arrays.copyOf(words, words.length * 2);
+                    }
+                    words[2 * wordCount] = wordStart;
+                    words[2 * wordCount + 1] = i;
+                    wordCount++;
+                }
+                wordStart = -1;
+            }
+            if (Character.isWhitespace(ch)) {
+                if (!skipChunk) {
+                    for (int word = 0; word < wordCount; word++) {
+                        correct(text, words[2 * word], words[2 * word + 1], sink);
+                    }
+                }
+                wordCount = 0;
+                skipChunk = false;
+            } else if (ch == '@' || ch == ':' && i + 2 < length && text.charAt(i + 1) == '/' && text.charAt(i + 2) == '/'
+                    || ch == '.' && i >= 3 && isWww(text, i - 3)) {
+                skipChunk = true;
+            }
+        }
+    }
+
+    private void correct(CharSequence text, int start, int end, CorrectionSink sink) throws NotInitializedException, IOException {
+        int upperCase = 0;
+        // Apostrophes have no case
+        int letters = 0;
+        char[] chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            char ch = text.charAt(i);
+            if (Character.isUpperCase(ch)) {
+                upperCase++;
+            }
+            if (Character.isLetter(ch)) {
+                letters++;
+            }
+            chars[i - start] = isApostrophe(ch) ? '\'' : ch;
+        }
+        boolean capitalized = upperCase == 1 && Character.isUpperCase(text.charAt(start));
+        boolean allUpperCase = upperCase == letters;
+        if (upperCase > 0 && !capitalized && !allUpperCase) {
+            return;
+        }
+        String word = new String(chars).toLowerCase(Locale.ROOT);
+        if (unigramLexicon.containsKey(word) || isPossessive(word)) {
+            return;
+        }
+        List<SuggestItem> suggestions = symSpell.lookup(word, Verbosity.TOP, false);
+        if (suggestions.isEmpty()) {
+            return;
+        }
+        String suggestion = suggestions.get(0).getSuggestion();
+        if (allUpperCase) {
+            suggestion = suggestion.toUpperCase(Locale.ROOT);
+        } else if (capitalized && !suggestion.isEmpty()) {
+            suggestion = Character.toUpperCase(suggestion.charAt(0)) + suggestion.substring(1);
+        }
+        sink.accept(new Correction(start, end, text.subSequence(start, end).toString(), suggestion));
+    }
+
+    /**
+     * Whether {@code word} is a known word followed by 's, as lexicons rarely list possessives.
+     */
+    private boolean isPossessive(String word) {
+        return word.endsWith("'s") && unigramLexicon.containsKey(word.substring(0, word.length() - 2));
+    }
+
+    private static boolean isApostrophe(char ch) {
+        return ch == '\'' || ch == '\u2019';
+    }
+
+    private static boolean isWww(CharSequence text, int start) {
+        for (int i = start; i < start + 3; i++) {
+            if (Character.toLowerCase(text.charAt(i)) != 'w') {
+                return false;
+            }
+        }
+        return start == 0 || !Character.isLetterOrDigit(text.charAt(start - 1));
+    }
+
+    @FunctionalInterface
+    private interface CorrectionSink {
+        void accept(Correction correction) throws IOException;
+    }
+
+    /**
+     * Replacement of a misspelled word, at its offsets in the document.
+     */
+    public static final class Correction {
+        private final int start;
+        private final int end;
+        private final String original;
+        private final String replacement;
+
+        Correction(int start, int end, String original, String replacement) {
+            this.start = start;
+            this.end = end;
+            this.original = original;
+            this.replacement = replacement;
+        }
+
+        /**
+         * @return offset of the first char of the misspelled word
+         */
+        public int getStart() {
+            return start;
+        }
+
+        /**
+         * @return offset after the last char of the misspelled word
+         */
+        public int getEnd() {
+            return end;
+        }
+
+        public String getOriginal() {
+            return original;
+        }
+
+        /**
+         * @return correction of the word, with its casing
+         */
+        public String getReplacement() {
+            return replacement;
+        }
+
+        @Override
+        public String toString() {
+            return "Correction{"
+                    + "start="
+                    + start
+                    + ", end="
+                    + end
+                    + ", original='"
+                    + original
+                    + '\''
+                    + ", replacement='"
+                    + replacement
+                    + '\''
+                    + '}';
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.Bigram;
+import io.gitlab.rxp90.jsymspell.api.LookupBudget;
+import io.gitlab.rxp90.jsymspell.api.LookupResult;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link SymSpell} over several dictionaries merged into a single index, so that deletes are generated and traversed once
+ * per lookup, and suggestions of all dictionaries are ranked together. Built with {@link FederatedSymSpellBuilder}.
+ */
+public class FederatedSymSpell implements SymSpell {
+
+    private final SymSpellImpl symSpell;
+    private final List<String> dictionaryNames;
+    /**
+     * Dictionaries each word comes from, as a bit set of indexes in {@link FederatedSymSpell#dictionaryNames}
+     */
+    private final Map<String, Long> sourcesByWord;
+
+    FederatedSymSpell(SymSpellImpl symSpell, List<String> dictionaryNames, Map<String, Long> sourcesByWord) {
+        this.symSpell = symSpell;
+        this.dictionaryNames = Collections.unmodifiableList(new ArrayList<>(dictionaryNames));
+        this.sourcesByWord = sourcesByWord;
+    }
+
+    /**
+     * Names of the dictionaries {@code word} comes from.
+     * @param word word of the merged lexicon, e.g. a {@link SuggestItem#getSuggestion()}
+     * @return names of the dictionaries containing {@code word}, in the order they were added, empty if none does
+     */
+    public List<String> getSources(String word) {
+        long sources = sourcesByWord.getOrDefault(word, 0L);
+        List<String> names = new ArrayList<>(Long.bitCount(sources));
+        while (sources != 0) {
+            names.add(dictionaryNames.get(Long.numberOfTrailingZeros(sources)));
+            sources &= sources - 1;
+        }
+        return names;
+    }
+
+    /**
+     * Names of the federated dictionaries.
+     * @return names of the dictionaries, in the order they were added
+     */
+    public List<String> getDictionaryNames() {
+        return dictionaryNames;
+    }
+
+    @Override
+    public List<SuggestItem> lookup(String input, Verbosity verbosity, boolean includeUnknown) throws NotInitializedException {
+        return symSpell.lookup(input, verbosity, includeUnknown);
+    }
+
+    @Override
+    public List<SuggestItem> lookup(String input, Verbosity verbosity) throws NotInitializedException {
+        return symSpell.lookup(input, verbosity);
+    }
+
+    @Override
+    public LookupResult lookup(String input, Verbosity verbosity, boolean includeUnknown, LookupBudget budget) throws NotInitializedException {
+        return symSpell.lookup(input, verbosity, includeUnknown, budget);
+    }
+
+    @Override
+    public List<SuggestItem> lookupCompound(String input, int editDistanceMax, boolean includeUnknown) throws NotInitializedException {
+        return symSpell.lookupCompound(input, editDistanceMax, includeUnknown);
+    }
+
+    @Override
+    public LookupResult lookupCompound(String input, int editDistanceMax, boolean includeUnknown, LookupBudget budget) throws NotInitializedException {
+        return symSpell.lookupCompound(input, editDistanceMax, includeUnknown, budget);
+    }
+
+    @Override
+    public Map<String, Long> getUnigramLexicon() {
+        return symSpell.getUnigramLexicon();
+    }
+
+    @Override
+    public Map<Bigram, Long> getBigramLexicon() {
+        return symSpell.getBigramLexicon();
+    }
+
+    @Override
+    public int getMaxDictionaryEditDistance() {
+        return symSpell.getMaxDictionaryEditDistance();
+    }
+}
@@ -0,0 +1,112 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.Bigram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a {@link FederatedSymSpell} out of several dictionaries, e.g. one per domain.
+ * <p>
+ * The dictionaries are merged into a single index, where the frequency of each word is the sum of its frequencies in each
+ * dictionary, multiplied by the weight of the dictionary.
+ */
+public class FederatedSymSpellBuilder {
+
+    static final int MAX_DICTIONARIES = Long.SIZE;
+
+    private final List<Dictionary> dictionaries = new ArrayList<>();
+    private SymSpellBuilder symSpellBuilder = new SymSpellBuilder();
+
+    /**
+     * Adds a dictionary without bigrams.
+     * @see FederatedSymSpellBuilder#addDictionary(String, Map, Map, double)
+     * @param name name of the dictionary
+     * @param unigramLexicon map where the key is the word and the value is the frequency
+     * @param weight factor applied to the frequencies of this dictionary, positive and finite
+     * @return this builder
+     */
+    public FederatedSymSpellBuilder addDictionary(String name, Map<String, Long> unigramLexicon, double weight) {
+        return addDictionary(name, unigramLexicon, Collections.emptyMap(), weight);
+    }
+
+    /**
+     * Adds a dictionary to the federation.
+     * @param name name of the dictionary, reported by {@link FederatedSymSpell#getSources(String)}
+     * @param unigramLexicon map where the key is the word and the value is the frequency
+     * @param bigramLexicon map where the key is the bigram and the value is the frequency
+     * @param weight factor applied to the frequencies of this dictionary, positive and finite
+     * @return this builder
+     */
+    public FederatedSymSpellBuilder addDictionary(String name, Map<String, Long> unigramLexicon, Map<Bigram, Long> bigramLexicon, double weight) {
+        if (!(weight > 0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("weight must be positive and finite");
+        }
+        if (dictionaries.size() == MAX_DICTIONARIES) {
+            throw new IllegalArgumentException("At most " + MAX_DICTIONARIES + " dictionaries can be federated");
+        }
+        for (Dictionary dictionary : dictionaries) {
+            if (dictionary.name.equals(name)) {
+                throw new IllegalArgumentException("Duplicate dictionary " + name);
+            }
+        }
+        dictionaries.add(new Dictionary(name, unigramLexicon, bigramLexicon, weight));
+        return this;
+    }
+
+    /**
+     * Sets the settings of the merged index, such as its maximum edit distance. The lexicons of {@code symSpellBuilder}
+     * are replaced by the merged dictionaries.
+     * @param symSpellBuilder settings of the merged index
+     * @return this builder
+     */
+    public FederatedSymSpellBuilder setSymSpellBuilder(SymSpellBuilder symSpellBuilder) {
+        this.symSpellBuilder = symSpellBuilder;
+        return this;
+    }
+
+    public FederatedSymSpell createSymSpell() {
+        Map<String, Long> unigramLexicon = new HashMap<>();
+        Map<Bigram, Long> bigramLexicon = new HashMap<>();
+        Map<String, Long> sourcesByWord = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        for (int source = 0; source < dictionaries.size(); source++) {
+            Dictionary dictionary = dictionaries.get(source);
+            names.add(dictionary.name);
+            long sourceBit = 1L << source;
+            dictionary.unigramLexicon.forEach((word, count) -> {
+                unigramLexicon.merge(word, dictionary.weigh(count), SymSpellImpl::saturatedSum);
+                sourcesByWord.merge(word, sourceBit, (a, b) -> a | b);
+            });
+            dictionary.bigramLexicon.forEach((bigram, count) -> bigramLexicon.merge(bigram, dictionary.weigh(count), SymSpellImpl::saturatedSum));
+        }
+        SymSpellImpl symSpell = symSpellBuilder.setUnigramLexicon(unigramLexicon)
+                                               .setBigramLexicon(bigramLexicon)
+                                               .createSymSpell();
+        return new FederatedSymSpell(symSpell, names, sourcesByWord);
+    }
+
+    private static final class Dictionary {
+        private final String name;
+        private final Map<String, Long> unigramLexicon;
+        private final Map<Bigram, Long> bigramLexicon;
+        private final double weight;
+
+        private Dictionary(String name, Map<String, Long> unigramLexicon, Map<Bigram, Long> bigramLexicon, double weight) {
+            this.name = name;
+            this.unigramLexicon = unigramLexicon;
+            this.bigramLexicon = bigramLexicon;
+            this.weight = weight;
+        }
+
+        /**
+         * Weighted frequency, at least 1 so that every word of the dictionary can still be suggested.
+         */
+        private long weigh(long count) {
+            return Math.max(1, Math.round(count * weight));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.Bigram;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Natural logs of the counts of the words and bigrams of the dictionary, computed once at build time, so that
+ * probabilities of words and lines are sums rather than products, which neither truncate nor underflow.
+ * <p>
+ * Word counts are read by word id. Bigram counts are kept in an open addressing table keyed by the ids of both words,
+ * so that looking one up allocates nothing; bigrams with a word out of the lexicon are left out.
+ */
+final class LogProbabilities {
+
+    private static final double LOG_10 = Math.log(10);
+    private static final long EMPTY = -1L;
+
+    private final double[] logCounts;
+    private final double logN;
+    /**
+     * Id of the first word in the high 32 bits and of the second one in the low 32 bits, {@link LogProbabilities#EMPTY}
+     * for free slots
+     */
+    private final long[] bigramKeys;
+    private final double[] bigramLogCounts;
+    private final int bigramCount;
+
+    /**
+     * @param counts count of each word, by word id
+     * @param n sum of all counts
+     * @param bigrams counts of the bigrams
+     * @param wordId id of a word, {@link WordIndex#NOT_FOUND} if it is not in the lexicon
+     */
+    LogProbabilities(long[] counts, long n, Map<Bigram, Long> bigrams, ToIntFunction<String> wordId) {
+        this.logCounts = new double[counts.length];
+        for (int id = 0; id < counts.length; id++) {
+            logCounts[id] = Math.log(counts[id]);
+        }
+        this.logN = Math.log(n);
+        int capacity = capacityFor(bigrams.size());
+        this.bigramKeys = new long[capacity];
+        this.bigramLogCounts = new double[capacity];
+        Arrays.fill(bigramKeys, EMPTY);
+        int added = 0;
+        for (Map.Entry<Bigram, Long> bigram : bigrams.entrySet()) {
+            int first = wordId.applyAsInt(bigram.getKey().getWord1());
+            int second = wordId.applyAsInt(bigram.getKey().getWord2());
+            if (first == WordIndex.NOT_FOUND || second == WordIndex.NOT_FOUND || bigram.getValue() <= 0) {
+                continue;
+            }
+            long key = key(first, second);
+            int slot = slot(key);
+            while (bigramKeys[slot] != EMPTY && bigramKeys[slot] != key) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            if (bigramKeys[slot] == EMPTY) {
+                added++;
+            }
+            bigramKeys[slot] = key;
+            bigramLogCounts[slot] = Math.log(bigram.getValue());
+        }
+        this.bigramCount = added;
+    }
+
+    /**
+     * @return log of the sum of all counts
+     */
+    double logN() {
+        return logN;
+    }
+
+    /**
+     * @param wordId id of a lexicon word
+     * @return log of its probability
+     */
+    double word(int wordId) {
+        return logCounts[wordId] - logN;
+    }
+
+    /**
+     * Log of the probability of an unknown word of {@code length} chars, estimated as 10 / 10^length occurrences in the
+     * dictionary, as {@link SymSpellImpl#lookupCompound(String, int, boolean)} does with frequencies.
+     */
+    double unknownWord(int length) {
+        return (1 - length) * LOG_10 - logN;
+    }
+
+    /**
+     * @param wordId id of a word, {@link WordIndex#NOT_FOUND} if it is not in the lexicon
+     * @param length length of the word
+     * @return log of its probability, estimated from its length if unknown
+     */
+    double word(int wordId, int length) {
+        return wordId == WordIndex.NOT_FOUND ? unknownWord(length) : word(wordId);
+    }
+
+    /**
+     * @return log of the count of the bigram of both words, NaN if the bigram or one of the words is unknown
+     */
+    private double bigramLogCount(int first, int second) {
+        if (first == WordIndex.NOT_FOUND || second == WordIndex.NOT_FOUND || bigramCount == 0) {
+            return Double.NaN;
+        }
+        long key = key(first, second);
+        for (int slot = slot(key); bigramKeys[slot] != EMPTY; slot = (slot + 1) & (bigramKeys.length - 1)) {
+            if (bigramKeys[slot] == key) {
+                return bigramLogCounts[slot];
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * @return log of the probability of {@code second} following {@code first}, at most 0, NaN if the bigram is unknown
+     */
+    double following(int first, int second) {
+        double bigramLogCount = bigramLogCount(first, second);
+        return Double.isNaN(bigramLogCount) ? Double.NaN : Math.min(0, bigramLogCount - logCounts[first]);
+    }
+
+    long estimatedBytes() {
+        return DeleteIndex.arrayBytes(8, logCounts.length) + DeleteIndex.arrayBytes(8, bigramKeys.length) + DeleteIndex.arrayBytes(8, bigramLogCounts.length);
+    }
+
+    /**
+     * Heap of the log probabilities of {@code wordCount} words and up to {@code bigramCount} bigrams.
+     */
+    static long estimatedBytes(int wordCount, int bigramCount) {
+        return DeleteIndex.arrayBytes(8, wordCount) + 2 * DeleteIndex.arrayBytes(8, capacityFor(bigramCount));
+    }
+
+    /**
+     * Power of two at least twice the number of bigrams, so that the table is at most half full.
+     */
+    private static int capacityFor(int bigramCount) {
+        return Integer.highestOneBit(Math.max(1, bigramCount) * 2 - 1) << 1;
+    }
+
+    private static long key(int first, int second) {
+        return ((long) first << 32) | (second & 0xFFFFFFFFL);
+    }
+
+    private int slot(long key) {
+        return DeleteIndex.spread(key) & (bigramKeys.length - 1);
+    }
+}
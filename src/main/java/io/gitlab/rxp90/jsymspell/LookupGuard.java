@@ -0,0 +1,84 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.LookupBudget;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Tracks the {@link LookupBudget} consumed by a single call, which may span several lookups as in
+ * {@link SymSpell#lookupCompound(String, int, boolean)}. Not thread-safe.
+ */
+final class LookupGuard {
+
+    private static final BooleanSupplier NEVER_CANCELLED = () -> false;
+    /**
+     * Distance computations between two checks of the time limit and of cancellation, a power of two
+     */
+    private static final int DISTANCE_CHECK_INTERVAL = 64;
+
+    static final LookupGuard UNLIMITED = new LookupGuard(LookupBudget.unlimited());
+
+    private final boolean unlimited;
+    private final BooleanSupplier cancelled;
+    private final long start;
+    private final long timeLimitNanos;
+    private int candidatesLeft;
+    private int distanceComputationsLeft;
+    private int distanceComputations;
+    private boolean exhausted;
+
+    LookupGuard(LookupBudget budget) {
+        this(budget, NEVER_CANCELLED);
+    }
+
+    LookupGuard(LookupBudget budget, BooleanSupplier cancelled) {
+        this.unlimited = budget.isUnlimited() && cancelled == NEVER_CANCELLED;
+        this.cancelled = cancelled;
+        this.start = System.nanoTime();
+        this.timeLimitNanos = budget.getTimeLimitNanos();
+        this.candidatesLeft = budget.getMaxCandidates();
+        this.distanceComputationsLeft = budget.getMaxDistanceComputations();
+    }
+
+    /**
+     * Accounts for visiting one more delete candidate.
+     * @return false if the lookup must stop
+     */
+    boolean tryVisitCandidate() {
+        if (unlimited) {
+            return true;
+        }
+        if (exhausted || candidatesLeft-- <= 0 || cancelledOrExpired()) {
+            exhausted = true;
+        }
+        return !exhausted;
+    }
+
+    /**
+     * Accounts for one more string distance computation. The time limit and cancellation are checked every
+     * {@link LookupGuard#DISTANCE_CHECK_INTERVAL} computations, since a single candidate may have thousands of postings.
+     * @return false if the lookup must stop
+     */
+    boolean tryComputeDistance() {
+        if (unlimited) {
+            return true;
+        }
+        if (exhausted || distanceComputationsLeft-- <= 0
+                || (++distanceComputations & (DISTANCE_CHECK_INTERVAL - 1)) == 0 && cancelledOrExpired()) {
+            exhausted = true;
+        }
+        return !exhausted;
+    }
+
+    private boolean cancelledOrExpired() {
+        return cancelled.getAsBoolean() || System.nanoTime() - start >= timeLimitNanos;
+    }
+
+    /**
+     * Whether any limit was reached, i.e. the suggestions found are partial.
+     * @return true if any limit was reached
+     */
+    boolean isExhausted() {
+        return exhausted;
+    }
+}
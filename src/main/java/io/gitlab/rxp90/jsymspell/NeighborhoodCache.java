@@ -0,0 +1,82 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.CacheStatistics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of the query-side delete neighborhoods, keyed by input prefix and edit distance. Thread-safe.
+ * <p>
+ * Direct-mapped: each key has a single slot, and a miss replaces whatever the slot held. Reads and writes are a single
+ * array access, and the hot prefixes of skewed query distributions win their slot back as soon as they are requested.
+ */
+final class NeighborhoodCache {
+
+    private final AtomicReferenceArray<Neighborhood> neighborhoodBySlot;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    NeighborhoodCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        // Largest power of two not above the capacity, so that the bound holds
+        int slots = Integer.highestOneBit(capacity);
+        this.neighborhoodBySlot = new AtomicReferenceArray<>(slots);
+        this.mask = slots - 1;
+    }
+
+    /**
+     * Finds the neighborhood of {@code prefix}.
+     * @param prefix input prefix
+     * @param maxEditDistance edit distance the neighborhood was computed for
+     * @return cached neighborhood, or null on a miss
+     */
+    Neighborhood get(String prefix, int maxEditDistance) {
+        Neighborhood neighborhood = neighborhoodBySlot.get(slot(prefix, maxEditDistance));
+        if (neighborhood != null && neighborhood.maxEditDistance == maxEditDistance && neighborhood.prefix.equals(prefix)) {
+            hits.increment();
+            return neighborhood;
+        }
+        misses.increment();
+        return null;
+    }
+
+    void put(Neighborhood neighborhood) {
+        neighborhoodBySlot.set(slot(neighborhood.prefix, neighborhood.maxEditDistance), neighborhood);
+    }
+
+    CacheStatistics statistics() {
+        long size = 0;
+        for (int slot = 0; slot < neighborhoodBySlot.length(); slot++) {
+            if (neighborhoodBySlot.get(slot) != null) {
+                size++;
+            }
+        }
+        return new CacheStatistics(hits.sum(), misses.sum(), size);
+    }
+
+    private int slot(String prefix, int maxEditDistance) {
+        return DeleteIndex.spread(31L * prefix.hashCode() + maxEditDistance) & mask;
+    }
+
+    /**
+     * Deletes of an input prefix that are keys of the {@link DeleteIndex}, in the order a lookup would generate them, with
+     * their entry ids.
+     */
+    static final class Neighborhood {
+        final String prefix;
+        final int maxEditDistance;
+        final String[] deletes;
+        final int[] entries;
+
+        Neighborhood(String prefix, int maxEditDistance, String[] deletes, int[] entries) {
+            this.prefix = prefix;
+            this.maxEditDistance = maxEditDistance;
+            this.deletes = deletes;
+            this.entries = entries;
+        }
+    }
+}
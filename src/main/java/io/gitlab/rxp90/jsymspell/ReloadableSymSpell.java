@@ -0,0 +1,151 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.Bigram;
+import io.gitlab.rxp90.jsymspell.api.LookupBudget;
+import io.gitlab.rxp90.jsymspell.api.LookupResult;
+import io.gitlab.rxp90.jsymspell.api.ReloadStatistics;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * {@link SymSpell} whose dictionary can be replaced while serving lookups.
+ * <p>
+ * The replacement index is built in the background and swapped in atomically. Lookups never wait for a reload: each of them
+ * runs entirely on the generation that was current when it started.
+ */
+public class ReloadableSymSpell implements SymSpell {
+
+    private final AtomicReference<Generation> current;
+    private final Executor executor;
+    private final Object reloadLock = new Object();
+
+    /**
+     * Creates an instance serving {@code initial} as generation 0 and building replacements on the common {@link ForkJoinPool}.
+     * @param initial dictionary served until the first reload
+     */
+    public ReloadableSymSpell(SymSpellImpl initial) {
+        this(initial, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an instance serving {@code initial} as generation 0 and building replacements on {@code executor}.
+     * @param initial dictionary served until the first reload
+     * @param executor executor the replacement indexes are built on
+     */
+    public ReloadableSymSpell(SymSpellImpl initial, Executor executor) {
+        this.current = new AtomicReference<>(new Generation(initial, new ReloadStatistics(0, Duration.ZERO, 0, initial.estimatedIndexBytes())));
+        this.executor = executor;
+    }
+
+    /**
+     * Builds a new index in the background and installs it once ready. Concurrent reloads are applied one after the other.
+     * @param builderSupplier provides the builder of the new dictionary, e.g. streaming the lexicon from a file; called on the executor
+     * @return future completed with the metrics of the reload once the new generation is serving lookups
+     */
+    public CompletableFuture<ReloadStatistics> reload(Supplier<SymSpellBuilder> builderSupplier) {
+        return CompletableFuture.supplyAsync(() -> reloadNow(builderSupplier.get()), executor);
+    }
+
+    /**
+     * Builds a new index on the calling thread and installs it. Lookups keep being served by the current generation meanwhile.
+     * @param builder builder of the new dictionary
+     * @return metrics of the reload
+     */
+    public ReloadStatistics reloadNow(SymSpellBuilder builder) {
+        synchronized (reloadLock) {
+            long start = System.nanoTime();
+            SymSpellImpl symSpell = builder.createSymSpell();
+            Duration buildDuration = Duration.ofNanos(System.nanoTime() - start);
+            Generation previous = current.get();
+            ReloadStatistics statistics = new ReloadStatistics(previous.statistics.getGeneration() + 1,
+                                                               buildDuration,
+                                                               previous.statistics.getIndexBytes(),
+                                                               symSpell.estimatedIndexBytes());
+            current.set(new Generation(symSpell, statistics));
+            return statistics;
+        }
+    }
+
+    /**
+     * Dictionary currently serving lookups.
+     * @return current dictionary
+     */
+    public SymSpellImpl current() {
+        return current.get().symSpell;
+    }
+
+    /**
+     * Generation currently serving lookups, incremented by every reload.
+     * @return current generation
+     */
+    public long getGeneration() {
+        return current.get().statistics.getGeneration();
+    }
+
+    /**
+     * Metrics of the reload that installed the current generation.
+     * @return metrics of the last reload
+     */
+    public ReloadStatistics getLastReloadStatistics() {
+        return current.get().statistics;
+    }
+
+    @Override
+    public List<SuggestItem> lookup(String input, Verbosity verbosity, boolean includeUnknown) throws NotInitializedException {
+        return current().lookup(input, verbosity, includeUnknown);
+    }
+
+    @Override
+    public List<SuggestItem> lookup(String input, Verbosity verbosity) throws NotInitializedException {
+        return current().lookup(input, verbosity);
+    }
+
+    @Override
+    public LookupResult lookup(String input, Verbosity verbosity, boolean includeUnknown, LookupBudget budget) throws NotInitializedException {
+        return current().lookup(input, verbosity, includeUnknown, budget);
+    }
+
+    @Override
+    public List<SuggestItem> lookupCompound(String input, int editDistanceMax, boolean includeUnknown) throws NotInitializedException {
+        return current().lookupCompound(input, editDistanceMax, includeUnknown);
+    }
+
+    @Override
+    public LookupResult lookupCompound(String input, int editDistanceMax, boolean includeUnknown, LookupBudget budget) throws NotInitializedException {
+        return current().lookupCompound(input, editDistanceMax, includeUnknown, budget);
+    }
+
+    @Override
+    public Map<String, Long> getUnigramLexicon() {
+        return current().getUnigramLexicon();
+    }
+
+    @Override
+    public Map<Bigram, Long> getBigramLexicon() {
+        return current().getBigramLexicon();
+    }
+
+    @Override
+    public int getMaxDictionaryEditDistance() {
+        return current().getMaxDictionaryEditDistance();
+    }
+
+    private static final class Generation {
+        private final SymSpellImpl symSpell;
+        private final ReloadStatistics statistics;
+
+        private Generation(SymSpellImpl symSpell, ReloadStatistics statistics) {
+            this.symSpell = symSpell;
+            this.statistics = statistics;
+        }
+    }
+}
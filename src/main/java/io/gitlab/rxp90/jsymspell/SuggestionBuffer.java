@@ -0,0 +1,167 @@
+package io.gitlab.rxp90.jsymspell;
+
+import java.util.Arrays;
+
+/**
+ * Growable columns of suggestions, by word id, edit distance and cost, reused from one lookup to the next.
+ */
+final class SuggestionBuffer {
+
+    private int[] wordIds = new int[16];
+    private int[] distances = new int[16];
+    private double[] costs = new double[16];
+    private long[] frequencies = new long[16];
+    private int size = 0;
+    /**
+     * Scratch space of {@link SuggestionBuffer#sort()}, which swaps it with the columns above
+     */
+    private int[] order = new int[16];
+    private int[] merged = new int[16];
+    private int[] sortedWordIds = new int[16];
+    private int[] sortedDistances = new int[16];
+    private double[] sortedCosts = new double[16];
+    private long[] sortedFrequencies = new long[16];
+
+    void add(int wordId, int distance, long frequency, double cost) {
+        if (size == wordIds.length) {
+            int capacity = size * 2;
+            wordIds = Arrays.copyOf(wordIds, capacity);
+            distances = Arrays.copyOf(distances, capacity);
+            costs = Arrays.copyOf(costs, capacity);
+            frequencies = Arrays.copyOf(frequencies, capacity);
+        }
+        wordIds[size] = wordId;
+        distances[size] = distance;
+        costs[size] = cost;
+        frequencies[size++] = frequency;
+    }
+
+    void addAll(SuggestionBuffer suggestions) {
+        for (int i = 0; i < suggestions.size; i++) {
+            add(suggestions.wordIds[i], suggestions.distances[i], suggestions.frequencies[i], suggestions.costs[i]);
+        }
+    }
+
+    /**
+     * Keeps the suggestions up to {@code maxDistance} edits away, in order.
+     */
+    void removeAbove(int maxDistance) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (distances[i] <= maxDistance) {
+                move(i, kept++);
+            }
+        }
+        size = kept;
+    }
+
+    /**
+     * Keeps the first of the suggestions ranked first by {@link SuggestionBuffer#compare(int, int)}.
+     */
+    void keepMin() {
+        int min = 0;
+        for (int i = 1; i < size; i++) {
+            if (compare(i, min) < 0) {
+                min = i;
+            }
+        }
+        move(min, 0);
+        size = Math.min(size, 1);
+    }
+
+    /**
+     * Sorts the suggestions as {@link java.util.Collections#sort(java.util.List)} sorts {@code SuggestItem}s, keeping equal
+     * ones in order.
+     */
+    void sort() {
+        if (order.length < wordIds.length) {
+            order = new int[wordIds.length];
+            merged = new int[wordIds.length];
+        }
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        // Bottom-up merge sort of the indices, which is stable
+        for (int width = 1; width < size; width *= 2) {
+            for (int low = 0; low < size; low += 2 * width) {
+                int middle = Math.min(low + width, size);
+                int high = Math.min(low + 2 * width, size);
+                for (int i = low, left = low, right = middle; i < high; i++) {
+                    merged[i] = right >= high || left < middle && compare(order[left], order[right]) <= 0 ? order[left++] : order[right++];
+                }
+            }
+            int[] swap = order;
+            order = merged;
+            merged = swap;
+        }
+        if (sortedWordIds.length < wordIds.length) {
+            sortedWordIds = new int[wordIds.length];
+            sortedDistances = new int[wordIds.length];
+            sortedCosts = new double[wordIds.length];
+            sortedFrequencies = new long[wordIds.length];
+        }
+        for (int i = 0; i < size; i++) {
+            sortedWordIds[i] = wordIds[order[i]];
+            sortedDistances[i] = distances[order[i]];
+            sortedCosts[i] = costs[order[i]];
+            sortedFrequencies[i] = frequencies[order[i]];
+        }
+        int[] swapWordIds = wordIds;
+        wordIds = sortedWordIds;
+        sortedWordIds = swapWordIds;
+        int[] swapDistances = distances;
+        distances = sortedDistances;
+        sortedDistances = swapDistances;
+        double[] swapCosts = costs;
+        costs = sortedCosts;
+        sortedCosts = swapCosts;
+        long[] swapFrequencies = frequencies;
+        frequencies = sortedFrequencies;
+        sortedFrequencies = swapFrequencies;
+    }
+
+    /**
+     * Same order as {@link io.gitlab.rxp90.jsymspell.api.SuggestItem#compareTo}: by cost, then by descending frequency.
+     */
+    private int compare(int i, int j) {
+        if (costs[i] == costs[j]) {
+            return Long.compare(frequencies[j], frequencies[i]);
+        }
+        return Double.compare(costs[i], costs[j]);
+    }
+
+    private void move(int from, int to) {
+        wordIds[to] = wordIds[from];
+        distances[to] = distances[from];
+        costs[to] = costs[from];
+        frequencies[to] = frequencies[from];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int wordId(int i) {
+        return wordIds[i];
+    }
+
+    int distance(int i) {
+        return distances[i];
+    }
+
+    double cost(int i) {
+        return costs[i];
+    }
+
+    long frequency(int i) {
+        return frequencies[i];
+    }
+}
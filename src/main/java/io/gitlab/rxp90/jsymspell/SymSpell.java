@@ -1,6 +1,8 @@
 package io.gitlab.rxp90.jsymspell;
 
 import io.gitlab.rxp90.jsymspell.api.Bigram;
+import io.gitlab.rxp90.jsymspell.api.LookupBudget;
+import io.gitlab.rxp90.jsymspell.api.LookupResult;
 import io.gitlab.rxp90.jsymspell.api.SuggestItem;
 import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
 
@@ -33,6 +35,20 @@ public interface SymSpell {
      */
     List<SuggestItem> lookup(String input, Verbosity verbosity) throws NotInitializedException;
 
+    /**
+     * Same as {@link SymSpell#lookup(String, Verbosity, boolean)}, but stops as soon as {@code budget} runs out, returning the suggestions found so far.
+     * Implementations that cannot honour a budget run the lookup to completion.
+     * @param input string to apply spelling correction to
+     * @param verbosity see {@link Verbosity}
+     * @param includeUnknown controls whether non-lexicon words should be considered
+     * @param budget limits the work of this lookup
+     * @return sorted suggestions, flagged as partial if the budget ran out
+     * @throws NotInitializedException if no unigram lexicon has been provided, i.e. {@link SymSpell#getUnigramLexicon} is empty
+     */
+    default LookupResult lookup(String input, Verbosity verbosity, boolean includeUnknown, LookupBudget budget) throws NotInitializedException {
+        return new LookupResult(lookup(input, verbosity, includeUnknown), false);
+    }
+
     /**
      * Performs spelling correction of multiple space separated words.
      * @param input string to apply spelling correction to, where words are separated by spaces
@@ -43,6 +59,21 @@ public interface SymSpell {
      */
     List<SuggestItem> lookupCompound(String input, int editDistanceMax, boolean includeUnknown) throws NotInitializedException;
 
+    /**
+     * Same as {@link SymSpell#lookupCompound(String, int, boolean)}, where {@code budget} is shared by the lookups of all the words.
+     * Once it runs out, the remaining words are corrected with the suggestions found so far.
+     * Implementations that cannot honour a budget run the lookup to completion.
+     * @param input string to apply spelling correction to, where words are separated by spaces
+     * @param editDistanceMax limit up to which lexicon words can be considered suggestions, must be lower or equal than {@link SymSpell#getMaxDictionaryEditDistance()}
+     * @param includeUnknown controls whether non-lexicon words should be considered
+     * @param budget limits the work of this lookup
+     * @return corrected line, flagged as partial if the budget ran out
+     * @throws NotInitializedException if no unigram, and/or bigram lexicon has been provided
+     */
+    default LookupResult lookupCompound(String input, int editDistanceMax, boolean includeUnknown, LookupBudget budget) throws NotInitializedException {
+        return new LookupResult(lookupCompound(input, editDistanceMax, includeUnknown), false);
+    }
+
     /**
      * Map where the key is a word of the lexicon and the value is the frequency.
      * @return map where the key is a word of the lexicon and the value is the frequency
@@ -1,11 +1,17 @@
 package io.gitlab.rxp90.jsymspell;
 
 import io.gitlab.rxp90.jsymspell.api.Bigram;
+import io.gitlab.rxp90.jsymspell.api.BuildEstimate;
+import io.gitlab.rxp90.jsymspell.api.BuildProgressListener;
 import io.gitlab.rxp90.jsymspell.api.DamerauLevenshteinOSA;
+import io.gitlab.rxp90.jsymspell.api.PhoneticEncoder;
 import io.gitlab.rxp90.jsymspell.api.StringDistance;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
 
 public class SymSpellBuilder {
 
@@ -14,6 +20,18 @@ public class SymSpellBuilder {
     private StringDistance stringDistanceAlgorithm = new DamerauLevenshteinOSA();
     private Map<String, Long> unigramLexicon = new HashMap<>();
     private Map<Bigram, Long> bigramLexicon = new HashMap<>();
+    private boolean codePointAware = false;
+    private int neighborhoodCacheSize = 0;
+    private PhoneticEncoder phoneticEncoder = null;
+    private int maxPhoneticEditDistance = 4;
+    private boolean deleteFilterEnabled = false;
+    private BuildProgressListener buildProgressListener = null;
+    private Executor buildExecutor = null;
+    private int buildParallelism = Runtime.getRuntime().availableProcessors();
+    private int eagerWordCount = Integer.MAX_VALUE;
+    private int tailPromotionThreshold = 8;
+    private Predicate<String> deletePartition = null;
+    private boolean logProbabilityScoring = false;
 
     public SymSpellBuilder setMaxDictionaryEditDistance(int maxDictionaryEditDistance) {
         this.maxDictionaryEditDistance = maxDictionaryEditDistance;
@@ -40,6 +58,128 @@ public class SymSpellBuilder {
         return this;
     }
 
+    /**
+     * Makes deletes, prefixes and distances work on Unicode code points instead of UTF-16 chars, so that emoji and other
+     * supplementary characters count as a single character.
+     * @param codePointAware whether lookups should work on code points
+     * @return this builder
+     */
+    public SymSpellBuilder setCodePointAware(boolean codePointAware) {
+        this.codePointAware = codePointAware;
+        return this;
+    }
+
+    /**
+     * Caches the deletes generated for up to {@code neighborhoodCacheSize} input prefixes, together with their position in
+     * the index, so that repeated misspellings skip generating and probing them. Each entry takes a few hundred bytes with
+     * the default settings.
+     * @param neighborhoodCacheSize maximum number of cached prefixes, 0 to disable the cache
+     * @return this builder
+     */
+    public SymSpellBuilder setNeighborhoodCacheSize(int neighborhoodCacheSize) {
+        this.neighborhoodCacheSize = neighborhoodCacheSize;
+        return this;
+    }
+
+    /**
+     * Indexes the words by their phonetic code, so that lookups also suggest sound-alike words further than
+     * {@code maxDictionaryEditDistance}, such as "phonetic" for "fonetik". For {@link Verbosity#TOP} and
+     * {@link Verbosity#CLOSEST}, sound-alike words are only suggested when no other word is found.
+     * @param phoneticEncoder encoder of the phonetic codes, such as {@link io.gitlab.rxp90.jsymspell.api.Metaphone}, null to disable the phonetic index
+     * @return this builder
+     */
+    public SymSpellBuilder setPhoneticEncoder(PhoneticEncoder phoneticEncoder) {
+        this.phoneticEncoder = phoneticEncoder;
+        return this;
+    }
+
+    /**
+     * @param maxPhoneticEditDistance maximum edit distance of the sound-alike suggestions
+     * @return this builder
+     */
+    public SymSpellBuilder setMaxPhoneticEditDistance(int maxPhoneticEditDistance) {
+        this.maxPhoneticEditDistance = maxPhoneticEditDistance;
+        return this;
+    }
+
+    /**
+     * Adds a Bloom filter in front of the delete index, about 10 bits per delete, so that most deletes generated by a
+     * lookup that are not in the index are ruled out without probing it, and the last ones without even being built.
+     * @param deleteFilterEnabled whether lookups should use a Bloom filter
+     * @return this builder
+     */
+    public SymSpellBuilder setDeleteFilterEnabled(boolean deleteFilterEnabled) {
+        this.deleteFilterEnabled = deleteFilterEnabled;
+        return this;
+    }
+
+    /**
+     * Reports the progress of {@link SymSpellBuilder#createSymSpell()}, which can take minutes on large lexicons.
+     * @param buildProgressListener listener called from the building thread, or from the threads of the build executor
+     *                              but never concurrently, null for none
+     * @return this builder
+     */
+    public SymSpellBuilder setBuildProgressListener(BuildProgressListener buildProgressListener) {
+        this.buildProgressListener = buildProgressListener;
+        return this;
+    }
+
+    /**
+     * Generates the deletes of the words on {@code buildExecutor} during {@link SymSpellBuilder#createSymSpell()}, which
+     * still waits for the index to be complete. The index is the same as with a sequential build. A bounded executor should
+     * not be used to build from one of its own threads, which would wait for tasks queued behind it.
+     * @param buildExecutor executor running the build tasks, null to build on the calling thread
+     * @return this builder
+     */
+    public SymSpellBuilder setBuildExecutor(Executor buildExecutor) {
+        this.buildExecutor = buildExecutor;
+        return this;
+    }
+
+    /**
+     * Number of tasks the build is split into when {@link SymSpellBuilder#setBuildExecutor(Executor)} is set, the number
+     * of processors by default.
+     * @param buildParallelism number of build tasks, usually the number of threads of the executor
+     * @return this builder
+     */
+    public SymSpellBuilder setBuildParallelism(int buildParallelism) {
+        if (buildParallelism <= 0) {
+            throw new IllegalArgumentException("Build parallelism must be positive");
+        }
+        this.buildParallelism = buildParallelism;
+        return this;
+    }
+
+    /**
+     * Generates the deletes of the {@code eagerWordCount} most frequent words only, the others being found by scanning
+     * the words of a similar length and set of chars. This trades lookup time for build time and memory on lexicons with
+     * a long tail of rare words. All words are indexed by default.
+     * @param eagerWordCount number of words indexed by their deletes during the build
+     * @return this builder
+     */
+    public SymSpellBuilder setEagerWordCount(int eagerWordCount) {
+        if (eagerWordCount < 0) {
+            throw new IllegalArgumentException("Eager word count must not be negative");
+        }
+        this.eagerWordCount = eagerWordCount;
+        return this;
+    }
+
+    /**
+     * Number of times a word left out by {@link SymSpellBuilder#setEagerWordCount(int)} is suggested before its deletes
+     * are generated, so that lookups find it without scanning, 8 by default. Words are never promoted when the delete
+     * filter or the neighborhood cache are enabled, since both only know about the deletes of the build.
+     * @param tailPromotionThreshold number of suggestions, {@link Integer#MAX_VALUE} to never promote words
+     * @return this builder
+     */
+    public SymSpellBuilder setTailPromotionThreshold(int tailPromotionThreshold) {
+        if (tailPromotionThreshold <= 0) {
+            throw new IllegalArgumentException("Tail promotion threshold must be positive");
+        }
+        this.tailPromotionThreshold = tailPromotionThreshold;
+        return this;
+    }
+
     public int getMaxDictionaryEditDistance() {
         return maxDictionaryEditDistance;
     }
@@ -60,6 +200,115 @@ public class SymSpellBuilder {
         return stringDistanceAlgorithm;
     }
 
+    public boolean isCodePointAware() {
+        return codePointAware;
+    }
+
+    public int getNeighborhoodCacheSize() {
+        return neighborhoodCacheSize;
+    }
+
+    public PhoneticEncoder getPhoneticEncoder() {
+        return phoneticEncoder;
+    }
+
+    public int getMaxPhoneticEditDistance() {
+        return maxPhoneticEditDistance;
+    }
+
+    public boolean isDeleteFilterEnabled() {
+        return deleteFilterEnabled;
+    }
+
+    public BuildProgressListener getBuildProgressListener() {
+        return buildProgressListener;
+    }
+
+    public Executor getBuildExecutor() {
+        return buildExecutor;
+    }
+
+    public int getBuildParallelism() {
+        return buildParallelism;
+    }
+
+    /**
+     * Indexes only the deletes accepted by {@code deletePartition}, so that an index too large for one process can be split
+     * across several, each owning part of the deletes, e.g. with {@link io.gitlab.rxp90.jsymspell.server.HashRing}.
+     * Lookups then only find the suggestions reachable through the deletes of this part, and the suggestions of all parts
+     * must be merged, as {@link io.gitlab.rxp90.jsymspell.server.ShardedSymSpellClient} does. Exact matches are found by
+     * every part. All deletes are indexed by default.
+     * @param deletePartition whether a delete, as generated from a lexicon word, belongs to this index, null for all
+     * @return this builder
+     */
+    public SymSpellBuilder setDeletePartition(Predicate<String> deletePartition) {
+        this.deletePartition = deletePartition;
+        return this;
+    }
+
+    /**
+     * Precomputes the log probability of every word and bigram, so that {@link SymSpellImpl#lookupCompound(String, int, boolean)}
+     * ranks splits, combinations and whole lines by summed log probabilities, and {@link SuggestItem#getLogProbability()}
+     * is set on the suggestions. Without it, products of frequencies truncate rare word pairs to 0 and underflow on long
+     * lines, so that they can no longer be told apart.
+     * @param logProbabilityScoring whether suggestions are ranked by log probability
+     * @return this builder
+     */
+    public SymSpellBuilder setLogProbabilityScoring(boolean logProbabilityScoring) {
+        this.logProbabilityScoring = logProbabilityScoring;
+        return this;
+    }
+
+    public int getEagerWordCount() {
+        return eagerWordCount;
+    }
+
+    public int getTailPromotionThreshold() {
+        return tailPromotionThreshold;
+    }
+
+    public Predicate<String> getDeletePartition() {
+        return deletePartition;
+    }
+
+    public boolean isLogProbabilityScoring() {
+        return logProbabilityScoring;
+    }
+
+    /**
+     * Predicts the number of deletes and the heap of the index {@link SymSpellBuilder#createSymSpell()} would build with
+     * the current settings, from the deletes of a random sample of the lexicon, without building it. The phonetic index
+     * is not included.
+     * @param sampleSize number of words to sample, the estimate being exact when it covers the whole lexicon
+     * @return estimated size of the index
+     */
+    public BuildEstimate estimateBuild(int sampleSize) {
+        return BuildEstimator.estimate(this, sampleSize);
+    }
+
+    /**
+     * Copy of this builder, sharing its lexicons.
+     */
+    SymSpellBuilder copy() {
+        return new SymSpellBuilder().setMaxDictionaryEditDistance(maxDictionaryEditDistance)
+                                    .setPrefixLength(prefixLength)
+                                    .setUnigramLexicon(unigramLexicon)
+                                    .setBigramLexicon(bigramLexicon)
+                                    .setStringDistanceAlgorithm(stringDistanceAlgorithm)
+                                    .setCodePointAware(codePointAware)
+                                    .setNeighborhoodCacheSize(neighborhoodCacheSize)
+                                    .setPhoneticEncoder(phoneticEncoder)
+                                    .setMaxPhoneticEditDistance(maxPhoneticEditDistance)
+                                    .setDeleteFilterEnabled(deleteFilterEnabled)
+                                    .setBuildProgressListener(buildProgressListener)
+                                    .setBuildExecutor(buildExecutor)
+                                    .setBuildParallelism(buildParallelism)
+                                    .setEagerWordCount(eagerWordCount)
+                                    .setTailPromotionThreshold(tailPromotionThreshold)
+                                    .setDeletePartition(deletePartition)
+                                    .setLogProbabilityScoring(logProbabilityScoring);
+    }
+
     public SymSpellImpl createSymSpell() {
         return new SymSpellImpl(this);
     }
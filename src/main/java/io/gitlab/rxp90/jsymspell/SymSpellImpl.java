@@ -1,13 +1,30 @@
 package io.gitlab.rxp90.jsymspell;
 
+import io.gitlab.rxp90.jsymspell.api.BatchStringDistance;
 import io.gitlab.rxp90.jsymspell.api.Bigram;
+import io.gitlab.rxp90.jsymspell.api.BuildProgressListener;
+import io.gitlab.rxp90.jsymspell.api.BuildProgressListener.Stage;
+import io.gitlab.rxp90.jsymspell.api.CacheStatistics;
+import io.gitlab.rxp90.jsymspell.api.DamerauLevenshteinOSA;
+import io.gitlab.rxp90.jsymspell.api.IndexReport;
+import io.gitlab.rxp90.jsymspell.api.LatticeOptions;
+import io.gitlab.rxp90.jsymspell.api.LookupBudget;
+import io.gitlab.rxp90.jsymspell.api.LookupResult;
+import io.gitlab.rxp90.jsymspell.api.PhoneticEncoder;
 import io.gitlab.rxp90.jsymspell.api.StringDistance;
 import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.api.SuggestionSink;
+import io.gitlab.rxp90.jsymspell.api.WeightedStringDistance;
 import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
 
+import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
 import java.util.logging.Logger;
+import java.util.stream.IntStream;
 
 import static io.gitlab.rxp90.jsymspell.Verbosity.*;
 
@@ -15,36 +32,209 @@ public class SymSpellImpl implements SymSpell {
 
     private static final Logger logger = Logger.getLogger(SymSpellImpl.class.getName());
     private static final long BIGRAM_COUNT_MIN = Long.MAX_VALUE;
+    /**
+     * Up to 12 deletes, a {@code HashSet} keeps its default capacity, so that filtering some of them out, or reusing the set
+     * of a previous candidate, does not change the order the others are visited in, nor the suggestions
+     */
+    private static final int MAX_FILTERED_CANDIDATE_LENGTH = 12;
+    /**
+     * Words looked up by each task of {@link SymSpellImpl#lookupCompoundInParallel(String, int, boolean, Executor)}
+     */
+    private static final int COMPOUND_CHUNK_SIZE = 16;
 
     private final int maxDictionaryEditDistance;
     private final int prefixLength;
 
     /**
-     * Map of Delete -> Collection of words that lead to that edited word
+     * Map of Delete -> ids of the words that lead to that edited word
+     */
+    private final DeleteIndex deletes;
+    /**
+     * Lexicon words, in their {@link CodePointEncoder encoded} form, by word id
+     */
+    private final String[] words;
+    /**
+     * Frequency of each lexicon word, by word id
+     */
+    private final long[] counts;
+    /**
+     * Id of each lexicon word, for exact matches
+     */
+    private final WordIndex wordIndex;
+    /**
+     * Words left out of {@link SymSpellImpl#deletes} by {@link SymSpellBuilder#setEagerWordCount(int)}, null when all words
+     * are indexed by their deletes
+     */
+    private final TailIndex tailIndex;
+    /**
+     * Deletes this index holds, null for all
      */
-    private final Map<String, Collection<String>> deletes = new ConcurrentHashMap<>();
+    private final Predicate<String> deletePartition;
     private final Map<Bigram, Long> bigramLexicon;
     private final Map<String, Long> unigramLexicon;
     private final StringDistance stringDistance;
+    /**
+     * {@link SymSpellImpl#stringDistance} if suggestions are ranked by weighted cost, null otherwise
+     */
+    private final WeightedStringDistance weightedStringDistance;
+    /**
+     * Vectorized kernel equivalent to {@link SymSpellImpl#stringDistance}, null when unavailable
+     */
+    private final BatchStringDistance batchStringDistance;
+    private final CodePointEncoder codePoints;
     private final int maxDictionaryWordLength;
+    /**
+     * Map of phonetic code -> ids of the words with that code, null when disabled
+     */
+    private final DeleteIndex phoneticIndex;
+    private final PhoneticEncoder phoneticEncoder;
+    private final int maxPhoneticEditDistance;
+    /**
+     * Cached delete neighborhoods of input prefixes, null when disabled
+     */
+    private final NeighborhoodCache neighborhoodCache;
+    /**
+     * Rules out most deletes that are not in {@link SymSpellImpl#deletes}, null when disabled
+     */
+    private final DeleteFilter deleteFilter;
+    /**
+     * Log probabilities of the words and bigrams ranking compound suggestions, null when disabled
+     */
+    private final LogProbabilities logProbabilities;
+    /**
+     * Buffers of the lookups of each thread
+     */
+    private final ThreadLocal<Scratch> scratches;
 
     /**
      * Sum of all counts in the dictionary
      */
     private final long n;
+    private final Duration buildDuration;
 
     SymSpellImpl(SymSpellBuilder builder) {
+        long buildStart = System.nanoTime();
+        BuildProgressListener progress = builder.getBuildProgressListener();
         this.unigramLexicon = new HashMap<>(builder.getUnigramLexicon());
         this.maxDictionaryEditDistance = builder.getMaxDictionaryEditDistance();
         this.prefixLength = builder.getPrefixLength();
         this.bigramLexicon = new HashMap<>(builder.getBigramLexicon());
         this.stringDistance = builder.getStringDistanceAlgorithm();
-        this.n = unigramLexicon.values().stream().reduce(Long::sum).orElse(0L);
-        this.unigramLexicon.keySet().forEach(word ->{
-            Map<String, Collection<String>> edits = generateEdits(word);
-            edits.forEach((string, suggestions) -> this.deletes.computeIfAbsent(string, ignored -> new ArrayList<>()).addAll(suggestions));
-        });
-        this.maxDictionaryWordLength = this.unigramLexicon.keySet().stream().map(String::length).max(Integer::compareTo).orElse(0);
+        this.weightedStringDistance = stringDistance instanceof WeightedStringDistance ? (WeightedStringDistance) stringDistance : null;
+        this.batchStringDistance = stringDistance instanceof DamerauLevenshteinOSA ? ((DamerauLevenshteinOSA) stringDistance).vectorized().orElse(null) : null;
+        this.codePoints = builder.isCodePointAware() ? CodePointEncoder.forLexicon(unigramLexicon.keySet()) : CodePointEncoder.IDENTITY;
+        this.n = unigramLexicon.values().stream().reduce(SymSpellImpl::saturatedSum).orElse(0L);
+        this.words = new String[unigramLexicon.size()];
+        this.counts = new long[unigramLexicon.size()];
+        int progressStep = Math.max(1, words.length / 100);
+        report(progress, Stage.DELETES, 0, words.length);
+        int wordId = 0;
+        for (Map.Entry<String, Long> unigram : unigramLexicon.entrySet()) {
+            words[wordId] = codePoints.encode(unigram.getKey());
+            counts[wordId] = unigram.getValue();
+            wordId++;
+        }
+        this.wordIndex = new WordIndex(words);
+        this.logProbabilities = builder.isLogProbabilityScoring() ? new LogProbabilities(counts, n, bigramLexicon, this::wordId) : null;
+        this.deletePartition = builder.getDeletePartition();
+        boolean[] isTail = tail(counts, builder.getEagerWordCount());
+        if (builder.getBuildExecutor() == null) {
+            DeleteIndex.Builder deletesBuilder = new DeleteIndex.Builder();
+            for (wordId = 0; wordId < words.length; wordId++) {
+                if (isTail == null || !isTail[wordId]) {
+                    for (String delete : indexedDeletes(words[wordId])) {
+                        deletesBuilder.add(delete, wordId);
+                    }
+                }
+                if ((wordId + 1) % progressStep == 0 || wordId + 1 == words.length) {
+                    report(progress, Stage.DELETES, wordId + 1, words.length);
+                }
+            }
+            report(progress, Stage.INDEX, 0, 1);
+            this.deletes = deletesBuilder.build(words, prefixLength);
+        } else {
+            // Deletes are generated and sharded in parallel, so that the index is mostly built by the end of that stage
+            int editDistance = maxDictionaryEditDistance;
+            int prefix = prefixLength;
+            DeleteIndex.ParallelBuilder deletesBuilder = new DeleteIndex.ParallelBuilder(builder.getBuildExecutor(), builder.getBuildParallelism());
+            String[] allWords = words;
+            Predicate<String> partition = deletePartition;
+            this.deletes = deletesBuilder.build(words, prefixLength,
+                                                id -> isTail != null && isTail[id] ? Collections.emptySet() : indexedDeletes(allWords[id], editDistance, prefix, partition),
+                                                done -> report(progress, Stage.DELETES, done, words.length));
+            report(progress, Stage.INDEX, 0, 1);
+        }
+        report(progress, Stage.INDEX, 1, 1);
+        if (builder.isDeleteFilterEnabled()) {
+            report(progress, Stage.DELETE_FILTER, 0, 1);
+            this.deleteFilter = new DeleteFilter(deletes, prefixLength);
+            report(progress, Stage.DELETE_FILTER, 1, 1);
+        } else {
+            this.deleteFilter = null;
+        }
+        this.phoneticEncoder = builder.getPhoneticEncoder();
+        this.maxPhoneticEditDistance = builder.getMaxPhoneticEditDistance();
+        this.phoneticIndex = phoneticEncoder == null ? null : buildPhoneticIndex(progress, progressStep);
+        this.maxDictionaryWordLength = Arrays.stream(words).mapToInt(String::length).max().orElse(0);
+        this.neighborhoodCache = builder.getNeighborhoodCacheSize() > 0
+                ? new NeighborhoodCache(builder.getNeighborhoodCacheSize())
+                : null;
+        boolean promotionSupported = deleteFilter == null && neighborhoodCache == null;
+        this.tailIndex = isTail == null ? null : new TailIndex(words, counts, isTail, promotionSupported ? builder.getTailPromotionThreshold() : Integer.MAX_VALUE);
+        this.scratches = ThreadLocal.withInitial(() -> new Scratch(prefixLength));
+        this.buildDuration = Duration.ofNanos(System.nanoTime() - buildStart);
+    }
+
+    private DeleteIndex buildPhoneticIndex(BuildProgressListener progress, int progressStep) {
+        DeleteIndex.Builder phoneticIndexBuilder = new DeleteIndex.Builder();
+        String[] codes = new String[words.length];
+        int maxCodeLength = 0;
+        report(progress, Stage.PHONETIC_INDEX, 0, words.length);
+        for (int wordId = 0; wordId < words.length; wordId++) {
+            codes[wordId] = phoneticEncoder.encode(codePoints.decode(words[wordId]));
+            if (!codes[wordId].isEmpty()) {
+                phoneticIndexBuilder.add(codes[wordId], wordId);
+                maxCodeLength = Math.max(maxCodeLength, codes[wordId].length());
+            }
+            if ((wordId + 1) % progressStep == 0 || wordId + 1 == words.length) {
+                report(progress, Stage.PHONETIC_INDEX, wordId + 1, words.length);
+            }
+        }
+        return phoneticIndexBuilder.build(codes, maxCodeLength);
+    }
+
+    /**
+     * Words left out of the delete index when only the {@code eagerWordCount} most frequent are indexed, ties going to the
+     * lowest word id.
+     * @return whether each word is in the tail, by word id, null if no word is
+     */
+    private static boolean[] tail(long[] counts, int eagerWordCount) {
+        if (eagerWordCount >= counts.length) {
+            return null;
+        }
+        int[] mostFrequentFirst = IntStream.range(0, counts.length)
+                                           .boxed()
+                                           .sorted(Comparator.comparingLong((Integer wordId) -> counts[wordId]).reversed())
+                                           .mapToInt(Integer::intValue)
+                                           .toArray();
+        boolean[] isTail = new boolean[counts.length];
+        for (int rank = eagerWordCount; rank < counts.length; rank++) {
+            isTail[mostFrequentFirst[rank]] = true;
+        }
+        return isTail;
+    }
+
+    /**
+     * Sum of two counts, clamped to {@link Long#MAX_VALUE} instead of overflowing to a negative count.
+     */
+    static long saturatedSum(long a, long b) {
+        return a > Long.MAX_VALUE - b ? Long.MAX_VALUE : a + b;
+    }
+
+    private static void report(BuildProgressListener progress, Stage stage, int done, int total) {
+        if (progress != null) {
+            progress.onProgress(stage, done, total);
+        }
     }
 
     private boolean deleteSuggestionPrefix(String delete, int deleteLen, String suggestion, int suggestionLen) {
@@ -65,27 +255,27 @@ public class SymSpellImpl implements SymSpell {
     }
 
     Set<String> edits(String word, int editDistance, Set<String> deleteWords) {
+        return edits(word, editDistance, deleteWords, maxDictionaryEditDistance);
+    }
+
+    private static Set<String> edits(String word, int editDistance, Set<String> deleteWords, int maxDictionaryEditDistance) {
         editDistance++;
         if (word.length() > 1 && editDistance <= maxDictionaryEditDistance) {
             for (int i = 0; i < word.length(); i++) {
                 StringBuilder editableWord = new StringBuilder(word);
                 String delete = editableWord.deleteCharAt(i).toString();
                 if (deleteWords.add(delete) && editDistance < maxDictionaryEditDistance) {
-                    edits(delete, editDistance, deleteWords);
+                    edits(delete, editDistance, deleteWords, maxDictionaryEditDistance);
                 }
             }
         }
         return deleteWords;
     }
 
-    private Map<String, Collection<String>> generateEdits(String key) {
-        Set<String> edits = editsPrefix(key);
-        Map<String, Collection<String>> generatedDeletes = new HashMap<>();
-        edits.forEach(delete -> generatedDeletes.computeIfAbsent(delete, ignored -> new ArrayList<>()).add(key));
-        return generatedDeletes;
-    }
-
-    private Set<String> editsPrefix(String key) {
+    /**
+     * Deletes of {@code key} indexed for a dictionary with the given settings.
+     */
+    static Set<String> editsPrefix(String key, int maxDictionaryEditDistance, int prefixLength) {
         Set<String> set = new HashSet<>();
         if (key.length() <= maxDictionaryEditDistance) {
             set.add("");
@@ -94,12 +284,28 @@ public class SymSpellImpl implements SymSpell {
             key = key.substring(0, prefixLength);
         }
         set.add(key);
-        return edits(key, 0, set);
+        return edits(key, 0, set, maxDictionaryEditDistance);
+    }
+
+    private Set<String> indexedDeletes(String word) {
+        return indexedDeletes(word, maxDictionaryEditDistance, prefixLength, deletePartition);
+    }
+
+    /**
+     * Deletes of {@code key} indexed for a dictionary with the given settings, restricted to those accepted by
+     * {@code deletePartition} unless it is null.
+     */
+    static Set<String> indexedDeletes(String key, int maxDictionaryEditDistance, int prefixLength, Predicate<String> deletePartition) {
+        Set<String> deletes = editsPrefix(key, maxDictionaryEditDistance, prefixLength);
+        if (deletePartition != null) {
+            deletes.removeIf(delete -> !deletePartition.test(delete));
+        }
+        return deletes;
     }
 
     @Override
     public List<SuggestItem> lookup(String input, Verbosity verbosity, boolean includeUnknown) throws NotInitializedException {
-        return lookup(input, verbosity, this.maxDictionaryEditDistance, includeUnknown);
+        return lookup(input, verbosity, this.maxDictionaryEditDistance, includeUnknown, LookupGuard.UNLIMITED);
     }
 
     @Override
@@ -107,7 +313,91 @@ public class SymSpellImpl implements SymSpell {
         return lookup(input, verbosity, false);
     }
 
-    private List<SuggestItem> lookup(String input, Verbosity verbosity, int maxEditDistance, boolean includeUnknown) throws NotInitializedException {
+    @Override
+    public LookupResult lookup(String input, Verbosity verbosity, boolean includeUnknown, LookupBudget budget) throws NotInitializedException {
+        LookupGuard guard = new LookupGuard(budget);
+        List<SuggestItem> suggestions = lookup(input, verbosity, includeUnknown, guard);
+        return new LookupResult(suggestions, guard.isExhausted());
+    }
+
+    /**
+     * Same as {@link SymSpell#lookup(String, Verbosity, boolean)}, but stops exploring candidates as soon as {@code guard}
+     * runs out of budget, in which case the suggestions found so far are returned.
+     */
+    List<SuggestItem> lookup(String input, Verbosity verbosity, boolean includeUnknown, LookupGuard guard) throws NotInitializedException {
+        return lookup(input, verbosity, this.maxDictionaryEditDistance, includeUnknown, guard);
+    }
+
+    List<SuggestItem> lookup(String input, Verbosity verbosity, int maxEditDistance, boolean includeUnknown, LookupGuard guard) throws NotInitializedException {
+        Scratch scratch = acquireScratch();
+        try {
+            SuggestionBuffer suggestions = collect(input, verbosity, maxEditDistance, includeUnknown, guard, scratch);
+            List<SuggestItem> suggestItems = new ArrayList<>(suggestions.size());
+            for (int i = 0; i < suggestions.size(); i++) {
+                int wordId = suggestions.wordId(i);
+                String suggestion = wordId == SuggestionSink.UNKNOWN_WORD ? input : codePoints.decode(words[wordId]);
+                double logProbability = logProbabilities == null ? Double.NaN
+                        : wordId == SuggestionSink.UNKNOWN_WORD ? logProbabilities.unknownWord(input.length()) : logProbabilities.word(wordId);
+                suggestItems.add(new SuggestItem(suggestion, suggestions.distance(i), suggestions.frequency(i), suggestions.cost(i), logProbability));
+            }
+            return suggestItems;
+        } finally {
+            scratch.release();
+        }
+    }
+
+    /**
+     * Same as {@link SymSpell#lookup(String, Verbosity, boolean)}, but passes the suggestions to {@code sink} as primitives
+     * instead of returning them. Together with {@link SymSpellImpl#getWord(int)}, this lets callers consume suggestions
+     * without allocating any {@code SuggestItem} nor {@code List}; the buffers of the lookup itself are reused by each
+     * thread.
+     * @param input string to apply spelling correction to
+     * @param verbosity see {@link Verbosity}
+     * @param includeUnknown controls whether non-lexicon words should be considered, in which case the input is passed
+     *                       as {@link SuggestionSink#UNKNOWN_WORD} when nothing closer is found
+     * @param sink receives the suggestions, in the order of {@link SymSpell#lookup(String, Verbosity, boolean)}
+     * @return number of suggestions passed to {@code sink}
+     * @throws NotInitializedException if no unigram lexicon has been provided
+     */
+    public int lookup(String input, Verbosity verbosity, boolean includeUnknown, SuggestionSink sink) throws NotInitializedException {
+        Scratch scratch = acquireScratch();
+        try {
+            SuggestionBuffer suggestions = collect(input, verbosity, maxDictionaryEditDistance, includeUnknown, LookupGuard.UNLIMITED, scratch);
+            for (int i = 0; i < suggestions.size(); i++) {
+                sink.accept(suggestions.wordId(i), suggestions.distance(i), suggestions.frequency(i));
+            }
+            return suggestions.size();
+        } finally {
+            scratch.release();
+        }
+    }
+
+    /**
+     * Word of the lexicon with id {@code wordId}, as passed to a {@link SuggestionSink}.
+     * @param wordId id of a word, between 0 and the size of the lexicon
+     * @return word with that id
+     */
+    public String getWord(int wordId) {
+        return codePoints.decode(words[wordId]);
+    }
+
+    /**
+     * Scratch buffers of the current thread, or new ones when they are in use, i.e. when a {@link SuggestionSink} looks up
+     * another word.
+     */
+    private Scratch acquireScratch() {
+        Scratch scratch = scratches.get();
+        if (scratch.inUse) {
+            scratch = new Scratch(prefixLength);
+        }
+        scratch.inUse = true;
+        return scratch;
+    }
+
+    /**
+     * Finds the suggestions for {@code input} into the buffers of {@code scratch}, sorted.
+     */
+    private SuggestionBuffer collect(String input, Verbosity verbosity, int maxEditDistance, boolean includeUnknown, LookupGuard guard, Scratch scratch) throws NotInitializedException {
         if (maxEditDistance > maxDictionaryEditDistance) {
             throw new IllegalArgumentException("maxEditDistance > maxDictionaryEditDistance");
         }
@@ -116,16 +406,20 @@ public class SymSpellImpl implements SymSpell {
             throw new NotInitializedException("There are no words in the lexicon.");
         }
 
-        List<SuggestItem> suggestions = new ArrayList<>();
+        String originalInput = input;
+        input = codePoints.encode(input);
+
+        SuggestionBuffer suggestions = scratch.suggestions;
         int inputLen = input.length();
         boolean wordIsTooLong = inputLen - maxEditDistance > maxDictionaryWordLength;
         if (wordIsTooLong && includeUnknown) {
-            return Arrays.asList(new SuggestItem(input, maxEditDistance + 1, 0));
+            suggestions.add(SuggestionSink.UNKNOWN_WORD, maxEditDistance + 1, 0, maxEditDistance + 1);
+            return suggestions;
         }
 
-        if (unigramLexicon.containsKey(input)) {
-            SuggestItem suggestSameWord = new SuggestItem(input, 0, unigramLexicon.get(input));
-            suggestions.add(suggestSameWord);
+        int inputId = wordIndex.id(input);
+        if (inputId != WordIndex.NOT_FOUND) {
+            suggestions.add(inputId, 0, counts[inputId], 0);
 
             if (!verbosity.equals(ALL)) {
                 return suggestions;
@@ -133,27 +427,51 @@ public class SymSpellImpl implements SymSpell {
         }
 
         if (maxEditDistance == 0 && includeUnknown && suggestions.isEmpty()) {
-            return Arrays.asList(new SuggestItem(input, maxEditDistance + 1, 0));
+            suggestions.add(SuggestionSink.UNKNOWN_WORD, maxEditDistance + 1, 0, maxEditDistance + 1);
+            return suggestions;
         }
 
-        Set<String> deletesAlreadyConsidered = new HashSet<>();
-        List<String> candidates = new ArrayList<>();
+        Set<String> deletesAlreadyConsidered = scratch.deletesAlreadyConsidered;
+        List<String> candidates;
+        NeighborhoodCache.Neighborhood neighborhood = null;
 
         int inputPrefixLen;
-        if (inputLen > prefixLength) {
-            inputPrefixLen = prefixLength;
-            candidates.add(input.substring(0, inputPrefixLen));
+        if (neighborhoodCache != null) {
+            // The input itself is skipped: when longer than the prefix, it cannot be a delete
+            String inputPrefix = inputLen > prefixLength ? input.substring(0, prefixLength) : input;
+            inputPrefixLen = inputPrefix.length();
+            neighborhood = neighborhoodCache.get(inputPrefix, maxEditDistance);
+            if (neighborhood == null) {
+                neighborhood = neighborhood(inputPrefix, maxEditDistance);
+                neighborhoodCache.put(neighborhood);
+            }
+            candidates = Arrays.asList(neighborhood.deletes);
         } else {
-            inputPrefixLen = inputLen;
+            candidates = scratch.candidates;
+            if (inputLen > prefixLength) {
+                inputPrefixLen = prefixLength;
+                candidates.add(input.substring(0, inputPrefixLen));
+            } else {
+                inputPrefixLen = inputLen;
+            }
+            candidates.add(input);
         }
-        candidates.add(input);
 
-        Set<String> suggestionsAlreadyConsidered = new HashSet<>();
+        Set<String> suggestionsAlreadyConsidered = scratch.suggestionsAlreadyConsidered;
         suggestionsAlreadyConsidered.add(input);
         int maxEditDistance2 = maxEditDistance;
+        long[] prefixHashes = scratch.prefixHashes;
+        // With ALL, the maximum distance never shrinks, so distances can be computed at the end, many at a time
+        PendingDistances pendingDistances = batchStringDistance != null && verbosity.equals(ALL) ? scratch.pendingDistances : null;
+        // Words promoted from now on may be missed by the deletes, so they are scanned
+        int promotedCount = tailIndex == null ? 0 : tailIndex.promotedCount();
 
         int candidatePointer = 0;
+        candidateLoop:
         while (candidatePointer < candidates.size()) {
+            if (!guard.tryVisitCandidate()) {
+                break;
+            }
             String candidate = candidates.get(candidatePointer++);
             int candidateLength = candidate.length();
             int lengthDiffBetweenInputAndCandidate = inputPrefixLen - candidateLength;
@@ -171,12 +489,35 @@ public class SymSpellImpl implements SymSpell {
                 if (!verbosity.equals(ALL) && lengthDiffBetweenInputAndCandidate >= maxEditDistance2) {
                     continue;
                 }
-                candidates.addAll(generateNewCandidates(candidate, deletesAlreadyConsidered));
+                if (neighborhood == null) {
+                    boolean newCandidatesAreLeaves = lengthDiffBetweenInputAndCandidate + 1 >= maxEditDistance;
+                    Set<String> newDeletes;
+                    if (candidateLength <= MAX_FILTERED_CANDIDATE_LENGTH) {
+                        newDeletes = scratch.newDeletes;
+                        newDeletes.clear();
+                    } else {
+                        newDeletes = new HashSet<>();
+                    }
+                    if (deleteFilter != null && newCandidatesAreLeaves && candidateLength <= MAX_FILTERED_CANDIDATE_LENGTH) {
+                        generateNewCandidates(candidate, deletesAlreadyConsidered, prefixHashes, scratch.chars, newDeletes);
+                    } else {
+                        generateNewCandidates(candidate, deletesAlreadyConsidered, scratch.chars, newDeletes);
+                    }
+                    for (String newDelete : newDeletes) {
+                        candidates.add(newDelete);
+                    }
+                }
             }
 
-            Collection<String> preCalculatedDeletes = deletes.get(candidate);
-            if (preCalculatedDeletes != null) {
-                for (String preCalculatedDelete : preCalculatedDeletes) {
+            int entry = neighborhood == null ? deletes.entry(candidate) : neighborhood.entries[candidatePointer - 1];
+            int[] promotedWordIds = tailIndex == null ? null : tailIndex.promotedWordIds(candidate);
+            if (entry != DeleteIndex.NOT_FOUND || promotedWordIds != null) {
+                int start = entry == DeleteIndex.NOT_FOUND ? 0 : deletes.start(entry);
+                int indexedCount = entry == DeleteIndex.NOT_FOUND ? 0 : deletes.end(entry) - start;
+                int postingCount = promotedWordIds == null ? indexedCount : indexedCount + promotedWordIds.length;
+                for (int posting = 0; posting < postingCount; posting++) {
+                    int wordId = posting < indexedCount ? deletes.wordId(start + posting) : promotedWordIds[posting - indexedCount];
+                    String preCalculatedDelete = words[wordId];
                     if (preCalculatedDelete.equals(input) || ((Math.abs(preCalculatedDelete.length() - inputLen) > maxEditDistance2)
                             || (preCalculatedDelete.length() < candidateLength)
                             || (preCalculatedDelete.length() == candidateLength && !preCalculatedDelete.equals(candidate))) || (Math.min(preCalculatedDelete.length(), prefixLength) > inputPrefixLen
@@ -203,7 +544,7 @@ public class SymSpellImpl implements SymSpell {
                         int minDistance = Math.min(inputLen, preCalculatedDelete.length()) - prefixLength;
 
                         boolean noDistanceCalculationIsRequired = prefixLength - maxEditDistance == candidateLength
-                                && (minDistance > 1 && (!input.substring(inputLen + 1 - minDistance).equals(preCalculatedDelete.substring(preCalculatedDelete.length() + 1 - minDistance))))
+                                && (minDistance > 1 && (!input.regionMatches(inputLen + 1 - minDistance, preCalculatedDelete, preCalculatedDelete.length() + 1 - minDistance, minDistance - 1)))
                                 || (minDistance > 0
                                     && input.charAt(inputLen - minDistance) != preCalculatedDelete.charAt(preCalculatedDelete.length() - minDistance)
                                     && input.charAt(inputLen - minDistance - 1) != preCalculatedDelete.charAt(preCalculatedDelete.length() - minDistance)
@@ -217,6 +558,13 @@ public class SymSpellImpl implements SymSpell {
                                     || !suggestionsAlreadyConsidered.add(preCalculatedDelete)) {
                                 continue;
                             }
+                            if (!guard.tryComputeDistance()) {
+                                break candidateLoop;
+                            }
+                            if (pendingDistances != null) {
+                                pendingDistances.add(preCalculatedDelete, wordId);
+                                continue;
+                            }
                             distance = stringDistance.distanceWithEarlyStop(input, preCalculatedDelete, maxEditDistance2);
                             if (distance < 0) {
                                 continue;
@@ -224,40 +572,253 @@ public class SymSpellImpl implements SymSpell {
                         }
 
                         if (distance <= maxEditDistance2) {
-                            SuggestItem suggestItem = new SuggestItem(preCalculatedDelete, distance, unigramLexicon.get(preCalculatedDelete));
+                            long frequency = counts[wordId];
+                            double cost = cost(input, preCalculatedDelete, distance);
                             if (!suggestions.isEmpty()) {
                                 if (verbosity.equals(CLOSEST) && distance < maxEditDistance2) {
                                     suggestions.clear();
-                                } else if (verbosity.equals(TOP) && (distance < maxEditDistance2 || suggestItem.getFrequencyOfSuggestionInDict() > suggestions.get(0).getFrequencyOfSuggestionInDict())) {
+                                } else if (verbosity.equals(TOP) && (distance < maxEditDistance2 || frequency > suggestions.frequency(0))) {
                                     maxEditDistance2 = distance;
-                                    suggestions.add(suggestItem);
+                                    suggestions.add(wordId, distance, frequency, cost);
                                 }
                             }
                             if (!verbosity.equals(ALL)) {
                                 maxEditDistance2 = distance;
                             }
-                            suggestions.add(suggestItem);
+                            suggestions.add(wordId, distance, frequency, cost);
                         }
                     }
                 }
             }
 
         }
+        if (pendingDistances != null) {
+            addPendingSuggestions(input, pendingDistances, maxEditDistance2, suggestions);
+        }
+        if (tailIndex != null) {
+            addTailSuggestions(input, verbosity, maxEditDistance, maxEditDistance2, promotedCount, guard, scratch);
+        }
+        if (phoneticIndex != null && (verbosity.equals(ALL) || suggestions.isEmpty())) {
+            addPhoneticSuggestions(originalInput, input, verbosity, guard, scratch);
+        }
         if (suggestions.size() > 1) {
-            Collections.sort(suggestions);
+            suggestions.sort();
         }
         if (includeUnknown && (suggestions.isEmpty())) {
-            SuggestItem noSuggestionsFound = new SuggestItem(input, maxEditDistance + 1, 0);
-            suggestions.add(noSuggestionsFound);
+            suggestions.add(SuggestionSink.UNKNOWN_WORD, maxEditDistance + 1, 0, maxEditDistance + 1);
         }
         return suggestions;
     }
 
-    private Set<String> generateNewCandidates(String candidate, Set<String> deletesAlreadyConsidered) {
-        Set<String> newDeletes = new HashSet<>();
+    /**
+     * Finds the words sharing the phonetic code of the input, up to {@link SymSpellImpl#maxPhoneticEditDistance} edits away.
+     * Unless {@code verbosity} is {@link Verbosity#ALL}, only the closest ones are kept, and the top one for
+     * {@link Verbosity#TOP}.
+     */
+    private void addPhoneticSuggestions(String originalInput, String input, Verbosity verbosity, LookupGuard guard, Scratch scratch) {
+        String code = phoneticEncoder.encode(originalInput);
+        int entry = code.isEmpty() ? DeleteIndex.NOT_FOUND : phoneticIndex.entry(code);
+        if (entry == DeleteIndex.NOT_FOUND) {
+            return;
+        }
+        SuggestionBuffer suggestions = scratch.suggestions;
+        // Words rejected by the delete index may still be sound-alike suggestions, so only the suggested ones are skipped
+        Set<String> suggestionsAlreadyConsidered = scratch.suggestionsAlreadyConsidered;
+        suggestionsAlreadyConsidered.clear();
+        suggestionsAlreadyConsidered.add(input);
+        for (int i = 0; i < suggestions.size(); i++) {
+            suggestionsAlreadyConsidered.add(words[suggestions.wordId(i)]);
+        }
+        SuggestionBuffer phoneticSuggestions = scratch.phoneticSuggestions;
+        int closestDistance = Integer.MAX_VALUE;
+        for (int offset = phoneticIndex.start(entry), end = phoneticIndex.end(entry); offset < end; offset++) {
+            int wordId = phoneticIndex.wordId(offset);
+            String word = words[wordId];
+            if (!suggestionsAlreadyConsidered.add(word)) {
+                continue;
+            }
+            if (!guard.tryComputeDistance()) {
+                break;
+            }
+            int distance = stringDistance.distanceWithEarlyStop(input, word, maxPhoneticEditDistance);
+            if (distance < 0 || distance > maxPhoneticEditDistance) {
+                continue;
+            }
+            closestDistance = Math.min(closestDistance, distance);
+            phoneticSuggestions.add(wordId, distance, counts[wordId], cost(input, word, distance));
+        }
+        if (!verbosity.equals(ALL) && phoneticSuggestions.size() > 1) {
+            phoneticSuggestions.removeAbove(closestDistance);
+            if (verbosity.equals(TOP)) {
+                phoneticSuggestions.keepMin();
+            }
+        }
+        suggestions.addAll(phoneticSuggestions);
+    }
+
+    /**
+     * Scans the tail words within {@code maxEditDistance} of the input, and merges them into the suggestions as if they had
+     * been found through their deletes. Unless {@code verbosity} is {@link Verbosity#ALL}, only tail words as close as the
+     * suggestions found so far are scanned, and only closer ones for {@link Verbosity#TOP} when those suggestions are more
+     * frequent than any tail word. Suggested tail words are promoted once suggested often enough.
+     */
+    private void addTailSuggestions(String input, Verbosity verbosity, int maxEditDistance, int closestDistance, int promotedCount, LookupGuard guard, Scratch scratch) {
+        SuggestionBuffer suggestions = scratch.suggestions;
+        int radius = maxEditDistance;
+        long closestFrequency = 0;
+        if (!verbosity.equals(ALL) && !suggestions.isEmpty()) {
+            radius = closestDistance;
+            for (int i = 0; i < suggestions.size(); i++) {
+                if (suggestions.distance(i) == closestDistance) {
+                    closestFrequency = Math.max(closestFrequency, suggestions.frequency(i));
+                }
+            }
+            if (verbosity.equals(TOP) && closestFrequency >= tailIndex.maxFrequency()) {
+                radius--;
+            }
+        }
+        // The input itself, at distance 0, is found by the word index
+        if (radius <= 0) {
+            return;
+        }
+        Set<String> suggestionsAlreadyConsidered = scratch.suggestionsAlreadyConsidered;
+        SuggestionBuffer tailSuggestions = scratch.tailSuggestions;
+        int inputLen = input.length();
+        long inputMask = TailIndex.mask(input);
+        long inputRepeatMask = TailIndex.repeatMask(input);
+        scan:
+        for (int length = Math.max(0, inputLen - radius); length <= inputLen + radius; length++) {
+            int[] wordIds = tailIndex.wordIds(length);
+            long[] masks = tailIndex.masks(length);
+            // The radius shrinks as closer words are found
+            for (int i = 0; i < wordIds.length && Math.abs(length - inputLen) <= radius; i++) {
+                if (!TailIndex.mayBeWithin(masks[2 * i], masks[2 * i + 1], inputMask, inputRepeatMask, radius)) {
+                    continue;
+                }
+                int wordId = wordIds[i];
+                if (tailIndex.isPromoted(wordId, promotedCount)) {
+                    continue;
+                }
+                if (!guard.tryComputeDistance()) {
+                    break scan;
+                }
+                String word = words[wordId];
+                int distance = stringDistance.distanceWithEarlyStop(input, word, radius);
+                // Words being promoted may also have been found through their deletes
+                if (distance < 0 || distance > radius || suggestionsAlreadyConsidered.contains(word)) {
+                    continue;
+                }
+                if (!verbosity.equals(ALL)) {
+                    radius = distance;
+                }
+                tailSuggestions.add(wordId, distance, counts[wordId], cost(input, word, distance));
+            }
+        }
+        if (tailSuggestions.isEmpty()) {
+            return;
+        }
+        if (!verbosity.equals(ALL)) {
+            tailSuggestions.removeAbove(radius);
+            boolean closer = suggestions.isEmpty() || radius < closestDistance;
+            if (verbosity.equals(TOP)) {
+                tailSuggestions.keepMin();
+                closer |= tailSuggestions.frequency(0) > closestFrequency;
+                if (!closer) {
+                    return;
+                }
+            }
+            if (closer) {
+                suggestions.clear();
+            }
+        }
+        for (int i = 0; i < tailSuggestions.size(); i++) {
+            int wordId = tailSuggestions.wordId(i);
+            if (tailIndex.recordHit(wordId)) {
+                tailIndex.promote(wordId, indexedDeletes(words[wordId]));
+            }
+        }
+        suggestions.addAll(tailSuggestions);
+    }
+
+    /**
+     * Computes the distances of the pending suggestions with {@link SymSpellImpl#batchStringDistance}, and adds those within
+     * {@code maxEditDistance} in the order they were found.
+     */
+    private void addPendingSuggestions(String input, PendingDistances pendingDistances, int maxEditDistance, SuggestionBuffer suggestions) {
+        int[] distances = pendingDistances.distances;
+        batchStringDistance.distancesWithEarlyStop(input, pendingDistances.words, pendingDistances.size, maxEditDistance, distances);
+        for (int i = 0; i < pendingDistances.size; i++) {
+            int distance = distances[i];
+            if (distance >= 0) {
+                int wordId = pendingDistances.wordIds[i];
+                suggestions.add(wordId, distance, counts[wordId], cost(input, pendingDistances.words[i], distance));
+            }
+        }
+    }
+
+    /**
+     * Weighted cost of a suggestion when a {@link WeightedStringDistance} is used, its edit distance otherwise.
+     */
+    private double cost(String input, String suggestion, int distance) {
+        if (weightedStringDistance == null) {
+            return distance;
+        }
+        // Every edit costs at most one, so the cost is bounded by the edit distance
+        double cost = weightedStringDistance.weightedDistanceWithEarlyStop(input, suggestion, distance);
+        return cost < 0 ? distance : cost;
+    }
+
+    /**
+     * Generates the deletes a lookup of {@code inputPrefix} would visit, keeping only those found in the index. Dropping
+     * the other ones does not change the suggestions, since they neither lead to words nor stop the lookup earlier than the
+     * next delete of the same or a greater length would.
+     */
+    private NeighborhoodCache.Neighborhood neighborhood(String inputPrefix, int maxEditDistance) {
+        int inputPrefixLen = inputPrefix.length();
+        Set<String> deletesAlreadyConsidered = new HashSet<>();
+        List<String> candidates = new ArrayList<>();
+        candidates.add(inputPrefix);
+        List<String> hits = new ArrayList<>();
+        List<Integer> entries = new ArrayList<>();
+        for (int candidatePointer = 0; candidatePointer < candidates.size(); candidatePointer++) {
+            String candidate = candidates.get(candidatePointer);
+            if (inputPrefixLen - candidate.length() < maxEditDistance) {
+                candidates.addAll(generateNewCandidates(candidate, deletesAlreadyConsidered, new char[candidate.length()], new HashSet<>()));
+            }
+            int entry = deletes.entry(candidate);
+            if (entry != DeleteIndex.NOT_FOUND) {
+                hits.add(candidate);
+                entries.add(entry);
+            }
+        }
+        return new NeighborhoodCache.Neighborhood(inputPrefix, maxEditDistance, hits.toArray(new String[0]), entries.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Same as {@link SymSpellImpl#generateNewCandidates(String, Set, char[], Set)} for candidates that will not be expanded
+     * further, skipping without building them the deletes that {@link SymSpellImpl#deleteFilter} rules out of the index.
+     */
+    private Set<String> generateNewCandidates(String candidate, Set<String> deletesAlreadyConsidered, long[] prefixHashes, char[] chars, Set<String> newDeletes) {
+        DeleteFilter.prefixHashes(candidate, prefixHashes);
+        for (int i = 0; i < candidate.length(); i++) {
+            if (!deleteFilter.mightContain(deleteFilter.deleteHash(prefixHashes, candidate.length(), i))) {
+                continue;
+            }
+            String delete = deleteCharAt(candidate, i, chars);
+            if (deletesAlreadyConsidered.add(delete)){
+                newDeletes.add(delete);
+            }
+        }
+        return newDeletes;
+    }
+
+    /**
+     * Adds to {@code newDeletes} the deletes of {@code candidate} not considered yet.
+     * @param chars scratch space, at least as long as {@code candidate}
+     */
+    private Set<String> generateNewCandidates(String candidate, Set<String> deletesAlreadyConsidered, char[] chars, Set<String> newDeletes) {
         for (int i = 0; i < candidate.length(); i++) {
-            StringBuilder editableString = new StringBuilder(candidate);
-            String delete = editableString.deleteCharAt(i).toString();
+            String delete = deleteCharAt(candidate, i, chars);
             if (deletesAlreadyConsidered.add(delete)){
                 newDeletes.add(delete);
             }
@@ -265,8 +826,29 @@ public class SymSpellImpl implements SymSpell {
         return newDeletes;
     }
 
+    private static String deleteCharAt(String string, int index, char[] chars) {
+        string.getChars(0, index, chars, 0);
+        string.getChars(index + 1, string.length(), chars, index);
+        return new String(chars, 0, string.length() - 1);
+    }
+
     @Override
     public List<SuggestItem> lookupCompound(String input, int editDistanceMax, boolean includeUnknown) throws NotInitializedException {
+        return lookupCompound(input, editDistanceMax, includeUnknown, LookupGuard.UNLIMITED);
+    }
+
+    @Override
+    public LookupResult lookupCompound(String input, int editDistanceMax, boolean includeUnknown, LookupBudget budget) throws NotInitializedException {
+        LookupGuard guard = new LookupGuard(budget);
+        List<SuggestItem> suggestions = lookupCompound(input, editDistanceMax, includeUnknown, guard);
+        return new LookupResult(suggestions, guard.isExhausted());
+    }
+
+    /**
+     * Same as {@link SymSpell#lookupCompound(String, int, boolean)}, but every lookup it performs stops exploring candidates
+     * as soon as {@code guard} runs out of budget, so the returned line is built from the suggestions found so far.
+     */
+    List<SuggestItem> lookupCompound(String input, int editDistanceMax, boolean includeUnknown, LookupGuard guard) throws NotInitializedException {
         String[] termList = input.split(" ");
         List<SuggestItem> suggestionParts = new ArrayList<>();
 
@@ -274,11 +856,11 @@ public class SymSpellImpl implements SymSpell {
 
         for (int i = 0; i < termList.length; i++) {
             String currentToken = termList[i];
-            List<SuggestItem> suggestionsForCurrentToken = lookup(currentToken, TOP, editDistanceMax, includeUnknown);
+            List<SuggestItem> suggestionsForCurrentToken = lookup(currentToken, TOP, editDistanceMax, includeUnknown, guard);
 
             if (i > 0 && !lastCombination) {
                 SuggestItem bestSuggestion = suggestionParts.get(suggestionParts.size() - 1);
-                Optional<SuggestItem> newSuggestion = combineWords(editDistanceMax, includeUnknown, currentToken, termList[i - 1], bestSuggestion, suggestionsForCurrentToken.isEmpty() ? null : suggestionsForCurrentToken.get(0));
+                Optional<SuggestItem> newSuggestion = combineWords(editDistanceMax, includeUnknown, currentToken, termList[i - 1], bestSuggestion, suggestionsForCurrentToken.isEmpty() ? null : suggestionsForCurrentToken.get(0), guard);
 
                 if (newSuggestion.isPresent()) {
                     suggestionParts.set(suggestionParts.size() - 1, newSuggestion.get());
@@ -289,48 +871,179 @@ public class SymSpellImpl implements SymSpell {
 
             lastCombination = false;
 
-            if (!suggestionsForCurrentToken.isEmpty()) {
-                boolean firstSuggestionIsPerfect = suggestionsForCurrentToken.get(0).getEditDistance() == 0;
-                if (firstSuggestionIsPerfect || currentToken.length() == 1) {
-                    suggestionParts.add(suggestionsForCurrentToken.get(0));
-                } else {
-                    splitWords(editDistanceMax, termList, suggestionsForCurrentToken, suggestionParts, i);
-                }
+            if (needsSplit(currentToken, suggestionsForCurrentToken)) {
+                suggestionParts.add(splitWords(editDistanceMax, currentToken, suggestionsForCurrentToken, guard));
             } else {
-                splitWords(editDistanceMax, termList, suggestionsForCurrentToken, suggestionParts, i);
+                suggestionParts.add(suggestionsForCurrentToken.get(0));
+            }
+        }
+        return compoundSuggestion(input, suggestionParts);
+    }
+
+    /**
+     * Same as {@link SymSpell#lookupCompound(String, int, boolean)}, running the lookups on {@code executor}: those of
+     * every word, of every word combined with the previous one, and of the ways to split it. Whether words are combined
+     * is then decided left to right, from the results of these lookups, so that the suggestion is the same as the
+     * sequential one.
+     * <p>
+     * Combinations and splits are looked up for every word, even when they end up unused, so this only pays off on long
+     * inputs such as paragraphs.
+     * @param input input string
+     * @param editDistanceMax maximum edit distance
+     * @param includeUnknown whether unknown words should be included
+     * @param executor executor running the lookups
+     * @return single suggestion for the whole input
+     * @throws NotInitializedException if the lexicon is empty
+     */
+    public List<SuggestItem> lookupCompoundInParallel(String input, int editDistanceMax, boolean includeUnknown, Executor executor) throws NotInitializedException {
+        String[] termList = input.split(" ");
+        CompoundToken[] compoundTokens = new CompoundToken[termList.length];
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int start = 0; start < termList.length; start += COMPOUND_CHUNK_SIZE) {
+            int from = start;
+            int to = Math.min(termList.length, start + COMPOUND_CHUNK_SIZE);
+            chunks.add(CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to; i++) {
+                    try {
+                        compoundTokens[i] = compoundToken(termList, i, editDistanceMax, includeUnknown);
+                    } catch (NotInitializedException e) {
+                        throw new CompletionException(e);
+                    }
+                }
+            }, executor));
+        }
+        try {
+            CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof NotInitializedException) {
+                throw (NotInitializedException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
             }
+            throw e;
         }
+
+        List<SuggestItem> suggestionParts = new ArrayList<>();
+        boolean lastCombination = false;
+        for (int i = 0; i < termList.length; i++) {
+            CompoundToken compoundToken = compoundTokens[i];
+            if (i > 0 && !lastCombination) {
+                SuggestItem bestSuggestion = suggestionParts.get(suggestionParts.size() - 1);
+                Optional<SuggestItem> newSuggestion = combineWords(editDistanceMax, termList[i], bestSuggestion, compoundToken.suggestions.isEmpty() ? null : compoundToken.suggestions.get(0), compoundToken.combinationSuggestions);
+
+                if (newSuggestion.isPresent()) {
+                    suggestionParts.set(suggestionParts.size() - 1, newSuggestion.get());
+                    lastCombination = true;
+                    continue;
+                }
+            }
+
+            lastCombination = false;
+            suggestionParts.add(compoundToken.split != null ? compoundToken.split : compoundToken.suggestions.get(0));
+        }
+        return compoundSuggestion(input, suggestionParts);
+    }
+
+    /**
+     * Finds the most likely corrections of a multi-word input. Unlike {@link SymSpell#lookupCompound(String, int, boolean)},
+     * which decides on each word given the previous one only, every correction, split in two and combination of two
+     * words is considered, and whole lines are ranked by their probability under the unigram and bigram lexicons, each
+     * edit making a line {@link LatticeOptions#getEditProbability()} times less likely.
+     * @param input input string
+     * @param editDistanceMax maximum edit distance of the corrections of each word
+     * @param options beam width, number of results and scoring of the decoding
+     * @return up to {@link LatticeOptions#getMaxResults()} distinct lines, best first, whose frequency is their probability
+     * under the lexicons times the sum of all counts in the dictionary
+     * @throws NotInitializedException if the lexicon is empty
+     */
+    public List<SuggestItem> lookupCompound(String input, int editDistanceMax, LatticeOptions options) throws NotInitializedException {
+        if (unigramLexicon.isEmpty()) {
+            throw new NotInitializedException("There are no words in the lexicon.");
+        }
+        List<SuggestItem> suggestions = new ArrayList<>();
+        for (CompoundLattice.Line line : new CompoundLattice(this, n, editDistanceMax, options).decode(input)) {
+            int distance = stringDistance.distanceWithEarlyStop(codePoints.encode(input), codePoints.encode(line.text), Integer.MAX_VALUE);
+            suggestions.add(new SuggestItem(line.text, distance, n * Math.exp(line.logProbability), distance, line.logProbability));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Whether a word may be split in two before its char at {@code index}.
+     */
+    boolean isSplitPoint(String word, int index) {
+        return codePoints.isBoundary(word, index);
+    }
+
+    /**
+     * Looks up everything {@link SymSpellImpl#lookupCompoundInParallel(String, int, boolean, Executor)} may need to
+     * decide on the word at index {@code i}.
+     */
+    private CompoundToken compoundToken(String[] termList, int i, int editDistanceMax, boolean includeUnknown) throws NotInitializedException {
+        String token = termList[i];
+        List<SuggestItem> suggestions = lookup(token, TOP, editDistanceMax, includeUnknown, LookupGuard.UNLIMITED);
+        List<SuggestItem> combinationSuggestions = i > 0
+                ? lookup(termList[i - 1] + token, TOP, editDistanceMax, includeUnknown, LookupGuard.UNLIMITED)
+                : Collections.emptyList();
+        SuggestItem split = needsSplit(token, suggestions) ? splitWords(editDistanceMax, token, suggestions, LookupGuard.UNLIMITED) : null;
+        return new CompoundToken(suggestions, combinationSuggestions, split);
+    }
+
+    /**
+     * Whether a word of a compound lookup is replaced by its best split rather than by its best suggestion.
+     */
+    private boolean needsSplit(String token, List<SuggestItem> suggestions) {
+        if (suggestions.isEmpty()) {
+            return true;
+        }
+        boolean firstSuggestionIsPerfect = suggestions.get(0).getEditDistance() == 0;
+        return !firstSuggestionIsPerfect && codePoints.encode(token).length() != 1;
+    }
+
+    private List<SuggestItem> compoundSuggestion(String input, List<SuggestItem> suggestionParts) {
         double freq = n;
+        double logProbability = 0;
         StringBuilder stringBuilder = new StringBuilder();
         for (SuggestItem suggestItem : suggestionParts) {
             stringBuilder.append(suggestItem.getSuggestion()).append(" ");
             freq *= suggestItem.getFrequencyOfSuggestionInDict() / n;
+            if (logProbabilities != null) {
+                logProbability += logProbability(suggestItem);
+            }
         }
 
         String term = stringBuilder.toString().replaceFirst("\\s++$", ""); // this replace call trims all trailing whitespace
-        SuggestItem suggestion = new SuggestItem(term, stringDistance.distanceWithEarlyStop(input, term, Integer.MAX_VALUE), freq);
+        int distance = stringDistance.distanceWithEarlyStop(codePoints.encode(input), codePoints.encode(term), Integer.MAX_VALUE);
+        SuggestItem suggestion = logProbabilities == null
+                ? new SuggestItem(term, distance, freq)
+                : new SuggestItem(term, distance, Math.exp(logProbability + logProbabilities.logN()), distance, logProbability);
         List<SuggestItem> suggestionsLine = new ArrayList<>();
         suggestionsLine.add(suggestion);
         return suggestionsLine;
     }
 
-    private void splitWords(int editDistanceMax, String[] termList, List<SuggestItem> suggestions, List<SuggestItem> suggestionParts, int i) throws NotInitializedException {
+    private SuggestItem splitWords(int editDistanceMax, String word, List<SuggestItem> suggestions, LookupGuard guard) throws NotInitializedException {
         SuggestItem suggestionSplitBest = null;
         if (!suggestions.isEmpty()) suggestionSplitBest = suggestions.get(0);
 
-        String word = termList[i];
         if (word.length() > 1) {
             for (int j = 1; j < word.length(); j++) {
+                if (!codePoints.isBoundary(word, j)) {
+                    continue;
+                }
                 String part1 = word.substring(0, j);
                 String part2 = word.substring(j);
                 SuggestItem suggestionSplit;
-                List<SuggestItem> suggestions1 = lookup(part1, TOP, editDistanceMax, false);
+                List<SuggestItem> suggestions1 = lookup(part1, TOP, editDistanceMax, false, guard);
                 if (!suggestions1.isEmpty()) {
-                    List<SuggestItem> suggestions2 = lookup(part2, TOP, editDistanceMax, false);
+                    List<SuggestItem> suggestions2 = lookup(part2, TOP, editDistanceMax, false, guard);
                     if (!suggestions2.isEmpty()) {
 
                         Bigram splitTerm = new Bigram(suggestions1.get(0).getSuggestion(), suggestions2.get(0).getSuggestion());
-                        int splitDistance = stringDistance.distanceWithEarlyStop(word, splitTerm.toString(), editDistanceMax);
+                        int splitDistance = stringDistance.distanceWithEarlyStop(codePoints.encode(word), codePoints.encode(splitTerm.toString()), editDistanceMax);
 
                         if (splitDistance < 0) splitDistance = editDistanceMax + 1;
 
@@ -364,7 +1077,15 @@ public class SymSpellImpl implements SymSpell {
                             // to rank/select the best splitting variant
                             freq = Math.min(BIGRAM_COUNT_MIN, getNaiveBayesProbOfCombination(suggestions1, suggestions2));
                         }
-                        suggestionSplit = new SuggestItem(splitTerm.toString(), splitDistance, freq);
+                        if (logProbabilities == null) {
+                            suggestionSplit = new SuggestItem(splitTerm.toString(), splitDistance, freq);
+                        } else {
+                            // Rare pairs are no longer truncated to 0 occurrences, so that they are still ranked
+                            double logProbability = bigramLexicon.containsKey(splitTerm)
+                                    ? Math.log(freq) - logProbabilities.logN()
+                                    : logProbability(suggestions1.get(0)) + logProbability(suggestions2.get(0));
+                            suggestionSplit = new SuggestItem(splitTerm.toString(), splitDistance, Math.exp(logProbability + logProbabilities.logN()), splitDistance, logProbability);
+                        }
 
                         if (suggestionSplitBest == null || suggestionSplit.getFrequencyOfSuggestionInDict() > suggestionSplitBest.getFrequencyOfSuggestionInDict()){
                             suggestionSplitBest = suggestionSplit;
@@ -373,18 +1094,34 @@ public class SymSpellImpl implements SymSpell {
                 }
             }
             if (suggestionSplitBest != null) {
-                suggestionParts.add(suggestionSplitBest);
+                return suggestionSplitBest;
             } else {
-                SuggestItem suggestItem = new SuggestItem(word, editDistanceMax + 1, estimatedWordOccurrenceProbability(word)); // estimated word occurrence probability P=10 / (N * 10^word length l)
-
-                suggestionParts.add(suggestItem);
+                return unknownSuggestion(word, editDistanceMax); // estimated word occurrence probability P=10 / (N * 10^word length l)
             }
         } else {
-            SuggestItem suggestItem = new SuggestItem(word, editDistanceMax + 1, estimatedWordOccurrenceProbability(word));
-            suggestionParts.add(suggestItem);
+            return unknownSuggestion(word, editDistanceMax);
         }
     }
 
+    /**
+     * Suggestion standing for {@code word} when nothing better is found, with its estimated probability.
+     */
+    private SuggestItem unknownSuggestion(String word, int editDistanceMax) {
+        if (logProbabilities == null) {
+            return new SuggestItem(word, editDistanceMax + 1, estimatedWordOccurrenceProbability(word));
+        }
+        double logProbability = logProbabilities.unknownWord(word.length());
+        return new SuggestItem(word, editDistanceMax + 1, Math.exp(logProbability + logProbabilities.logN()), editDistanceMax + 1, logProbability);
+    }
+
+    /**
+     * Log probability of a suggestion, from its frequency if it was not set.
+     */
+    private double logProbability(SuggestItem suggestItem) {
+        double logProbability = suggestItem.getLogProbability();
+        return Double.isNaN(logProbability) ? Math.log(suggestItem.getFrequencyOfSuggestionInDict()) - logProbabilities.logN() : logProbability;
+    }
+
     private long getNaiveBayesProbOfCombination(List<SuggestItem> suggestions1, List<SuggestItem> suggestions2) {
         return (long) ((suggestions1.get(0).getFrequencyOfSuggestionInDict() / (double) n) * suggestions2.get(0).getFrequencyOfSuggestionInDict());
     }
@@ -394,11 +1131,23 @@ public class SymSpellImpl implements SymSpell {
     }
 
     Optional<SuggestItem> combineWords(int editDistanceMax, boolean includeUnknown, String token, String previousToken, SuggestItem suggestItem, SuggestItem secondBestSuggestion) throws NotInitializedException {
-        List<SuggestItem> suggestionsCombination = lookup(previousToken + token, TOP, editDistanceMax, includeUnknown);
+        return combineWords(editDistanceMax, includeUnknown, token, previousToken, suggestItem, secondBestSuggestion, LookupGuard.UNLIMITED);
+    }
+
+    private Optional<SuggestItem> combineWords(int editDistanceMax, boolean includeUnknown, String token, String previousToken, SuggestItem suggestItem, SuggestItem secondBestSuggestion, LookupGuard guard) throws NotInitializedException {
+        List<SuggestItem> suggestionsCombination = lookup(previousToken + token, TOP, editDistanceMax, includeUnknown, guard);
+        return combineWords(editDistanceMax, token, suggestItem, secondBestSuggestion, suggestionsCombination);
+    }
+
+    /**
+     * Decides whether the previous word, corrected into {@code suggestItem}, should be combined with {@code token}, given
+     * the suggestions for the two words written together.
+     */
+    private Optional<SuggestItem> combineWords(int editDistanceMax, String token, SuggestItem suggestItem, SuggestItem secondBestSuggestion, List<SuggestItem> suggestionsCombination) {
         if (!suggestionsCombination.isEmpty()) {
             SuggestItem best2;
             // TODO fixme
-            best2 = Optional.ofNullable(secondBestSuggestion).orElseGet(() -> new SuggestItem(token, editDistanceMax + 1, estimatedWordOccurrenceProbability(token)));
+            best2 = Optional.ofNullable(secondBestSuggestion).orElseGet(() -> unknownSuggestion(token, editDistanceMax));
 
             int distance = suggestItem.getEditDistance() + best2.getEditDistance();
 
@@ -406,19 +1155,30 @@ public class SymSpellImpl implements SymSpell {
 
             if (distance >= 0 && (firstSuggestion.getEditDistance() + 1 < distance)
                     || (firstSuggestion.getEditDistance() + 1 == distance
-                    && firstSuggestion.getFrequencyOfSuggestionInDict()
-                    > suggestItem.getFrequencyOfSuggestionInDict() / n
-                    * best2.getFrequencyOfSuggestionInDict())) {
+                    && isMoreLikely(firstSuggestion, suggestItem, best2))) {
 
                 return Optional.of(new SuggestItem(
                         firstSuggestion.getSuggestion(),
                         firstSuggestion.getEditDistance(),
-                        firstSuggestion.getFrequencyOfSuggestionInDict()));
+                        firstSuggestion.getFrequencyOfSuggestionInDict(),
+                        firstSuggestion.getEditDistance(),
+                        firstSuggestion.getLogProbability()));
             }
         }
         return Optional.empty();
     }
 
+    /**
+     * Whether two words written together, as {@code combination}, are more likely than the words {@code first} and
+     * {@code second}.
+     */
+    private boolean isMoreLikely(SuggestItem combination, SuggestItem first, SuggestItem second) {
+        if (logProbabilities == null) {
+            return combination.getFrequencyOfSuggestionInDict() > first.getFrequencyOfSuggestionInDict() / n * second.getFrequencyOfSuggestionInDict();
+        }
+        return logProbability(combination) > logProbability(first) + logProbability(second);
+    }
+
     @Override
     public Map<String, Long> getUnigramLexicon() {
         return unigramLexicon;
@@ -429,12 +1189,222 @@ public class SymSpellImpl implements SymSpell {
         return bigramLexicon;
     }
 
+    /**
+     * Estimated heap taken by the delete index, the word arrays and the copies of the lexicons.
+     * @return estimated size in bytes
+     */
+    long estimatedIndexBytes() {
+        return bytesByStructure().values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private Map<String, Long> bytesByStructure() {
+        Map<String, Long> bytes = new LinkedHashMap<>();
+        bytes.put("deleteHashTable", deletes.hashTableBytes());
+        bytes.put("deletePostings", deletes.postingListBytes());
+        bytes.put("words", DeleteIndex.arrayBytes(4, words.length));
+        bytes.put("counts", DeleteIndex.arrayBytes(8, counts.length));
+        bytes.put("wordIndex", wordIndex.estimatedBytes());
+        bytes.put("tailIndex", tailIndex == null ? 0 : tailIndex.estimatedBytes());
+        bytes.put("deleteFilter", deleteFilter == null ? 0 : deleteFilter.estimatedBytes());
+        bytes.put("phoneticIndex", phoneticIndex == null ? 0 : phoneticIndex.estimatedBytes());
+        bytes.put("logProbabilities", logProbabilities == null ? 0 : logProbabilities.estimatedBytes());
+        bytes.put("unigramLexicon", lexiconBytes(unigramLexicon.size()));
+        bytes.put("bigramLexicon", lexiconBytes(bigramLexicon.size()));
+        return bytes;
+    }
+
+    /**
+     * Heap of the {@code HashMap} copy of a lexicon of {@code entries} entries made by the constructor: its table and a node
+     * per entry, the words and counts being shared with the lexicon of the builder.
+     */
+    static long lexiconBytes(int entries) {
+        if (entries == 0) {
+            return 48;
+        }
+        int capacity = 1;
+        while (capacity < (int) (entries / 0.75f + 1)) {
+            capacity <<= 1;
+        }
+        return 48 + DeleteIndex.arrayBytes(4, capacity) + 32L * entries;
+    }
+
+    /**
+     * Describes the index built for this dictionary: the distribution of the number of words each delete leads to, the
+     * deletes leading to the most words, and the heap of each structure. Computing it goes through the whole index.
+     * @param largestBuckets number of deletes leading to the most words to report
+     * @return report of the index
+     */
+    public IndexReport getIndexReport(int largestBuckets) {
+        int[] postingLengths = new int[deletes.size()];
+        for (int entry = 0; entry < postingLengths.length; entry++) {
+            postingLengths[entry] = deletes.postingLength(entry);
+        }
+        Arrays.sort(postingLengths);
+        int maxPostingLength = postingLengths.length == 0 ? 0 : postingLengths[postingLengths.length - 1];
+        long[] histogram = new long[Integer.SIZE - Integer.numberOfLeadingZeros(maxPostingLength)];
+        for (int postingLength : postingLengths) {
+            histogram[Integer.SIZE - 1 - Integer.numberOfLeadingZeros(postingLength)]++;
+        }
+        List<IndexReport.Bucket> buckets = new ArrayList<>();
+        deletes.largestPostingLists(largestBuckets).forEach((delete, size) -> buckets.add(new IndexReport.Bucket(codePoints.decode(delete), size)));
+        return new IndexReport(words.length, deletes.size(), deletes.postingCount(), histogram, percentile(postingLengths, 0.5),
+                               percentile(postingLengths, 0.99), maxPostingLength, buckets, bytesByStructure(), buildDuration);
+    }
+
+    private static int percentile(int[] sorted, double quantile) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.ceil(quantile * sorted.length) - 1];
+    }
+
+    /**
+     * Hits and misses of the cache enabled with {@link SymSpellBuilder#setNeighborhoodCacheSize(int)}.
+     * @return statistics of the neighborhood cache, all zeros when it is disabled
+     */
+    public CacheStatistics getNeighborhoodCacheStatistics() {
+        return neighborhoodCache == null ? new CacheStatistics(0, 0, 0) : neighborhoodCache.statistics();
+    }
+
+    /**
+     * Frequency of {@code word}, found with a single probe of the word index in most cases.
+     * @param word word to look for
+     * @return frequency of the word, 0 if it is not in the lexicon
+     */
+    long frequency(String word) {
+        int wordId = wordId(word);
+        return wordId == WordIndex.NOT_FOUND ? 0 : counts[wordId];
+    }
+
+    /**
+     * @param word word to look for
+     * @return id of the word, {@link WordIndex#NOT_FOUND} if it is not in the lexicon
+     */
+    int wordId(String word) {
+        return wordIndex.id(codePoints.encode(word));
+    }
+
+    /**
+     * @return log probabilities of the words and bigrams, null unless {@link SymSpellBuilder#setLogProbabilityScoring(boolean)}
+     * is enabled
+     */
+    LogProbabilities getLogProbabilities() {
+        return logProbabilities;
+    }
+
     Map<String, Collection<String>> getDeletes() {
-        return deletes;
+        Map<String, Collection<String>> deletesByKey = new HashMap<>();
+        deletes.entries().forEach((delete, entry) -> {
+            Collection<String> suggestions = new ArrayList<>();
+            for (int offset = deletes.start(entry); offset < deletes.end(entry); offset++) {
+                suggestions.add(words[deletes.wordId(offset)]);
+            }
+            deletesByKey.put(delete, suggestions);
+        });
+        return deletesByKey;
+    }
+
+    /**
+     * @return words left out of the delete index, null if all words are in it
+     */
+    TailIndex getTailIndex() {
+        return tailIndex;
     }
 
     @Override
     public int getMaxDictionaryEditDistance() {
         return maxDictionaryEditDistance;
     }
+
+    /**
+     * Suggestions found by a lookup whose distance to the input is yet to be computed.
+     */
+    private static final class PendingDistances {
+        private String[] words = new String[16];
+        private int[] wordIds = new int[16];
+        /**
+         * Receives the distances of the words
+         */
+        private int[] distances = new int[16];
+        private int size = 0;
+
+        void add(String word, int wordId) {
+            if (size == words.length) {
+                words = Arrays.copyOf(words, size * 2);
+                wordIds = Arrays.copyOf(wordIds, size * 2);
+                distances = new int[size * 2];
+            }
+            words[size] = word;
+            wordIds[size++] = wordId;
+        }
+
+        void clear() {
+            Arrays.fill(words, 0, size, null);
+            size = 0;
+        }
+    }
+
+    /**
+     * Buffers of a lookup, reused by the next lookups of the same thread.
+     */
+    private static final class Scratch {
+        /**
+         * Sets grown past this size are dropped rather than cleared, since clearing them costs as much as their capacity
+         */
+        private static final int MAX_RETAINED_SET_SIZE = 1024;
+
+        private final SuggestionBuffer suggestions = new SuggestionBuffer();
+        private final SuggestionBuffer phoneticSuggestions = new SuggestionBuffer();
+        private final SuggestionBuffer tailSuggestions = new SuggestionBuffer();
+        private final List<String> candidates = new ArrayList<>();
+        private final PendingDistances pendingDistances = new PendingDistances();
+        private final long[] prefixHashes;
+        private Set<String> deletesAlreadyConsidered = new HashSet<>();
+        private Set<String> suggestionsAlreadyConsidered = new HashSet<>();
+        /**
+         * Deletes of a candidate, only reused for candidates of up to {@link SymSpellImpl#MAX_FILTERED_CANDIDATE_LENGTH} chars
+         */
+        private final Set<String> newDeletes = new HashSet<>();
+        /**
+         * Chars of the deletes of a candidate, which is at most a prefix long
+         */
+        private final char[] chars;
+        private boolean inUse;
+
+        Scratch(int prefixLength) {
+            this.prefixHashes = new long[prefixLength + 1];
+            this.chars = new char[prefixLength];
+        }
+
+        void release() {
+            suggestions.clear();
+            phoneticSuggestions.clear();
+            tailSuggestions.clear();
+            candidates.clear();
+            pendingDistances.clear();
+            deletesAlreadyConsidered = cleared(deletesAlreadyConsidered);
+            suggestionsAlreadyConsidered = cleared(suggestionsAlreadyConsidered);
+            inUse = false;
+        }
+
+        private static Set<String> cleared(Set<String> set) {
+            if (set.size() > MAX_RETAINED_SET_SIZE) {
+                return new HashSet<>();
+            }
+            set.clear();
+            return set;
+        }
+    }
+
+    /**
+     * Lookups of a word of a compound input, of the word combined with the previous one, and its best split if needed.
+     */
+    private static final class CompoundToken {
+        private final List<SuggestItem> suggestions;
+        private final List<SuggestItem> combinationSuggestions;
+        private final SuggestItem split;
+
+        CompoundToken(List<SuggestItem> suggestions, List<SuggestItem> combinationSuggestions, SuggestItem split) {
+            this.suggestions = suggestions;
+            this.combinationSuggestions = combinationSuggestions;
+            this.split = split;
+        }
+    }
 }
@@ -0,0 +1,214 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Chooses the prefix length and the maximum edit distance of a dictionary from a sample of its queries.
+ * <p>
+ * Every combination of the candidate settings is built and measured: the heap of its index, the latency of looking up
+ * each query, and its recall, i.e. how often its top suggestion matches the one of the most thorough candidate, the one
+ * with the largest edit distance and prefix. The recommended setting is the one with the best recall within the memory
+ * and latency budgets, the fastest and then the smallest among equals, which makes it Pareto-optimal.
+ */
+public class SymSpellTuner {
+
+    private final SymSpellBuilder template;
+    private final List<String> queries;
+    private int[] prefixLengths = {5, 6, 7, 8, 9, 10};
+    private int[] maxEditDistances = {1, 2, 3};
+    private int lexiconSampleSize = Integer.MAX_VALUE;
+    private long memoryBudget = Long.MAX_VALUE;
+    private Duration latencyBudget = null;
+    private Verbosity verbosity = Verbosity.TOP;
+    private int repetitions = 3;
+
+    /**
+     * @param template lexicons and settings of the dictionary to tune, other than its prefix length and maximum edit distance
+     * @param queries representative sample of the inputs the dictionary will be looked up with
+     */
+    public SymSpellTuner(SymSpellBuilder template, List<String> queries) {
+        if (queries.isEmpty()) {
+            throw new IllegalArgumentException("At least one query is needed");
+        }
+        this.template = template;
+        this.queries = new ArrayList<>(queries);
+    }
+
+    /**
+     * @param prefixLengths candidate prefix lengths, by default 5 to 10
+     * @return this tuner
+     */
+    public SymSpellTuner setPrefixLengths(int... prefixLengths) {
+        this.prefixLengths = prefixLengths.clone();
+        return this;
+    }
+
+    /**
+     * @param maxEditDistances candidate maximum edit distances, by default 1 to 3
+     * @return this tuner
+     */
+    public SymSpellTuner setMaxEditDistances(int... maxEditDistances) {
+        this.maxEditDistances = maxEditDistances.clone();
+        return this;
+    }
+
+    /**
+     * Builds the candidates on the {@code lexiconSampleSize} most frequent words only, which is faster on large lexicons.
+     * Latency and recall are measured on the sample, while the heap is estimated for the whole lexicon with
+     * {@link SymSpellBuilder#estimateBuild(int)}.
+     * @param lexiconSampleSize number of words of the lexicon to build candidates with
+     * @return this tuner
+     */
+    public SymSpellTuner setLexiconSampleSize(int lexiconSampleSize) {
+        if (lexiconSampleSize <= 0) {
+            throw new IllegalArgumentException("Lexicon sample size must be positive");
+        }
+        this.lexiconSampleSize = lexiconSampleSize;
+        return this;
+    }
+
+    /**
+     * @param memoryBudget maximum heap of the index, in bytes
+     * @return this tuner
+     */
+    public SymSpellTuner setMemoryBudget(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+        return this;
+    }
+
+    /**
+     * @param latencyBudget maximum mean latency of a lookup, null for none
+     * @return this tuner
+     */
+    public SymSpellTuner setLatencyBudget(Duration latencyBudget) {
+        this.latencyBudget = latencyBudget;
+        return this;
+    }
+
+    /**
+     * @param verbosity verbosity of the measured lookups, {@link Verbosity#TOP} by default
+     * @return this tuner
+     */
+    public SymSpellTuner setVerbosity(Verbosity verbosity) {
+        this.verbosity = verbosity;
+        return this;
+    }
+
+    /**
+     * @param repetitions number of timed passes over the queries, after a warm-up pass
+     * @return this tuner
+     */
+    public SymSpellTuner setRepetitions(int repetitions) {
+        if (repetitions <= 0) {
+            throw new IllegalArgumentException("Repetitions must be positive");
+        }
+        this.repetitions = repetitions;
+        return this;
+    }
+
+    /**
+     * Builds and measures every candidate setting where the prefix is longer than the edit distance.
+     * @return measures of the candidates, and the recommended one if any fits the budgets
+     * @throws NotInitializedException if the lexicon is empty
+     */
+    public TuningReport tune() throws NotInitializedException {
+        Map<String, Long> lexicon = template.getUnigramLexicon();
+        boolean sampled = lexicon.size() > lexiconSampleSize;
+        Map<String, Long> lexiconSample = sampled ? mostFrequent(lexicon, lexiconSampleSize) : lexicon;
+        int[] distances = Arrays.stream(maxEditDistances).sorted().distinct().toArray();
+        int[] prefixes = Arrays.stream(prefixLengths).sorted().distinct().toArray();
+
+        // The most thorough candidate is measured first, as the reference of the recall of the others
+        List<String> reference = null;
+        List<TuningReport.Candidate> candidates = new ArrayList<>();
+        for (int d = distances.length - 1; d >= 0; d--) {
+            for (int p = prefixes.length - 1; p >= 0; p--) {
+                if (prefixes[p] <= distances[d]) {
+                    continue;
+                }
+                SymSpellBuilder builder = template.copy().setMaxDictionaryEditDistance(distances[d]).setPrefixLength(prefixes[p]);
+                SymSpellImpl symSpell = builder.copy().setUnigramLexicon(lexiconSample).setBuildProgressListener(null).createSymSpell();
+                long indexBytes = sampled ? builder.estimateBuild(lexiconSampleSize).getIndexBytes() : symSpell.estimatedIndexBytes();
+                List<String> topSuggestions = topSuggestions(symSpell);
+                if (reference == null) {
+                    reference = topSuggestions;
+                }
+                long[] latencies = latencies(symSpell);
+                candidates.add(new TuningReport.Candidate(builder, indexBytes, Duration.ofNanos(mean(latencies)),
+                                                          Duration.ofNanos(latencies[(int) Math.ceil(0.99 * latencies.length) - 1]),
+                                                          recall(reference, topSuggestions)));
+            }
+        }
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("No prefix length is longer than an edit distance");
+        }
+        return new TuningReport(candidates, memoryBudget, latencyBudget);
+    }
+
+    private static Map<String, Long> mostFrequent(Map<String, Long> lexicon, int count) {
+        return lexicon.entrySet()
+                      .stream()
+                      .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                      .limit(count)
+                      .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, HashMap::new));
+    }
+
+    /**
+     * Top suggestion for each query, null when there is none.
+     */
+    private List<String> topSuggestions(SymSpellImpl symSpell) throws NotInitializedException {
+        List<String> topSuggestions = new ArrayList<>(queries.size());
+        for (String query : queries) {
+            List<SuggestItem> suggestions = symSpell.lookup(query, verbosity, false);
+            topSuggestions.add(suggestions.isEmpty() ? null : suggestions.get(0).getSuggestion());
+        }
+        return topSuggestions;
+    }
+
+    /**
+     * Latency of each lookup of each timed pass, sorted.
+     */
+    private long[] latencies(SymSpellImpl symSpell) throws NotInitializedException {
+        long[] latencies = new long[queries.size() * repetitions];
+        int i = 0;
+        for (int repetition = 0; repetition < repetitions; repetition++) {
+            for (String query : queries) {
+                long start = System.nanoTime();
+                symSpell.lookup(query, verbosity, false);
+                latencies[i++] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static long mean(long[] values) {
+        return Math.round(Arrays.stream(values).average().orElse(0));
+    }
+
+    /**
+     * Share of the queries the reference has a suggestion for, for which {@code topSuggestions} has the same.
+     */
+    private static double recall(List<String> reference, List<String> topSuggestions) {
+        int found = 0;
+        int matching = 0;
+        for (int i = 0; i < reference.size(); i++) {
+            if (reference.get(i) != null) {
+                found++;
+                if (reference.get(i).equals(topSuggestions.get(i))) {
+                    matching++;
+                }
+            }
+        }
+        return found == 0 ? 1 : (double) matching / found;
+    }
+}
@@ -0,0 +1,235 @@
+package io.gitlab.rxp90.jsymspell;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Words left out of the delete index, found by scanning those of a similar length and set of chars, until they are
+ * looked up often enough to have their deletes generated.
+ * <p>
+ * Words are bucketed by length, each with a mask of the chars it contains and a mask of the chars it contains at least
+ * twice. The bits set in only one of the masks of two words sum up the differences between their char counts, capped at
+ * two. A single edit changes these counts by at most two, a substitution removing one char and adding another, so words
+ * whose masks differ from those of the input in more than twice the maximum distance are skipped without computing their
+ * distance. Promoted words are indexed by their deletes in a concurrent map alongside the delete index, and skipped by the
+ * scan.
+ */
+final class TailIndex {
+
+    private static final int[] NO_WORDS = new int[0];
+    private static final long[] NO_MASKS = new long[0];
+
+    /**
+     * Ids of the tail words of each length
+     */
+    private final int[][] wordIdsByLength;
+    /**
+     * Chars of the tail words of each length, as computed by {@link TailIndex#mask(String)} and
+     * {@link TailIndex#repeatMask(String)}, two longs per word
+     */
+    private final long[][] masksByLength;
+    private final int size;
+    private final long maxFrequency;
+    private final int promotionThreshold;
+    /**
+     * Times each word was suggested by a scan, or the opposite of its rank among promoted words once its deletes are
+     * indexed
+     */
+    private final AtomicIntegerArray hits;
+    private final ConcurrentHashMap<String, int[]> promotedDeletes = new ConcurrentHashMap<>();
+    private final AtomicInteger promotedCount = new AtomicInteger();
+
+    /**
+     * @param words all words, the id of a word being its index
+     * @param counts frequency of each word, by word id
+     * @param isTail whether each word is left out of the delete index, by word id
+     * @param promotionThreshold number of times a word is suggested before its deletes are generated,
+     *                           {@link Integer#MAX_VALUE} to never promote words
+     */
+    TailIndex(String[] words, long[] counts, boolean[] isTail, int promotionThreshold) {
+        int maxLength = 0;
+        int size = 0;
+        long maxFrequency = 0;
+        for (int wordId = 0; wordId < words.length; wordId++) {
+            if (isTail[wordId]) {
+                maxLength = Math.max(maxLength, words[wordId].length());
+                maxFrequency = Math.max(maxFrequency, counts[wordId]);
+                size++;
+            }
+        }
+        int[] countByLength = new int[maxLength + 1];
+        for (int wordId = 0; wordId < words.length; wordId++) {
+            if (isTail[wordId]) {
+                countByLength[words[wordId].length()]++;
+            }
+        }
+        this.wordIdsByLength = new int[maxLength + 1][];
+        this.masksByLength = new long[maxLength + 1][];
+        for (int length = 0; length <= maxLength; length++) {
+            wordIdsByLength[length] = countByLength[length] == 0 ? NO_WORDS : new int[countByLength[length]];
+            masksByLength[length] = countByLength[length] == 0 ? NO_MASKS : new long[2 * countByLength[length]];
+        }
+        int[] filled = new int[maxLength + 1];
+        for (int wordId = 0; wordId < words.length; wordId++) {
+            if (isTail[wordId]) {
+                String word = words[wordId];
+                int index = filled[word.length()]++;
+                wordIdsByLength[word.length()][index] = wordId;
+                masksByLength[word.length()][2 * index] = mask(word);
+                masksByLength[word.length()][2 * index + 1] = repeatMask(word);
+            }
+        }
+        this.size = size;
+        this.maxFrequency = maxFrequency;
+        this.promotionThreshold = promotionThreshold;
+        this.hits = new AtomicIntegerArray(words.length);
+    }
+
+    /**
+     * Chars of {@code word}, each one setting the bit of its low 6 bits, which tells lower case ASCII letters apart.
+     * @param word word to summarize
+     * @return mask of its chars
+     */
+    static long mask(String word) {
+        long mask = 0;
+        for (int i = 0; i < word.length(); i++) {
+            mask |= 1L << word.charAt(i);
+        }
+        return mask;
+    }
+
+    /**
+     * Chars found at least twice in {@code word}, each one setting the bit of its low 6 bits.
+     * @param word word to summarize
+     * @return mask of its repeated chars
+     */
+    static long repeatMask(String word) {
+        long mask = 0;
+        long repeatMask = 0;
+        for (int i = 0; i < word.length(); i++) {
+            long bit = 1L << word.charAt(i);
+            repeatMask |= mask & bit;
+            mask |= bit;
+        }
+        return repeatMask;
+    }
+
+    /**
+     * Whether a word whose chars are {@code mask} and {@code repeatMask} may be within {@code maxDistance} edits of the
+     * input.
+     */
+    static boolean mayBeWithin(long mask, long repeatMask, long inputMask, long inputRepeatMask, int maxDistance) {
+        return Long.bitCount(mask ^ inputMask) + Long.bitCount(repeatMask ^ inputRepeatMask) <= 2 * maxDistance;
+    }
+
+    int[] wordIds(int length) {
+        return length < wordIdsByLength.length ? wordIdsByLength[length] : NO_WORDS;
+    }
+
+    /**
+     * Masks of the tail words of {@code length} chars, the mask of the word at index {@code i} of
+     * {@link TailIndex#wordIds(int)} being at {@code 2 * i}, followed by its repeat mask.
+     */
+    long[] masks(int length) {
+        return length < masksByLength.length ? masksByLength[length] : NO_MASKS;
+    }
+
+    /**
+     * @return number of words left out of the delete index, promoted ones included
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return highest frequency of a tail word, which any word of the delete index has at least
+     */
+    long maxFrequency() {
+        return maxFrequency;
+    }
+
+    /**
+     * Whether {@code wordId} was among the first {@code promotedCount} promoted words, whose deletes are then visible to
+     * a lookup reading {@link TailIndex#promotedCount()} before them.
+     */
+    boolean isPromoted(int wordId, int promotedCount) {
+        int hitCount = hits.get(wordId);
+        return hitCount < 0 && -hitCount <= promotedCount;
+    }
+
+    /**
+     * @return number of words whose deletes were generated after the build, read by lookups before looking for deletes
+     * so that the scan skips only those words
+     */
+    int promotedCount() {
+        return promotedCount.get();
+    }
+
+    /**
+     * Ids of the promoted words leading to {@code delete}.
+     * @param delete delete to look for
+     * @return word ids, null if none
+     */
+    int[] promotedWordIds(String delete) {
+        return promotedCount.get() == 0 ? null : promotedDeletes.get(delete);
+    }
+
+    /**
+     * Counts a suggestion of a tail word by a scan.
+     * @param wordId suggested word
+     * @return true for the call reaching the promotion threshold, which should then {@link TailIndex#promote promote} the
+     * word
+     */
+    boolean recordHit(int wordId) {
+        if (promotionThreshold == Integer.MAX_VALUE) {
+            return false;
+        }
+        int current;
+        do {
+            current = hits.get(wordId);
+            if (current < 0 || current >= promotionThreshold) {
+                return false;
+            }
+        } while (!hits.compareAndSet(wordId, current, current + 1));
+        return current + 1 == promotionThreshold;
+    }
+
+    /**
+     * Indexes {@code wordId} by its deletes, then stops scanning it for lookups starting afterwards. Lookups in progress
+     * may find the word through both, and should skip duplicates.
+     * @param wordId word reaching the promotion threshold
+     * @param deletes deletes of the word
+     */
+    void promote(int wordId, Collection<String> deletes) {
+        for (String delete : deletes) {
+            promotedDeletes.merge(delete, new int[]{wordId}, TailIndex::concat);
+        }
+        // Visible through its deletes before being counted, and counted before the scan skips it
+        hits.set(wordId, -promotedCount.incrementAndGet());
+    }
+
+    private static int[] concat(int[] wordIds, int[] more) {
+        int[] merged = Arrays.copyOf(wordIds, wordIds.length + more.length);
+        System.arraycopy(more, 0, merged, wordIds.length, more.length);
+        return merged;
+    }
+
+    /**
+     * Estimated heap taken by this index, promoted deletes included.
+     * @return estimated size in bytes
+     */
+    long estimatedBytes() {
+        long bytes = DeleteIndex.arrayBytes(4, hits.length());
+        for (int length = 0; length < wordIdsByLength.length; length++) {
+            bytes += DeleteIndex.arrayBytes(4, wordIdsByLength[length].length) + DeleteIndex.arrayBytes(8, masksByLength[length].length);
+        }
+        // About 56 bytes per entry of a ConcurrentHashMap, plus the key and a small array
+        for (String delete : promotedDeletes.keySet()) {
+            bytes += 56 + 24 + DeleteIndex.arrayBytes(2, delete.length()) + DeleteIndex.arrayBytes(4, promotedDeletes.get(delete).length);
+        }
+        return bytes;
+    }
+}
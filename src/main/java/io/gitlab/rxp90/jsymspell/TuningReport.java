@@ -0,0 +1,155 @@
+package io.gitlab.rxp90.jsymspell;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Measures of the settings tried by a {@link SymSpellTuner}, and the recommended one.
+ */
+public final class TuningReport {
+
+    /**
+     * Best recall first, then the fastest, then the smallest
+     */
+    private static final Comparator<Candidate> BEST_FIRST = Comparator.comparingDouble(Candidate::getRecall)
+                                                                      .reversed()
+                                                                      .thenComparing(Candidate::getMeanLatency)
+                                                                      .thenComparingLong(Candidate::getIndexBytes);
+
+    private final List<Candidate> candidates;
+    private final Candidate recommendation;
+
+    TuningReport(List<Candidate> candidates, long memoryBudget, Duration latencyBudget) {
+        for (Candidate candidate : candidates) {
+            candidate.paretoOptimal = candidates.stream().noneMatch(other -> other.dominates(candidate));
+        }
+        this.candidates = Collections.unmodifiableList(candidates);
+        this.recommendation = candidates.stream()
+                                        .filter(candidate -> candidate.indexBytes <= memoryBudget)
+                                        .filter(candidate -> latencyBudget == null || candidate.meanLatency.compareTo(latencyBudget) <= 0)
+                                        .min(BEST_FIRST)
+                                        .orElse(null);
+    }
+
+    /**
+     * @return every setting tried, from the most thorough
+     */
+    public List<Candidate> getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * The setting with the best recall within the budgets, the fastest and then the smallest among equals.
+     * @return recommended setting, empty if none fits the budgets
+     */
+    public Optional<Candidate> getRecommendation() {
+        return Optional.ofNullable(recommendation);
+    }
+
+    @Override
+    public String toString() {
+        return "TuningReport{"
+                + "candidates="
+                + candidates
+                + ", recommendation="
+                + recommendation
+                + '}';
+    }
+
+    /**
+     * Measures of a setting.
+     */
+    public static final class Candidate {
+        private final SymSpellBuilder builder;
+        private final long indexBytes;
+        private final Duration meanLatency;
+        private final Duration p99Latency;
+        private final double recall;
+        private boolean paretoOptimal;
+
+        Candidate(SymSpellBuilder builder, long indexBytes, Duration meanLatency, Duration p99Latency, double recall) {
+            this.builder = builder;
+            this.indexBytes = indexBytes;
+            this.meanLatency = meanLatency;
+            this.p99Latency = p99Latency;
+            this.recall = recall;
+        }
+
+        /**
+         * Whether this setting is at least as good as {@code other} on heap, mean latency and recall, and better on one.
+         */
+        boolean dominates(Candidate other) {
+            boolean noWorse = indexBytes <= other.indexBytes && meanLatency.compareTo(other.meanLatency) <= 0 && recall >= other.recall;
+            boolean better = indexBytes < other.indexBytes || meanLatency.compareTo(other.meanLatency) < 0 || recall > other.recall;
+            return noWorse && better;
+        }
+
+        public int getPrefixLength() {
+            return builder.getPrefixLength();
+        }
+
+        public int getMaxDictionaryEditDistance() {
+            return builder.getMaxDictionaryEditDistance();
+        }
+
+        /**
+         * Builder of the tuned dictionary with this setting, on its whole lexicon.
+         * @return new builder with the settings of the tuned one, and this prefix length and maximum edit distance
+         */
+        public SymSpellBuilder toBuilder() {
+            return builder.copy();
+        }
+
+        /**
+         * @return estimated heap of the index on the whole lexicon, in bytes
+         */
+        public long getIndexBytes() {
+            return indexBytes;
+        }
+
+        public Duration getMeanLatency() {
+            return meanLatency;
+        }
+
+        public Duration getP99Latency() {
+            return p99Latency;
+        }
+
+        /**
+         * @return share of the queries whose top suggestion matches the one of the most thorough setting
+         */
+        public double getRecall() {
+            return recall;
+        }
+
+        /**
+         * @return whether no other setting is at least as good on heap, mean latency and recall, and better on one
+         */
+        public boolean isParetoOptimal() {
+            return paretoOptimal;
+        }
+
+        @Override
+        public String toString() {
+            return "Candidate{"
+                    + "prefixLength="
+                    + getPrefixLength()
+                    + ", maxDictionaryEditDistance="
+                    + getMaxDictionaryEditDistance()
+                    + ", indexBytes="
+                    + indexBytes
+                    + ", meanLatency="
+                    + meanLatency
+                    + ", p99Latency="
+                    + p99Latency
+                    + ", recall="
+                    + recall
+                    + ", paretoOptimal="
+                    + paretoOptimal
+                    + '}';
+        }
+    }
+}
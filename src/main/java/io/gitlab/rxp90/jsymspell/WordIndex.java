@@ -0,0 +1,201 @@
+package io.gitlab.rxp90.jsymspell;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable minimal perfect hash of the words of the lexicon, mapping each word to its id with a single probe of a
+ * {@code long[]} in most cases.
+ * <p>
+ * Words are placed as in BBHash: each level is a bit array of about two bits per word left, where a word whose bit no
+ * other word hits is placed, and words colliding go on to the next level. The rank of the bit of a word among all bits
+ * set is its slot, which holds the id of the word together with a fingerprint of its hash, so that most unknown words are
+ * told apart without comparing strings. The few words still colliding after the last level are kept in a map.
+ */
+final class WordIndex {
+
+    static final int NOT_FOUND = -1;
+
+    /**
+     * Bits per word left at each level. Higher values place more words on the first levels, at the cost of memory
+     */
+    private static final int BITS_PER_WORD = 2;
+    private static final int MAX_LEVELS = 32;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private final String[] words;
+    /**
+     * Bit arrays of all levels, back to back
+     */
+    private final long[] bits;
+    /**
+     * First bit of each level in {@link WordIndex#bits}, plus the number of bits at the end
+     */
+    private final int[] levelStarts;
+    /**
+     * Number of bits set before each {@code long} of {@link WordIndex#bits}
+     */
+    private final int[] ranks;
+    /**
+     * Fingerprint in the high 32 bits and word id in the low 32 bits, by rank
+     */
+    private final long[] slots;
+    private final Map<String, Integer> unplaced;
+
+    /**
+     * @param words words to index, the id of a word being its index
+     */
+    WordIndex(String[] words) {
+        this.words = words;
+        long[] hashes = new long[words.length];
+        int[] remaining = new int[words.length];
+        for (int wordId = 0; wordId < words.length; wordId++) {
+            hashes[wordId] = hash(words[wordId]);
+            remaining[wordId] = wordId;
+        }
+        int remainingCount = words.length;
+
+        long[][] levels = new long[MAX_LEVELS][];
+        int levelCount = 0;
+        while (remainingCount > 0 && levelCount < MAX_LEVELS) {
+            long[] seen = new long[Math.max(1, (int) ((BITS_PER_WORD * (long) remainingCount + 63) >>> 6))];
+            long[] collisions = new long[seen.length];
+            int levelBits = seen.length << 6;
+            for (int i = 0; i < remainingCount; i++) {
+                int bit = position(hashes[remaining[i]], levelCount, levelBits);
+                long mask = 1L << bit;
+                if ((seen[bit >>> 6] & mask) != 0) {
+                    collisions[bit >>> 6] |= mask;
+                } else {
+                    seen[bit >>> 6] |= mask;
+                }
+            }
+            int collided = 0;
+            for (int i = 0; i < remainingCount; i++) {
+                int bit = position(hashes[remaining[i]], levelCount, levelBits);
+                if ((collisions[bit >>> 6] & (1L << bit)) != 0) {
+                    remaining[collided++] = remaining[i];
+                }
+            }
+            for (int i = 0; i < seen.length; i++) {
+                seen[i] &= ~collisions[i];
+            }
+            levels[levelCount++] = seen;
+            remainingCount = collided;
+        }
+
+        this.levelStarts = new int[levelCount + 1];
+        int longs = 0;
+        for (int level = 0; level < levelCount; level++) {
+            levelStarts[level] = longs << 6;
+            longs += levels[level].length;
+        }
+        levelStarts[levelCount] = longs << 6;
+        this.bits = new long[longs];
+        this.ranks = new int[longs];
+        int offset = 0;
+        for (int level = 0; level < levelCount; level++) {
+            System.arraycopy(levels[level], 0, bits, offset, levels[level].length);
+            offset += levels[level].length;
+        }
+        int rank = 0;
+        for (int i = 0; i < longs; i++) {
+            ranks[i] = rank;
+            rank += Long.bitCount(bits[i]);
+        }
+
+        this.slots = new long[rank];
+        if (remainingCount == 0) {
+            this.unplaced = Collections.emptyMap();
+        } else {
+            this.unplaced = new HashMap<>();
+            for (int i = 0; i < remainingCount; i++) {
+                unplaced.put(words[remaining[i]], remaining[i]);
+            }
+        }
+        for (int wordId = 0; wordId < words.length; wordId++) {
+            int bit = placedBit(hashes[wordId]);
+            if (bit >= 0) {
+                slots[rank(bit)] = (long) fingerprint(hashes[wordId]) << 32 | wordId;
+            }
+        }
+    }
+
+    /**
+     * Finds the id of {@code word}.
+     * @param word word to look for
+     * @return word id, or {@link WordIndex#NOT_FOUND} if it is not in the lexicon
+     */
+    int id(String word) {
+        long hash = hash(word);
+        int bit = placedBit(hash);
+        if (bit < 0) {
+            return unplaced.isEmpty() ? NOT_FOUND : unplaced.getOrDefault(word, NOT_FOUND);
+        }
+        long slot = slots[rank(bit)];
+        int wordId = (int) slot;
+        // A word hitting a bit set at some level would have been placed there, so any other word is unknown
+        return (int) (slot >>> 32) == fingerprint(hash) && words[wordId].equals(word) ? wordId : NOT_FOUND;
+    }
+
+    /**
+     * Estimated heap taken by this index, excluding the words.
+     * @return estimated size in bytes
+     */
+    long estimatedBytes() {
+        // About 56 bytes per entry of a HashMap, boxed id included
+        return DeleteIndex.arrayBytes(8, bits.length)
+                + DeleteIndex.arrayBytes(4, ranks.length)
+                + DeleteIndex.arrayBytes(4, levelStarts.length)
+                + DeleteIndex.arrayBytes(8, slots.length)
+                + 56L * unplaced.size();
+    }
+
+    /**
+     * First bit set among the bits of {@code hash} at each level, -1 if none is.
+     */
+    private int placedBit(long hash) {
+        for (int level = 0; level < levelStarts.length - 1; level++) {
+            int start = levelStarts[level];
+            int bit = start + position(hash, level, levelStarts[level + 1] - start);
+            if ((bits[bit >>> 6] & (1L << bit)) != 0) {
+                return bit;
+            }
+        }
+        return -1;
+    }
+
+    private int rank(int bit) {
+        return ranks[bit >>> 6] + Long.bitCount(bits[bit >>> 6] & ((1L << bit) - 1));
+    }
+
+    private static int position(long hash, int level, int levelBits) {
+        long mixed = mix(hash + level * GOLDEN_RATIO);
+        return (int) (((mixed >>> 32) * levelBits) >>> 32);
+    }
+
+    private static int fingerprint(long hash) {
+        return (int) hash;
+    }
+
+    static long hash(String word) {
+        long hash = word.length();
+        for (int i = 0; i < word.length(); i++) {
+            hash = (hash + word.charAt(i)) * GOLDEN_RATIO;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Finalizer of MurmurHash3, spreading every bit of its input over every bit of its output.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB93FE1A85A53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,19 @@
+package io.gitlab.rxp90.jsymspell.api;
+
+/**
+ * Computes the distances from one string to many others at once.
+ */
+public interface BatchStringDistance {
+
+    /**
+     * Calculates the distances between {@code string1} and the {@code count} first {@code strings}, early stopping at
+     * {@code maxDistance}.
+     * @param string1 first string
+     * @param strings strings to compare with {@code string1}
+     * @param count number of strings to compare, from the start of {@code strings}
+     * @param maxDistance distance at which the algorithm will stop early
+     * @param distances receives, at the index of each string, its distance to {@code string1}, or {@code -1} if
+     *                  {@code maxDistance} was exceeded
+     */
+    void distancesWithEarlyStop(String string1, String[] strings, int count, int maxDistance, int[] distances);
+}
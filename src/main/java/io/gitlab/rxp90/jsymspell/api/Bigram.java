@@ -19,6 +19,14 @@ public class Bigram {
         this.word2 = word2;
     }
 
+    public String getWord1() {
+        return word1;
+    }
+
+    public String getWord2() {
+        return word2;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
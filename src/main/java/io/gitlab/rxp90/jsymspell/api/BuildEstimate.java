@@ -0,0 +1,89 @@
+package io.gitlab.rxp90.jsymspell.api;
+
+/**
+ * Size of an index predicted from a sample of the lexicon, before building it.
+ */
+public final class BuildEstimate {
+    private final int sampledWords;
+    private final int words;
+    private final long deletes;
+    private final long postings;
+    private final long indexBytes;
+    private final long peakBuildBytes;
+
+    public BuildEstimate(int sampledWords, int words, long deletes, long postings, long indexBytes, long peakBuildBytes) {
+        this.sampledWords = sampledWords;
+        this.words = words;
+        this.deletes = deletes;
+        this.postings = postings;
+        this.indexBytes = indexBytes;
+        this.peakBuildBytes = peakBuildBytes;
+    }
+
+    /**
+     * Number of words whose deletes were generated. The estimate is exact when all the words were sampled.
+     * @return number of sampled words
+     */
+    public int getSampledWords() {
+        return sampledWords;
+    }
+
+    /**
+     * Number of words of the lexicon.
+     * @return number of words
+     */
+    public int getWords() {
+        return words;
+    }
+
+    /**
+     * Estimated number of distinct deletes, extrapolated from the growth of the distinct deletes of the sample.
+     * @return estimated number of deletes
+     */
+    public long getDeletes() {
+        return deletes;
+    }
+
+    /**
+     * Estimated number of (delete, word) pairs, which grows linearly with the number of words.
+     * @return estimated number of postings
+     */
+    public long getPostings() {
+        return postings;
+    }
+
+    /**
+     * Estimated heap of the index once built, as reported by {@link IndexReport#getIndexBytes()}.
+     * @return estimated size in bytes
+     */
+    public long getIndexBytes() {
+        return indexBytes;
+    }
+
+    /**
+     * Rough estimate of the heap used while building, when the deletes collected in hash maps and the index they are
+     * frozen into are both live.
+     * @return estimated size in bytes
+     */
+    public long getPeakBuildBytes() {
+        return peakBuildBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "BuildEstimate{"
+                + "sampledWords="
+                + sampledWords
+                + ", words="
+                + words
+                + ", deletes="
+                + deletes
+                + ", postings="
+                + postings
+                + ", indexBytes="
+                + indexBytes
+                + ", peakBuildBytes="
+                + peakBuildBytes
+                + '}';
+    }
+}
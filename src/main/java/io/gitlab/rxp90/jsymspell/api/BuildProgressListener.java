@@ -0,0 +1,40 @@
+package io.gitlab.rxp90.jsymspell.api;
+
+/**
+ * Receives the progress of the construction of a spell checker, from the thread building it, or from the threads of its
+ * build executor. Calls are never concurrent.
+ */
+@FunctionalInterface
+public interface BuildProgressListener {
+
+    /**
+     * Stages of a build, in the order they run. Stages of disabled features are skipped.
+     */
+    enum Stage {
+        /**
+         * Generation of the deletes of every word, by far the longest stage
+         */
+        DELETES,
+        /**
+         * Freezing of the deletes into the index
+         */
+        INDEX,
+        /**
+         * Filling of the Bloom filter over the deletes
+         */
+        DELETE_FILTER,
+        /**
+         * Indexing of the phonetic codes of every word
+         */
+        PHONETIC_INDEX
+    }
+
+    /**
+     * Called at the start and the end of each stage, and about every percent of the words in between.
+     * @param stage stage in progress
+     * @param done units of work done in this stage: words for {@link Stage#DELETES} and {@link Stage#PHONETIC_INDEX}, 0
+     *             or 1 for the other stages
+     * @param total units of work of this stage
+     */
+    void onProgress(Stage stage, int done, int total);
+}
@@ -0,0 +1,61 @@
+package io.gitlab.rxp90.jsymspell.api;
+
+/**
+ * Snapshot of the hits and misses of a cache.
+ */
+public final class CacheStatistics {
+    private final long hits;
+    private final long misses;
+    private final long size;
+
+    public CacheStatistics(long hits, long misses, long size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.size = size;
+    }
+
+    /**
+     * Number of lookups served by the cache.
+     * @return number of hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Number of lookups that had to compute the cached value.
+     * @return number of misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Number of entries currently cached.
+     * @return number of entries
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Share of lookups served by the cache.
+     * @return hits / (hits + misses), 0 if the cache was never used
+     */
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{"
+                + "hits="
+                + hits
+                + ", misses="
+                + misses
+                + ", size="
+                + size
+                + '}';
+    }
+}
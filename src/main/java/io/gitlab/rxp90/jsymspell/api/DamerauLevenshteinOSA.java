@@ -1,5 +1,7 @@
 package io.gitlab.rxp90.jsymspell.api;
 
+import java.util.Optional;
+
 public class DamerauLevenshteinOSA implements StringDistance {
 
     private final CharComparator charComparator;
@@ -12,6 +14,17 @@ public class DamerauLevenshteinOSA implements StringDistance {
         this.charComparator = charComparator;
     }
 
+    /**
+     * Batch kernel computing the same distances as this instance with the Vector API, many strings at a time. It is only
+     * available when running on Java 17+ with the {@code jdk.incubator.vector} module added, for instances of this class
+     * using the default {@link CharComparator}.
+     * @return vectorized kernel, or empty if this instance must compute the distances one by one
+     */
+    public Optional<BatchStringDistance> vectorized() {
+        boolean defaultComparison = getClass() == DamerauLevenshteinOSA.class && charComparator.getClass() == DefaultCharComparator.class;
+        return defaultComparison ? VectorizedHolder.KERNEL : Optional.empty();
+    }
+
     @Override
     public int distanceWithEarlyStop(String baseString, String string2, int maxDistance) {
         if (baseString == null) return string2 == null ? 0 : string2.length();
@@ -123,4 +136,17 @@ public class DamerauLevenshteinOSA implements StringDistance {
         return (current <= maxDistance) ? current : -1;
     }
 
+    private static final class VectorizedHolder {
+        private static final Optional<BatchStringDistance> KERNEL = loadKernel();
+
+        private static Optional<BatchStringDistance> loadKernel() {
+            try {
+                // Only packaged under META-INF/versions/17 of the multi-release jar, and only linked with the Vector API
+                Class<?> kernel = Class.forName("io.gitlab.rxp90.jsymspell.api.VectorizedDamerauLevenshteinOSA");
+                return Optional.of((BatchStringDistance) kernel.getDeclaredConstructor().newInstance());
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return Optional.empty();
+            }
+        }
+    }
 }
@@ -0,0 +1,184 @@
+package io.gitlab.rxp90.jsymspell.api;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Costs of the edits used by {@link WeightedDamerauLevenshteinOSA}. Costs are symmetric, so that the distance does not
+ * depend on the order of the strings, and lie in {@code (0, 1]}.
+ * <p>
+ * Substitution costs are precomputed in a matrix over the characters they were configured for, every other substitution
+ * costing one.
+ */
+public final class EditCosts {
+
+    private static final String[] QWERTY_ROWS = {"qwertyuiop", "asdfghjkl", "zxcvbnm"};
+
+    /**
+     * Row and column of each character in {@link EditCosts#substitutionCosts}, 0 for characters without specific costs
+     */
+    private final byte[] indexByChar;
+    private final int size;
+    private final double[] substitutionCosts;
+    private final double insertionCost;
+    private final double doubledCharCost;
+    private final double transpositionCost;
+
+    private EditCosts(Builder builder) {
+        Map<Character, Map<Character, Double>> costs = builder.substitutionCosts;
+        if (costs.size() > 255) {
+            throw new IllegalArgumentException("Substitution costs can be set for at most 255 distinct characters");
+        }
+        this.indexByChar = new byte[Character.MAX_VALUE + 1];
+        this.size = costs.size() + 1;
+        int index = 1;
+        for (char ch : costs.keySet()) {
+            indexByChar[ch] = (byte) index++;
+        }
+        this.substitutionCosts = new double[size * size];
+        Arrays.fill(substitutionCosts, 1);
+        for (Map.Entry<Character, Map<Character, Double>> from : costs.entrySet()) {
+            for (Map.Entry<Character, Double> to : from.getValue().entrySet()) {
+                substitutionCosts[index(from.getKey()) * size + index(to.getKey())] = to.getValue();
+            }
+        }
+        this.insertionCost = builder.insertionCost;
+        this.doubledCharCost = builder.doubledCharCost;
+        this.transpositionCost = builder.transpositionCost;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Unit costs, for which {@link WeightedDamerauLevenshteinOSA} matches {@link DamerauLevenshteinOSA}.
+     * @return unit costs
+     */
+    public static EditCosts unit() {
+        return builder().build();
+    }
+
+    /**
+     * Costs for typing on a QWERTY keyboard: substituting a lowercase letter with a neighbouring key, and typing a letter
+     * too many or too few times, are cheaper than other edits.
+     * @param adjacentKeyCost cost of substituting a letter with a neighbouring key
+     * @param doubledCharCost cost of inserting or deleting a letter next to the same letter
+     * @return keyboard-aware costs
+     */
+    public static EditCosts qwerty(double adjacentKeyCost, double doubledCharCost) {
+        Builder builder = builder().doubledCharCost(doubledCharCost);
+        for (int row = 0; row < QWERTY_ROWS.length; row++) {
+            String keys = QWERTY_ROWS[row];
+            for (int column = 0; column < keys.length(); column++) {
+                char key = keys.charAt(column);
+                if (column + 1 < keys.length()) {
+                    builder.substitutionCost(key, keys.charAt(column + 1), adjacentKeyCost);
+                }
+                if (row > 0) {
+                    // Rows are staggered, so that each key touches the key above it and the one above on its right
+                    String above = QWERTY_ROWS[row - 1];
+                    builder.substitutionCost(key, above.charAt(column), adjacentKeyCost);
+                    builder.substitutionCost(key, above.charAt(column + 1), adjacentKeyCost);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Cost of substituting {@code ch1} with {@code ch2}.
+     * @param ch1 first character
+     * @param ch2 second character, distinct from {@code ch1}
+     * @return substitution cost
+     */
+    public double substitutionCost(char ch1, char ch2) {
+        return substitutionCosts[index(ch1) * size + index(ch2)];
+    }
+
+    /**
+     * Cost of inserting or deleting a character.
+     * @return insertion cost
+     */
+    public double getInsertionCost() {
+        return insertionCost;
+    }
+
+    /**
+     * Cost of inserting or deleting a character next to the same character.
+     * @return insertion cost of a doubled character
+     */
+    public double getDoubledCharCost() {
+        return doubledCharCost;
+    }
+
+    public double getTranspositionCost() {
+        return transpositionCost;
+    }
+
+    private int index(char ch) {
+        return indexByChar[ch] & 0xFF;
+    }
+
+    public static final class Builder {
+        private final Map<Character, Map<Character, Double>> substitutionCosts = new LinkedHashMap<>();
+        private double insertionCost = 1;
+        private double doubledCharCost = 1;
+        private double transpositionCost = 1;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the cost of substituting {@code ch1} with {@code ch2}, and {@code ch2} with {@code ch1}.
+         * @param ch1 first character
+         * @param ch2 second character
+         * @param cost substitution cost
+         * @return this builder
+         */
+        public Builder substitutionCost(char ch1, char ch2, double cost) {
+            checkCost(cost);
+            substitutionCosts.computeIfAbsent(ch1, ignored -> new LinkedHashMap<>()).put(ch2, cost);
+            substitutionCosts.computeIfAbsent(ch2, ignored -> new LinkedHashMap<>()).put(ch1, cost);
+            return this;
+        }
+
+        public Builder insertionCost(double cost) {
+            checkCost(cost);
+            this.insertionCost = cost;
+            return this;
+        }
+
+        /**
+         * Sets the cost of inserting or deleting a character next to the same character, such as typing "helllo".
+         * @param cost insertion cost of a doubled character
+         * @return this builder
+         */
+        public Builder doubledCharCost(double cost) {
+            checkCost(cost);
+            this.doubledCharCost = cost;
+            return this;
+        }
+
+        public Builder transpositionCost(double cost) {
+            checkCost(cost);
+            this.transpositionCost = cost;
+            return this;
+        }
+
+        /**
+         * @return costs set so far
+         * @throws IllegalArgumentException if substitution costs are set for more than 255 distinct characters
+         */
+        public EditCosts build() {
+            return new EditCosts(this);
+        }
+
+        private static void checkCost(double cost) {
+            if (!(cost > 0 && cost <= 1)) {
+                throw new IllegalArgumentException("Edit costs must be in (0, 1]");
+            }
+        }
+    }
+}
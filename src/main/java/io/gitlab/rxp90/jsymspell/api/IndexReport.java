@@ -0,0 +1,169 @@
+package io.gitlab.rxp90.jsymspell.api;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shape and size of a built index: how many words each delete leads to, which deletes lead to the most words, and the
+ * heap taken by each structure.
+ */
+public final class IndexReport {
+    private final int words;
+    private final int deletes;
+    private final long postings;
+    private final long[] postingLengthHistogram;
+    private final int medianPostingLength;
+    private final int p99PostingLength;
+    private final int maxPostingLength;
+    private final List<Bucket> largestBuckets;
+    private final Map<String, Long> bytesByStructure;
+    private final Duration buildDuration;
+
+    public IndexReport(int words, int deletes, long postings, long[] postingLengthHistogram, int medianPostingLength, int p99PostingLength,
+                       int maxPostingLength, List<Bucket> largestBuckets, Map<String, Long> bytesByStructure, Duration buildDuration) {
+        this.words = words;
+        this.deletes = deletes;
+        this.postings = postings;
+        this.postingLengthHistogram = postingLengthHistogram.clone();
+        this.medianPostingLength = medianPostingLength;
+        this.p99PostingLength = p99PostingLength;
+        this.maxPostingLength = maxPostingLength;
+        this.largestBuckets = Collections.unmodifiableList(largestBuckets);
+        this.bytesByStructure = Collections.unmodifiableMap(bytesByStructure);
+        this.buildDuration = buildDuration;
+    }
+
+    /**
+     * @return number of words of the lexicon
+     */
+    public int getWords() {
+        return words;
+    }
+
+    /**
+     * @return number of distinct deletes
+     */
+    public int getDeletes() {
+        return deletes;
+    }
+
+    /**
+     * @return number of (delete, word) pairs
+     */
+    public long getPostings() {
+        return postings;
+    }
+
+    /**
+     * Number of deletes by length of their posting list, where the element at index {@code k} counts the deletes leading
+     * to between {@code 2^k} and {@code 2^(k+1) - 1} words.
+     * @return histogram of the posting list lengths, in powers of two
+     */
+    public long[] getPostingLengthHistogram() {
+        return postingLengthHistogram.clone();
+    }
+
+    /**
+     * @return number of words that half of the deletes lead to at most
+     */
+    public int getMedianPostingLength() {
+        return medianPostingLength;
+    }
+
+    /**
+     * @return number of words that 99% of the deletes lead to at most
+     */
+    public int getP99PostingLength() {
+        return p99PostingLength;
+    }
+
+    /**
+     * @return number of words the most shared delete leads to
+     */
+    public int getMaxPostingLength() {
+        return maxPostingLength;
+    }
+
+    /**
+     * Deletes leading to the most words, most first. Lookups generating them compare the input to each of these words.
+     * @return largest buckets of the index
+     */
+    public List<Bucket> getLargestBuckets() {
+        return largestBuckets;
+    }
+
+    /**
+     * Estimated heap of each structure of the index, by name.
+     * @return map of structure -> estimated size in bytes
+     */
+    public Map<String, Long> getBytesByStructure() {
+        return bytesByStructure;
+    }
+
+    /**
+     * Estimated heap of the index, as reported by {@link ReloadStatistics#getIndexBytes()}.
+     * @return sum of {@link IndexReport#getBytesByStructure()}
+     */
+    public long getIndexBytes() {
+        return bytesByStructure.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * @return time spent building the index
+     */
+    public Duration getBuildDuration() {
+        return buildDuration;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexReport{"
+                + "words="
+                + words
+                + ", deletes="
+                + deletes
+                + ", postings="
+                + postings
+                + ", medianPostingLength="
+                + medianPostingLength
+                + ", p99PostingLength="
+                + p99PostingLength
+                + ", maxPostingLength="
+                + maxPostingLength
+                + ", largestBuckets="
+                + largestBuckets
+                + ", bytesByStructure="
+                + bytesByStructure
+                + ", buildDuration="
+                + buildDuration
+                + '}';
+    }
+
+    /**
+     * Delete and the number of words it leads to.
+     */
+    public static final class Bucket {
+        private final String delete;
+        private final int words;
+
+        public Bucket(String delete, int words) {
+            this.delete = delete;
+            this.words = words;
+        }
+
+        public String getDelete() {
+            return delete;
+        }
+
+        public int getWords() {
+            return words;
+        }
+
+        @Override
+        public String toString() {
+            return "'" + delete + "'=" + words;
+        }
+    }
+}
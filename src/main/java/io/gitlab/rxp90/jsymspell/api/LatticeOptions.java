@@ -0,0 +1,106 @@
+package io.gitlab.rxp90.jsymspell.api;
+
+/**
+ * Settings of the lattice decoding of compound inputs, where every word may be corrected, split in two or combined with the
+ * next one, and whole lines are ranked by their unigram and bigram probabilities.
+ */
+public final class LatticeOptions {
+
+    private static final LatticeOptions DEFAULTS = new LatticeOptions(8, 1, 4, 1e-3);
+
+    private final int beamWidth;
+    private final int maxResults;
+    private final int candidatesPerWord;
+    private final double editProbability;
+
+    private LatticeOptions(int beamWidth, int maxResults, int candidatesPerWord, double editProbability) {
+        if (beamWidth <= 0 || maxResults <= 0 || candidatesPerWord <= 0) {
+            throw new IllegalArgumentException("Beam width, results and candidates per word must be positive");
+        }
+        if (!(editProbability > 0 && editProbability <= 1)) {
+            throw new IllegalArgumentException("Edit probability must be in (0, 1]");
+        }
+        this.beamWidth = beamWidth;
+        this.maxResults = maxResults;
+        this.candidatesPerWord = candidatesPerWord;
+        this.editProbability = editProbability;
+    }
+
+    /**
+     * Beam of 8 partial lines, returning the best line, out of 4 candidates per word, where each edit is a thousand times
+     * less likely than no edit.
+     * @return default settings
+     */
+    public static LatticeOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Returns a copy of these settings keeping the {@code beamWidth} best partial lines ending at each word. Wider beams
+     * find better lines at the cost of more work.
+     * @param beamWidth number of partial lines kept, at least {@link LatticeOptions#getMaxResults()} to get as many results
+     * @return copy of these settings with the given beam width
+     */
+    public LatticeOptions withBeamWidth(int beamWidth) {
+        return new LatticeOptions(beamWidth, maxResults, candidatesPerWord, editProbability);
+    }
+
+    /**
+     * Returns a copy of these settings returning up to {@code maxResults} lines.
+     * @param maxResults number of lines returned
+     * @return copy of these settings with the given number of results
+     */
+    public LatticeOptions withMaxResults(int maxResults) {
+        return new LatticeOptions(beamWidth, maxResults, candidatesPerWord, editProbability);
+    }
+
+    /**
+     * Returns a copy of these settings considering the {@code candidatesPerWord} closest suggestions for each word, each
+     * split and each combination of two words.
+     * @param candidatesPerWord number of suggestions considered for each word
+     * @return copy of these settings with the given number of candidates
+     */
+    public LatticeOptions withCandidatesPerWord(int candidatesPerWord) {
+        return new LatticeOptions(beamWidth, maxResults, candidatesPerWord, editProbability);
+    }
+
+    /**
+     * Returns a copy of these settings where the probability of a line is multiplied by {@code editProbability} for each
+     * edit. Lower values favour lines closer to the input over more likely word sequences.
+     * @param editProbability probability of a single edit, in {@code (0, 1]}
+     * @return copy of these settings with the given edit probability
+     */
+    public LatticeOptions withEditProbability(double editProbability) {
+        return new LatticeOptions(beamWidth, maxResults, candidatesPerWord, editProbability);
+    }
+
+    public int getBeamWidth() {
+        return beamWidth;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public int getCandidatesPerWord() {
+        return candidatesPerWord;
+    }
+
+    public double getEditProbability() {
+        return editProbability;
+    }
+
+    @Override
+    public String toString() {
+        return "LatticeOptions{"
+                + "beamWidth="
+                + beamWidth
+                + ", maxResults="
+                + maxResults
+                + ", candidatesPerWord="
+                + candidatesPerWord
+                + ", editProbability="
+                + editProbability
+                + '}';
+    }
+}
@@ -0,0 +1,87 @@
+package io.gitlab.rxp90.jsymspell.api;
+
+import java.time.Duration;
+
+/**
+ * Limits the work a single lookup may perform. Once any limit is reached, the lookup returns the suggestions found so far.
+ */
+public final class LookupBudget {
+
+    private static final LookupBudget UNLIMITED = new LookupBudget(Long.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    private final long timeLimitNanos;
+    private final int maxCandidates;
+    private final int maxDistanceComputations;
+
+    private LookupBudget(long timeLimitNanos, int maxCandidates, int maxDistanceComputations) {
+        if (timeLimitNanos < 0 || maxCandidates < 0 || maxDistanceComputations < 0) {
+            throw new IllegalArgumentException("Budget limits must not be negative");
+        }
+        this.timeLimitNanos = timeLimitNanos;
+        this.maxCandidates = maxCandidates;
+        this.maxDistanceComputations = maxDistanceComputations;
+    }
+
+    /**
+     * Budget without any limit.
+     * @return budget without any limit
+     */
+    public static LookupBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * Returns a copy of this budget limiting the wall-clock time of the lookup.
+     * @param timeLimit time after which the lookup stops, measured from the start of the lookup
+     * @return copy of this budget with the given time limit
+     */
+    public LookupBudget withTimeLimit(Duration timeLimit) {
+        return new LookupBudget(timeLimit.toNanos(), maxCandidates, maxDistanceComputations);
+    }
+
+    /**
+     * Returns a copy of this budget limiting the number of delete candidates visited.
+     * @param maxCandidates number of candidates after which the lookup stops
+     * @return copy of this budget with the given candidate limit
+     */
+    public LookupBudget withMaxCandidates(int maxCandidates) {
+        return new LookupBudget(timeLimitNanos, maxCandidates, maxDistanceComputations);
+    }
+
+    /**
+     * Returns a copy of this budget limiting the number of string distance computations.
+     * @param maxDistanceComputations number of distance computations after which the lookup stops
+     * @return copy of this budget with the given distance computation limit
+     */
+    public LookupBudget withMaxDistanceComputations(int maxDistanceComputations) {
+        return new LookupBudget(timeLimitNanos, maxCandidates, maxDistanceComputations);
+    }
+
+    public long getTimeLimitNanos() {
+        return timeLimitNanos;
+    }
+
+    public int getMaxCandidates() {
+        return maxCandidates;
+    }
+
+    public int getMaxDistanceComputations() {
+        return maxDistanceComputations;
+    }
+
+    public boolean isUnlimited() {
+        return timeLimitNanos == Long.MAX_VALUE && maxCandidates == Integer.MAX_VALUE && maxDistanceComputations == Integer.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return "LookupBudget{"
+                + "timeLimitNanos="
+                + timeLimitNanos
+                + ", maxCandidates="
+                + maxCandidates
+                + ", maxDistanceComputations="
+                + maxDistanceComputations
+                + '}';
+    }
+}
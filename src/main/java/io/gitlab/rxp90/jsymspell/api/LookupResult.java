@@ -0,0 +1,60 @@
+package io.gitlab.rxp90.jsymspell.api;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Suggestions returned by a budgeted lookup, flagged as partial when the budget ran out before the lookup completed.
+ */
+public final class LookupResult {
+    private final List<SuggestItem> suggestions;
+    private final boolean partial;
+
+    public LookupResult(List<SuggestItem> suggestions, boolean partial) {
+        this.suggestions = suggestions;
+        this.partial = partial;
+    }
+
+    /**
+     * Sorted suggestions found within the budget.
+     * @return sorted {@code List} of {@code SuggestItem}
+     */
+    public List<SuggestItem> getSuggestions() {
+        return suggestions;
+    }
+
+    /**
+     * Whether the budget ran out, i.e. better suggestions might exist.
+     * @return true if the lookup stopped before exploring all candidates
+     */
+    public boolean isPartial() {
+        return partial;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LookupResult that = (LookupResult) o;
+        return partial == that.partial && Objects.equals(suggestions, that.suggestions);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(suggestions, partial);
+    }
+
+    @Override
+    public String toString() {
+        return "LookupResult{"
+                + "suggestions="
+                + suggestions
+                + ", partial="
+                + partial
+                + '}';
+    }
+}
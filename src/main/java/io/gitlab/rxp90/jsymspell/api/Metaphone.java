@@ -0,0 +1,184 @@
+package io.gitlab.rxp90.jsymspell.api;
+
+import java.util.Locale;
+
+/**
+ * Lawrence Philips' Metaphone algorithm for English words. Characters other than ASCII letters are ignored.
+ */
+public class Metaphone implements PhoneticEncoder {
+
+    private static final String VOWELS = "AEIOU";
+    private static final String FRONT_VOWELS = "EIY";
+
+    private final int maxCodeLength;
+
+    public Metaphone() {
+        this(6);
+    }
+
+    /**
+     * @param maxCodeLength length at which codes are truncated, shorter codes matching more words
+     */
+    public Metaphone(int maxCodeLength) {
+        if (maxCodeLength <= 0) {
+            throw new IllegalArgumentException("maxCodeLength must be positive");
+        }
+        this.maxCodeLength = maxCodeLength;
+    }
+
+    @Override
+    public String encode(String word) {
+        String w = lettersOf(word);
+        if (w.isEmpty()) {
+            return "";
+        }
+        StringBuilder code = new StringBuilder(maxCodeLength + 1);
+        int i = 0;
+        if (w.startsWith("AE") || w.startsWith("GN") || w.startsWith("KN") || w.startsWith("PN") || w.startsWith("WR")) {
+            i = 1;
+        } else if (w.charAt(0) == 'X') {
+            code.append('S');
+            i = 1;
+        } else if (w.startsWith("WH")) {
+            code.append('W');
+            i = 2;
+        }
+
+        for (; i < w.length() && code.length() < maxCodeLength; i++) {
+            char ch = w.charAt(i);
+            if (ch != 'C' && i > 0 && w.charAt(i - 1) == ch) {
+                continue;
+            }
+            switch (ch) {
+                case 'A':
+                case 'E':
+                case 'I':
+                case 'O':
+                case 'U':
+                    if (i == 0) {
+                        code.append(ch);
+                    }
+                    break;
+                case 'B':
+                    if (!(i == w.length() - 1 && at(w, i - 1) == 'M')) {
+                        code.append('B');
+                    }
+                    break;
+                case 'C':
+                    if (at(w, i + 1) == 'I' && at(w, i + 2) == 'A') {
+                        code.append('X');
+                    } else if (at(w, i + 1) == 'H') {
+                        code.append(at(w, i - 1) == 'S' ? 'K' : 'X');
+                        i++;
+                    } else if (isFrontVowel(at(w, i + 1))) {
+                        if (at(w, i - 1) != 'S') {
+                            code.append('S');
+                        }
+                    } else {
+                        code.append('K');
+                    }
+                    break;
+                case 'D':
+                    if (at(w, i + 1) == 'G' && isFrontVowel(at(w, i + 2))) {
+                        code.append('J');
+                        i += 2;
+                    } else {
+                        code.append('T');
+                    }
+                    break;
+                case 'G':
+                    if (at(w, i + 1) == 'H' && !(i + 2 >= w.length() || isVowel(at(w, i + 2)))) {
+                        break;
+                    }
+                    if (at(w, i + 1) == 'N' && (i + 2 == w.length() || w.startsWith("ED", i + 2) && i + 4 == w.length())) {
+                        break;
+                    }
+                    code.append(isFrontVowel(at(w, i + 1)) && at(w, i - 1) != 'G' ? 'J' : 'K');
+                    break;
+                case 'H':
+                    boolean afterVowelOnly = isVowel(at(w, i - 1)) && !isVowel(at(w, i + 1));
+                    boolean afterConsonantPair = i > 0 && "CSPTG".indexOf(w.charAt(i - 1)) >= 0;
+                    if (!afterVowelOnly && !afterConsonantPair) {
+                        code.append('H');
+                    }
+                    break;
+                case 'K':
+                    if (at(w, i - 1) != 'C') {
+                        code.append('K');
+                    }
+                    break;
+                case 'P':
+                    code.append(at(w, i + 1) == 'H' ? 'F' : 'P');
+                    break;
+                case 'Q':
+                    code.append('K');
+                    break;
+                case 'S':
+                    if (at(w, i + 1) == 'H') {
+                        code.append('X');
+                        i++;
+                    } else if (at(w, i + 1) == 'I' && (at(w, i + 2) == 'O' || at(w, i + 2) == 'A')) {
+                        code.append('X');
+                    } else {
+                        code.append('S');
+                    }
+                    break;
+                case 'T':
+                    if (at(w, i + 1) == 'I' && (at(w, i + 2) == 'O' || at(w, i + 2) == 'A')) {
+                        code.append('X');
+                    } else if (at(w, i + 1) == 'H') {
+                        code.append('0');
+                        i++;
+                    } else if (!(at(w, i + 1) == 'C' && at(w, i + 2) == 'H')) {
+                        code.append('T');
+                    }
+                    break;
+                case 'V':
+                    code.append('F');
+                    break;
+                case 'W':
+                case 'Y':
+                    if (isVowel(at(w, i + 1))) {
+                        code.append(ch);
+                    }
+                    break;
+                case 'X':
+                    code.append('K').append('S');
+                    break;
+                case 'Z':
+                    code.append('S');
+                    break;
+                default:
+                    // F, J, L, M, N, R
+                    code.append(ch);
+            }
+        }
+        if (code.length() > maxCodeLength) {
+            code.setLength(maxCodeLength);
+        }
+        return code.toString();
+    }
+
+    private static String lettersOf(String word) {
+        StringBuilder letters = new StringBuilder(word.length());
+        for (int i = 0; i < word.length(); i++) {
+            char ch = word.charAt(i);
+            if ((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z')) {
+                letters.append(ch);
+            }
+        }
+        return letters.toString().toUpperCase(Locale.ROOT);
+    }
+
+    private static char at(String word, int index) {
+        return index >= 0 && index < word.length() ? word.charAt(index) : '\0';
+    }
+
+    private static boolean isVowel(char ch) {
+        return ch != '\0' && VOWELS.indexOf(ch) >= 0;
+    }
+
+    private static boolean isFrontVowel(char ch) {
+        return ch != '\0' && FRONT_VOWELS.indexOf(ch) >= 0;
+    }
+}
@@ -0,0 +1,14 @@
+package io.gitlab.rxp90.jsymspell.api;
+
+/**
+ * Encodes words so that words which sound alike share the same code.
+ */
+public interface PhoneticEncoder {
+
+    /**
+     * Calculates the phonetic code of {@code word}.
+     * @param word word to encode
+     * @return phonetic code of {@code word}, empty if it has none
+     */
+    String encode(String word);
+}
@@ -0,0 +1,74 @@
+package io.gitlab.rxp90.jsymspell.api;
+
+import java.time.Duration;
+
+/**
+ * Metrics of a dictionary reload.
+ */
+public final class ReloadStatistics {
+    private final long generation;
+    private final Duration buildDuration;
+    private final long previousIndexBytes;
+    private final long indexBytes;
+
+    public ReloadStatistics(long generation, Duration buildDuration, long previousIndexBytes, long indexBytes) {
+        this.generation = generation;
+        this.buildDuration = buildDuration;
+        this.previousIndexBytes = previousIndexBytes;
+        this.indexBytes = indexBytes;
+    }
+
+    /**
+     * Generation of the dictionary installed by the reload, the initial dictionary being generation 0.
+     * @return generation of the installed dictionary
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Time spent building the new index.
+     * @return duration of the build
+     */
+    public Duration getBuildDuration() {
+        return buildDuration;
+    }
+
+    /**
+     * Estimated heap of the index that was replaced.
+     * @return estimated size in bytes
+     */
+    public long getPreviousIndexBytes() {
+        return previousIndexBytes;
+    }
+
+    /**
+     * Estimated heap of the installed index.
+     * @return estimated size in bytes
+     */
+    public long getIndexBytes() {
+        return indexBytes;
+    }
+
+    /**
+     * Estimated heap held by both generations while the new index was built and in-flight lookups finished on the old one.
+     * @return estimated size in bytes
+     */
+    public long getMemoryOverlapBytes() {
+        return previousIndexBytes + indexBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "ReloadStatistics{"
+                + "generation="
+                + generation
+                + ", buildDuration="
+                + buildDuration
+                + ", previousIndexBytes="
+                + previousIndexBytes
+                + ", indexBytes="
+                + indexBytes
+                + '}';
+    }
+}
@@ -6,29 +6,58 @@ public final class SuggestItem implements Comparable<SuggestItem> {
     private final String suggestion;
     private final int editDistance;
     private final double frequencyOfSuggestionInDict;
+    private final double cost;
+    private final double logProbability;
 
     public SuggestItem(String suggestion, int editDistance, double frequencyOfSuggestionInDict) {
+        this(suggestion, editDistance, frequencyOfSuggestionInDict, editDistance);
+    }
+
+    /**
+     * @param suggestion suggested word
+     * @param editDistance number of edits between the input and the suggestion
+     * @param frequencyOfSuggestionInDict frequency of the suggestion in the dictionary
+     * @param cost weighted cost of the edits, see {@link WeightedStringDistance}
+     */
+    public SuggestItem(String suggestion, int editDistance, double frequencyOfSuggestionInDict, double cost) {
+        this(suggestion, editDistance, frequencyOfSuggestionInDict, cost, Double.NaN);
+    }
+
+    /**
+     * @param suggestion suggested word
+     * @param editDistance number of edits between the input and the suggestion
+     * @param frequencyOfSuggestionInDict frequency of the suggestion in the dictionary
+     * @param cost weighted cost of the edits, see {@link WeightedStringDistance}
+     * @param logProbability natural log of the probability of the suggestion, NaN if unknown
+     */
+    public SuggestItem(String suggestion, int editDistance, double frequencyOfSuggestionInDict, double cost, double logProbability) {
         this.suggestion = suggestion;
         this.editDistance = editDistance;
         this.frequencyOfSuggestionInDict = frequencyOfSuggestionInDict;
+        this.cost = cost;
+        this.logProbability = logProbability;
     }
 
     /**
      * Compares this {@code SuggestItem} with the specified {@code SuggestItem}.
-     * It will first sort by {@link SuggestItem#getEditDistance()}, and then by {@link SuggestItem#getFrequencyOfSuggestionInDict()}
+     * It will first sort by {@link SuggestItem#getCost()}, and then by {@link SuggestItem#getLogProbability()} when both
+     * are known, or by {@link SuggestItem#getFrequencyOfSuggestionInDict()} otherwise
      * @param suggestItem {@code SuggestItem} to which this {@code SuggestItem} is to be compared.
-     * @return 0 if this {@code SuggestItem}'s edit distance, and frequency of suggestion are the same as {@code suggestItem}'s
-     *         1 if this {@code SuggestItem}'s edit distance is greater than {@code suggestItem}'s, or if they are equal, this {@code SuggestItem}'s frequency of suggestion is lower
-     *         -1 if this {@code SuggestItem}'s edit distance is lower than {@code suggestItem}'s, or if it's equal and the frequency is greater
+     * @return 0 if this {@code SuggestItem}'s cost, and frequency of suggestion are the same as {@code suggestItem}'s
+     *         1 if this {@code SuggestItem}'s cost is greater than {@code suggestItem}'s, or if they are equal, this {@code SuggestItem}'s frequency of suggestion is lower
+     *         -1 if this {@code SuggestItem}'s cost is lower than {@code suggestItem}'s, or if it's equal and the frequency is greater
      */
     @Override
     public int compareTo(SuggestItem suggestItem) {
-        if (this.editDistance == suggestItem.editDistance) {
+        if (this.cost == suggestItem.cost) {
             // Descending
+            if (!Double.isNaN(logProbability) && !Double.isNaN(suggestItem.logProbability)) {
+                return Double.compare(suggestItem.logProbability, logProbability);
+            }
             return Double.compare(suggestItem.frequencyOfSuggestionInDict, frequencyOfSuggestionInDict);
         } else {
             // Ascending
-            return Integer.compare(editDistance, suggestItem.editDistance);
+            return Double.compare(cost, suggestItem.cost);
         }
     }
 
@@ -43,12 +72,14 @@ public final class SuggestItem implements Comparable<SuggestItem> {
         SuggestItem that = (SuggestItem) o;
         return editDistance == that.editDistance &&
                 Double.compare(that.frequencyOfSuggestionInDict, frequencyOfSuggestionInDict) == 0 &&
+                Double.compare(that.cost, cost) == 0 &&
+                Double.compare(that.logProbability, logProbability) == 0 &&
                 Objects.equals(suggestion, that.suggestion);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(suggestion, editDistance, frequencyOfSuggestionInDict);
+        return Objects.hash(suggestion, editDistance, frequencyOfSuggestionInDict, cost, logProbability);
     }
 
     public String getSuggestion() {
@@ -63,6 +94,25 @@ public final class SuggestItem implements Comparable<SuggestItem> {
         return frequencyOfSuggestionInDict;
     }
 
+    /**
+     * Weighted cost of the edits between the input and the suggestion, equal to {@link SuggestItem#getEditDistance()}
+     * unless a {@link WeightedStringDistance} is used.
+     * @return cost of the suggestion
+     */
+    public double getCost() {
+        return cost;
+    }
+
+    /**
+     * Natural log of the probability of the suggestion under the dictionary, which unlike products of frequencies stays
+     * comparable for lines of any length. Set when {@code SymSpellBuilder#setLogProbabilityScoring(boolean)} is enabled,
+     * and by {@code SymSpellImpl#lookupCompound(String, int, LatticeOptions)}.
+     * @return log probability of the suggestion, NaN if unknown
+     */
+    public double getLogProbability() {
+        return logProbability;
+    }
+
     @Override
     public String toString() {
         return "SuggestItem{"
@@ -73,6 +123,9 @@ public final class SuggestItem implements Comparable<SuggestItem> {
                 + editDistance
                 + ", frequencyOfSuggestionInDict="
                 + frequencyOfSuggestionInDict
+                + ", cost="
+                + cost
+                + (Double.isNaN(logProbability) ? "" : ", logProbability=" + logProbability)
                 + '}';
     }
 }
@@ -0,0 +1,22 @@
+package io.gitlab.rxp90.jsymspell.api;
+
+/**
+ * Receives the suggestions of a lookup as primitives, in the order of {@link SuggestItem}, so that they can be consumed
+ * without allocating a {@code SuggestItem} nor a {@code List} per lookup.
+ */
+@FunctionalInterface
+public interface SuggestionSink {
+
+    /**
+     * Word id of the input itself, suggested when it is unknown and unknown words are included
+     */
+    int UNKNOWN_WORD = -1;
+
+    /**
+     * Receives a suggestion.
+     * @param wordId id of the suggested word, see {@code SymSpellImpl#getWord(int)}, or {@link SuggestionSink#UNKNOWN_WORD}
+     * @param editDistance number of edits between the input and the suggestion
+     * @param frequency frequency of the suggestion in the dictionary
+     */
+    void accept(int wordId, int editDistance, long frequency);
+}
@@ -0,0 +1,109 @@
+package io.gitlab.rxp90.jsymspell.api;
+
+/**
+ * Optimal string alignment distance where the cost of each edit comes from {@link EditCosts}.
+ * <p>
+ * Only the diagonals reachable within {@code maxCost} are computed: moving away from the diagonal takes insertions or
+ * deletions, which cost at least {@code minInsertionCost}, and so does moving back to the diagonal of the last cell.
+ */
+public class WeightedDamerauLevenshteinOSA implements WeightedStringDistance {
+
+    private static final double INFINITY = Double.POSITIVE_INFINITY;
+    private static final double EPSILON = 1e-9;
+
+    private final EditCosts editCosts;
+    private final double minInsertionCost;
+    private final DamerauLevenshteinOSA unitDistance = new DamerauLevenshteinOSA();
+
+    public WeightedDamerauLevenshteinOSA(EditCosts editCosts) {
+        this.editCosts = editCosts;
+        this.minInsertionCost = Math.min(editCosts.getInsertionCost(), editCosts.getDoubledCharCost());
+    }
+
+    /**
+     * Number of edits between {@code string1} and {@code string2}, regardless of their cost.
+     * @see DamerauLevenshteinOSA#distanceWithEarlyStop(String, String, int)
+     */
+    @Override
+    public int distanceWithEarlyStop(String string1, String string2, int maxDistance) {
+        return unitDistance.distanceWithEarlyStop(string1, string2, maxDistance);
+    }
+
+    @Override
+    public double weightedDistanceWithEarlyStop(String string1, String string2, double maxCost) {
+        if (string1.length() > string2.length()) {
+            // Costs are symmetric, so the shorter string can always be string1
+            String tmp = string1;
+            string1 = string2;
+            string2 = tmp;
+        }
+        int len1 = string1.length();
+        int len2 = string2.length();
+        int lenDiff = len2 - len1;
+        int maxInsertions = (int) Math.min(len1 + len2, Math.floor(maxCost / minInsertionCost + EPSILON));
+        if (lenDiff > maxInsertions) {
+            return -1;
+        }
+        // Diagonals j - i of the band are in [-slack, lenDiff + slack]
+        int slack = (maxInsertions - lenDiff) / 2;
+        double limit = maxCost + EPSILON;
+
+        double[] beforePrevious = new double[len2 + 1];
+        double[] previous = new double[len2 + 1];
+        double[] current = new double[len2 + 1];
+        int firstRowEnd = Math.min(len2, lenDiff + slack);
+        for (int j = 1; j <= firstRowEnd; j++) {
+            current[j] = current[j - 1] + insertionCost(string2, j - 1);
+        }
+        if (firstRowEnd < len2) {
+            current[firstRowEnd + 1] = INFINITY;
+        }
+        double currentRowMin = 0;
+
+        for (int i = 1; i <= len1; i++) {
+            double[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+            double previousRowMin = currentRowMin;
+
+            char ch1 = string1.charAt(i - 1);
+            double deletionCost = insertionCost(string1, i - 1);
+            int jStart = Math.max(1, i - slack);
+            int jEnd = Math.min(len2, i + lenDiff + slack);
+            double left = jStart == 1 && i <= slack ? previous[0] + deletionCost : INFINITY;
+            current[jStart - 1] = left;
+            if (jEnd < len2) {
+                current[jEnd + 1] = INFINITY;
+            }
+            currentRowMin = left;
+            for (int j = jStart; j <= jEnd; j++) {
+                char ch2 = string2.charAt(j - 1);
+                // Unlike with unit costs, matching chars do not make the diagonal the cheapest path, e.g. "helllo" -> "hello"
+                double cost = previous[j - 1] + (ch1 == ch2 ? 0 : editCosts.substitutionCost(ch1, ch2));
+                double deletion = previous[j] + deletionCost;
+                if (deletion < cost) cost = deletion;
+                double insertion = left + insertionCost(string2, j - 1);
+                if (insertion < cost) cost = insertion;
+                if (i > 1 && j > 1 && ch1 != ch2 && ch1 == string2.charAt(j - 2) && string1.charAt(i - 2) == ch2) {
+                    double transposition = beforePrevious[j - 2] + editCosts.getTranspositionCost();
+                    if (transposition < cost) cost = transposition;
+                }
+                current[j] = left = cost;
+                if (cost < currentRowMin) currentRowMin = cost;
+            }
+            // Transpositions reach back two rows, so both must be over the limit
+            if (currentRowMin > limit && previousRowMin > limit) {
+                return -1;
+            }
+        }
+        double distance = current[len2];
+        return distance <= limit ? distance : -1;
+    }
+
+    private double insertionCost(String string, int index) {
+        return index > 0 && string.charAt(index) == string.charAt(index - 1)
+                ? editCosts.getDoubledCharCost()
+                : editCosts.getInsertionCost();
+    }
+}
@@ -0,0 +1,20 @@
+package io.gitlab.rxp90.jsymspell.api;
+
+/**
+ * {@link StringDistance} whose edits may cost less than one, so that likely typos rank before unlikely ones.
+ * <p>
+ * Candidates are still retrieved by {@link StringDistance#distanceWithEarlyStop(String, String, int)}, the number of edits,
+ * whereas suggestions are ranked by their weighted cost. Every edit must therefore cost at most one, so that the cost of
+ * a suggestion never exceeds its edit distance.
+ */
+public interface WeightedStringDistance extends StringDistance {
+
+    /**
+     * Calculates the weighted cost of the edits between {@code string1} and {@code string2}, early stopping at {@code maxCost}.
+     * @param string1 first string
+     * @param string2 second string
+     * @param maxCost cost at which the algorithm will stop early
+     * @return cost between {@code string1} and {@code string2}, or {@code -1} if it is greater than {@code maxCost}
+     */
+    double weightedDistanceWithEarlyStop(String string1, String string2, double maxCost);
+}
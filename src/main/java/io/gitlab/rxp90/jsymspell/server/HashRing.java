@@ -0,0 +1,127 @@
+package io.gitlab.rxp90.jsymspell.server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Consistent hash ring assigning the deletes of an index to the nodes holding it.
+ * <p>
+ * Each node is placed at many points of a ring of 64-bit hashes, and a key belongs to the node of the first point at or
+ * after its hash. Adding or removing a node only moves the keys of its own points, about {@code 1 / nodes} of them, so
+ * the other nodes keep most of their index when a cluster grows.
+ */
+public final class HashRing {
+
+    /**
+     * Points per node, enough for the share of each node to stay within a few percent of the average
+     */
+    public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private final List<String> nodes;
+    /**
+     * Hashes of the points of all nodes, sorted
+     */
+    private final long[] points;
+    /**
+     * Node of each point, by index in {@link HashRing#points}
+     */
+    private final String[] owners;
+
+    /**
+     * Creates a ring with {@link HashRing#DEFAULT_VIRTUAL_NODES} points per node.
+     * @param nodes names of the nodes, e.g. {@code "shard-1"}, the same for servers and clients
+     */
+    public HashRing(Collection<String> nodes) {
+        this(nodes, DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * @param nodes names of the nodes, e.g. {@code "shard-1"}, the same for servers and clients
+     * @param virtualNodes number of points of each node on the ring
+     */
+    public HashRing(Collection<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A ring needs at least one node");
+        }
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("Virtual nodes must be positive");
+        }
+        if (new HashSet<>(nodes).size() != nodes.size()) {
+            throw new IllegalArgumentException("Duplicate node in " + nodes);
+        }
+        this.nodes = Collections.unmodifiableList(new ArrayList<>(nodes));
+        long[] unsortedPoints = new long[nodes.size() * virtualNodes];
+        int i = 0;
+        for (String node : this.nodes) {
+            for (int virtualNode = 0; virtualNode < virtualNodes; virtualNode++) {
+                unsortedPoints[i++] = hash(node + '#' + virtualNode);
+            }
+        }
+        Integer[] order = new Integer[unsortedPoints.length];
+        for (i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(unsortedPoints[a], unsortedPoints[b]));
+        this.points = new long[order.length];
+        this.owners = new String[order.length];
+        for (i = 0; i < order.length; i++) {
+            points[i] = unsortedPoints[order[i]];
+            owners[i] = this.nodes.get(order[i] / virtualNodes);
+        }
+    }
+
+    /**
+     * Node {@code key} belongs to.
+     * @param key key to place, e.g. a delete
+     * @return name of its node
+     */
+    public String nodeOf(String key) {
+        int point = Arrays.binarySearch(points, hash(key));
+        if (point < 0) {
+            point = -point - 1;
+        }
+        return owners[point == points.length ? 0 : point];
+    }
+
+    /**
+     * Keys belonging to {@code node}, to be passed to
+     * {@link io.gitlab.rxp90.jsymspell.SymSpellBuilder#setDeletePartition(Predicate)} by the server holding it.
+     * @param node name of a node of this ring
+     * @return whether a key belongs to {@code node}
+     */
+    public Predicate<String> partition(String node) {
+        if (!nodes.contains(node)) {
+            throw new IllegalArgumentException("Unknown node " + node);
+        }
+        return key -> node.equals(nodeOf(key));
+    }
+
+    /**
+     * @return names of the nodes, in the order they were given
+     */
+    public List<String> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * FNV-1a over the chars of {@code key}, followed by the finalizer of MurmurHash3 so that close keys land far apart.
+     */
+    static long hash(String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB93FE1A85A53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,245 @@
+package io.gitlab.rxp90.jsymspell.server;
+
+import io.gitlab.rxp90.jsymspell.Verbosity;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary protocol between {@link SymSpellServer} and {@link SymSpellClient}.
+ * <p>
+ * Every message is a frame: its length in bytes as an {@code int}, not counting itself, then the id of the request, which
+ * the response repeats so that a client may send many requests before reading any response. Requests go on with an
+ * operation and a batch of inputs, responses with a status and the suggestions of each input, in the same order.
+ * Integers are big-endian and strings are UTF-8, preceded by their length in bytes.
+ * <pre>
+ * request:  length requestId LOOKUP verbosity includeUnknown count input*
+ *           length requestId LOOKUP_COMPOUND editDistanceMax includeUnknown count input*
+ * response: length requestId OK count (suggestions (suggestion editDistance frequency cost logProbability)*)*
+ *           length requestId ERROR message
+ * </pre>
+ */
+final class Protocol {
+
+    static final byte LOOKUP = 1;
+    static final byte LOOKUP_COMPOUND = 2;
+
+    static final byte OK = 0;
+    static final byte ERROR = 1;
+
+    /**
+     * Largest frame accepted, so that a corrupt length cannot exhaust the heap
+     */
+    static final int MAX_FRAME_BYTES = 64 << 20;
+
+    private Protocol() {
+    }
+
+    /**
+     * Request decoded by the server.
+     */
+    static final class Request {
+        final int requestId;
+        final byte operation;
+        final Verbosity verbosity;
+        final int editDistanceMax;
+        final boolean includeUnknown;
+        final List<String> inputs;
+
+        private Request(int requestId, byte operation, Verbosity verbosity, int editDistanceMax, boolean includeUnknown, List<String> inputs) {
+            this.requestId = requestId;
+            this.operation = operation;
+            this.verbosity = verbosity;
+            this.editDistanceMax = editDistanceMax;
+            this.includeUnknown = includeUnknown;
+            this.inputs = inputs;
+        }
+    }
+
+    static ByteBuffer lookupRequest(int requestId, List<String> inputs, Verbosity verbosity, boolean includeUnknown) {
+        FrameWriter frame = new FrameWriter(16 + 16 * inputs.size());
+        frame.putInt(requestId);
+        frame.put(LOOKUP);
+        frame.put((byte) verbosity.ordinal());
+        frame.put((byte) (includeUnknown ? 1 : 0));
+        frame.putStrings(inputs);
+        return frame.finish();
+    }
+
+    static ByteBuffer lookupCompoundRequest(int requestId, List<String> inputs, int editDistanceMax, boolean includeUnknown) {
+        FrameWriter frame = new FrameWriter(16 + 64 * inputs.size());
+        frame.putInt(requestId);
+        frame.put(LOOKUP_COMPOUND);
+        frame.putInt(editDistanceMax);
+        frame.put((byte) (includeUnknown ? 1 : 0));
+        frame.putStrings(inputs);
+        return frame.finish();
+    }
+
+    /**
+     * Decodes a request frame, without its length.
+     * @throws IllegalArgumentException if the frame is malformed
+     */
+    static Request readRequest(ByteBuffer frame) {
+        try {
+            int requestId = frame.getInt();
+            byte operation = frame.get();
+            Verbosity verbosity = null;
+            int editDistanceMax = 0;
+            if (operation == LOOKUP) {
+                int ordinal = frame.get();
+                if (ordinal < 0 || ordinal >= Verbosity.values().length) {
+                    throw new IllegalArgumentException("Unknown verbosity " + ordinal);
+                }
+                verbosity = Verbosity.values()[ordinal];
+            } else if (operation == LOOKUP_COMPOUND) {
+                editDistanceMax = frame.getInt();
+            } else {
+                throw new IllegalArgumentException("Unknown operation " + operation);
+            }
+            boolean includeUnknown = frame.get() != 0;
+            int count = readCount(frame, 4);
+            List<String> inputs = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                inputs.add(readString(frame));
+            }
+            return new Request(requestId, operation, verbosity, editDistanceMax, includeUnknown, inputs);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated request", e);
+        }
+    }
+
+    static ByteBuffer okResponse(int requestId, List<List<SuggestItem>> results) {
+        int suggestions = 0;
+        for (List<SuggestItem> result : results) {
+            suggestions += result.size();
+        }
+        FrameWriter frame = new FrameWriter(16 + 4 * results.size() + 40 * suggestions);
+        frame.putInt(requestId);
+        frame.put(OK);
+        frame.putInt(results.size());
+        for (List<SuggestItem> result : results) {
+            frame.putInt(result.size());
+            for (SuggestItem suggestion : result) {
+                frame.putString(suggestion.getSuggestion());
+                frame.putInt(suggestion.getEditDistance());
+                frame.putDouble(suggestion.getFrequencyOfSuggestionInDict());
+                frame.putDouble(suggestion.getCost());
+                frame.putDouble(suggestion.getLogProbability());
+            }
+        }
+        return frame.finish();
+    }
+
+    static ByteBuffer errorResponse(int requestId, String message) {
+        FrameWriter frame = new FrameWriter(64);
+        frame.putInt(requestId);
+        frame.put(ERROR);
+        frame.putString(message == null ? "" : message);
+        return frame.finish();
+    }
+
+    /**
+     * Decodes the suggestions of an {@link Protocol#OK} response, positioned after its status.
+     * @throws IllegalArgumentException if the frame is malformed
+     */
+    static List<List<SuggestItem>> readSuggestions(ByteBuffer frame) {
+        try {
+            int count = readCount(frame, 4);
+            List<List<SuggestItem>> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int size = readCount(frame, 24);
+                List<SuggestItem> result = new ArrayList<>(size);
+                for (int j = 0; j < size; j++) {
+                    result.add(new SuggestItem(readString(frame), frame.getInt(), frame.getDouble(), frame.getDouble(), frame.getDouble()));
+                }
+                results.add(result);
+            }
+            return results;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated response", e);
+        }
+    }
+
+    static String readString(ByteBuffer frame) {
+        int length = readCount(frame, 1);
+        String string = new String(frame.array(), frame.arrayOffset() + frame.position(), length, StandardCharsets.UTF_8);
+        ((Buffer) frame).position(frame.position() + length);
+        return string;
+    }
+
+    /**
+     * Reads a count of items taking at least {@code minBytes} each, checked against the rest of the frame.
+     */
+    private static int readCount(ByteBuffer frame, int minBytes) {
+        int count = frame.getInt();
+        if (count < 0 || (long) count * minBytes > frame.remaining()) {
+            throw new IllegalArgumentException("Invalid count " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Growable buffer holding a frame, its length being written by {@link FrameWriter#finish()}.
+     */
+    private static final class FrameWriter {
+        private ByteBuffer buffer;
+
+        FrameWriter(int expectedBytes) {
+            buffer = ByteBuffer.allocate(4 + expectedBytes);
+            ((Buffer) buffer).position(4);
+        }
+
+        void put(byte value) {
+            ensureRemaining(1);
+            buffer.put(value);
+        }
+
+        void putInt(int value) {
+            ensureRemaining(4);
+            buffer.putInt(value);
+        }
+
+        void putDouble(double value) {
+            ensureRemaining(8);
+            buffer.putDouble(value);
+        }
+
+        void putString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ensureRemaining(4 + bytes.length);
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+
+        void putStrings(List<String> values) {
+            putInt(values.size());
+            for (String value : values) {
+                putString(value);
+            }
+        }
+
+        ByteBuffer finish() {
+            if (buffer.position() - 4 > MAX_FRAME_BYTES) {
+                throw new IllegalArgumentException("Frame of " + (buffer.position() - 4) + " bytes exceeds " + MAX_FRAME_BYTES);
+            }
+            buffer.putInt(0, buffer.position() - 4);
+            ((Buffer) buffer).flip();
+            return buffer;
+        }
+
+        private void ensureRemaining(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(2 * buffer.capacity(), buffer.position() + bytes));
+                ((Buffer) buffer).flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+        }
+    }
+}
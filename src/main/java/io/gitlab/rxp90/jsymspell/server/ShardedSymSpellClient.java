@@ -0,0 +1,144 @@
+package io.gitlab.rxp90.jsymspell.server;
+
+import io.gitlab.rxp90.jsymspell.Verbosity;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Client of several {@link SymSpellServer}s, each holding the deletes a {@link HashRing} assigns to it.
+ * <p>
+ * Every server is built from the whole lexicon with
+ * {@link io.gitlab.rxp90.jsymspell.SymSpellBuilder#setDeletePartition(java.util.function.Predicate)} set to
+ * {@link HashRing#partition(String)} of its node, so that each one only holds part of the deletes, and finds the
+ * suggestions reachable through them. A lookup is sent to all servers, and their suggestions are merged as
+ * {@link Verbosity} requires. {@code lookupCompound} needs the suggestions of every delete at each step, so it is not
+ * supported here; it is served by a {@link SymSpellClient} connected to a server holding all deletes.
+ */
+public class ShardedSymSpellClient implements Closeable {
+
+    private final List<SymSpellClient> shards = new ArrayList<>();
+
+    /**
+     * Connects to the server of every node of {@code ring}.
+     * @param ring ring the servers were built with
+     * @param addresses address of the server of each node
+     * @throws IOException if a server cannot be reached
+     */
+    public ShardedSymSpellClient(HashRing ring, Map<String, InetSocketAddress> addresses) throws IOException {
+        for (String node : ring.getNodes()) {
+            if (!addresses.containsKey(node)) {
+                throw new IllegalArgumentException("No address for node " + node);
+            }
+        }
+        try {
+            for (String node : ring.getNodes()) {
+                shards.add(new SymSpellClient(addresses.get(node)));
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Same as {@link SymSpellClient#lookup(List, Verbosity, boolean)}, merging the suggestions of all servers.
+     * @param inputs strings to apply spelling correction to
+     * @param verbosity see {@link Verbosity}
+     * @param includeUnknown controls whether non-lexicon words should be considered
+     * @return future completed with the sorted suggestions of each input, in the order of {@code inputs}
+     */
+    public CompletableFuture<List<List<SuggestItem>>> lookup(List<String> inputs, Verbosity verbosity, boolean includeUnknown) {
+        List<CompletableFuture<List<List<SuggestItem>>>> responses = new ArrayList<>(shards.size());
+        for (SymSpellClient shard : shards) {
+            responses.add(shard.lookup(inputs, verbosity, includeUnknown));
+        }
+        return CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).thenApply(done -> {
+            List<List<SuggestItem>> merged = new ArrayList<>(inputs.size());
+            for (int i = 0; i < inputs.size(); i++) {
+                List<List<SuggestItem>> suggestionsByShard = new ArrayList<>(shards.size());
+                for (CompletableFuture<List<List<SuggestItem>>> response : responses) {
+                    suggestionsByShard.add(response.join().get(i));
+                }
+                merged.add(merge(inputs.get(i), suggestionsByShard, verbosity));
+            }
+            return merged;
+        });
+    }
+
+    /**
+     * Same as {@link SymSpellClient#lookup(String, Verbosity, boolean)}, merging the suggestions of all servers.
+     * @param input string to apply spelling correction to
+     * @param verbosity see {@link Verbosity}
+     * @param includeUnknown controls whether non-lexicon words should be considered
+     * @return future completed with the sorted {@code List} of {@code SuggestItem} for a given {@code input}
+     */
+    public CompletableFuture<List<SuggestItem>> lookup(String input, Verbosity verbosity, boolean includeUnknown) {
+        return lookup(Collections.singletonList(input), verbosity, includeUnknown).thenApply(results -> results.get(0));
+    }
+
+    /**
+     * Closes the connections to all servers.
+     */
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (SymSpellClient shard : shards) {
+            try {
+                shard.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Suggestions of all shards for {@code input}, as a single index would return them. Words found by several shards,
+     * such as exact matches, are kept once, and the unknown input is only kept when no shard found anything else.
+     */
+    static List<SuggestItem> merge(String input, List<List<SuggestItem>> suggestionsByShard, Verbosity verbosity) {
+        Map<String, SuggestItem> bySuggestion = new HashMap<>();
+        SuggestItem unknown = null;
+        int closestDistance = Integer.MAX_VALUE;
+        for (List<SuggestItem> suggestions : suggestionsByShard) {
+            for (SuggestItem suggestion : suggestions) {
+                if (isUnknown(input, suggestion)) {
+                    unknown = suggestion;
+                    continue;
+                }
+                bySuggestion.merge(suggestion.getSuggestion(), suggestion, (a, b) -> a.getEditDistance() <= b.getEditDistance() ? a : b);
+                closestDistance = Math.min(closestDistance, suggestion.getEditDistance());
+            }
+        }
+        if (bySuggestion.isEmpty()) {
+            return unknown == null ? Collections.emptyList() : Collections.singletonList(unknown);
+        }
+        List<SuggestItem> merged = new ArrayList<>(bySuggestion.size());
+        for (SuggestItem suggestion : bySuggestion.values()) {
+            if (verbosity == Verbosity.ALL || suggestion.getEditDistance() == closestDistance) {
+                merged.add(suggestion);
+            }
+        }
+        Collections.sort(merged);
+        return verbosity == Verbosity.TOP ? merged.subList(0, 1) : merged;
+    }
+
+    /**
+     * Whether {@code suggestion} stands for an input no suggestion was found for. A lexicon word equal to the input would
+     * be at distance 0.
+     */
+    private static boolean isUnknown(String input, SuggestItem suggestion) {
+        return suggestion.getFrequencyOfSuggestionInDict() == 0 && suggestion.getEditDistance() > 0 && suggestion.getSuggestion().equals(input);
+    }
+}
@@ -0,0 +1,184 @@
+package io.gitlab.rxp90.jsymspell.server;
+
+import io.gitlab.rxp90.jsymspell.Verbosity;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.JSymSpellException;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Client of a {@link SymSpellServer}, over a single connection.
+ * <p>
+ * Requests are written as soon as they are made, without waiting for the responses of the previous ones, and a thread of
+ * the client completes each future when its response arrives. Batching many inputs in one request saves a round trip per
+ * input; pipelining many requests keeps the connection busy. Instances are thread safe.
+ */
+public class SymSpellClient implements Closeable {
+
+    private final SocketChannel channel;
+    private final Object writeLock = new Object();
+    private final AtomicInteger nextRequestId = new AtomicInteger();
+    private final Map<Integer, CompletableFuture<List<List<SuggestItem>>>> pending = new ConcurrentHashMap<>();
+    private final Thread readerThread;
+    private final AtomicReference<IOException> failure = new AtomicReference<>();
+
+    /**
+     * Connects to a server.
+     * @param address address of the server
+     * @throws IOException if the server cannot be reached
+     */
+    public SymSpellClient(InetSocketAddress address) throws IOException {
+        this.channel = SocketChannel.open(address);
+        channel.socket().setTcpNoDelay(true);
+        this.readerThread = new Thread(this::readResponses, "jsymspell-client-" + address);
+        readerThread.setDaemon(true);
+        readerThread.start();
+    }
+
+    /**
+     * Remote version of {@link io.gitlab.rxp90.jsymspell.SymSpell#lookup(String, Verbosity, boolean)} over a batch of
+     * inputs.
+     * @param inputs strings to apply spelling correction to
+     * @param verbosity see {@link Verbosity}
+     * @param includeUnknown controls whether non-lexicon words should be considered
+     * @return future completed with the sorted suggestions of each input, in the order of {@code inputs}
+     */
+    public CompletableFuture<List<List<SuggestItem>>> lookup(List<String> inputs, Verbosity verbosity, boolean includeUnknown) {
+        int requestId = nextRequestId.getAndIncrement();
+        return send(requestId, Protocol.lookupRequest(requestId, inputs, verbosity, includeUnknown));
+    }
+
+    /**
+     * Remote version of {@link io.gitlab.rxp90.jsymspell.SymSpell#lookup(String, Verbosity, boolean)}.
+     * @param input string to apply spelling correction to
+     * @param verbosity see {@link Verbosity}
+     * @param includeUnknown controls whether non-lexicon words should be considered
+     * @return future completed with the sorted {@code List} of {@code SuggestItem} for a given {@code input}
+     */
+    public CompletableFuture<List<SuggestItem>> lookup(String input, Verbosity verbosity, boolean includeUnknown) {
+        return lookup(Collections.singletonList(input), verbosity, includeUnknown).thenApply(results -> results.get(0));
+    }
+
+    /**
+     * Remote version of {@link io.gitlab.rxp90.jsymspell.SymSpell#lookupCompound(String, int, boolean)} over a batch of
+     * inputs.
+     * @param inputs strings to apply spelling correction to, where words are separated by spaces
+     * @param editDistanceMax limit up to which lexicon words can be considered suggestions
+     * @param includeUnknown controls whether non-lexicon words should be considered
+     * @return future completed with the corrected line of each input, in the order of {@code inputs}
+     */
+    public CompletableFuture<List<List<SuggestItem>>> lookupCompound(List<String> inputs, int editDistanceMax, boolean includeUnknown) {
+        int requestId = nextRequestId.getAndIncrement();
+        return send(requestId, Protocol.lookupCompoundRequest(requestId, inputs, editDistanceMax, includeUnknown));
+    }
+
+    /**
+     * Remote version of {@link io.gitlab.rxp90.jsymspell.SymSpell#lookupCompound(String, int, boolean)}.
+     * @param input string to apply spelling correction to, where words are separated by spaces
+     * @param editDistanceMax limit up to which lexicon words can be considered suggestions
+     * @param includeUnknown controls whether non-lexicon words should be considered
+     * @return future completed with the {@code List} holding the corrected line
+     */
+    public CompletableFuture<List<SuggestItem>> lookupCompound(String input, int editDistanceMax, boolean includeUnknown) {
+        return lookupCompound(Collections.singletonList(input), editDistanceMax, includeUnknown).thenApply(results -> results.get(0));
+    }
+
+    /**
+     * Closes the connection, failing the requests still waiting for a response.
+     */
+    @Override
+    public void close() throws IOException {
+        fail(new IOException("Client closed"));
+        channel.close();
+        try {
+            readerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<List<List<SuggestItem>>> send(int requestId, ByteBuffer request) {
+        CompletableFuture<List<List<SuggestItem>>> future = new CompletableFuture<>();
+        pending.put(requestId, future);
+        try {
+            // Checked after registering the future, so that it is failed either here or by the failing thread
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+            synchronized (writeLock) {
+                while (request.hasRemaining()) {
+                    channel.write(request);
+                }
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+        return future;
+    }
+
+    private void readResponses() {
+        ByteBuffer length = ByteBuffer.allocate(4);
+        try {
+            while (true) {
+                ((Buffer) length).clear();
+                readFully(length);
+                int frameLength = length.getInt(0);
+                if (frameLength < 5 || frameLength > Protocol.MAX_FRAME_BYTES) {
+                    throw new IOException("Invalid frame length " + frameLength);
+                }
+                ByteBuffer frame = ByteBuffer.allocate(frameLength);
+                readFully(frame);
+                ((Buffer) frame).flip();
+                CompletableFuture<List<List<SuggestItem>>> future = pending.remove(frame.getInt());
+                if (future == null) {
+                    throw new IOException("Response to an unknown request");
+                }
+                try {
+                    if (frame.get() == Protocol.OK) {
+                        future.complete(Protocol.readSuggestions(frame));
+                    } else {
+                        future.completeExceptionally(new JSymSpellException(Protocol.readString(frame)));
+                    }
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Malformed response", e);
+                }
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Connection closed by the server");
+            }
+        }
+    }
+
+    /**
+     * Fails the pending requests and the next ones with {@code cause}, keeping the first failure.
+     */
+    private void fail(IOException cause) {
+        failure.compareAndSet(null, cause);
+        for (Integer requestId : pending.keySet()) {
+            CompletableFuture<List<List<SuggestItem>>> future = pending.remove(requestId);
+            if (future != null) {
+                future.completeExceptionally(failure.get());
+            }
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package io.gitlab.rxp90.jsymspell.server;
+
+import io.gitlab.rxp90.jsymspell.SymSpell;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Serves the lookups of a {@link SymSpell} over TCP, so that many processes can share one index instead of each holding a
+ * copy. Clients talk to it with {@link SymSpellClient}, or {@link ShardedSymSpellClient} when the deletes are split across
+ * several servers.
+ * <p>
+ * A single thread accepts connections, reads requests and writes responses without blocking. Requests are batches of
+ * lookups, and a client may send many of them before reading any response. Without an executor, requests run on that
+ * thread one at a time, which keeps latency low for a few clients; with one, they run concurrently, and responses are
+ * written as soon as they are ready, not necessarily in the order of the requests.
+ * <p>
+ * A connection stops being read once {@link #MAX_PENDING_REQUESTS} of its requests wait for their responses to be
+ * written, so that a client sending requests without reading the responses cannot make the server buffer without limit.
+ */
+public class SymSpellServer implements Closeable {
+
+    private static final Logger logger = Logger.getLogger(SymSpellServer.class.getName());
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    /**
+     * Requests of a connection read but whose response is not written yet, above which the connection is no longer read
+     */
+    static final int MAX_PENDING_REQUESTS = 256;
+
+    private final SymSpell symSpell;
+    private final Executor executor;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    /**
+     * Connections with responses queued by other threads, waiting for the selector to watch them for writes
+     */
+    private final Queue<Connection> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final Thread selectorThread;
+    private volatile boolean closed;
+
+    /**
+     * Starts a server running requests on its selector thread.
+     * @param symSpell instance performing the lookups
+     * @param address address to listen on, port 0 for any free port
+     * @throws IOException if the address cannot be bound
+     */
+    public SymSpellServer(SymSpell symSpell, InetSocketAddress address) throws IOException {
+        this(symSpell, address, null);
+    }
+
+    /**
+     * Starts a server running requests on {@code executor}.
+     * @param symSpell instance performing the lookups
+     * @param address address to listen on, port 0 for any free port
+     * @param executor executor the requests run on, null to run them on the selector thread
+     * @throws IOException if the address cannot be bound
+     */
+    public SymSpellServer(SymSpell symSpell, InetSocketAddress address, Executor executor) throws IOException {
+        this.symSpell = symSpell;
+        this.executor = executor;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.bind(address);
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            serverChannel.close();
+            selector.close();
+            throw e;
+        }
+        this.selectorThread = new Thread(this::run, "jsymspell-server-" + getAddress().getPort());
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+    }
+
+    /**
+     * @return address the server listens on, with the actual port if port 0 was requested
+     */
+    public InetSocketAddress getAddress() {
+        return (InetSocketAddress) serverChannel.socket().getLocalSocketAddress();
+    }
+
+    /**
+     * Stops accepting connections and closes the open ones. Requests running on the executor complete, but their
+     * responses are dropped.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        selector.wakeup();
+        if (Thread.currentThread() != selectorThread) {
+            try {
+                selectorThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        try {
+            while (!closed) {
+                selector.select();
+                Connection connection;
+                while ((connection = pendingWrites.poll()) != null) {
+                    connection.watchWrites();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (key.isValid()) {
+                        handle(key);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Selector failed, stopping the server", e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key.channel());
+            }
+            closeQuietly(selector);
+        }
+    }
+
+    /**
+     * Accepts, reads or writes. Failures only close the connection of {@code key}, so that the selector thread keeps serving
+     * the others until {@link #close()}.
+     */
+    private void handle(SelectionKey key) {
+        try {
+            if (key.isAcceptable()) {
+                accept();
+            } else {
+                Connection connection = (Connection) key.attachment();
+                if (key.isReadable()) {
+                    connection.read();
+                }
+                if (key.isValid() && key.isWritable()) {
+                    connection.write();
+                }
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            logger.log(Level.SEVERE, "Failed to serve " + key.channel(), e);
+            if (key.attachment() != null) {
+                ((Connection) key.attachment()).close();
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        Connection connection = new Connection(channel);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+    }
+
+    private List<List<SuggestItem>> process(Protocol.Request request) throws Exception {
+        List<List<SuggestItem>> results = new ArrayList<>(request.inputs.size());
+        for (String input : request.inputs) {
+            if (request.operation == Protocol.LOOKUP) {
+                results.add(symSpell.lookup(input, request.verbosity, request.includeUnknown));
+            } else {
+                results.add(symSpell.lookupCompound(input, request.editDistanceMax, request.includeUnknown));
+            }
+        }
+        return results;
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            logger.log(Level.FINE, "Failed to close", e);
+        }
+    }
+
+    /**
+     * State of a client connection. Only the selector thread reads from it and writes to it, other threads only queue
+     * responses.
+     */
+    private final class Connection {
+        private final SocketChannel channel;
+        private final Queue<ByteBuffer> responses = new ConcurrentLinkedQueue<>();
+        private ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        private SelectionKey key;
+        /**
+         * Requests read whose response is not written yet
+         */
+        private int pendingRequests;
+        private boolean readsPaused;
+        private boolean handlingFrames;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void read() {
+            try {
+                if (channel.read(in) < 0) {
+                    close();
+                    return;
+                }
+                handleFrames();
+            } catch (IOException | IllegalArgumentException e) {
+                logger.log(Level.FINE, "Closing connection", e);
+                close();
+            }
+        }
+
+        /**
+         * Handles the complete frames read so far, up to {@link #MAX_PENDING_REQUESTS} pending requests. Called again by
+         * {@link Connection#write()} once responses made room, as the client may wait for them before sending anything else.
+         */
+        private void handleFrames() {
+            if (handlingFrames) {
+                // Called back by write(), the loop below goes on
+                return;
+            }
+            handlingFrames = true;
+            try {
+                boolean roomMade = true;
+                while (roomMade && key.isValid()) {
+                    ((Buffer) in).flip();
+                    while (in.remaining() >= 4 && pendingRequests < MAX_PENDING_REQUESTS) {
+                        int length = in.getInt(in.position());
+                        if (length < 0 || length > Protocol.MAX_FRAME_BYTES) {
+                            throw new IllegalArgumentException("Invalid frame length " + length);
+                        }
+                        if (in.remaining() < 4 + length) {
+                            break;
+                        }
+                        ByteBuffer frame = in.slice();
+                        ((Buffer) frame).position(4).limit(4 + length);
+                        ((Buffer) in).position(in.position() + 4 + length);
+                        pendingRequests++;
+                        handle(Protocol.readRequest(frame.slice()));
+                    }
+                    in.compact();
+                    boolean full = pendingRequests >= MAX_PENDING_REQUESTS;
+                    if (full != readsPaused) {
+                        readsPaused = full;
+                        key.interestOps(full ? key.interestOps() & ~SelectionKey.OP_READ : key.interestOps() | SelectionKey.OP_READ);
+                    }
+                    if (!responses.isEmpty()) {
+                        // Responses of the requests run on this thread, written without waiting for the next select
+                        watchWrites();
+                        write();
+                    }
+                    roomMade = full && pendingRequests < MAX_PENDING_REQUESTS;
+                }
+                if (in.position() >= 4 && in.getInt(0) + 4 > in.capacity()) {
+                    ByteBuffer larger = ByteBuffer.allocate(in.getInt(0) + 4);
+                    ((Buffer) in).flip();
+                    larger.put(in);
+                    in = larger;
+                }
+            } finally {
+                handlingFrames = false;
+            }
+        }
+
+        private void handle(Protocol.Request request) {
+            if (executor == null) {
+                respond(request);
+                return;
+            }
+            try {
+                executor.execute(() -> respond(request));
+            } catch (RejectedExecutionException e) {
+                queue(Protocol.errorResponse(request.requestId, "Server overloaded"));
+            }
+        }
+
+        private void respond(Protocol.Request request) {
+            ByteBuffer response;
+            try {
+                response = Protocol.okResponse(request.requestId, process(request));
+            } catch (Exception | Error e) {
+                // Errors too, or the client would wait for this response forever
+                response = Protocol.errorResponse(request.requestId, e.toString());
+            }
+            queue(response);
+        }
+
+        private void queue(ByteBuffer response) {
+            responses.add(response);
+            if (Thread.currentThread() != selectorThread) {
+                pendingWrites.add(this);
+                selector.wakeup();
+            }
+        }
+
+        void watchWrites() {
+            if (key.isValid()) {
+                key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+            }
+        }
+
+        void write() {
+            try {
+                ByteBuffer response;
+                while ((response = responses.peek()) != null) {
+                    channel.write(response);
+                    if (response.hasRemaining()) {
+                        return;
+                    }
+                    responses.poll();
+                    pendingRequests--;
+                }
+                // A response queued from now on adds this connection to the pending writes again
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+                if (readsPaused && pendingRequests < MAX_PENDING_REQUESTS) {
+                    handleFrames();
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                logger.log(Level.FINE, "Closing connection", e);
+                close();
+            }
+        }
+
+        void close() {
+            key.cancel();
+            closeQuietly(channel);
+        }
+    }
+}
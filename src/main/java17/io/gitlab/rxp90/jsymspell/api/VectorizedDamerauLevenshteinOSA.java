@@ -0,0 +1,171 @@
+package io.gitlab.rxp90.jsymspell.api;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * {@link DamerauLevenshteinOSA} distances from one string to many, computed with the Vector API, one string per lane.
+ * <p>
+ * All lanes share the rows of the matrix, one per char of the first string, and each lane holds the columns of its own
+ * string, stored transposed so that column {@code j} of all lanes is a single vector. Only the cells at most
+ * {@code maxDistance} away from the diagonal are computed, the others being out of reach, and costs saturate at
+ * {@code maxDistance + 1} so that they fit in a {@code short}.
+ * <p>
+ * Loaded reflectively by {@link DamerauLevenshteinOSA#vectorized()}, so that this class is only linked when running on
+ * Java 17+ with the {@code jdk.incubator.vector} module.
+ */
+final class VectorizedDamerauLevenshteinOSA implements BatchStringDistance {
+
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    /**
+     * Buffers of the calling thread, grown to the longest strings seen
+     */
+    private final ThreadLocal<Buffers> buffers = ThreadLocal.withInitial(Buffers::new);
+
+    VectorizedDamerauLevenshteinOSA() {
+    }
+
+    @Override
+    public void distancesWithEarlyStop(String string1, String[] strings, int count, int maxDistance, int[] distances) {
+        int length1 = string1.length();
+        if (maxDistance < 0 || maxDistance >= Short.MAX_VALUE - 1) {
+            maxDistance = Short.MAX_VALUE - 2;
+        }
+        Buffers buffers = this.buffers.get();
+        int[] group = buffers.group(LANES);
+        int groupSize = 0;
+        int maxLength = 0;
+        for (int i = 0; i < count; i++) {
+            int length = strings[i].length();
+            if (Math.abs(length - length1) > maxDistance) {
+                distances[i] = -1;
+            } else if (length == 0 || length1 == 0) {
+                distances[i] = Math.max(length, length1);
+            } else {
+                group[groupSize++] = i;
+                maxLength = Math.max(maxLength, length);
+                if (groupSize == LANES) {
+                    distances(string1, strings, group, groupSize, maxLength, maxDistance, distances, buffers);
+                    groupSize = 0;
+                    maxLength = 0;
+                }
+            }
+        }
+        if (groupSize > 0) {
+            distances(string1, strings, group, groupSize, maxLength, maxDistance, distances, buffers);
+        }
+    }
+
+    /**
+     * Distances from {@code string1} to the strings at the {@code groupSize} first indexes of {@code group}, which are
+     * not empty and whose lengths differ from the length of {@code string1} by at most {@code maxDistance}.
+     */
+    private static void distances(String string1, String[] strings, int[] group, int groupSize, int maxLength,
+                                  int maxDistance, int[] distances, Buffers buffers) {
+        int length1 = string1.length();
+        short infinity = (short) (maxDistance + 1);
+        int columns = maxLength + 1;
+
+        // chars[j * LANES + lane] is the char at index j - 1 of the string in lane, 0 past its end
+        short[] chars = buffers.chars(columns * LANES);
+        Arrays.fill(chars, 0, columns * LANES, (short) 0);
+        for (int lane = 0; lane < groupSize; lane++) {
+            String string = strings[group[lane]];
+            for (int j = 0; j < string.length(); j++) {
+                chars[(j + 1) * LANES + lane] = (short) string.charAt(j);
+            }
+        }
+
+        short[] previous2 = buffers.row(0, columns * LANES);
+        short[] previous = buffers.row(1, columns * LANES);
+        short[] current = buffers.row(2, columns * LANES);
+        for (int j = 0; j < columns; j++) {
+            ShortVector.broadcast(SPECIES, (short) Math.min(j, infinity)).intoArray(previous, j * LANES);
+        }
+
+        ShortVector one = ShortVector.broadcast(SPECIES, (short) 1);
+        ShortVector infinityVector = ShortVector.broadcast(SPECIES, infinity);
+        boolean reachable = true;
+        for (int i = 1; i <= length1 && reachable; i++) {
+            short char1 = (short) string1.charAt(i - 1);
+            short previousChar1 = i > 1 ? (short) string1.charAt(i - 2) : 0;
+            boolean transpositions = i > 1 && char1 != previousChar1;
+            int jStart = Math.max(1, i - maxDistance);
+            int jEnd = Math.min(maxLength, i + maxDistance);
+
+            ShortVector left = ShortVector.broadcast(SPECIES, (short) (jStart == 1 ? Math.min(i, infinity) : infinity));
+            left.intoArray(current, (jStart - 1) * LANES);
+            ShortVector diagonal = ShortVector.fromArray(SPECIES, previous, (jStart - 1) * LANES);
+            VectorMask<Short> previousColumnMatches = ShortVector.fromArray(SPECIES, chars, (jStart - 1) * LANES)
+                                                                 .compare(VectorOperators.EQ, char1);
+            ShortVector rowMin = infinityVector;
+            for (int j = jStart; j <= jEnd; j++) {
+                int offset = j * LANES;
+                ShortVector column = ShortVector.fromArray(SPECIES, chars, offset);
+                VectorMask<Short> matches = column.compare(VectorOperators.EQ, char1);
+                ShortVector above = ShortVector.fromArray(SPECIES, previous, offset);
+                ShortVector cost = above.min(left).add(one).min(diagonal.add(one));
+                if (transpositions && j > 1) {
+                    VectorMask<Short> transposed = previousColumnMatches.and(column.compare(VectorOperators.EQ, previousChar1));
+                    ShortVector transposition = ShortVector.fromArray(SPECIES, previous2, offset - 2 * LANES).add(one);
+                    cost = cost.min(transposition.blend(infinityVector, transposed.not()));
+                }
+                cost = cost.blend(diagonal, matches).min(infinityVector);
+                cost.intoArray(current, offset);
+                rowMin = rowMin.min(cost);
+                left = cost;
+                diagonal = above;
+                previousColumnMatches = matches;
+            }
+            if (jEnd < maxLength) {
+                infinityVector.intoArray(current, (jEnd + 1) * LANES);
+            }
+            // Costs never decrease from one row to the next
+            reachable = rowMin.compare(VectorOperators.LT, infinity).anyTrue();
+
+            short[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+
+        for (int lane = 0; lane < groupSize; lane++) {
+            int index = group[lane];
+            int distance = reachable ? previous[strings[index].length() * LANES + lane] : infinity;
+            distances[index] = distance <= maxDistance ? distance : -1;
+        }
+    }
+
+    private static final class Buffers {
+        private int[] group = new int[0];
+        private short[] chars = new short[0];
+        private final short[][] rows = new short[3][0];
+
+        int[] group(int size) {
+            if (group.length < size) {
+                group = new int[size];
+            }
+            return group;
+        }
+
+        short[] chars(int size) {
+            if (chars.length < size) {
+                chars = new short[size];
+            }
+            return chars;
+        }
+
+        short[] row(int row, int size) {
+            if (rows[row].length < size) {
+                rows[row] = new short[size];
+            }
+            return rows[row];
+        }
+    }
+}
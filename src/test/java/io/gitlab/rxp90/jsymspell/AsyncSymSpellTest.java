@@ -0,0 +1,87 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.LookupResult;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static io.gitlab.rxp90.jsymspell.SymSpellTest.mapOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncSymSpellTest {
+
+    private final SymSpellImpl symSpell = new SymSpellBuilder().setUnigramLexicon(mapOf("summarized", 100L, "summarize", 50L, "summaries", 20L, "sumatra", 10L))
+                                                               .setMaxDictionaryEditDistance(2)
+                                                               .createSymSpell();
+
+    @Test
+    void lookupMatchesSynchronousLookup() throws Exception {
+        AsyncSymSpell asyncSymSpell = new AsyncSymSpell(symSpell, Runnable::run);
+
+        List<SuggestItem> suggestions = asyncSymSpell.lookup("sumarized", Verbosity.ALL, false).get();
+
+        assertEquals(symSpell.lookup("sumarized", Verbosity.ALL, false), suggestions);
+    }
+
+    @Test
+    void expiredDeadlineReturnsSuggestionsFoundSoFar() throws Exception {
+        AsyncSymSpell asyncSymSpell = new AsyncSymSpell(symSpell, Runnable::run);
+
+        LookupResult result = asyncSymSpell.lookup("summarized", Verbosity.ALL, false, Duration.ZERO).get();
+
+        assertTrue(symSpell.lookup("summarized", Verbosity.ALL, false).size() > 1);
+        assertTrue(result.isPartial());
+        assertEquals(1, result.getSuggestions().size());
+        assertEquals(new SuggestItem("summarized", 0, 100), result.getSuggestions().get(0));
+    }
+
+    @Test
+    void lookupWithinTheDeadlineIsComplete() throws Exception {
+        AsyncSymSpell asyncSymSpell = new AsyncSymSpell(symSpell, Runnable::run);
+
+        LookupResult result = asyncSymSpell.lookupCompound("sumarized sumatra", 2, false, Duration.ofMinutes(1)).get();
+
+        assertFalse(result.isPartial());
+        assertEquals("summarized sumatra", result.getSuggestions().get(0).getSuggestion());
+    }
+
+    @Test
+    void errorsCompleteTheFuture() {
+        SymSpellImpl failing = new SymSpellBuilder().setUnigramLexicon(mapOf("summarized", 100L))
+                                                    .setStringDistanceAlgorithm((string1, string2, maxDistance) -> {
+                                                        throw new StackOverflowError();
+                                                    })
+                                                    .createSymSpell();
+        AsyncSymSpell asyncSymSpell = new AsyncSymSpell(failing);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> asyncSymSpell.lookup("sumarized", Verbosity.ALL, false).get(10, TimeUnit.SECONDS));
+        assertInstanceOf(StackOverflowError.class, e.getCause());
+    }
+
+    @Test
+    void cancelledLookupIsNotRun() {
+        List<Runnable> pendingTasks = new ArrayList<>();
+        AsyncSymSpell asyncSymSpell = new AsyncSymSpell(symSpell, pendingTasks::add);
+
+        CompletableFuture<List<SuggestItem>> future = asyncSymSpell.lookupCompound("sumarized sumatra", 2, false);
+        future.cancel(true);
+        pendingTasks.forEach(Runnable::run);
+
+        assertTrue(future.isCancelled());
+    }
+
+    @Test
+    void lookupCompoundOnDefaultExecutor() throws Exception {
+        AsyncSymSpell asyncSymSpell = new AsyncSymSpell(symSpell);
+
+        List<SuggestItem> suggestions = asyncSymSpell.lookupCompound("sumarized sumatra", 2, false).get();
+
+        assertEquals("summarized sumatra", suggestions.get(0).getSuggestion());
+    }
+}
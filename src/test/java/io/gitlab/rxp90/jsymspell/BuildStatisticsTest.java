@@ -0,0 +1,145 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.BuildEstimate;
+import io.gitlab.rxp90.jsymspell.api.BuildProgressListener.Stage;
+import io.gitlab.rxp90.jsymspell.api.IndexReport;
+import io.gitlab.rxp90.jsymspell.api.Metaphone;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuildStatisticsTest {
+
+    private static Map<String, Long> unigrams;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        unigrams = Files.lines(Paths.get("src/test/resources/words.txt"))
+                        .limit(30_000)
+                        .map(line -> line.split(","))
+                        .collect(Collectors.toMap(tokens -> tokens[0], tokens -> Long.parseLong(tokens[1])));
+    }
+
+    @Test
+    void estimateOfWholeLexiconIsExact() {
+        SymSpellBuilder builder = new SymSpellBuilder().setUnigramLexicon(unigrams).setDeleteFilterEnabled(true);
+
+        BuildEstimate estimate = builder.estimateBuild(unigrams.size());
+        IndexReport report = builder.createSymSpell().getIndexReport(0);
+
+        assertEquals(unigrams.size(), estimate.getSampledWords());
+        assertEquals(report.getDeletes(), estimate.getDeletes());
+        assertEquals(report.getPostings(), estimate.getPostings());
+        assertEquals(report.getIndexBytes(), estimate.getIndexBytes());
+        assertTrue(estimate.getPeakBuildBytes() > estimate.getIndexBytes());
+    }
+
+    @Test
+    void estimateFromSample() {
+        for (int maxEditDistance = 1; maxEditDistance <= 3; maxEditDistance++) {
+            SymSpellBuilder builder = new SymSpellBuilder().setUnigramLexicon(unigrams).setMaxDictionaryEditDistance(maxEditDistance);
+
+            BuildEstimate estimate = builder.estimateBuild(unigrams.size() / 4);
+            IndexReport report = builder.createSymSpell().getIndexReport(0);
+
+            assertEquals(unigrams.size() / 4, estimate.getSampledWords());
+            assertEquals(report.getPostings(), estimate.getPostings(), report.getPostings() * 0.02);
+            assertEquals(report.getDeletes(), estimate.getDeletes(), report.getDeletes() * 0.15);
+        }
+    }
+
+    @Test
+    void estimateOfEagerWordsOnly() {
+        SymSpellBuilder builder = new SymSpellBuilder().setUnigramLexicon(unigrams).setEagerWordCount(unigrams.size() / 4);
+
+        BuildEstimate estimate = builder.estimateBuild(unigrams.size());
+        IndexReport report = builder.createSymSpell().getIndexReport(0);
+
+        assertEquals(unigrams.size() / 4, estimate.getSampledWords());
+        assertEquals(report.getPostings(), estimate.getPostings(), report.getPostings() * 0.01);
+        assertEquals(report.getDeletes(), estimate.getDeletes(), report.getDeletes() * 0.01);
+        assertEquals(report.getIndexBytes(), estimate.getIndexBytes(), report.getIndexBytes() * 0.02);
+    }
+
+    @Test
+    void invalidSampleSize() {
+        assertThrows(IllegalArgumentException.class, () -> new SymSpellBuilder().setUnigramLexicon(unigrams).estimateBuild(0));
+    }
+
+    @Test
+    void progress() {
+        assertProgress(new SymSpellBuilder().setUnigramLexicon(unigrams));
+        assertProgress(new SymSpellBuilder().setUnigramLexicon(unigrams).setEagerWordCount(unigrams.size() / 2));
+    }
+
+    private static void assertProgress(SymSpellBuilder builder) {
+        List<Stage> stages = new ArrayList<>();
+        List<Integer> wordsDone = new ArrayList<>();
+
+        builder.setDeleteFilterEnabled(true)
+               .setPhoneticEncoder(new Metaphone())
+               .setBuildProgressListener((stage, done, total) -> {
+                   if (stages.isEmpty() || stages.get(stages.size() - 1) != stage) {
+                       stages.add(stage);
+                   }
+                   if (stage == Stage.DELETES) {
+                       assertEquals(unigrams.size(), total);
+                       wordsDone.add(done);
+                   }
+               })
+               .createSymSpell();
+
+        assertEquals(Arrays.asList(Stage.DELETES, Stage.INDEX, Stage.DELETE_FILTER, Stage.PHONETIC_INDEX), stages);
+        assertEquals(0, (int) wordsDone.get(0));
+        assertEquals(unigrams.size(), (int) wordsDone.get(wordsDone.size() - 1));
+        assertEquals(101, wordsDone.size());
+        for (int i = 1; i < wordsDone.size(); i++) {
+            assertTrue(wordsDone.get(i) > wordsDone.get(i - 1));
+        }
+    }
+
+    @Test
+    void report() {
+        SymSpellImpl symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).createSymSpell();
+
+        IndexReport report = symSpell.getIndexReport(10);
+
+        assertEquals(unigrams.size(), report.getWords());
+        assertEquals(report.getDeletes(), Arrays.stream(report.getPostingLengthHistogram()).sum());
+        assertEquals(report.getDeletes(), symSpell.getDeletes().size());
+        assertEquals(symSpell.getDeletes().values().stream().mapToLong(Collection::size).sum(), report.getPostings());
+        assertEquals(symSpell.estimatedIndexBytes(), report.getIndexBytes());
+        assertTrue(report.getBytesByStructure().get("unigramLexicon") > 32L * unigrams.size());
+        assertTrue(report.getBytesByStructure().get("bigramLexicon") > 0);
+        assertTrue(report.getMedianPostingLength() <= report.getP99PostingLength());
+        assertTrue(report.getP99PostingLength() <= report.getMaxPostingLength());
+        assertEquals(10, report.getLargestBuckets().size());
+        assertEquals(report.getMaxPostingLength(), report.getLargestBuckets().get(0).getWords());
+        for (int i = 1; i < 10; i++) {
+            IndexReport.Bucket bucket = report.getLargestBuckets().get(i);
+            assertTrue(bucket.getWords() <= report.getLargestBuckets().get(i - 1).getWords());
+            assertEquals(bucket.getWords(), symSpell.getDeletes().get(bucket.getDelete()).size());
+        }
+        assertFalse(report.getBuildDuration().isNegative());
+    }
+
+    @Test
+    void emptyLexicon() {
+        IndexReport report = new SymSpellBuilder().createSymSpell().getIndexReport(5);
+
+        assertEquals(0, report.getDeletes());
+        assertEquals(0, report.getPostingLengthHistogram().length);
+        assertTrue(report.getLargestBuckets().isEmpty());
+        assertEquals(0, new SymSpellBuilder().estimateBuild(100).getDeletes());
+    }
+}
@@ -0,0 +1,63 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static io.gitlab.rxp90.jsymspell.SymSpellTest.mapOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodePointAwareLookupTest {
+
+    private final Map<String, Long> unigrams = mapOf("cat😀", 100L, "dog🐶", 50L, "😀😀", 10L, "caterpillar", 5L);
+
+    @Test
+    void supplementaryCharactersCountAsOneEdit() throws Exception {
+        SymSpell symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams)
+                                                 .setMaxDictionaryEditDistance(1)
+                                                 .setCodePointAware(true)
+                                                 .createSymSpell();
+
+        List<SuggestItem> suggestions = symSpell.lookup("cat", Verbosity.CLOSEST);
+
+        assertEquals(1, suggestions.size());
+        assertEquals(new SuggestItem("cat😀", 1, 100), suggestions.get(0));
+    }
+
+    @Test
+    void charModeCountsSurrogatePairsAsTwoEdits() throws Exception {
+        SymSpell symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams)
+                                                 .setMaxDictionaryEditDistance(1)
+                                                 .createSymSpell();
+
+        assertTrue(symSpell.lookup("cat", Verbosity.CLOSEST).isEmpty());
+    }
+
+    @Test
+    void unknownCodePointsAreReturnedUnchanged() throws Exception {
+        SymSpell symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams)
+                                                 .setMaxDictionaryEditDistance(1)
+                                                 .setCodePointAware(true)
+                                                 .createSymSpell();
+
+        List<SuggestItem> suggestions = symSpell.lookup("dog🚀", Verbosity.CLOSEST, true);
+
+        assertEquals("dog🐶", suggestions.get(0).getSuggestion());
+        assertEquals(1, suggestions.get(0).getEditDistance());
+        assertEquals("🚀🚀🚀", symSpell.lookup("🚀🚀🚀", Verbosity.CLOSEST, true).get(0).getSuggestion());
+    }
+
+    @Test
+    void deletesNeverSplitSurrogatePairs() {
+        SymSpellImpl charMode = new SymSpellBuilder().setUnigramLexicon(unigrams).createSymSpell();
+        SymSpellImpl codePointMode = new SymSpellBuilder().setUnigramLexicon(unigrams).setCodePointAware(true).createSymSpell();
+
+        Map<String, Collection<String>> deletes = codePointMode.getDeletes();
+
+        assertTrue(deletes.keySet().stream().noneMatch(delete -> delete.chars().anyMatch(ch -> Character.isSurrogate((char) ch))));
+        assertTrue(deletes.size() < charMode.getDeletes().size());
+    }
+}
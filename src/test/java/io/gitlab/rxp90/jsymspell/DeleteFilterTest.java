@@ -0,0 +1,58 @@
+package io.gitlab.rxp90.jsymspell;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static io.gitlab.rxp90.jsymspell.SymSpellTest.mapOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeleteFilterTest {
+
+    private final Map<String, Long> unigrams = mapOf("summarized", 100L, "summarize", 50L, "summaries", 20L, "sumatra", 10L, "sum", 5L, "a", 3L);
+    private final List<String> inputs = Arrays.asList("sumarized", "summarised", "smmries", "sumtra", "su", "sam", "b", "", "summarizedd", "xyz");
+
+    @Test
+    void filteredLookupsReturnSameSuggestions() throws Exception {
+        for (int maxEditDistance = 1; maxEditDistance <= 3; maxEditDistance++) {
+            SymSpell unfiltered = new SymSpellBuilder().setUnigramLexicon(unigrams).setMaxDictionaryEditDistance(maxEditDistance).setPrefixLength(7).createSymSpell();
+            SymSpell filtered = new SymSpellBuilder().setUnigramLexicon(unigrams).setMaxDictionaryEditDistance(maxEditDistance).setPrefixLength(7).setDeleteFilterEnabled(true).createSymSpell();
+
+            for (String input : inputs) {
+                for (Verbosity verbosity : Verbosity.values()) {
+                    assertEquals(unfiltered.lookup(input, verbosity, true), filtered.lookup(input, verbosity, true), input + " " + verbosity);
+                }
+            }
+        }
+    }
+
+    @Test
+    void deleteHashMatchesHashOfDelete() {
+        DeleteFilter filter = new DeleteFilter(new DeleteIndex.Builder().build(new String[0], 10), 10);
+        String string = "summarized";
+        long[] prefixHashes = new long[string.length() + 1];
+        DeleteFilter.prefixHashes(string, prefixHashes);
+
+        for (int index = 0; index < string.length(); index++) {
+            String delete = new StringBuilder(string).deleteCharAt(index).toString();
+            assertEquals(DeleteFilter.hash(delete), filter.deleteHash(prefixHashes, string.length(), index), delete);
+        }
+    }
+
+    @Test
+    void noFalseNegatives() {
+        DeleteIndex.Builder builder = new DeleteIndex.Builder();
+        String[] words = new String[5000];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = "key" + i;
+            builder.add(words[i], i);
+        }
+        DeleteFilter filter = new DeleteFilter(builder.build(words, 10), 10);
+
+        for (String word : words) {
+            assertTrue(filter.mightContain(word), word);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.gitlab.rxp90.jsymspell;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeleteIndexTest {
+
+    private static final String[] WORDS = {"abcde", "abcdef", "xyz"};
+
+    private static DeleteIndex build(int prefixLength) {
+        DeleteIndex.Builder builder = new DeleteIndex.Builder();
+        builder.add("abcd", 0);
+        builder.add("abcd", 1);
+        builder.add("", 2);
+        builder.add("xz", 2);
+        return builder.build(WORDS, prefixLength);
+    }
+
+    @Test
+    void smallAlphabetIsPacked() {
+        assertTrue(build(7) instanceof DeleteIndex.PackedDeleteIndex);
+    }
+
+    @Test
+    void longPrefixFallsBackToStringKeys() {
+        assertTrue(build(64) instanceof DeleteIndex.StringDeleteIndex);
+    }
+
+    @Test
+    void packedAndStringIndexesAgree() {
+        for (DeleteIndex index : Arrays.asList(build(7), build(64))) {
+            assertEquals(3, index.size());
+            assertEquals(4, index.postingCount());
+            assertEquals(Arrays.asList(0, 1), postings(index, "abcd"));
+            assertEquals(Arrays.asList(2), postings(index, ""));
+            assertEquals(Arrays.asList(2), postings(index, "xz"));
+            assertEquals(DeleteIndex.NOT_FOUND, index.entry("abc"));
+            assertEquals(DeleteIndex.NOT_FOUND, index.entry("qq"));
+            assertEquals(index.entries().keySet(), build(7).entries().keySet());
+        }
+    }
+
+    private static List<Integer> postings(DeleteIndex index, String delete) {
+        int entry = index.entry(delete);
+        assertNotEquals(DeleteIndex.NOT_FOUND, entry);
+        Integer[] wordIds = new Integer[index.end(entry) - index.start(entry)];
+        for (int offset = index.start(entry); offset < index.end(entry); offset++) {
+            wordIds[offset - index.start(entry)] = index.wordId(offset);
+        }
+        return Arrays.asList(wordIds);
+    }
+}
@@ -0,0 +1,122 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.DamerauLevenshteinOSA;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DocumentCorrectorTest {
+
+    private static DocumentCorrector documentCorrector;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        Map<String, Long> unigrams = Files.lines(Paths.get("src/test/resources/words.txt"))
+                                          .map(line -> line.split(","))
+                                          .collect(Collectors.toMap(tokens -> tokens[0], tokens -> Long.parseLong(tokens[1])));
+        documentCorrector = new DocumentCorrector(new SymSpellBuilder().setUnigramLexicon(unigrams).createSymSpell());
+    }
+
+    @Test
+    void keepsPunctuationAndWhitespace() throws Exception {
+        assertEquals("The house,  the garden...\n\t(and the \"street\")!",
+                     documentCorrector.correct("The huose,  the gardn...\n\t(and the \"stret\")!"));
+    }
+
+    @Test
+    void keepsCasing() throws Exception {
+        assertEquals("House HOUSE house", documentCorrector.correct("Huose HUOSE huose"));
+    }
+
+    @Test
+    void keepsUpperCaseWithApostrophes() throws Exception {
+        assertEquals("DON'T. Don't.", documentCorrector.correct("DOSEN'T. Dosen't."));
+    }
+
+    @Test
+    void casingDoesNotDependOnTheDefaultLocale() throws Exception {
+        Locale locale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            assertEquals("WIDTH Width", documentCorrector.correct("WIDHT Widht"));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    @Test
+    void skipsMixedCaseWordsAndSingleLetters() throws Exception {
+        String text = "my iPhnoe and x";
+        assertEquals(text, documentCorrector.correct(text));
+    }
+
+    @Test
+    void skipsNumbersUrlsAndEmails() throws Exception {
+        String text = "Call 555-0123 at 10pm, see https://exmaple.com/huose or www.exmaple.org and mail jhon@exmaple.com";
+        assertEquals(text, documentCorrector.correct(text));
+    }
+
+    @Test
+    void correctionsHaveOffsets() throws Exception {
+        String text = "A smal huose.";
+        List<DocumentCorrector.Correction> corrections = documentCorrector.corrections(text);
+        assertEquals(2, corrections.size());
+        DocumentCorrector.Correction first = corrections.get(0);
+        assertEquals("smal", text.substring(first.getStart(), first.getEnd()));
+        assertEquals("smal", first.getOriginal());
+        assertEquals("small", first.getReplacement());
+        DocumentCorrector.Correction second = corrections.get(1);
+        assertEquals("huose", text.substring(second.getStart(), second.getEnd()));
+        assertEquals("house", second.getReplacement());
+    }
+
+    @Test
+    void keepsApostrophes() throws Exception {
+        assertEquals("Don\u2019t touch the garden's 'house'", documentCorrector.correct("Don\u2019t touch the garden's 'huose'"));
+    }
+
+    @Test
+    void appendsToWriter() throws Exception {
+        String text = "The huose is smal.";
+        StringBuilder out = new StringBuilder();
+        documentCorrector.correct(text, out);
+        assertEquals(documentCorrector.correct(text), out.toString());
+        assertEquals("The house is small.", out.toString());
+    }
+
+    @Test
+    void writesCorrectionsAsTheyAreFound() throws Exception {
+        StringBuilder out = new StringBuilder();
+        List<String> writtenBeforeLookingUpStret = new ArrayList<>();
+        SymSpell symSpell = new SymSpellBuilder().setUnigramLexicon(SymSpellTest.mapOf("house", 10L, "small", 10L, "street", 10L))
+                                                 .setStringDistanceAlgorithm((string1, string2, maxDistance) -> {
+                                                     if (string1.equals("stret") || string2.equals("stret")) {
+                                                         writtenBeforeLookingUpStret.add(out.toString());
+                                                     }
+                                                     return new DamerauLevenshteinOSA().distanceWithEarlyStop(string1, string2, maxDistance);
+                                                 })
+                                                 .createSymSpell();
+
+        new DocumentCorrector(symSpell).correct("huose smal stret", out);
+
+        assertEquals("house small street", out.toString());
+        assertEquals("house small", writtenBeforeLookingUpStret.get(0));
+    }
+
+    @Test
+    void emptyLexicon() {
+        DocumentCorrector empty = new DocumentCorrector(new SymSpellBuilder().setUnigramLexicon(Collections.emptyMap()).createSymSpell());
+        assertThrows(NotInitializedException.class, () -> empty.correct("text"));
+    }
+}
@@ -0,0 +1,79 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static io.gitlab.rxp90.jsymspell.SymSpellTest.mapOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FederatedSymSpellTest {
+
+    private final FederatedSymSpell symSpell = new FederatedSymSpellBuilder()
+            .addDictionary("english", mapOf("apple", 100L, "maple", 80L, "table", 500L), 1)
+            .addDictionary("products", mapOf("apple", 10L, "appel", 30L), 10)
+            .addDictionary("names", mapOf("mabel", 40L), 0.5)
+            .createSymSpell();
+
+    @Test
+    void frequenciesAreWeightedAndSummed() {
+        assertEquals(200L, symSpell.getUnigramLexicon().get("apple"));
+        assertEquals(300L, symSpell.getUnigramLexicon().get("appel"));
+        assertEquals(20L, symSpell.getUnigramLexicon().get("mabel"));
+        assertEquals(500L, symSpell.getUnigramLexicon().get("table"));
+    }
+
+    @Test
+    void suggestionsOfAllDictionariesAreRankedTogether() throws Exception {
+        List<SuggestItem> suggestions = symSpell.lookup("mable", Verbosity.ALL, false);
+
+        assertEquals(Arrays.asList("table", "maple", "mabel"), suggestionsOf(suggestions.subList(0, 3)));
+    }
+
+    @Test
+    void weightsChangeTheRanking() throws Exception {
+        List<SuggestItem> suggestions = symSpell.lookup("appl", Verbosity.CLOSEST, false);
+
+        assertEquals(Arrays.asList("appel", "apple"), suggestionsOf(suggestions));
+    }
+
+    @Test
+    void sources() {
+        assertEquals(Arrays.asList("english", "products"), symSpell.getSources("apple"));
+        assertEquals(Collections.singletonList("names"), symSpell.getSources("mabel"));
+        assertTrue(symSpell.getSources("unknown").isEmpty());
+        assertEquals(Arrays.asList("english", "products", "names"), symSpell.getDictionaryNames());
+    }
+
+    @Test
+    void weightedFrequenciesDoNotOverflow() throws Exception {
+        FederatedSymSpell heavilyWeighted = new FederatedSymSpellBuilder()
+                .addDictionary("english", mapOf("apple", 1_000L, "maple", 10L), 1e16)
+                .addDictionary("products", mapOf("apple", 1_000L, "ample", 10L), 1e16)
+                .createSymSpell();
+
+        assertEquals(Long.MAX_VALUE, heavilyWeighted.getUnigramLexicon().get("apple"));
+        List<SuggestItem> suggestions = heavilyWeighted.lookup("appe", Verbosity.ALL, false);
+        assertEquals("apple", suggestions.get(0).getSuggestion());
+        assertTrue(suggestions.stream().allMatch(suggestion -> suggestion.getFrequencyOfSuggestionInDict() > 0));
+        assertTrue(heavilyWeighted.lookupCompound("appe", 2, false).get(0).getFrequencyOfSuggestionInDict() > 0);
+    }
+
+    @Test
+    void invalidDictionariesAreRejected() {
+        FederatedSymSpellBuilder builder = new FederatedSymSpellBuilder().addDictionary("english", mapOf("apple", 1L), 1);
+
+        assertThrows(IllegalArgumentException.class, () -> builder.addDictionary("english", mapOf("pear", 1L), 1));
+        assertThrows(IllegalArgumentException.class, () -> builder.addDictionary("fruits", mapOf("pear", 1L), -1));
+        assertThrows(IllegalArgumentException.class, () -> builder.addDictionary("fruits", mapOf("pear", 1L), 0));
+        assertThrows(IllegalArgumentException.class, () -> builder.addDictionary("fruits", mapOf("pear", 1L), Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> builder.addDictionary("fruits", mapOf("pear", 1L), Double.NaN));
+    }
+
+    private static List<String> suggestionsOf(List<SuggestItem> suggestions) {
+        return Arrays.asList(suggestions.stream().map(SuggestItem::getSuggestion).toArray(String[]::new));
+    }
+}
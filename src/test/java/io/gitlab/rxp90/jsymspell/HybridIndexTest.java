@@ -0,0 +1,165 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HybridIndexTest {
+
+    private static final int EAGER_WORD_COUNT = 2_000;
+
+    private static Map<String, Long> unigrams;
+    private static List<String> rareWords;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        List<String[]> lines = Files.lines(Paths.get("src/test/resources/words.txt"))
+                                    .limit(20_000)
+                                    .map(line -> line.split(","))
+                                    .collect(Collectors.toList());
+        unigrams = lines.stream().collect(Collectors.toMap(tokens -> tokens[0], tokens -> Long.parseLong(tokens[1])));
+        rareWords = unigrams.entrySet().stream()
+                            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                            .skip(EAGER_WORD_COUNT)
+                            .map(Map.Entry::getKey)
+                            .filter(word -> word.length() >= 5)
+                            .collect(Collectors.toList());
+    }
+
+    private static String misspell(String word) {
+        return word.substring(0, 2) + word.substring(3);
+    }
+
+    private static Set<String> terms(List<SuggestItem> suggestions) {
+        return suggestions.stream().map(SuggestItem::getSuggestion).collect(Collectors.toSet());
+    }
+
+    @Test
+    void findsAtLeastTheSuggestionsOfTheFullIndex() throws Exception {
+        SymSpellImpl eager = new SymSpellBuilder().setUnigramLexicon(unigrams).createSymSpell();
+        SymSpellImpl hybrid = new SymSpellBuilder().setUnigramLexicon(unigrams)
+                                                   .setEagerWordCount(EAGER_WORD_COUNT)
+                                                   .createSymSpell();
+        assertEquals(unigrams.size() - EAGER_WORD_COUNT, hybrid.getTailIndex().size());
+        assertTrue(hybrid.estimatedIndexBytes() < eager.estimatedIndexBytes());
+
+        for (String word : rareWords.subList(0, 500)) {
+            String input = misspell(word);
+            assertTrue(terms(hybrid.lookup(input, Verbosity.ALL)).containsAll(terms(eager.lookup(input, Verbosity.ALL))), input);
+            List<SuggestItem> expected = eager.lookup(input, Verbosity.CLOSEST);
+            List<SuggestItem> closest = hybrid.lookup(input, Verbosity.CLOSEST);
+            assertTrue(terms(closest).containsAll(terms(expected)), input);
+            List<SuggestItem> top = hybrid.lookup(input, Verbosity.TOP);
+            assertEquals(expected.isEmpty(), top.isEmpty(), input);
+            if (!expected.isEmpty()) {
+                assertTrue(top.get(0).getEditDistance() <= expected.get(0).getEditDistance(), input);
+            }
+        }
+    }
+
+    @Test
+    void noTailWithoutEagerWordCount() {
+        assertNull(new SymSpellBuilder().setUnigramLexicon(unigrams).createSymSpell().getTailIndex());
+        assertNull(new SymSpellBuilder().setUnigramLexicon(unigrams).setEagerWordCount(unigrams.size()).createSymSpell().getTailIndex());
+    }
+
+    @Test
+    void wordsArePromotedAfterThreshold() throws Exception {
+        SymSpellImpl hybrid = new SymSpellBuilder().setUnigramLexicon(unigrams)
+                                                   .setEagerWordCount(EAGER_WORD_COUNT)
+                                                   .setTailPromotionThreshold(3)
+                                                   .createSymSpell();
+        String word = rareWords.get(100);
+        String input = misspell(word);
+        List<SuggestItem> expected = hybrid.lookup(input, Verbosity.ALL);
+        assertTrue(terms(expected).contains(word));
+        int tailSuggestions = (int) expected.stream()
+                                            .filter(suggestion -> rareWords.contains(suggestion.getSuggestion()))
+                                            .count();
+
+        hybrid.lookup(input, Verbosity.ALL);
+        assertEquals(0, hybrid.getTailIndex().promotedCount());
+        hybrid.lookup(input, Verbosity.ALL);
+        assertTrue(hybrid.getTailIndex().promotedCount() >= 1);
+        assertTrue(hybrid.getTailIndex().promotedCount() <= tailSuggestions);
+
+        assertTrue(terms(hybrid.lookup(input, Verbosity.ALL)).contains(word));
+        assertTrue(hybrid.getIndexReport(0).getBytesByStructure().get("tailIndex") > 0);
+    }
+
+    @Test
+    void noPromotionWithDeleteFilter() throws Exception {
+        SymSpellImpl hybrid = new SymSpellBuilder().setUnigramLexicon(unigrams)
+                                                   .setEagerWordCount(EAGER_WORD_COUNT)
+                                                   .setTailPromotionThreshold(1)
+                                                   .setDeleteFilterEnabled(true)
+                                                   .createSymSpell();
+        String input = misspell(rareWords.get(100));
+        List<SuggestItem> expected = hybrid.lookup(input, Verbosity.CLOSEST);
+        assertEquals(expected, hybrid.lookup(input, Verbosity.CLOSEST));
+        assertEquals(0, hybrid.getTailIndex().promotedCount());
+    }
+
+    @Test
+    void concurrentPromotionsLoseNoSuggestion() throws Exception {
+        SymSpellImpl eager = new SymSpellBuilder().setUnigramLexicon(unigrams).createSymSpell();
+        SymSpellImpl scanOnly = new SymSpellBuilder().setUnigramLexicon(unigrams)
+                                                     .setEagerWordCount(EAGER_WORD_COUNT)
+                                                     .setTailPromotionThreshold(Integer.MAX_VALUE)
+                                                     .createSymSpell();
+        SymSpellImpl hybrid = new SymSpellBuilder().setUnigramLexicon(unigrams)
+                                                   .setEagerWordCount(EAGER_WORD_COUNT)
+                                                   .setTailPromotionThreshold(2)
+                                                   .createSymSpell();
+        List<String> inputs = rareWords.subList(0, 200).stream().map(HybridIndexTest::misspell).collect(Collectors.toList());
+        // Promoted words are found as by the full index, which misses some of the words found by the scan
+        List<Set<String>> atLeast = new ArrayList<>();
+        List<Set<String>> atMost = new ArrayList<>();
+        for (String input : inputs) {
+            atLeast.add(terms(eager.lookup(input, Verbosity.ALL)));
+            atMost.add(terms(scanOnly.lookup(input, Verbosity.ALL)));
+        }
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> lookups = new ArrayList<>();
+            for (int caller = 0; caller < 8; caller++) {
+                lookups.add(callers.submit(() -> {
+                    for (int round = 0; round < 3; round++) {
+                        for (int i = 0; i < inputs.size(); i++) {
+                            Set<String> found = terms(hybrid.lookup(inputs.get(i), Verbosity.ALL));
+                            assertTrue(found.containsAll(atLeast.get(i)), inputs.get(i));
+                            assertTrue(atMost.get(i).containsAll(found), inputs.get(i));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> lookup : lookups) {
+                lookup.get();
+            }
+        } finally {
+            callers.shutdown();
+        }
+        assertTrue(hybrid.getTailIndex().promotedCount() > 0);
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new SymSpellBuilder().setEagerWordCount(-1));
+        assertThrows(IllegalArgumentException.class, () -> new SymSpellBuilder().setTailPromotionThreshold(0));
+    }
+}
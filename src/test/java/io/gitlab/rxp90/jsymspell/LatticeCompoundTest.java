@@ -0,0 +1,94 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.Bigram;
+import io.gitlab.rxp90.jsymspell.api.LatticeOptions;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatticeCompoundTest {
+
+    private static Map<String, Long> unigrams;
+    private static SymSpellImpl symSpell;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        unigrams = Files.lines(Paths.get("src/test/resources/words.txt"))
+                        .limit(30_000)
+                        .map(line -> line.split(","))
+                        .collect(Collectors.toMap(tokens -> tokens[0], tokens -> Long.parseLong(tokens[1])));
+        symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).createSymSpell();
+    }
+
+    @Test
+    void correctsSplitsAndCombines() throws Exception {
+        List<SuggestItem> suggestions = symSpell.lookupCompound("nostalgiais truly one of th greatests hum an weakneses", 2, LatticeOptions.defaults());
+
+        assertEquals(1, suggestions.size());
+        assertEquals("nostalgia is truly one of the greatest human weaknesses", suggestions.get(0).getSuggestion());
+        assertEquals(5, suggestions.get(0).getEditDistance());
+    }
+
+    @Test
+    void distinctLines() throws Exception {
+        List<SuggestItem> suggestions = symSpell.lookupCompound("the quikc brown fxo", 2, LatticeOptions.defaults().withMaxResults(5));
+
+        assertEquals(5, suggestions.size());
+        assertEquals("the quick brown fox", suggestions.get(0).getSuggestion());
+        assertEquals(5, suggestions.stream().map(SuggestItem::getSuggestion).distinct().count());
+    }
+
+    @Test
+    void bigramsChangeTheRanking() throws Exception {
+        Map<String, Long> lexicon = new HashMap<>();
+        lexicon.put("i", 1_000L);
+        lexicon.put("read", 100L);
+        lexicon.put("bead", 200L);
+        lexicon.put("books", 100L);
+        SymSpellImpl withoutBigrams = new SymSpellBuilder().setUnigramLexicon(lexicon).createSymSpell();
+        SymSpellImpl withBigrams = new SymSpellBuilder().setUnigramLexicon(lexicon)
+                                                        .setBigramLexicon(Collections.singletonMap(new Bigram("read", "books"), 90L))
+                                                        .createSymSpell();
+
+        assertEquals("i bead books", withoutBigrams.lookupCompound("i tead books", 2, LatticeOptions.defaults()).get(0).getSuggestion());
+        assertEquals("i read books", withBigrams.lookupCompound("i tead books", 2, LatticeOptions.defaults()).get(0).getSuggestion());
+    }
+
+    @Test
+    void keepsUnknownWords() throws Exception {
+        Map<String, Long> lexicon = new HashMap<>();
+        lexicon.put("i", 1_000L);
+        lexicon.put("read", 100L);
+        SymSpellImpl small = new SymSpellBuilder().setUnigramLexicon(lexicon).createSymSpell();
+
+        assertEquals("i read zzzzzz", small.lookupCompound("i rad zzzzzz", 2, LatticeOptions.defaults()).get(0).getSuggestion());
+    }
+
+    @Test
+    void emptyLexicon() {
+        SymSpellImpl empty = new SymSpellBuilder().createSymSpell();
+
+        assertThrows(NotInitializedException.class, () -> empty.lookupCompound("boom", 2, LatticeOptions.defaults()));
+    }
+
+    @Test
+    void invalidOptions() {
+        assertThrows(IllegalArgumentException.class, () -> LatticeOptions.defaults().withBeamWidth(0));
+        assertThrows(IllegalArgumentException.class, () -> LatticeOptions.defaults().withMaxResults(0));
+        assertThrows(IllegalArgumentException.class, () -> LatticeOptions.defaults().withCandidatesPerWord(-1));
+        assertThrows(IllegalArgumentException.class, () -> LatticeOptions.defaults().withEditProbability(0));
+        assertThrows(IllegalArgumentException.class, () -> LatticeOptions.defaults().withEditProbability(1.5));
+        assertThrows(IllegalArgumentException.class, () -> symSpell.lookupCompound("boom", 3, LatticeOptions.defaults()));
+    }
+}
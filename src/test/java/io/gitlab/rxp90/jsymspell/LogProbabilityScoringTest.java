@@ -0,0 +1,96 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.Bigram;
+import io.gitlab.rxp90.jsymspell.api.LatticeOptions;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.gitlab.rxp90.jsymspell.SymSpellTest.mapOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogProbabilityScoringTest {
+
+    private static final Map<String, Long> UNIGRAMS = mapOf("the", 1_000_000_000L, "quick", 20_000_000L, "brown", 10_000_000L, "fox", 5_000_000L,
+                                                            "xy", 10L, "zw", 10L, "xyz", 1_000L, "w", 1_000L);
+
+    private static SymSpellBuilder builder() {
+        return new SymSpellBuilder().setUnigramLexicon(UNIGRAMS);
+    }
+
+    @Test
+    void lookupsAreScoredOnlyWhenEnabled() throws Exception {
+        SymSpellImpl unscored = builder().createSymSpell();
+        SymSpellImpl scored = builder().setLogProbabilityScoring(true).createSymSpell();
+        double n = UNIGRAMS.values().stream().mapToLong(Long::longValue).sum();
+
+        assertTrue(Double.isNaN(unscored.lookup("quikc", Verbosity.TOP).get(0).getLogProbability()));
+        SuggestItem suggestion = scored.lookup("quikc", Verbosity.TOP).get(0);
+        assertEquals("quick", suggestion.getSuggestion());
+        assertEquals(Math.log(20_000_000L / n), suggestion.getLogProbability(), 1e-9);
+        SuggestItem unknown = scored.lookup("qqqqqqq", Verbosity.TOP, true).get(0);
+        assertEquals(Math.log(10 / 1e7 / n), unknown.getLogProbability(), 1e-9);
+    }
+
+    @Test
+    void rareSplitsAreNoLongerTruncated() throws Exception {
+        // Both splits are estimated at 0 occurrences by the frequency product, so the first one wins
+        assertEquals("xy zw", builder().createSymSpell().lookupCompound("xyzw", 0, false).get(0).getSuggestion());
+        assertEquals("xyz w", builder().setLogProbabilityScoring(true).createSymSpell().lookupCompound("xyzw", 0, false).get(0).getSuggestion());
+    }
+
+    @Test
+    void longLinesKeepAFiniteLogProbability() throws Exception {
+        String line = String.join(" ", Collections.nCopies(100, "the quikc brown fox"));
+        String expected = String.join(" ", Collections.nCopies(100, "the quick brown fox"));
+
+        SuggestItem unscored = builder().createSymSpell().lookupCompound(line, 2, false).get(0);
+        SuggestItem scored = builder().setLogProbabilityScoring(true).createSymSpell().lookupCompound(line, 2, false).get(0);
+
+        assertEquals(expected, unscored.getSuggestion());
+        assertEquals(0, unscored.getFrequencyOfSuggestionInDict());
+        assertEquals(expected, scored.getSuggestion());
+        double n = UNIGRAMS.values().stream().mapToLong(Long::longValue).sum();
+        double expectedLogProbability = 100 * (Math.log(1e9 / n) + Math.log(2e7 / n) + Math.log(1e7 / n) + Math.log(5e6 / n));
+        assertEquals(expectedLogProbability, scored.getLogProbability(), 1e-6);
+    }
+
+    @Test
+    void latticeScoresAreUnchanged() throws Exception {
+        Map<Bigram, Long> bigrams = new HashMap<>();
+        bigrams.put(new Bigram("the", "quick"), 1_000_000L);
+        bigrams.put(new Bigram("quick", "brown"), 900_000L);
+        bigrams.put(new Bigram("brown", "fox"), 800_000L);
+        bigrams.put(new Bigram("red", "fox"), 800_000L);
+        SymSpellImpl unscored = builder().setBigramLexicon(bigrams).createSymSpell();
+        SymSpellImpl scored = builder().setBigramLexicon(bigrams).setLogProbabilityScoring(true).createSymSpell();
+        LatticeOptions options = LatticeOptions.defaults().withMaxResults(5);
+
+        for (String input : new String[]{"the quikc brwn fox", "thequick brown fx", "xyzw the"}) {
+            List<SuggestItem> expected = unscored.lookupCompound(input, 2, options);
+            List<SuggestItem> actual = scored.lookupCompound(input, 2, options);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getSuggestion(), actual.get(i).getSuggestion());
+                assertEquals(expected.get(i).getLogProbability(), actual.get(i).getLogProbability(), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void reportsAndEstimatesTheHeapOfTheLogProbabilities() {
+        Map<Bigram, Long> bigrams = new HashMap<>();
+        bigrams.put(new Bigram("the", "quick"), 1_000_000L);
+        SymSpellBuilder builder = builder().setBigramLexicon(bigrams).setLogProbabilityScoring(true);
+        long bytes = builder.createSymSpell().getIndexReport(0).getBytesByStructure().get("logProbabilities");
+
+        assertTrue(bytes > 8 * UNIGRAMS.size());
+        assertEquals(0, builder().createSymSpell().getIndexReport(0).getBytesByStructure().get("logProbabilities"));
+        assertEquals(bytes, builder.estimateBuild(UNIGRAMS.size()).getIndexBytes() - builder().setBigramLexicon(bigrams).estimateBuild(UNIGRAMS.size()).getIndexBytes());
+        assertTrue(builder.copy().isLogProbabilityScoring());
+    }
+}
@@ -0,0 +1,116 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.DamerauLevenshteinOSA;
+import io.gitlab.rxp90.jsymspell.api.LookupBudget;
+import io.gitlab.rxp90.jsymspell.api.LookupResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static io.gitlab.rxp90.jsymspell.SymSpellTest.mapOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LookupBudgetTest {
+
+    private final SymSpell symSpell = new SymSpellBuilder().setUnigramLexicon(mapOf("summarized", 100L, "summarize", 50L, "summaries", 20L, "sumatra", 10L))
+                                                           .setMaxDictionaryEditDistance(2)
+                                                           .createSymSpell();
+
+    @Test
+    void unlimitedBudgetIsComplete() throws Exception {
+        LookupResult result = symSpell.lookup("sumarized", Verbosity.ALL, false, LookupBudget.unlimited());
+
+        assertFalse(result.isPartial());
+        assertEquals(symSpell.lookup("sumarized", Verbosity.ALL, false), result.getSuggestions());
+    }
+
+    @Test
+    void candidateLimitReturnsPartialResult() throws Exception {
+        LookupResult result = symSpell.lookup("summarized", Verbosity.ALL, false, LookupBudget.unlimited().withMaxCandidates(0));
+
+        assertTrue(result.isPartial());
+        assertEquals(1, result.getSuggestions().size());
+        assertEquals("summarized", result.getSuggestions().get(0).getSuggestion());
+    }
+
+    @Test
+    void distanceComputationLimitReturnsPartialResult() throws Exception {
+        LookupResult complete = symSpell.lookup("sumarized", Verbosity.ALL, false, LookupBudget.unlimited().withMaxDistanceComputations(10));
+        LookupResult partial = symSpell.lookup("sumarized", Verbosity.ALL, false, LookupBudget.unlimited().withMaxDistanceComputations(1));
+
+        assertFalse(complete.isPartial());
+        assertTrue(partial.isPartial());
+        assertEquals(1, partial.getSuggestions().size());
+        assertTrue(complete.getSuggestions().containsAll(partial.getSuggestions()));
+    }
+
+    @Test
+    void timeLimitIsSharedByCompoundLookups() throws Exception {
+        LookupResult result = symSpell.lookupCompound("sumarized sumatra", 2, false, LookupBudget.unlimited().withTimeLimit(Duration.ZERO));
+
+        assertTrue(result.isPartial());
+        assertEquals(1, result.getSuggestions().size());
+    }
+
+    /**
+     * All 676 three letter words starting with "a", which all have the delete "a": looking up "a" visits a single candidate
+     * with hundreds of postings.
+     */
+    private static Map<String, Long> wordsStartingWithA() {
+        Map<String, Long> words = new HashMap<>();
+        for (char first = 'a'; first <= 'z'; first++) {
+            for (char second = 'a'; second <= 'z'; second++) {
+                words.put("a" + first + second, 1L);
+            }
+        }
+        return words;
+    }
+
+    @Test
+    void cancellationIsCheckedWithinThePostingsOfACandidate() throws Exception {
+        AtomicInteger distanceComputations = new AtomicInteger();
+        SymSpellImpl counting = new SymSpellBuilder().setUnigramLexicon(wordsStartingWithA())
+                                                     .setMaxDictionaryEditDistance(2)
+                                                     .setStringDistanceAlgorithm((string1, string2, maxDistance) -> {
+                                                         distanceComputations.incrementAndGet();
+                                                         return new DamerauLevenshteinOSA().distanceWithEarlyStop(string1, string2, maxDistance);
+                                                     })
+                                                     .createSymSpell();
+        counting.lookup("a", Verbosity.ALL, false);
+        int uncancelled = distanceComputations.getAndSet(0);
+
+        // Cancelled once the first candidate has been visited
+        AtomicInteger checks = new AtomicInteger();
+        counting.lookup("a", Verbosity.ALL, false, new LookupGuard(LookupBudget.unlimited(), () -> checks.getAndIncrement() > 0));
+
+        assertTrue(uncancelled > 500);
+        assertTrue(distanceComputations.get() <= 64);
+    }
+
+    @Test
+    void timeLimitIsCheckedWithinThePostingsOfACandidate() throws Exception {
+        SymSpell slow = new SymSpellBuilder().setUnigramLexicon(wordsStartingWithA())
+                                             .setMaxDictionaryEditDistance(2)
+                                             .setStringDistanceAlgorithm((string1, string2, maxDistance) -> {
+                                                 LockSupport.parkNanos(1_000_000);
+                                                 return new DamerauLevenshteinOSA().distanceWithEarlyStop(string1, string2, maxDistance);
+                                             })
+                                             .createSymSpell();
+
+        long start = System.nanoTime();
+        LookupResult result = slow.lookup("a", Verbosity.ALL, false, LookupBudget.unlimited().withTimeLimit(Duration.ofMillis(20)));
+
+        assertTrue(result.isPartial());
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(400));
+    }
+
+    @Test
+    void negativeLimitsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> LookupBudget.unlimited().withMaxCandidates(-1));
+    }
+}
@@ -0,0 +1,101 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.Bigram;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LookupCompoundInParallelTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+    private static SymSpellImpl symSpell;
+    private static List<String> words;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        Map<String, Long> unigrams = Files.lines(Paths.get("src/test/resources/words.txt"))
+                                          .limit(30_000)
+                                          .map(line -> line.split(","))
+                                          .collect(Collectors.toMap(tokens -> tokens[0], tokens -> Long.parseLong(tokens[1])));
+        Map<Bigram, Long> bigrams = new HashMap<>();
+        bigrams.put(new Bigram("in", "the"), 1_000_000L);
+        bigrams.put(new Bigram("of", "the"), 2_000_000L);
+        symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).setBigramLexicon(bigrams).createSymSpell();
+        words = new ArrayList<>(unigrams.keySet()).subList(0, 5_000);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        POOL.shutdown();
+    }
+
+    @Test
+    void sameSuggestionAsSequential() throws Exception {
+        Random random = new Random(42);
+        for (int paragraph = 0; paragraph < 20; paragraph++) {
+            String input = paragraph(random, 1 + random.nextInt(200));
+            for (int editDistanceMax = 0; editDistanceMax <= 2; editDistanceMax++) {
+                for (boolean includeUnknown : new boolean[]{false, true}) {
+                    assertEquals(symSpell.lookupCompound(input, editDistanceMax, includeUnknown),
+                                 symSpell.lookupCompoundInParallel(input, editDistanceMax, includeUnknown, POOL),
+                                 input);
+                }
+            }
+        }
+    }
+
+    @Test
+    void callerThreadExecutor() throws Exception {
+        String input = "nostalgiais truly one of th greatests human weakneses";
+
+        assertEquals(symSpell.lookupCompound(input, 2, false), symSpell.lookupCompoundInParallel(input, 2, false, Runnable::run));
+    }
+
+    @Test
+    void singleWord() throws Exception {
+        assertEquals(symSpell.lookupCompound("", 2, false), symSpell.lookupCompoundInParallel("", 2, false, POOL));
+        assertEquals(symSpell.lookupCompound("helo", 2, true), symSpell.lookupCompoundInParallel("helo", 2, true, POOL));
+    }
+
+    @Test
+    void exceptionsArePropagated() {
+        SymSpellImpl empty = new SymSpellBuilder().createSymSpell();
+
+        assertThrows(NotInitializedException.class, () -> empty.lookupCompoundInParallel("boom boom", 2, false, POOL));
+        assertThrows(IllegalArgumentException.class, () -> symSpell.lookupCompoundInParallel("boom boom", 3, false, POOL));
+    }
+
+    /**
+     * Misspelled words, some of them split in two or merged with the next one.
+     */
+    private static String paragraph(Random random, int length) {
+        StringBuilder paragraph = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            StringBuilder word = new StringBuilder(words.get(random.nextInt(words.size())));
+            if (random.nextInt(3) == 0 && word.length() > 1) {
+                word.setCharAt(random.nextInt(word.length()), (char) ('a' + random.nextInt(26)));
+            }
+            if (random.nextInt(8) == 0 && word.length() > 2) {
+                word.insert(1 + random.nextInt(word.length() - 1), ' ');
+            }
+            paragraph.append(word);
+            if (random.nextInt(8) != 0) {
+                paragraph.append(' ');
+            }
+        }
+        return paragraph.toString().trim();
+    }
+}
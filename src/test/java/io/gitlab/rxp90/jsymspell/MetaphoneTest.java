@@ -0,0 +1,96 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.Metaphone;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.gitlab.rxp90.jsymspell.SymSpellTest.mapOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetaphoneTest {
+
+    private static final Metaphone METAPHONE = new Metaphone();
+
+    @Test
+    void soundAlikeWordsShareTheirCode() {
+        assertEquals(METAPHONE.encode("phonetic"), METAPHONE.encode("fonetik"));
+        assertEquals(METAPHONE.encode("knight"), METAPHONE.encode("nite"));
+        assertEquals(METAPHONE.encode("physician"), METAPHONE.encode("fisishun"));
+        assertNotEquals(METAPHONE.encode("phonetic"), METAPHONE.encode("genetic"));
+    }
+
+    @Test
+    void codes() {
+        assertEquals("FNTK", METAPHONE.encode("phonetic"));
+        assertEquals("0M", METAPHONE.encode("Thumb"));
+        assertEquals("SKL", METAPHONE.encode("school"));
+        assertEquals("SFFNTS", METAPHONE.encode("xavfinds"));
+        assertEquals("", METAPHONE.encode("42"));
+    }
+
+    @Test
+    void codesAreTruncated() {
+        assertEquals("INTR", new Metaphone(4).encode("internationalization"));
+    }
+
+    @Nested
+    class PhoneticLookup {
+
+        private final Map<String, Long> unigrams = mapOf("phonetic", 100L, "phonetics", 10L, "frenetic", 50L, "genetic", 80L);
+
+        @Test
+        void soundAlikeWordsAreSuggestedWhenNothingElseIsFound() throws Exception {
+            SymSpell symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).setPhoneticEncoder(METAPHONE).createSymSpell();
+
+            List<SuggestItem> suggestions = symSpell.lookup("fonetik", Verbosity.CLOSEST, false);
+
+            assertEquals(1, suggestions.size());
+            assertEquals("phonetic", suggestions.get(0).getSuggestion());
+            assertEquals(3, suggestions.get(0).getEditDistance());
+        }
+
+        @Test
+        void soundAlikeWordsAreMergedWithAll() throws Exception {
+            SymSpell symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).setPhoneticEncoder(METAPHONE).createSymSpell();
+
+            List<SuggestItem> suggestions = symSpell.lookup("fenetic", Verbosity.ALL, false);
+
+            assertEquals("genetic", suggestions.get(0).getSuggestion());
+            assertEquals("frenetic", suggestions.get(1).getSuggestion());
+            assertEquals("phonetic", suggestions.get(2).getSuggestion());
+            assertEquals(3, suggestions.get(2).getEditDistance());
+            assertEquals(3, suggestions.size());
+        }
+
+        @Test
+        void closerSuggestionsTakePrecedence() throws Exception {
+            SymSpell symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).setPhoneticEncoder(METAPHONE).createSymSpell();
+
+            List<SuggestItem> suggestions = symSpell.lookup("fenetic", Verbosity.TOP, false);
+
+            assertEquals(1, suggestions.size());
+            assertEquals("genetic", suggestions.get(0).getSuggestion());
+        }
+
+        @Test
+        void disabledByDefault() throws Exception {
+            SymSpell symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).createSymSpell();
+
+            assertTrue(symSpell.lookup("fonetik", Verbosity.CLOSEST, false).isEmpty());
+        }
+
+        @Test
+        void maxPhoneticEditDistance() throws Exception {
+            SymSpell symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams)
+                                                     .setPhoneticEncoder(METAPHONE)
+                                                     .setMaxPhoneticEditDistance(2)
+                                                     .createSymSpell();
+
+            assertTrue(symSpell.lookup("fonetik", Verbosity.CLOSEST, false).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.CacheStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static io.gitlab.rxp90.jsymspell.SymSpellTest.mapOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+class NeighborhoodCacheTest {
+
+    private final Map<String, Long> unigrams = mapOf("summarized", 100L, "summarize", 50L, "summaries", 20L, "sumatra", 10L, "sum", 5L, "a", 3L);
+    private final List<String> inputs = Arrays.asList("sumarized", "summarised", "smmries", "sumtra", "su", "sam", "b", "", "summarizedd", "xyz");
+
+    @Test
+    void cachedLookupsReturnSameSuggestions() throws Exception {
+        SymSpell uncached = new SymSpellBuilder().setUnigramLexicon(unigrams).setPrefixLength(5).createSymSpell();
+        SymSpell cached = new SymSpellBuilder().setUnigramLexicon(unigrams).setPrefixLength(5).setNeighborhoodCacheSize(100).createSymSpell();
+
+        for (int round = 0; round < 2; round++) {
+            for (String input : inputs) {
+                for (Verbosity verbosity : Verbosity.values()) {
+                    assertEquals(uncached.lookup(input, verbosity, true), cached.lookup(input, verbosity, true), input + " " + verbosity);
+                }
+                for (int editDistance = 0; editDistance <= 2; editDistance++) {
+                    assertEquals(uncached.lookupCompound(input + " sumatra", editDistance, false), cached.lookupCompound(input + " sumatra", editDistance, false));
+                }
+            }
+        }
+    }
+
+    @Test
+    void repeatedPrefixesHitTheCache() throws Exception {
+        SymSpellImpl symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).setPrefixLength(5).setNeighborhoodCacheSize(100).createSymSpell();
+
+        symSpell.lookup("sumarized", Verbosity.TOP, false);
+        symSpell.lookup("sumarized", Verbosity.TOP, false);
+        symSpell.lookup("sumarizes", Verbosity.TOP, false);
+
+        CacheStatistics statistics = symSpell.getNeighborhoodCacheStatistics();
+        assertEquals(2, statistics.getHits());
+        assertEquals(1, statistics.getMisses());
+        assertEquals(1, statistics.getSize());
+    }
+
+    @Test
+    void cacheIsBounded() throws Exception {
+        SymSpellImpl symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).setNeighborhoodCacheSize(3).createSymSpell();
+
+        for (String input : inputs) {
+            symSpell.lookup(input, Verbosity.CLOSEST, false);
+        }
+
+        assertTrue(symSpell.getNeighborhoodCacheStatistics().getSize() <= 3);
+    }
+
+    @Test
+    void disabledCacheReportsNothing() throws Exception {
+        SymSpellImpl symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).createSymSpell();
+
+        symSpell.lookup("sumarized", Verbosity.TOP, false);
+
+        assertEquals(0, symSpell.getNeighborhoodCacheStatistics().getHits() + symSpell.getNeighborhoodCacheStatistics().getMisses());
+    }
+}
@@ -0,0 +1,136 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.BuildProgressListener.Stage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelBuildTest {
+
+    private static Map<String, Long> unigrams;
+    private static ExecutorService executor;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        unigrams = Files.lines(Paths.get("src/test/resources/words.txt"))
+                        .limit(20_000)
+                        .map(line -> line.split(","))
+                        .collect(Collectors.toMap(tokens -> tokens[0], tokens -> Long.parseLong(tokens[1])));
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void sameIndexAsSequentialBuild() {
+        SymSpellImpl sequential = new SymSpellBuilder().setUnigramLexicon(unigrams).createSymSpell();
+        Map<String, Collection<String>> expected = sequential.getDeletes();
+        for (int parallelism : new int[]{1, 2, 3, 8, 17}) {
+            SymSpellImpl parallel = new SymSpellBuilder().setUnigramLexicon(unigrams)
+                                                         .setBuildExecutor(executor)
+                                                         .setBuildParallelism(parallelism)
+                                                         .createSymSpell();
+            assertEquals(sequential.getIndexReport(0).getPostings(), parallel.getIndexReport(0).getPostings());
+            assertEquals(expected, parallel.getDeletes(), "parallelism " + parallelism);
+        }
+    }
+
+    @Test
+    void sameSuggestionsAsSequentialBuild() throws Exception {
+        SymSpellImpl sequential = new SymSpellBuilder().setUnigramLexicon(unigrams).setCodePointAware(true).createSymSpell();
+        SymSpellImpl parallel = new SymSpellBuilder().setUnigramLexicon(unigrams)
+                                                     .setCodePointAware(true)
+                                                     .setBuildExecutor(executor)
+                                                     .setBuildParallelism(5)
+                                                     .createSymSpell();
+        for (String input : new String[]{"helo", "wrold", "speling", "acommodation", "teh"}) {
+            assertEquals(sequential.lookup(input, Verbosity.ALL, true), parallel.lookup(input, Verbosity.ALL, true));
+        }
+    }
+
+    @Test
+    void noPostingLostUnderConcurrentBuilds() throws Exception {
+        Map<String, Long> lexicon = unigrams.entrySet().stream()
+                                            .limit(3_000)
+                                            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        Map<String, Collection<String>> expected = new SymSpellBuilder().setUnigramLexicon(lexicon)
+                                                                        .setMaxDictionaryEditDistance(3)
+                                                                        .createSymSpell()
+                                                                        .getDeletes();
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 10; round++) {
+                List<Future<Map<String, Collection<String>>>> builds = new ArrayList<>();
+                for (int caller = 0; caller < 4; caller++) {
+                    int parallelism = 16 + caller;
+                    builds.add(callers.submit(() -> new SymSpellBuilder().setUnigramLexicon(lexicon)
+                                                                         .setMaxDictionaryEditDistance(3)
+                                                                         .setBuildExecutor(executor)
+                                                                         .setBuildParallelism(parallelism)
+                                                                         .createSymSpell()
+                                                                         .getDeletes()));
+                }
+                for (Future<Map<String, Collection<String>>> build : builds) {
+                    assertEquals(expected, build.get());
+                }
+            }
+        } finally {
+            callers.shutdown();
+        }
+    }
+
+    @Test
+    void progressIsMonotonic() {
+        List<Integer> wordsDone = new ArrayList<>();
+        new SymSpellBuilder().setUnigramLexicon(unigrams)
+                             .setBuildExecutor(executor)
+                             .setBuildParallelism(8)
+                             .setBuildProgressListener((stage, done, total) -> {
+                                 if (stage == Stage.DELETES) {
+                                     wordsDone.add(done);
+                                 }
+                             })
+                             .createSymSpell();
+
+        assertEquals(0, wordsDone.get(0));
+        assertEquals(unigrams.size(), wordsDone.get(wordsDone.size() - 1));
+        for (int i = 1; i < wordsDone.size(); i++) {
+            assertTrue(wordsDone.get(i) > wordsDone.get(i - 1));
+        }
+    }
+
+    @Test
+    void failureOfATaskIsRethrown() {
+        IllegalStateException failure = new IllegalStateException("listener failed");
+        SymSpellBuilder builder = new SymSpellBuilder().setUnigramLexicon(unigrams)
+                                                       .setBuildExecutor(executor)
+                                                       .setBuildProgressListener((stage, done, total) -> {
+                                                           if (stage == Stage.DELETES && done > 0) {
+                                                               throw failure;
+                                                           }
+                                                       });
+
+        assertSame(failure, assertThrows(IllegalStateException.class, builder::createSymSpell));
+    }
+
+    @Test
+    void invalidParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> new SymSpellBuilder().setBuildParallelism(0));
+    }
+}
@@ -0,0 +1,107 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.ReloadStatistics;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.gitlab.rxp90.jsymspell.SymSpellTest.mapOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReloadableSymSpellTest {
+
+    private static final Map<String, Long> GENERATION_A = mapOf("alpha", 1L, "alpht", 1L);
+    private static final Map<String, Long> GENERATION_B = mapOf("alpha", 2L, "alpht", 2L, "beta", 2L);
+
+    @Test
+    void reloadInstallsNewGeneration() throws Exception {
+        ReloadableSymSpell symSpell = new ReloadableSymSpell(new SymSpellBuilder().setUnigramLexicon(GENERATION_A).createSymSpell(), Runnable::run);
+
+        ReloadStatistics statistics = symSpell.reload(() -> new SymSpellBuilder().setUnigramLexicon(GENERATION_B)).get();
+
+        assertEquals(1, statistics.getGeneration());
+        assertEquals(1, symSpell.getGeneration());
+        assertTrue(statistics.getIndexBytes() > statistics.getPreviousIndexBytes());
+        assertEquals(statistics.getPreviousIndexBytes() + statistics.getIndexBytes(), statistics.getMemoryOverlapBytes());
+        assertEquals(new SuggestItem("beta", 0, 2), symSpell.lookup("beta", Verbosity.TOP).get(0));
+    }
+
+    @Test
+    void lookupsDoNotWaitForReload() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ReloadableSymSpell symSpell = new ReloadableSymSpell(new SymSpellBuilder().setUnigramLexicon(GENERATION_A).createSymSpell(), executor);
+            CountDownLatch buildStarted = new CountDownLatch(1);
+            CountDownLatch releaseBuild = new CountDownLatch(1);
+
+            CompletableFuture<ReloadStatistics> reload = symSpell.reload(() -> {
+                buildStarted.countDown();
+                awaitUninterruptibly(releaseBuild);
+                return new SymSpellBuilder().setUnigramLexicon(GENERATION_B);
+            });
+            assertTrue(buildStarted.await(10, TimeUnit.SECONDS));
+
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                assertEquals(new SuggestItem("alpha", 0, 1), symSpell.lookup("alpha", Verbosity.TOP).get(0));
+                assertEquals(0, symSpell.getGeneration());
+            });
+
+            releaseBuild.countDown();
+            reload.get(10, TimeUnit.SECONDS);
+            assertEquals(new SuggestItem("alpha", 0, 2), symSpell.lookup("alpha", Verbosity.TOP).get(0));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void lookupsSeeASingleGenerationDuringSwaps() throws Exception {
+        ReloadableSymSpell symSpell = new ReloadableSymSpell(new SymSpellBuilder().setUnigramLexicon(GENERATION_A).createSymSpell(), Runnable::run);
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        AtomicBoolean reloading = new AtomicBoolean(true);
+        try {
+            Future<?>[] results = new Future<?>[4];
+            for (int i = 0; i < results.length; i++) {
+                results[i] = readers.submit(() -> {
+                    int lookups = 0;
+                    while (reloading.get() || lookups == 0) {
+                        List<SuggestItem> suggestions = symSpell.lookup("alphx", Verbosity.ALL);
+                        assertEquals(2, suggestions.size());
+                        assertEquals(suggestions.get(0).getFrequencyOfSuggestionInDict(), suggestions.get(1).getFrequencyOfSuggestionInDict());
+                        lookups++;
+                    }
+                    return null;
+                });
+            }
+            for (int i = 0; i < 200; i++) {
+                Map<String, Long> lexicon = i % 2 == 0 ? GENERATION_B : GENERATION_A;
+                symSpell.reloadNow(new SymSpellBuilder().setUnigramLexicon(lexicon));
+            }
+            reloading.set(false);
+            for (Future<?> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+            assertEquals(200, symSpell.getGeneration());
+        } finally {
+            readers.shutdownNow();
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -23,6 +23,15 @@ class SuggestItemTest {
     assertEquals(1, sameDistanceSmallerFreq.compareTo(sameDistanceBiggerFreq));
   }
 
+  @Test
+  void compareToDescendingByLogProbabilityWhenBothAreKnown() {
+    SuggestItem lessLikely = new SuggestItem("test", 5, 0, 5, -800);
+    SuggestItem moreLikely = new SuggestItem("test", 5, 0, 5, -700);
+    SuggestItem unscored = new SuggestItem("test", 5, 20);
+
+    assertEquals(1, lessLikely.compareTo(moreLikely));
+    assertEquals(1, moreLikely.compareTo(unscored));
+  }
 
   @Test
   void equalsAndHashCode() {
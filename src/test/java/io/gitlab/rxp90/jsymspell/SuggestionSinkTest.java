@@ -0,0 +1,121 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.DamerauLevenshteinOSA;
+import io.gitlab.rxp90.jsymspell.api.EditCosts;
+import io.gitlab.rxp90.jsymspell.api.Metaphone;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.api.SuggestionSink;
+import io.gitlab.rxp90.jsymspell.api.WeightedDamerauLevenshteinOSA;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionSinkTest {
+
+    private static Map<String, Long> unigrams;
+    private static SymSpellImpl symSpell;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        unigrams = Files.lines(Paths.get("src/test/resources/words.txt"))
+                        .limit(20_000)
+                        .map(line -> line.split(","))
+                        .collect(Collectors.toMap(tokens -> tokens[0], tokens -> Long.parseLong(tokens[1])));
+        symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).createSymSpell();
+    }
+
+    @Test
+    void sameSuggestionsAsList() throws Exception {
+        SymSpellImpl phonetic = new SymSpellBuilder().setUnigramLexicon(unigrams).setPhoneticEncoder(new Metaphone()).createSymSpell();
+        SymSpellImpl weighted = new SymSpellBuilder().setUnigramLexicon(unigrams).setStringDistanceAlgorithm(new WeightedDamerauLevenshteinOSA(EditCosts.qwerty(0.5, 0.25))).createSymSpell();
+        Random random = new Random(42);
+        String[] words = unigrams.keySet().toArray(new String[0]);
+        for (int i = 0; i < 500; i++) {
+            StringBuilder input = new StringBuilder(words[random.nextInt(words.length)]);
+            for (int edits = random.nextInt(4); edits > 0; edits--) {
+                input.setCharAt(random.nextInt(input.length()), (char) ('a' + random.nextInt(26)));
+            }
+            for (SymSpellImpl instance : new SymSpellImpl[]{symSpell, phonetic, weighted}) {
+                for (Verbosity verbosity : Verbosity.values()) {
+                    for (boolean includeUnknown : new boolean[]{false, true}) {
+                        assertEquals(withoutCosts(instance.lookup(input.toString(), verbosity, includeUnknown)),
+                                     sink(instance, input.toString(), verbosity, includeUnknown),
+                                     input + " " + verbosity);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void unknownWord() throws Exception {
+        List<Integer> wordIds = new ArrayList<>();
+
+        int count = symSpell.lookup("qwxzjkvb", Verbosity.TOP, true, (wordId, editDistance, frequency) -> {
+            wordIds.add(wordId);
+            assertEquals(3, editDistance);
+            assertEquals(0, frequency);
+        });
+
+        assertEquals(1, count);
+        assertEquals(SuggestionSink.UNKNOWN_WORD, (int) wordIds.get(0));
+    }
+
+    @Test
+    void wordIds() throws Exception {
+        List<String> words = new ArrayList<>();
+
+        symSpell.lookup("helo", Verbosity.CLOSEST, false, (wordId, editDistance, frequency) -> {
+            words.add(symSpell.getWord(wordId));
+            assertEquals(unigrams.get(symSpell.getWord(wordId)), frequency);
+        });
+
+        assertEquals(symSpell.lookup("helo", Verbosity.CLOSEST).stream().map(SuggestItem::getSuggestion).collect(Collectors.toList()), words);
+    }
+
+    @Test
+    void lookupsFromSink() throws Exception {
+        List<String> nested = new ArrayList<>();
+
+        symSpell.lookup("helo", Verbosity.CLOSEST, false, (wordId, editDistance, frequency) -> {
+            try {
+                nested.add(symSpell.lookup(symSpell.getWord(wordId) + "x", Verbosity.TOP).get(0).getSuggestion());
+            } catch (NotInitializedException e) {
+                fail(e);
+            }
+        });
+
+        assertEquals(symSpell.lookup("helo", Verbosity.CLOSEST).size(), nested.size());
+        assertEquals(symSpell.lookup("helo", Verbosity.CLOSEST), symSpell.lookup("helo", Verbosity.CLOSEST));
+    }
+
+    @Test
+    void emptyLexicon() {
+        SymSpellImpl empty = new SymSpellBuilder().setStringDistanceAlgorithm(new DamerauLevenshteinOSA()).createSymSpell();
+
+        assertThrows(NotInitializedException.class, () -> empty.lookup("boom", Verbosity.TOP, false, (wordId, editDistance, frequency) -> {}));
+    }
+
+    private static List<String> withoutCosts(List<SuggestItem> suggestions) {
+        return suggestions.stream()
+                          .map(suggestion -> suggestion.getSuggestion() + " " + suggestion.getEditDistance() + " " + (long) suggestion.getFrequencyOfSuggestionInDict())
+                          .collect(Collectors.toList());
+    }
+
+    private static List<String> sink(SymSpellImpl instance, String input, Verbosity verbosity, boolean includeUnknown) throws NotInitializedException {
+        List<String> suggestions = new ArrayList<>();
+        instance.lookup(input, verbosity, includeUnknown, (wordId, editDistance, frequency) ->
+                suggestions.add((wordId == SuggestionSink.UNKNOWN_WORD ? input : instance.getWord(wordId)) + " " + editDistance + " " + frequency));
+        return suggestions;
+    }
+}
@@ -0,0 +1,121 @@
+package io.gitlab.rxp90.jsymspell;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymSpellTunerTest {
+
+    private static Map<String, Long> unigrams;
+    private static List<String> queries;
+    private static TuningReport report;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        unigrams = Files.lines(Paths.get("src/test/resources/words.txt"))
+                        .limit(20_000)
+                        .map(line -> line.split(","))
+                        .collect(Collectors.toMap(tokens -> tokens[0], tokens -> Long.parseLong(tokens[1])));
+        List<String> words = new ArrayList<>(unigrams.keySet());
+        Random random = new Random(42);
+        queries = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            StringBuilder query = new StringBuilder(words.get(random.nextInt(words.size())));
+            for (int edits = 1 + random.nextInt(2); edits > 0 && query.length() > 1; edits--) {
+                query.deleteCharAt(random.nextInt(query.length()));
+            }
+            queries.add(query.toString());
+        }
+        report = new SymSpellTuner(new SymSpellBuilder().setUnigramLexicon(unigrams), queries).setPrefixLengths(5, 7)
+                                                                                                .setMaxEditDistances(1, 2)
+                                                                                                .setRepetitions(1)
+                                                                                                .tune();
+    }
+
+    @Test
+    void candidates() {
+        List<TuningReport.Candidate> candidates = report.getCandidates();
+
+        assertEquals(4, candidates.size());
+        assertEquals(2, candidates.get(0).getMaxDictionaryEditDistance());
+        assertEquals(7, candidates.get(0).getPrefixLength());
+        assertEquals(1.0, candidates.get(0).getRecall());
+        for (TuningReport.Candidate candidate : candidates) {
+            assertTrue(candidate.getIndexBytes() > 0);
+            assertFalse(candidate.getMeanLatency().isNegative() || candidate.getP99Latency().isZero());
+            if (candidate.getMaxDictionaryEditDistance() == 1) {
+                assertTrue(candidate.getRecall() < 1.0);
+            }
+        }
+        assertTrue(candidates.stream().anyMatch(TuningReport.Candidate::isParetoOptimal));
+    }
+
+    @Test
+    void recommendationHasBestRecall() {
+        TuningReport.Candidate recommendation = report.getRecommendation().orElseThrow(AssertionError::new);
+
+        assertEquals(1.0, recommendation.getRecall());
+        assertTrue(recommendation.isParetoOptimal());
+        assertEquals(2, recommendation.getMaxDictionaryEditDistance());
+    }
+
+    @Test
+    void memoryBudget() throws Exception {
+        long smallest = report.getCandidates().stream().mapToLong(TuningReport.Candidate::getIndexBytes).min().getAsLong();
+
+        TuningReport tight = new SymSpellTuner(new SymSpellBuilder().setUnigramLexicon(unigrams), queries).setPrefixLengths(5, 7)
+                                                                                                         .setMaxEditDistances(1, 2)
+                                                                                                         .setRepetitions(1)
+                                                                                                         .setMemoryBudget(smallest)
+                                                                                                         .tune();
+
+        TuningReport.Candidate recommendation = tight.getRecommendation().orElseThrow(AssertionError::new);
+        assertEquals(smallest, recommendation.getIndexBytes());
+    }
+
+    @Test
+    void noCandidateFitsTheBudgets() throws Exception {
+        TuningReport impossible = new SymSpellTuner(new SymSpellBuilder().setUnigramLexicon(unigrams), queries).setPrefixLengths(5)
+                                                                                                              .setMaxEditDistances(1)
+                                                                                                              .setRepetitions(1)
+                                                                                                              .setLatencyBudget(Duration.ZERO)
+                                                                                                              .tune();
+
+        assertFalse(impossible.getRecommendation().isPresent());
+    }
+
+    @Test
+    void recommendedBuilderUsesTheWholeLexicon() throws Exception {
+        TuningReport sampled = new SymSpellTuner(new SymSpellBuilder().setUnigramLexicon(unigrams), queries).setPrefixLengths(6)
+                                                                                                           .setMaxEditDistances(2)
+                                                                                                           .setRepetitions(1)
+                                                                                                           .setLexiconSampleSize(5_000)
+                                                                                                           .tune();
+
+        SymSpellImpl symSpell = sampled.getRecommendation().orElseThrow(AssertionError::new).toBuilder().createSymSpell();
+
+        assertEquals(unigrams.size(), symSpell.getUnigramLexicon().size());
+        assertEquals(2, symSpell.getMaxDictionaryEditDistance());
+        assertEquals(symSpell.estimatedIndexBytes(), sampled.getCandidates().get(0).getIndexBytes(), symSpell.estimatedIndexBytes() * 0.15);
+    }
+
+    @Test
+    void invalidSettings() {
+        SymSpellBuilder builder = new SymSpellBuilder().setUnigramLexicon(unigrams);
+
+        assertThrows(IllegalArgumentException.class, () -> new SymSpellTuner(builder, Collections.emptyList()));
+        assertThrows(IllegalArgumentException.class, () -> new SymSpellTuner(builder, queries).setPrefixLengths(2).setMaxEditDistances(2).tune());
+        assertThrows(IllegalArgumentException.class, () -> new SymSpellTuner(builder, queries).setLexiconSampleSize(0));
+    }
+}
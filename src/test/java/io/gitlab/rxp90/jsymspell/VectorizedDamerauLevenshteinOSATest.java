@@ -0,0 +1,144 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.BatchStringDistance;
+import io.gitlab.rxp90.jsymspell.api.CharComparator;
+import io.gitlab.rxp90.jsymspell.api.DamerauLevenshteinOSA;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VectorizedDamerauLevenshteinOSATest {
+
+    private static final DamerauLevenshteinOSA SCALAR = new DamerauLevenshteinOSA();
+
+    @Test
+    void kernelIsAvailableWithVectorModule() {
+        assumeTrue(ManagementFactory.getRuntimeMXBean().getInputArguments().stream().anyMatch(argument -> argument.contains("jdk.incubator.vector")));
+
+        assertTrue(SCALAR.vectorized().isPresent());
+    }
+
+    @Test
+    void customComparisonIsNotVectorized() {
+        DamerauLevenshteinOSA custom = new DamerauLevenshteinOSA(new CharComparator() {
+            @Override
+            public boolean areEqual(char ch1, char ch2) {
+                return Character.toLowerCase(ch1) == Character.toLowerCase(ch2);
+            }
+        });
+
+        assertFalse(custom.vectorized().isPresent());
+    }
+
+    @Test
+    void distancesMatchScalar() {
+        BatchStringDistance kernel = kernel();
+        Random random = new Random(42);
+        for (int batch = 0; batch < 2_000; batch++) {
+            String string1 = randomString(random);
+            int maxDistance = random.nextInt(5);
+            String[] strings = new String[random.nextInt(100)];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = random.nextBoolean() ? randomEdits(string1, random) : randomString(random);
+            }
+            int[] distances = new int[strings.length];
+
+            kernel.distancesWithEarlyStop(string1, strings, strings.length, maxDistance, distances);
+
+            for (int i = 0; i < strings.length; i++) {
+                assertEquals(scalarDistance(string1, strings[i], maxDistance), distances[i], string1 + " " + strings[i] + " " + maxDistance);
+            }
+        }
+    }
+
+    @Test
+    void onlyCountStringsAreCompared() {
+        int[] distances = {7, 7, 7};
+
+        kernel().distancesWithEarlyStop("hello", new String[]{"helo", "hell", "hello"}, 2, 2, distances);
+
+        assertArrayEquals(new int[]{1, 1, 7}, distances);
+    }
+
+    @Test
+    void lookupsMatchScalar() throws Exception {
+        assumeTrue(SCALAR.vectorized().isPresent(), "Vector API unavailable");
+        Map<String, Long> unigrams = Files.lines(Paths.get("src/test/resources/words.txt"))
+                                          .limit(20_000)
+                                          .map(line -> line.split(","))
+                                          .collect(Collectors.toMap(tokens -> tokens[0], tokens -> Long.parseLong(tokens[1])));
+        SymSpell vectorized = new SymSpellBuilder().setUnigramLexicon(unigrams).createSymSpell();
+        // A custom comparator disables the vectorized kernel
+        SymSpell scalar = new SymSpellBuilder().setUnigramLexicon(unigrams)
+                                               .setStringDistanceAlgorithm(new DamerauLevenshteinOSA(new CharComparator() {}))
+                                               .createSymSpell();
+        Random random = new Random(7);
+        String[] words = unigrams.keySet().toArray(new String[0]);
+        for (int i = 0; i < 500; i++) {
+            String input = randomEdits(words[random.nextInt(words.length)], random);
+            for (Verbosity verbosity : Verbosity.values()) {
+                assertEquals(scalar.lookup(input, verbosity, true), vectorized.lookup(input, verbosity, true), input + " " + verbosity);
+            }
+        }
+    }
+
+    private static BatchStringDistance kernel() {
+        Optional<BatchStringDistance> kernel = SCALAR.vectorized();
+        assumeTrue(kernel.isPresent(), "Vector API unavailable");
+        return kernel.get();
+    }
+
+    private static int scalarDistance(String string1, String string2, int maxDistance) {
+        // DamerauLevenshteinOSA does not support an empty first string, and may return distances above maxDistance when
+        // one string contains the other
+        int distance = string1.isEmpty() ? string2.length() : SCALAR.distanceWithEarlyStop(string1, string2, maxDistance);
+        return distance > maxDistance ? -1 : distance;
+    }
+
+    private static String randomString(Random random) {
+        StringBuilder string = new StringBuilder();
+        int length = random.nextInt(12);
+        for (int i = 0; i < length; i++) {
+            string.append((char) ('a' + random.nextInt(4)));
+        }
+        return string.toString();
+    }
+
+    private static String randomEdits(String string, Random random) {
+        StringBuilder edited = new StringBuilder(string);
+        for (int edits = random.nextInt(4); edits > 0; edits--) {
+            int index = edited.length() == 0 ? 0 : random.nextInt(edited.length());
+            switch (random.nextInt(4)) {
+                case 0:
+                    edited.insert(index, (char) ('a' + random.nextInt(4)));
+                    break;
+                case 1:
+                    if (edited.length() > 0) {
+                        edited.deleteCharAt(index);
+                    }
+                    break;
+                case 2:
+                    if (edited.length() > 0) {
+                        edited.setCharAt(index, (char) ('a' + random.nextInt(4)));
+                    }
+                    break;
+                default:
+                    if (index + 1 < edited.length()) {
+                        char ch = edited.charAt(index);
+                        edited.setCharAt(index, edited.charAt(index + 1));
+                        edited.setCharAt(index + 1, ch);
+                    }
+            }
+        }
+        return edited.toString();
+    }
+}
@@ -0,0 +1,110 @@
+package io.gitlab.rxp90.jsymspell;
+
+import io.gitlab.rxp90.jsymspell.api.DamerauLevenshteinOSA;
+import io.gitlab.rxp90.jsymspell.api.EditCosts;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.api.WeightedDamerauLevenshteinOSA;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static io.gitlab.rxp90.jsymspell.SymSpellTest.mapOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeightedDamerauLevenshteinOSATest {
+
+    private static final WeightedDamerauLevenshteinOSA QWERTY = new WeightedDamerauLevenshteinOSA(EditCosts.qwerty(0.5, 0.25));
+
+    @Test
+    void unitCostsMatchDamerauLevenshteinOSA() {
+        WeightedDamerauLevenshteinOSA weighted = new WeightedDamerauLevenshteinOSA(EditCosts.unit());
+        DamerauLevenshteinOSA unweighted = new DamerauLevenshteinOSA();
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            String string1 = randomString(random);
+            String string2 = randomString(random);
+            int maxDistance = random.nextInt(4);
+
+            int expected = unweighted.distanceWithEarlyStop(string1, string2, maxDistance);
+            // DamerauLevenshteinOSA may return distances above maxDistance when one string contains the other
+            expected = expected > maxDistance ? -1 : expected;
+            double actual = weighted.weightedDistanceWithEarlyStop(string1, string2, maxDistance);
+
+            assertEquals(expected, actual, 1e-9, string1 + " " + string2 + " " + maxDistance);
+        }
+    }
+
+    @Test
+    void adjacentKeysAreCheaper() {
+        assertEquals(0.5, QWERTY.weightedDistanceWithEarlyStop("hello", "hrllo", 1), 1e-9);
+        assertEquals(1, QWERTY.weightedDistanceWithEarlyStop("hello", "hpllo", 1), 1e-9);
+    }
+
+    @Test
+    void doubledCharsAreCheaper() {
+        assertEquals(0.25, QWERTY.weightedDistanceWithEarlyStop("hello", "helllo", 1), 1e-9);
+        assertEquals(0.25, QWERTY.weightedDistanceWithEarlyStop("helo", "hello", 1), 1e-9);
+        assertEquals(1, QWERTY.weightedDistanceWithEarlyStop("hello", "hellxo", 1), 1e-9);
+    }
+
+    @Test
+    void costIsSymmetric() {
+        assertEquals(QWERTY.weightedDistanceWithEarlyStop("typo", "tyypi", 2), QWERTY.weightedDistanceWithEarlyStop("tyypi", "typo", 2), 1e-9);
+    }
+
+    @Test
+    void costLargerThanMax() {
+        assertEquals(-1, QWERTY.weightedDistanceWithEarlyStop("abcdef", "ghijkl", 2), 1e-9);
+        assertEquals(-1, QWERTY.weightedDistanceWithEarlyStop("a", "abcdefghijk", 2), 1e-9);
+    }
+
+    @Test
+    void invalidCostsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> EditCosts.builder().insertionCost(0));
+        assertThrows(IllegalArgumentException.class, () -> EditCosts.builder().substitutionCost('a', 'b', 1.5));
+    }
+
+    @Nested
+    class Ranking {
+
+        @Test
+        void suggestionsAreSortedByCost() throws Exception {
+            SymSpell symSpell = new SymSpellBuilder().setUnigramLexicon(mapOf("cat", 10L, "car", 5L))
+                                                     .setMaxDictionaryEditDistance(1)
+                                                     .setStringDistanceAlgorithm(QWERTY)
+                                                     .createSymSpell();
+
+            List<SuggestItem> suggestions = symSpell.lookup("cae", Verbosity.ALL, false);
+
+            // 'e' is next to 'r' but not to 't'
+            assertEquals("car", suggestions.get(0).getSuggestion());
+            assertEquals(1, suggestions.get(0).getEditDistance());
+            assertEquals(0.5, suggestions.get(0).getCost(), 1e-9);
+            assertEquals("cat", suggestions.get(1).getSuggestion());
+            assertEquals(1, suggestions.get(1).getCost(), 1e-9);
+        }
+
+        @Test
+        void unweightedCostIsEditDistance() throws Exception {
+            SymSpell symSpell = new SymSpellBuilder().setUnigramLexicon(mapOf("cat", 10L, "car", 5L))
+                                                     .setMaxDictionaryEditDistance(1)
+                                                     .createSymSpell();
+
+            List<SuggestItem> suggestions = symSpell.lookup("cae", Verbosity.ALL, false);
+
+            assertEquals("cat", suggestions.get(0).getSuggestion());
+            assertEquals(1, suggestions.get(0).getCost(), 1e-9);
+        }
+    }
+
+    private static String randomString(Random random) {
+        StringBuilder string = new StringBuilder();
+        int length = 1 + random.nextInt(8);
+        for (int i = 0; i < length; i++) {
+            string.append("abcde".charAt(random.nextInt(5)));
+        }
+        return string.toString();
+    }
+}
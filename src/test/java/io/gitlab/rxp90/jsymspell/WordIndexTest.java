@@ -0,0 +1,68 @@
+package io.gitlab.rxp90.jsymspell;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordIndexTest {
+
+    @Test
+    void findsEveryWord() throws Exception {
+        String[] words = Files.lines(Paths.get("src/test/resources/words.txt"))
+                              .map(line -> line.split(",")[0])
+                              .toArray(String[]::new);
+        WordIndex index = new WordIndex(words);
+        for (int wordId = 0; wordId < words.length; wordId++) {
+            assertEquals(wordId, index.id(words[wordId]), words[wordId]);
+        }
+        // About 2 bits per word on the first level, 8 bytes per slot
+        assertTrue(index.estimatedBytes() < 10L * words.length, () -> index.estimatedBytes() + " bytes");
+    }
+
+    @Test
+    void unknownWordsAreNotFound() throws Exception {
+        String[] words = Files.lines(Paths.get("src/test/resources/words.txt"))
+                              .limit(20_000)
+                              .map(line -> line.split(",")[0])
+                              .toArray(String[]::new);
+        Set<String> lexicon = new HashSet<>();
+        for (String word : words) {
+            lexicon.add(word);
+        }
+        WordIndex index = new WordIndex(words);
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            StringBuilder word = new StringBuilder(words[random.nextInt(words.length)]);
+            word.setCharAt(random.nextInt(word.length()), (char) ('a' + random.nextInt(26)));
+            int wordId = index.id(word.toString());
+            if (lexicon.contains(word.toString())) {
+                assertEquals(word.toString(), words[wordId]);
+            } else {
+                assertEquals(WordIndex.NOT_FOUND, wordId, word.toString());
+            }
+        }
+        assertEquals(WordIndex.NOT_FOUND, index.id(""));
+    }
+
+    @Test
+    void emptyLexicon() {
+        WordIndex index = new WordIndex(new String[0]);
+        assertEquals(WordIndex.NOT_FOUND, index.id("word"));
+        assertEquals(WordIndex.NOT_FOUND, index.id(""));
+    }
+
+    @Test
+    void emptyWord() {
+        WordIndex index = new WordIndex(new String[]{"a", "", "b"});
+        assertEquals(0, index.id("a"));
+        assertEquals(1, index.id(""));
+        assertEquals(2, index.id("b"));
+        assertEquals(WordIndex.NOT_FOUND, index.id("c"));
+    }
+}
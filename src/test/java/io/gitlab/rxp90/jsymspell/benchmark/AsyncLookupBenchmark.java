@@ -0,0 +1,59 @@
+package io.gitlab.rxp90.jsymspell.benchmark;
+
+import io.gitlab.rxp90.jsymspell.AsyncSymSpell;
+import io.gitlab.rxp90.jsymspell.SymSpellBuilder;
+import io.gitlab.rxp90.jsymspell.SymSpellImpl;
+import io.gitlab.rxp90.jsymspell.Verbosity;
+import io.gitlab.rxp90.jsymspell.api.LookupResult;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares blocking lookups with the asynchronous facade under high concurrency.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(64)
+@State(Scope.Benchmark)
+public class AsyncLookupBenchmark {
+
+    private SymSpellImpl symSpell;
+    private AsyncSymSpell asyncSymSpell;
+    private List<String> queries;
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        Map<String, Long> unigrams = BenchmarkData.unigrams();
+        symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).setMaxDictionaryEditDistance(2).createSymSpell();
+        asyncSymSpell = new AsyncSymSpell(symSpell);
+        queries = BenchmarkData.misspellings(new ArrayList<>(unigrams.keySet()), 10_000, 2, 42);
+    }
+
+    private String nextQuery() {
+        return queries.get(Math.floorMod(next.getAndIncrement(), queries.size()));
+    }
+
+    @Benchmark
+    public List<SuggestItem> blockingLookup() throws NotInitializedException {
+        return symSpell.lookup(nextQuery(), Verbosity.CLOSEST, false);
+    }
+
+    @Benchmark
+    public List<SuggestItem> asyncLookup() {
+        return asyncSymSpell.lookup(nextQuery(), Verbosity.CLOSEST, false).join();
+    }
+
+    @Benchmark
+    public LookupResult asyncLookupWithDeadline() {
+        return asyncSymSpell.lookup(nextQuery(), Verbosity.CLOSEST, false, Duration.ofMillis(1)).join();
+    }
+}
@@ -0,0 +1,238 @@
+package io.gitlab.rxp90.jsymspell.benchmark;
+
+import io.gitlab.rxp90.jsymspell.api.Bigram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic data sets shared by the benchmarks.
+ */
+public final class BenchmarkData {
+
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz";
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * The English frequency dictionary under {@code src/test/resources/words.txt}, in descending frequency order.
+     * @return map where the key is the word and the value is the frequency
+     */
+    public static Map<String, Long> unigrams() {
+        URL wordsPath = Objects.requireNonNull(BenchmarkData.class.getClassLoader().getResource("words.txt"));
+        try (Stream<String> lines = Files.lines(Paths.get(wordsPath.toURI()))) {
+            return lines.map(line -> line.split(","))
+                        .collect(Collectors.toMap(tokens -> tokens[0], tokens -> Long.parseLong(tokens[1]), (a, b) -> a, LinkedHashMap::new));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The bigrams under {@code src/test/resources/bigrams.txt}.
+     * @return map where the key is the pair of words and the value is the frequency
+     */
+    public static Map<Bigram, Long> bigrams() {
+        URL bigramsPath = Objects.requireNonNull(BenchmarkData.class.getClassLoader().getResource("bigrams.txt"));
+        try (Stream<String> lines = Files.lines(Paths.get(bigramsPath.toURI()))) {
+            return lines.map(line -> line.split(" "))
+                        .filter(tokens -> tokens.length == 3)
+                        .collect(Collectors.toMap(tokens -> new Bigram(tokens[0], tokens[1]), tokens -> Long.parseLong(tokens[2]), (a, b) -> a, LinkedHashMap::new));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Picks {@code count} words of the lexicon and applies up to {@code maxEdits} random edits to each of them.
+     * @param words words to pick from
+     * @param count number of queries
+     * @param maxEdits maximum number of edits applied to each word
+     * @param seed random seed, so that runs are comparable
+     * @return misspelled queries
+     */
+    public static List<String> misspellings(List<String> words, int count, int maxEdits, long seed) {
+        Random random = new Random(seed);
+        List<String> queries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String word = words.get(random.nextInt(words.size()));
+            int edits = random.nextInt(maxEdits + 1);
+            for (int e = 0; e < edits; e++) {
+                word = edit(word, random);
+            }
+            queries.add(word);
+        }
+        return Collections.unmodifiableList(queries);
+    }
+
+    /**
+     * Builds a text of {@code length} words of the lexicon, with up to {@code maxEdits} random edits applied to each word,
+     * and about one word in ten split in two or merged with the next one.
+     * @param words words to pick from
+     * @param length number of words
+     * @param maxEdits maximum number of edits applied to each word
+     * @param seed random seed, so that runs are comparable
+     * @return words separated by single spaces
+     */
+    public static String paragraph(List<String> words, int length, int maxEdits, long seed) {
+        Random random = new Random(seed);
+        StringBuilder paragraph = new StringBuilder();
+        for (String word : misspellings(words, length, maxEdits, seed)) {
+            if (random.nextInt(20) == 0 && word.length() > 2) {
+                word = word.substring(0, word.length() / 2) + ' ' + word.substring(word.length() / 2);
+            }
+            paragraph.append(word);
+            if (random.nextInt(20) != 0) {
+                paragraph.append(' ');
+            }
+        }
+        return paragraph.toString().trim();
+    }
+
+    /**
+     * Builds prose of {@code length} words of the lexicon, about one in twenty being misspelled, with capitalized sentences,
+     * punctuation, numbers, URLs, line breaks and the odd upper case word.
+     * @param words words to pick from
+     * @param length number of words
+     * @param seed random seed, so that runs are comparable
+     * @return document text
+     */
+    public static String document(List<String> words, int length, long seed) {
+        Random random = new Random(seed);
+        StringBuilder document = new StringBuilder();
+        boolean sentenceStart = true;
+        for (int i = 0; i < length; i++) {
+            String word;
+            int kind = random.nextInt(100);
+            if (kind == 0) {
+                word = Integer.toString(random.nextInt(10_000));
+            } else if (kind == 1) {
+                word = "https://example.com/" + words.get(random.nextInt(words.size()));
+            } else {
+                word = words.get(random.nextInt(words.size()));
+                if (random.nextInt(20) == 0) {
+                    word = edit(word, random);
+                }
+                if (random.nextInt(50) == 0) {
+                    word = word.toUpperCase();
+                } else if (sentenceStart && !word.isEmpty()) {
+                    word = Character.toUpperCase(word.charAt(0)) + word.substring(1);
+                }
+            }
+            document.append(word);
+            sentenceStart = false;
+            int punctuation = random.nextInt(20);
+            if (punctuation == 0) {
+                document.append(random.nextInt(8) == 0 ? ".\n\n" : ". ");
+                sentenceStart = true;
+            } else if (punctuation == 1) {
+                document.append(", ");
+            } else {
+                document.append(' ');
+            }
+        }
+        return document.toString();
+    }
+
+    /**
+     * Replays {@code queries} following a Zipf distribution, where the query of rank {@code k} is drawn with a probability
+     * proportional to {@code 1 / k^exponent}.
+     * @param queries distinct queries, the first one being the most frequent
+     * @param count length of the replay
+     * @param exponent skew of the distribution, around 1 for natural language
+     * @param seed random seed, so that runs are comparable
+     * @return replayed queries
+     */
+    public static List<String> zipfian(List<String> queries, int count, double exponent, long seed) {
+        double[] cumulativeWeights = new double[queries.size()];
+        double total = 0;
+        for (int rank = 0; rank < queries.size(); rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulativeWeights[rank] = total;
+        }
+        Random random = new Random(seed);
+        List<String> replay = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int rank = Arrays.binarySearch(cumulativeWeights, random.nextDouble() * total);
+            replay.add(queries.get(rank < 0 ? Math.min(-rank - 1, queries.size() - 1) : rank));
+        }
+        return Collections.unmodifiableList(replay);
+    }
+
+    /**
+     * Rough heap size of the object built by {@code factory}, measured as the difference in used heap after forcing GCs.
+     * @param factory builds the object to measure
+     * @param <T> type of the object
+     * @return measured bytes, and the built object
+     */
+    public static <T> Measured<T> measureHeap(java.util.function.Supplier<T> factory) {
+        long before = usedHeap();
+        T object = factory.get();
+        long after = usedHeap();
+        return new Measured<>(object, after - before);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Object together with its measured heap size.
+     * @param <T> type of the object
+     */
+    public static final class Measured<T> {
+        public final T object;
+        public final long bytes;
+
+        Measured(T object, long bytes) {
+            this.object = object;
+            this.bytes = bytes;
+        }
+    }
+
+    private static String edit(String word, Random random) {
+        StringBuilder sb = new StringBuilder(word);
+        int position = sb.length() == 0 ? 0 : random.nextInt(sb.length());
+        char randomChar = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        switch (sb.length() < 2 ? 0 : random.nextInt(4)) {
+            case 0:
+                sb.insert(position, randomChar);
+                break;
+            case 1:
+                sb.deleteCharAt(position);
+                break;
+            case 2:
+                sb.setCharAt(position, randomChar);
+                break;
+            default:
+                int next = Math.min(position + 1, sb.length() - 1);
+                char tmp = sb.charAt(position);
+                sb.setCharAt(position, sb.charAt(next));
+                sb.setCharAt(next, tmp);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,441 @@
+package io.gitlab.rxp90.jsymspell.benchmark;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the JSON results of a JMH run ({@code -rf json}) with a recorded baseline and fails when a benchmark lost
+ * throughput, got slower at the 99th percentile or allocates more per operation than the tolerances allow. Run by the
+ * {@code benchmark-regression} profile after {@link RegressionSuiteBenchmark}:
+ * <pre>
+ * BenchmarkRegressionGate results.json baseline.json throughputTolerance latencyTolerance allocationTolerance [update]
+ * </pre>
+ * Tolerances are relative, e.g. {@code 0.1} accepts a throughput down to 90% of the baseline. A score past its tolerance
+ * is only a regression if its confidence interval does not overlap the one of the baseline either, which keeps noisy
+ * machines from failing the build; percentiles have no confidence interval. With {@code update}, the results replace the
+ * baseline instead, without the raw samples nor the metrics the gate does not read. Baselines only compare with runs on
+ * the same hardware and JVM, so they have to be recorded where the gate runs.
+ */
+public final class BenchmarkRegressionGate {
+
+    /**
+     * Bytes per operation allocated on top of the relative tolerance, so that a baseline allocating nothing does not
+     * fail on the noise of the profiler
+     */
+    static final double ALLOCATION_SLACK = 16;
+
+    enum Metric {
+        /** Operations per unit of time of {@code thrpt} runs */
+        THROUGHPUT(true),
+        /** 99th percentile of the time per operation of {@code sample} runs */
+        LATENCY_P99(false),
+        /** {@code gc.alloc.rate.norm} of the GC profiler, in bytes per operation */
+        ALLOCATION(false);
+
+        private final boolean higherIsBetter;
+
+        Metric(boolean higherIsBetter) {
+            this.higherIsBetter = higherIsBetter;
+        }
+    }
+
+    /**
+     * Score of a metric and half of its 99.9% confidence interval, 0 if unknown.
+     */
+    static final class Score {
+        final double value;
+        final double error;
+
+        Score(double value, double error) {
+            this.value = value;
+            this.error = Double.isNaN(error) ? 0 : error;
+        }
+    }
+
+    private BenchmarkRegressionGate() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 5) {
+            System.err.println("Usage: BenchmarkRegressionGate results.json baseline.json throughputTolerance latencyTolerance allocationTolerance [update]");
+            System.exit(2);
+        }
+        Path results = Paths.get(args[0]);
+        Path baseline = Paths.get(args[1]);
+        if (args.length > 5 && Boolean.parseBoolean(args[5])) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            String json = new String(Files.readAllBytes(results), StandardCharsets.UTF_8);
+            Files.write(baseline, trim(json).getBytes(StandardCharsets.UTF_8));
+            System.out.println("Recorded " + results + " as the baseline " + baseline);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            System.err.println("No baseline at " + baseline + ", record one with -Dbenchmark.update.baseline=true");
+            System.exit(1);
+        }
+        Map<Metric, Double> tolerances = new LinkedHashMap<>();
+        tolerances.put(Metric.THROUGHPUT, Double.parseDouble(args[2]));
+        tolerances.put(Metric.LATENCY_P99, Double.parseDouble(args[3]));
+        tolerances.put(Metric.ALLOCATION, Double.parseDouble(args[4]));
+        List<String> regressions = regressions(read(baseline), read(results), tolerances, System.out);
+        if (!regressions.isEmpty()) {
+            System.err.println(regressions.size() + " performance regression(s) against " + baseline + ":");
+            regressions.forEach(regression -> System.err.println("  " + regression));
+            System.exit(1);
+        }
+        System.out.println("No performance regression against " + baseline);
+    }
+
+    private static Map<String, Map<Metric, Score>> read(Path path) throws IOException {
+        return metrics(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Compares two runs, printing one line per metric to {@code report}.
+     * @param baseline JMH results of the baseline
+     * @param current JMH results of the run to check
+     * @param tolerances relative tolerance of each metric
+     * @param report where the comparison is printed
+     * @return one description per regression, empty if there is none
+     */
+    static List<String> regressions(Map<String, Map<Metric, Score>> baseline, Map<String, Map<Metric, Score>> current,
+                                    Map<Metric, Double> tolerances, PrintStream report) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Map<Metric, Score>> expected : baseline.entrySet()) {
+            Map<Metric, Score> actual = current.get(expected.getKey());
+            if (actual == null) {
+                regressions.add(expected.getKey() + " did not run, record a new baseline if it was removed on purpose");
+                continue;
+            }
+            for (Map.Entry<Metric, Score> metric : expected.getValue().entrySet()) {
+                Score score = actual.get(metric.getKey());
+                if (score == null) {
+                    regressions.add(expected.getKey() + " did not report " + metric.getKey());
+                    continue;
+                }
+                double before = metric.getValue().value;
+                double value = score.value;
+                double tolerance = tolerances.get(metric.getKey());
+                boolean regressed;
+                if (metric.getKey().higherIsBetter) {
+                    regressed = value < before * (1 - tolerance) && value + score.error < before - metric.getValue().error;
+                } else {
+                    double slack = metric.getKey() == Metric.ALLOCATION ? ALLOCATION_SLACK : 0;
+                    regressed = value > before * (1 + tolerance) + slack && value - score.error > before + metric.getValue().error;
+                }
+                String line = String.format("%-60s %-12s %14.6g %14.6g %+8.1f%%", expected.getKey(), metric.getKey(), before, value,
+                                            before == 0 ? 0 : 100 * (value - before) / before);
+                report.println(regressed ? line + "  REGRESSION" : line);
+                if (regressed) {
+                    regressions.add(line.trim().replaceAll(" +", " "));
+                }
+            }
+        }
+        for (String key : current.keySet()) {
+            if (!baseline.containsKey(key)) {
+                report.println(key + " is not in the baseline");
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Extracts the metrics guarded by the gate from the JSON results of a JMH run.
+     * @param json contents written by {@code -rf json}
+     * @return metrics by benchmark, mode and parameters
+     */
+    static Map<String, Map<Metric, Score>> metrics(String json) {
+        Map<String, Map<Metric, Score>> metrics = new TreeMap<>();
+        for (Object element : (List<?>) new JsonReader(json).read()) {
+            Map<?, ?> result = (Map<?, ?>) element;
+            String benchmark = (String) result.get("benchmark");
+            String mode = (String) result.get("mode");
+            StringBuilder key = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1))
+                    .append(" [").append(mode);
+            Object params = result.get("params");
+            if (params != null) {
+                new TreeMap<Object, Object>((Map<?, ?>) params).forEach((name, value) -> key.append(", ").append(name).append('=').append(value));
+            }
+            key.append(']');
+            Map<Metric, Score> values = new LinkedHashMap<>();
+            Map<?, ?> primaryMetric = (Map<?, ?>) result.get("primaryMetric");
+            if ("thrpt".equals(mode)) {
+                values.put(Metric.THROUGHPUT, score(primaryMetric));
+            } else if ("sample".equals(mode)) {
+                values.put(Metric.LATENCY_P99, new Score(number(((Map<?, ?>) primaryMetric.get("scorePercentiles")).get("99.0")), 0));
+            }
+            Object secondaryMetrics = result.get("secondaryMetrics");
+            if (secondaryMetrics != null && "thrpt".equals(mode)) {
+                for (Map.Entry<?, ?> secondary : ((Map<?, ?>) secondaryMetrics).entrySet()) {
+                    if (isAllocation(secondary.getKey())) {
+                        values.put(Metric.ALLOCATION, score((Map<?, ?>) secondary.getValue()));
+                    }
+                }
+            }
+            metrics.put(key.toString(), values);
+        }
+        return metrics;
+    }
+
+    private static boolean isAllocation(Object secondaryMetric) {
+        // JMH before 1.36 prefixes the names of profiler metrics with a middle dot
+        return secondaryMetric.toString().replace("\u00b7", "").equals("gc.alloc.rate.norm");
+    }
+
+    /**
+     * Drops the raw samples, the percentiles but the 99th of the primary metric and the secondary metrics but the allocation
+     * from JMH results, which would otherwise take megabytes, keeping the configuration of the run.
+     * @param json contents written by {@code -rf json}
+     * @return JSON results readable by {@link #metrics(String)}
+     */
+    static String trim(String json) {
+        List<?> results = (List<?>) new JsonReader(json).read();
+        for (Object element : results) {
+            Map<?, ?> result = (Map<?, ?>) element;
+            Map<?, ?> primaryMetric = (Map<?, ?>) result.get("primaryMetric");
+            primaryMetric.remove("rawData");
+            primaryMetric.remove("rawDataHistogram");
+            Object percentiles = primaryMetric.get("scorePercentiles");
+            if (percentiles != null) {
+                ((Map<?, ?>) percentiles).keySet().removeIf(percentile -> !"99.0".equals(percentile));
+            }
+            Object secondaryMetrics = result.get("secondaryMetrics");
+            if (secondaryMetrics != null) {
+                ((Map<?, ?>) secondaryMetrics).keySet().removeIf(name -> !isAllocation(name));
+                for (Object secondary : ((Map<?, ?>) secondaryMetrics).values()) {
+                    ((Map<?, ?>) secondary).remove("rawData");
+                    ((Map<?, ?>) secondary).remove("scorePercentiles");
+                }
+            }
+        }
+        StringBuilder trimmed = new StringBuilder();
+        write(results, "", trimmed);
+        return trimmed.append('\n').toString();
+    }
+
+    private static void write(Object value, String indent, StringBuilder json) {
+        if (value instanceof Map) {
+            json.append("{");
+            String separator = "\n";
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                json.append(separator).append(indent).append("    ");
+                write(entry.getKey(), indent + "    ", json);
+                json.append(" : ");
+                write(entry.getValue(), indent + "    ", json);
+                separator = ",\n";
+            }
+            json.append(separator.length() == 1 ? "}" : "\n" + indent + "}");
+        } else if (value instanceof List) {
+            json.append("[");
+            String separator = "\n";
+            for (Object element : (List<?>) value) {
+                json.append(separator).append(indent).append("    ");
+                write(element, indent + "    ", json);
+                separator = ",\n";
+            }
+            json.append(separator.length() == 1 ? "]" : "\n" + indent + "]");
+        } else if (value instanceof String) {
+            json.append('"');
+            for (char c : ((String) value).toCharArray()) {
+                if (c == '"' || c == '\\') {
+                    json.append('\\').append(c);
+                } else if (c < ' ' || c > '~') {
+                    json.append(String.format("\\u%04x", (int) c));
+                } else {
+                    json.append(c);
+                }
+            }
+            json.append('"');
+        } else if (value instanceof Double && (Double) value == Math.rint((Double) value) && Math.abs((Double) value) < 1e15) {
+            json.append(((Double) value).longValue());
+        } else {
+            json.append(value);
+        }
+    }
+
+    private static Score score(Map<?, ?> metric) {
+        Object error = metric.get("scoreError");
+        return new Score(number(metric.get("score")), error == null ? 0 : number(error));
+    }
+
+    /**
+     * JMH writes NaN and infinities as strings.
+     */
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(value.toString());
+    }
+
+    /**
+     * Reads the subset of JSON written by JMH into maps, lists, strings, doubles, booleans and nulls.
+     */
+    private static final class JsonReader {
+
+        private final String json;
+        private int position;
+
+        JsonReader(String json) {
+            this.json = json;
+        }
+
+        Object read() {
+            Object value = value();
+            skipWhitespace();
+            if (position != json.length()) {
+                throw error("end of input");
+            }
+            return value;
+        }
+
+        private Object value() {
+            skipWhitespace();
+            if (position == json.length()) {
+                throw error("a value");
+            }
+            char c = json.charAt(position);
+            switch (c) {
+                case '{':
+                    return object();
+                case '[':
+                    return array();
+                case '"':
+                    return string();
+                case 't':
+                    return literal("true", Boolean.TRUE);
+                case 'f':
+                    return literal("false", Boolean.FALSE);
+                case 'n':
+                    return literal("null", null);
+                default:
+                    return number();
+            }
+        }
+
+        private Map<String, Object> object() {
+            Map<String, Object> object = new LinkedHashMap<>();
+            position++;
+            skipWhitespace();
+            if (consume('}')) {
+                return object;
+            }
+            do {
+                skipWhitespace();
+                String name = string();
+                skipWhitespace();
+                expect(':');
+                object.put(name, value());
+                skipWhitespace();
+            } while (consume(','));
+            expect('}');
+            return object;
+        }
+
+        private List<Object> array() {
+            List<Object> array = new ArrayList<>();
+            position++;
+            skipWhitespace();
+            if (consume(']')) {
+                return array;
+            }
+            do {
+                array.add(value());
+                skipWhitespace();
+            } while (consume(','));
+            expect(']');
+            return array;
+        }
+
+        private String string() {
+            expect('"');
+            StringBuilder string = new StringBuilder();
+            while (position < json.length()) {
+                char c = json.charAt(position++);
+                if (c == '"') {
+                    return string.toString();
+                } else if (c != '\\') {
+                    string.append(c);
+                } else if (position < json.length()) {
+                    char escaped = json.charAt(position++);
+                    switch (escaped) {
+                        case 'b':
+                            string.append('\b');
+                            break;
+                        case 'f':
+                            string.append('\f');
+                            break;
+                        case 'n':
+                            string.append('\n');
+                            break;
+                        case 'r':
+                            string.append('\r');
+                            break;
+                        case 't':
+                            string.append('\t');
+                            break;
+                        case 'u':
+                            if (position + 4 > json.length()) {
+                                throw error("four hex digits");
+                            }
+                            string.append((char) Integer.parseInt(json.substring(position, position + 4), 16));
+                            position += 4;
+                            break;
+                        default:
+                            string.append(escaped);
+                    }
+                }
+            }
+            throw error("'\"'");
+        }
+
+        private Double number() {
+            int start = position;
+            while (position < json.length() && "+-0123456789.eE".indexOf(json.charAt(position)) >= 0) {
+                position++;
+            }
+            if (start == position) {
+                throw error("a value");
+            }
+            return Double.valueOf(json.substring(start, position));
+        }
+
+        private Object literal(String literal, Object value) {
+            if (!json.startsWith(literal, position)) {
+                throw error(literal);
+            }
+            position += literal.length();
+            return value;
+        }
+
+        private void skipWhitespace() {
+            while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+                position++;
+            }
+        }
+
+        private boolean consume(char c) {
+            if (position < json.length() && json.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!consume(c)) {
+                throw error("'" + c + "'");
+            }
+        }
+
+        private IllegalArgumentException error(String expected) {
+            return new IllegalArgumentException("Expected " + expected + " at offset " + position + " of the JMH results");
+        }
+    }
+}
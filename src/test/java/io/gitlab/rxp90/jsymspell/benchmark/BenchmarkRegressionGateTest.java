@@ -0,0 +1,119 @@
+package io.gitlab.rxp90.jsymspell.benchmark;
+
+import io.gitlab.rxp90.jsymspell.benchmark.BenchmarkRegressionGate.Metric;
+import io.gitlab.rxp90.jsymspell.benchmark.BenchmarkRegressionGate.Score;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BenchmarkRegressionGateTest {
+
+    private static final String BENCHMARK = "io.gitlab.rxp90.jsymspell.benchmark.RegressionSuiteBenchmark.lookupTop";
+
+    private static String results(double throughput, double p99, double allocation) {
+        return "[\n" +
+               "    {\n" +
+               "        \"jmhVersion\" : \"1.37\",\n" +
+               "        \"benchmark\" : \"" + BENCHMARK + "\",\n" +
+               "        \"mode\" : \"thrpt\",\n" +
+               "        \"params\" : {\"verbosity\" : \"TOP\", \"maxEditDistance\" : \"2\"},\n" +
+               "        \"primaryMetric\" : {\"score\" : " + throughput + ", \"scoreError\" : \"NaN\", \"scoreUnit\" : \"ops/ms\", \"rawData\" : [[1.0E1, 2.5e-1]]},\n" +
+               "        \"secondaryMetrics\" : {\n" +
+               "            \"gc.alloc.rate\" : {\"score\" : 512.5, \"scoreUnit\" : \"MB/sec\"},\n" +
+               "            \"gc.alloc.rate.norm\" : {\"score\" : " + allocation + ", \"scoreUnit\" : \"B/op\"}\n" +
+               "        }\n" +
+               "    },\n" +
+               "    {\n" +
+               "        \"benchmark\" : \"" + BENCHMARK + "\",\n" +
+               "        \"mode\" : \"sample\",\n" +
+               "        \"primaryMetric\" : {\"score\" : 0.01, \"scorePercentiles\" : {\"50.0\" : 0.009, \"99.0\" : " + p99 + "}, \"scoreUnit\" : \"ms/op\"},\n" +
+               "        \"secondaryMetrics\" : {\"\\u00b7gc.alloc.rate.norm\" : {\"score\" : 1e9}}\n" +
+               "    }\n" +
+               "]\n";
+    }
+
+    private static List<String> regressions(String baseline, String current) {
+        Map<Metric, Double> tolerances = new EnumMap<>(Metric.class);
+        tolerances.put(Metric.THROUGHPUT, 0.1);
+        tolerances.put(Metric.LATENCY_P99, 0.2);
+        tolerances.put(Metric.ALLOCATION, 0.05);
+        return BenchmarkRegressionGate.regressions(BenchmarkRegressionGate.metrics(baseline), BenchmarkRegressionGate.metrics(current),
+                                                   tolerances, new PrintStream(new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void readsThroughputLatencyAndAllocationOfJmhResults() {
+        Map<String, Map<Metric, Score>> metrics = BenchmarkRegressionGate.metrics(results(100, 0.05, 320));
+
+        Map<Metric, Score> throughput = metrics.get("RegressionSuiteBenchmark.lookupTop [thrpt, maxEditDistance=2, verbosity=TOP]");
+        assertEquals(100, throughput.get(Metric.THROUGHPUT).value);
+        assertEquals(0, throughput.get(Metric.THROUGHPUT).error);
+        assertEquals(320, throughput.get(Metric.ALLOCATION).value);
+        assertEquals(1, metrics.get("RegressionSuiteBenchmark.lookupTop [sample]").size());
+        assertEquals(0.05, metrics.get("RegressionSuiteBenchmark.lookupTop [sample]").get(Metric.LATENCY_P99).value);
+    }
+
+    @Test
+    void acceptsChangesWithinTheTolerances() {
+        String baseline = results(100, 0.05, 320);
+
+        assertEquals(0, regressions(baseline, results(91, 0.059, 335)).size());
+        assertEquals(0, regressions(baseline, results(200, 0.01, 0)).size());
+        // A baseline allocating nothing tolerates the noise of the profiler
+        assertEquals(0, regressions(results(100, 0.05, 0), results(100, 0.05, 0.5)).size());
+    }
+
+    @Test
+    void reportsEachRegressedMetric() {
+        String baseline = results(100, 0.05, 320);
+
+        assertEquals(1, regressions(baseline, results(89, 0.05, 320)).size());
+        assertEquals(1, regressions(baseline, results(100, 0.061, 320)).size());
+        List<String> regressions = regressions(baseline, results(50, 0.1, 400));
+        assertEquals(3, regressions.size());
+        assertTrue(regressions.stream().anyMatch(regression -> regression.contains("THROUGHPUT")));
+    }
+
+    @Test
+    void overlappingConfidenceIntervalsAreNoise() {
+        String baseline = results(100, 0.05, 320).replace("\"NaN\"", "15");
+
+        assertEquals(0, regressions(baseline, results(89, 0.05, 320).replace("\"NaN\"", "5")).size());
+        assertEquals(1, regressions(baseline, results(79, 0.05, 320).replace("\"NaN\"", "5")).size());
+    }
+
+    @Test
+    void trimmedResultsKeepTheMetrics() {
+        String results = results(100, 0.05, 320);
+        String trimmed = BenchmarkRegressionGate.trim(results);
+
+        assertFalse(trimmed.contains("rawData"));
+        assertFalse(trimmed.contains("50.0"));
+        assertFalse(trimmed.contains("MB/sec"));
+        assertEquals(BenchmarkRegressionGate.metrics(results).keySet(), BenchmarkRegressionGate.metrics(trimmed).keySet());
+        assertEquals(0, regressions(results, trimmed).size());
+        assertEquals(0, regressions(trimmed, results).size());
+        assertEquals(trimmed, BenchmarkRegressionGate.trim(trimmed));
+    }
+
+    @Test
+    void benchmarksMissingFromTheResultsAreRegressions() {
+        List<String> regressions = regressions(results(100, 0.05, 320), "[]");
+
+        assertEquals(2, regressions.size());
+        assertTrue(regressions.get(0).contains("did not run"));
+        assertEquals(0, regressions("[]", results(100, 0.05, 320)).size());
+    }
+
+    @Test
+    void rejectsMalformedResults() {
+        assertThrows(IllegalArgumentException.class, () -> BenchmarkRegressionGate.metrics("[{\"benchmark\" : \"x\""));
+        assertThrows(IllegalArgumentException.class, () -> BenchmarkRegressionGate.metrics("[] trailing"));
+    }
+}
@@ -0,0 +1,72 @@
+package io.gitlab.rxp90.jsymspell.benchmark;
+
+import io.gitlab.rxp90.jsymspell.SymSpell;
+import io.gitlab.rxp90.jsymspell.SymSpellBuilder;
+import io.gitlab.rxp90.jsymspell.Verbosity;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup cost of the code point aware mode on an ASCII dictionary, and index size on an emoji-heavy vocabulary.
+ * The heap used by each index is printed during setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CodePointBenchmark {
+
+    @Param({"false", "true"})
+    public boolean codePointAware;
+
+    @Param({"ascii", "emoji"})
+    public String vocabulary;
+
+    private SymSpell symSpell;
+    private List<String> queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Map<String, Long> unigrams = "ascii".equals(vocabulary) ? BenchmarkData.unigrams() : emojiVocabulary(20_000, 7);
+        BenchmarkData.Measured<SymSpell> measured = BenchmarkData.measureHeap(() -> new SymSpellBuilder().setUnigramLexicon(unigrams)
+                                                                                                         .setCodePointAware(codePointAware)
+                                                                                                         .createSymSpell());
+        System.out.printf("%n%s vocabulary, codePointAware=%s: %,d bytes%n", vocabulary, codePointAware, measured.bytes);
+        symSpell = measured.object;
+        queries = BenchmarkData.misspellings(new ArrayList<>(unigrams.keySet()), 1_000, 2, 42);
+    }
+
+    @Benchmark
+    public List<SuggestItem> lookup() throws NotInitializedException {
+        return symSpell.lookup(queries.get(next++ % queries.size()), Verbosity.CLOSEST);
+    }
+
+    /**
+     * Words mixing lowercase letters and emoji from the Emoticons block.
+     */
+    private static Map<String, Long> emojiVocabulary(int size, long seed) {
+        Random random = new Random(seed);
+        Map<String, Long> unigrams = new HashMap<>();
+        while (unigrams.size() < size) {
+            StringBuilder word = new StringBuilder();
+            int length = 3 + random.nextInt(6);
+            for (int i = 0; i < length; i++) {
+                if (random.nextInt(3) == 0) {
+                    word.appendCodePoint(0x1F600 + random.nextInt(80));
+                } else {
+                    word.append((char) ('a' + random.nextInt(26)));
+                }
+            }
+            unigrams.put(word.toString(), 1L + random.nextInt(1_000_000));
+        }
+        return unigrams;
+    }
+}
@@ -0,0 +1,52 @@
+package io.gitlab.rxp90.jsymspell.benchmark;
+
+import io.gitlab.rxp90.jsymspell.SymSpell;
+import io.gitlab.rxp90.jsymspell.SymSpellBuilder;
+import io.gitlab.rxp90.jsymspell.Verbosity;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup latency with and without the Bloom filter in front of the delete index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class DeleteFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean deleteFilter;
+
+    @Param({"2", "3"})
+    public int maxEditDistance;
+
+    private SymSpell symSpell;
+    private List<String> queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Map<String, Long> unigrams = BenchmarkData.unigrams();
+        symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams)
+                                        .setMaxDictionaryEditDistance(maxEditDistance)
+                                        .setDeleteFilterEnabled(deleteFilter)
+                                        .createSymSpell();
+        queries = BenchmarkData.misspellings(new ArrayList<>(unigrams.keySet()).subList(0, 20_000), 10_000, maxEditDistance, 42);
+    }
+
+    @Benchmark
+    public List<SuggestItem> lookupClosest() throws NotInitializedException {
+        return symSpell.lookup(queries.get(next++ % queries.size()), Verbosity.CLOSEST);
+    }
+
+    @Benchmark
+    public List<SuggestItem> lookupAll() throws NotInitializedException {
+        return symSpell.lookup(queries.get(next++ % queries.size()), Verbosity.ALL);
+    }
+}
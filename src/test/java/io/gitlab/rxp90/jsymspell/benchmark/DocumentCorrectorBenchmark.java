@@ -0,0 +1,56 @@
+package io.gitlab.rxp90.jsymspell.benchmark;
+
+import io.gitlab.rxp90.jsymspell.DocumentCorrector;
+import io.gitlab.rxp90.jsymspell.SymSpellBuilder;
+import io.gitlab.rxp90.jsymspell.SymSpellImpl;
+import io.gitlab.rxp90.jsymspell.Verbosity;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Correction of a document of about 1 MB with {@link DocumentCorrector}, compared to splitting it on whitespace, looking up
+ * every token and joining the suggestions back. The size of the document is printed during setup, so that the average
+ * time converts to MB/s.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class DocumentCorrectorBenchmark {
+
+    private static final int WORDS = 150_000;
+
+    private SymSpellImpl symSpell;
+    private DocumentCorrector documentCorrector;
+    private String document;
+
+    @Setup
+    public void setUp() {
+        Map<String, Long> unigrams = BenchmarkData.unigrams();
+        symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).createSymSpell();
+        documentCorrector = new DocumentCorrector(symSpell);
+        List<String> lexicon = new ArrayList<>(unigrams.keySet()).subList(0, 20_000);
+        document = BenchmarkData.document(lexicon, WORDS, 42);
+        System.out.printf("%nDocument of %d chars, %.2f MB%n", document.length(), document.length() / 1e6);
+    }
+
+    @Benchmark
+    public String documentCorrector() throws NotInitializedException {
+        return documentCorrector.correct(document);
+    }
+
+    @Benchmark
+    public String lookupEveryToken() throws NotInitializedException {
+        StringBuilder corrected = new StringBuilder(document.length());
+        for (String token : document.split("\\s+")) {
+            List<SuggestItem> suggestions = symSpell.lookup(token.toLowerCase(), Verbosity.TOP, true);
+            corrected.append(suggestions.get(0).getSuggestion()).append(' ');
+        }
+        return corrected.toString();
+    }
+}
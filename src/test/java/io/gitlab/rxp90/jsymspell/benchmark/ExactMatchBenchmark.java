@@ -0,0 +1,60 @@
+package io.gitlab.rxp90.jsymspell.benchmark;
+
+import io.gitlab.rxp90.jsymspell.SymSpellBuilder;
+import io.gitlab.rxp90.jsymspell.SymSpellImpl;
+import io.gitlab.rxp90.jsymspell.Verbosity;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups of a stream where 90% of the queries are correctly spelled, drawn following a Zipf distribution, so that most
+ * lookups end on the exact match of the input. {@code correctOnly} looks up the correctly spelled queries alone, to
+ * isolate the cost of the exact match.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ExactMatchBenchmark {
+
+    private static final int QUERIES = 4096;
+
+    @Param({"TOP", "CLOSEST"})
+    public Verbosity verbosity;
+
+    private SymSpellImpl symSpell;
+    private String[] queries;
+    private String[] correctQueries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Map<String, Long> unigrams = BenchmarkData.unigrams();
+        symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).createSymSpell();
+        List<String> lexicon = new ArrayList<>(unigrams.keySet());
+        List<String> correct = BenchmarkData.zipfian(lexicon, QUERIES, 1.0, 42);
+        correctQueries = correct.toArray(new String[0]);
+        List<String> misspelled = BenchmarkData.misspellings(lexicon.subList(0, 20_000), QUERIES, 2, 42);
+        Random random = new Random(42);
+        queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = random.nextInt(10) == 0 ? misspelled.get(i) : correct.get(i);
+        }
+    }
+
+    @Benchmark
+    public List<SuggestItem> lookup() throws NotInitializedException {
+        return symSpell.lookup(queries[next++ & (QUERIES - 1)], verbosity, false);
+    }
+
+    @Benchmark
+    public List<SuggestItem> correctOnly() throws NotInitializedException {
+        return symSpell.lookup(correctQueries[next++ & (QUERIES - 1)], verbosity, false);
+    }
+}
@@ -0,0 +1,98 @@
+package io.gitlab.rxp90.jsymspell.benchmark;
+
+import io.gitlab.rxp90.jsymspell.FederatedSymSpell;
+import io.gitlab.rxp90.jsymspell.FederatedSymSpellBuilder;
+import io.gitlab.rxp90.jsymspell.SymSpell;
+import io.gitlab.rxp90.jsymspell.SymSpellBuilder;
+import io.gitlab.rxp90.jsymspell.Verbosity;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups across three dictionaries: one {@link FederatedSymSpell} lookup, against one lookup per dictionary followed by a
+ * merge of the suggestions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class FederationBenchmark {
+
+    private static final String[] SYLLABLES = {"ka", "lo", "mi", "ne", "ru", "ta", "vi", "zo", "an", "el", "is", "or", "ber", "dan", "fin", "gar", "hol", "jen"};
+
+    private final List<SymSpell> dictionaries = new ArrayList<>();
+    private final double[] weights = {1, 5, 2};
+    private FederatedSymSpell federated;
+    private List<String> queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Map<String, Long> english = BenchmarkData.unigrams();
+        Map<String, Long> products = syntheticVocabulary(30_000, 1);
+        Map<String, Long> names = syntheticVocabulary(20_000, 2);
+        federated = new FederatedSymSpellBuilder().addDictionary("english", english, weights[0])
+                                                  .addDictionary("products", products, weights[1])
+                                                  .addDictionary("names", names, weights[2])
+                                                  .createSymSpell();
+        for (Map<String, Long> unigrams : Arrays.asList(english, products, names)) {
+            dictionaries.add(new SymSpellBuilder().setUnigramLexicon(unigrams).createSymSpell());
+        }
+        queries = new ArrayList<>();
+        queries.addAll(BenchmarkData.misspellings(new ArrayList<>(english.keySet()).subList(0, 20_000), 1_000, 2, 42));
+        queries.addAll(BenchmarkData.misspellings(new ArrayList<>(products.keySet()), 500, 2, 43));
+        queries.addAll(BenchmarkData.misspellings(new ArrayList<>(names.keySet()), 500, 2, 44));
+        Collections.shuffle(queries, new Random(42));
+    }
+
+    @Benchmark
+    public List<SuggestItem> federated() throws NotInitializedException {
+        return federated.lookup(queries.get(next++ % queries.size()), Verbosity.CLOSEST);
+    }
+
+    @Benchmark
+    public List<SuggestItem> sequential() throws NotInitializedException {
+        String query = queries.get(next++ % queries.size());
+        Map<String, SuggestItem> merged = new HashMap<>();
+        for (int i = 0; i < dictionaries.size(); i++) {
+            for (SuggestItem suggestion : dictionaries.get(i).lookup(query, Verbosity.CLOSEST)) {
+                SuggestItem weighted = new SuggestItem(suggestion.getSuggestion(), suggestion.getEditDistance(), suggestion.getFrequencyOfSuggestionInDict() * weights[i]);
+                merged.merge(weighted.getSuggestion(), weighted, (a, b) -> new SuggestItem(a.getSuggestion(), a.getEditDistance(), a.getFrequencyOfSuggestionInDict() + b.getFrequencyOfSuggestionInDict()));
+            }
+        }
+        List<SuggestItem> suggestions = new ArrayList<>(merged.values());
+        Collections.sort(suggestions);
+        int closest = suggestions.isEmpty() ? 0 : suggestions.get(0).getEditDistance();
+        suggestions.removeIf(suggestion -> suggestion.getEditDistance() > closest);
+        return suggestions;
+    }
+
+    /**
+     * Pronounceable words made of random syllables and digits, standing for product or person names.
+     */
+    private static Map<String, Long> syntheticVocabulary(int size, long seed) {
+        Random random = new Random(seed);
+        Map<String, Long> unigrams = new HashMap<>();
+        while (unigrams.size() < size) {
+            StringBuilder word = new StringBuilder();
+            int syllables = 2 + random.nextInt(3);
+            for (int i = 0; i < syllables; i++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            if (random.nextInt(4) == 0) {
+                word.append(random.nextInt(1000));
+            }
+            unigrams.put(word.toString(), 1L + random.nextInt(100_000));
+        }
+        return unigrams;
+    }
+}
@@ -0,0 +1,53 @@
+package io.gitlab.rxp90.jsymspell.benchmark;
+
+import io.gitlab.rxp90.jsymspell.SymSpellBuilder;
+import io.gitlab.rxp90.jsymspell.SymSpellImpl;
+import io.gitlab.rxp90.jsymspell.Verbosity;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups when only the most frequent words are indexed by their deletes, compared to a fully eager index. Queries are
+ * misspellings of words drawn following a Zipf distribution over the whole lexicon, so that some of them are tail
+ * words. The build time and the heap of the index are printed during setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class HybridIndexBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"2147483647", "20000", "5000"})
+    public int eagerWordCount;
+
+    @Param({"TOP", "CLOSEST"})
+    public Verbosity verbosity;
+
+    private SymSpellImpl symSpell;
+    private String[] misspellings;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Map<String, Long> unigrams = BenchmarkData.unigrams();
+        long start = System.nanoTime();
+        symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).setEagerWordCount(eagerWordCount).createSymSpell();
+        long buildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        System.out.printf("%neagerWordCount=%d: built in %d ms, %,d bytes%n", eagerWordCount, buildMillis, symSpell.getIndexReport(0).getIndexBytes());
+        List<String> lexicon = new ArrayList<>(unigrams.keySet());
+        List<String> words = BenchmarkData.zipfian(lexicon, QUERIES, 1.0, 42);
+        misspellings = BenchmarkData.misspellings(words, QUERIES, 2, 42).toArray(new String[0]);
+    }
+
+    @Benchmark
+    public List<SuggestItem> lookup() throws NotInitializedException {
+        return symSpell.lookup(misspellings[next++ & (QUERIES - 1)], verbosity, false);
+    }
+}
@@ -0,0 +1,55 @@
+package io.gitlab.rxp90.jsymspell.benchmark;
+
+import io.gitlab.rxp90.jsymspell.SymSpell;
+import io.gitlab.rxp90.jsymspell.SymSpellBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Build time of the index on {@code words.txt}. The heap used by the index is printed during setup.
+ * A prefix length of 7 uses packed delete keys, 12 falls back to {@code String} keys. With more than one thread, the
+ * deletes are generated on a pool of that many threads.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class IndexBuildBenchmark {
+
+    @Param({"7", "12"})
+    public int prefixLength;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private Map<String, Long> unigrams;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        unigrams = BenchmarkData.unigrams();
+        pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        BenchmarkData.Measured<SymSpell> measured = BenchmarkData.measureHeap(this::build);
+        System.out.printf("%nprefixLength=%d: %,d bytes%n", prefixLength, measured.bytes);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public SymSpell build() {
+        return new SymSpellBuilder().setUnigramLexicon(unigrams)
+                                    .setPrefixLength(prefixLength)
+                                    .setBuildExecutor(pool)
+                                    .setBuildParallelism(threads)
+                                    .createSymSpell();
+    }
+}
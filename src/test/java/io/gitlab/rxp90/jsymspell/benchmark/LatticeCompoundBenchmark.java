@@ -0,0 +1,120 @@
+package io.gitlab.rxp90.jsymspell.benchmark;
+
+import io.gitlab.rxp90.jsymspell.SymSpellBuilder;
+import io.gitlab.rxp90.jsymspell.SymSpellImpl;
+import io.gitlab.rxp90.jsymspell.api.Bigram;
+import io.gitlab.rxp90.jsymspell.api.LatticeOptions;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accuracy and latency of the lattice decoding of {@code lookupCompound} compared to the greedy one, on lines of frequent
+ * words with misspellings, split words and missing spaces. The share of lines corrected exactly is printed during setup,
+ * for the greedy decoding, the best line of the lattice, and any of its {@link LatticeCompoundBenchmark#N_BEST} best lines.
+ * <p>
+ * Lines follow the bigrams of {@code bigrams.txt} when it is not empty, frequent words otherwise.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class LatticeCompoundBenchmark {
+
+    private static final int LINES = 300;
+    private static final int N_BEST = 5;
+    private static final int MAX_EDIT_DISTANCE = 2;
+
+    @Param({"1", "4", "16"})
+    public int beamWidth;
+
+    private SymSpellImpl symSpell;
+    private LatticeOptions options;
+    private List<String> inputs;
+    private int next;
+
+    @Setup
+    public void setUp() throws NotInitializedException {
+        Map<String, Long> unigrams = BenchmarkData.unigrams();
+        Map<Bigram, Long> bigrams = BenchmarkData.bigrams();
+        symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).setBigramLexicon(bigrams).setMaxDictionaryEditDistance(MAX_EDIT_DISTANCE).createSymSpell();
+        options = LatticeOptions.defaults().withBeamWidth(beamWidth);
+
+        Random random = new Random(42);
+        List<String> words = new ArrayList<>(unigrams.keySet()).subList(0, 5_000);
+        Map<String, List<String>> successors = new HashMap<>();
+        bigrams.keySet().forEach(bigram -> {
+            String[] pair = bigram.toString().split(" ");
+            successors.computeIfAbsent(pair[0], ignored -> new ArrayList<>()).add(pair[1]);
+        });
+        List<String> expected = new ArrayList<>();
+        inputs = new ArrayList<>();
+        for (int line = 0; line < LINES; line++) {
+            List<String> truth = new ArrayList<>();
+            for (int length = 6 + random.nextInt(10); truth.size() < length; ) {
+                List<String> following = truth.isEmpty() ? null : successors.get(truth.get(truth.size() - 1));
+                truth.add(following != null ? following.get(random.nextInt(following.size())) : words.get(random.nextInt(words.size())));
+            }
+            expected.add(String.join(" ", truth));
+            inputs.add(corrupt(truth, random));
+        }
+
+        LatticeOptions nBest = options.withMaxResults(N_BEST).withBeamWidth(Math.max(beamWidth, N_BEST));
+        int greedy = 0;
+        int best = 0;
+        int anyOfNBest = 0;
+        for (int i = 0; i < LINES; i++) {
+            if (symSpell.lookupCompound(inputs.get(i), MAX_EDIT_DISTANCE, false).get(0).getSuggestion().equals(expected.get(i))) {
+                greedy++;
+            }
+            if (symSpell.lookupCompound(inputs.get(i), MAX_EDIT_DISTANCE, options).get(0).getSuggestion().equals(expected.get(i))) {
+                best++;
+            }
+            for (SuggestItem line : symSpell.lookupCompound(inputs.get(i), MAX_EDIT_DISTANCE, nBest)) {
+                if (line.getSuggestion().equals(expected.get(i))) {
+                    anyOfNBest++;
+                    break;
+                }
+            }
+        }
+        System.out.printf("%nbeam %d, %d bigrams: lines corrected greedy %.3f, lattice %.3f, lattice %d-best %.3f%n",
+                          beamWidth, bigrams.size(), (double) greedy / LINES, (double) best / LINES, N_BEST, (double) anyOfNBest / LINES);
+    }
+
+    @Benchmark
+    public List<SuggestItem> greedy() throws NotInitializedException {
+        return symSpell.lookupCompound(inputs.get(next++ % LINES), MAX_EDIT_DISTANCE, false);
+    }
+
+    @Benchmark
+    public List<SuggestItem> lattice() throws NotInitializedException {
+        return symSpell.lookupCompound(inputs.get(next++ % LINES), MAX_EDIT_DISTANCE, options);
+    }
+
+    /**
+     * Misspells about one word in four, splits one in twenty and drops one space in ten.
+     */
+    private static String corrupt(List<String> truth, Random random) {
+        StringBuilder input = new StringBuilder();
+        for (String word : truth) {
+            if (word.length() > 3 && random.nextInt(4) == 0) {
+                word = BenchmarkData.misspellings(Collections.singletonList(word), 1, 1, random.nextLong()).get(0);
+            } else if (word.length() > 3 && random.nextInt(20) == 0) {
+                int split = 1 + random.nextInt(word.length() - 1);
+                word = word.substring(0, split) + ' ' + word.substring(split);
+            }
+            if (input.length() > 0 && random.nextInt(10) != 0) {
+                input.append(' ');
+            }
+            input.append(word);
+        }
+        return input.toString();
+    }
+}
@@ -0,0 +1,64 @@
+package io.gitlab.rxp90.jsymspell.benchmark;
+
+import io.gitlab.rxp90.jsymspell.SymSpellBuilder;
+import io.gitlab.rxp90.jsymspell.SymSpellImpl;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of ranking {@code lookupCompound} suggestions by log probability, on lines of frequent words with misspellings,
+ * split words and missing spaces. The share of lines whose suggestion has a frequency of 0, which can no longer be
+ * ranked, is printed during setup, along with the share without a finite log probability.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class LogProbabilityBenchmark {
+
+    private static final int LINES = 256;
+
+    @Param({"false", "true"})
+    public boolean logProbabilityScoring;
+
+    @Param({"8", "64"})
+    public int lineLength;
+
+    private SymSpellImpl symSpell;
+    private List<String> lines;
+    private int next;
+
+    @Setup
+    public void setUp() throws NotInitializedException {
+        Map<String, Long> unigrams = BenchmarkData.unigrams();
+        symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).setLogProbabilityScoring(logProbabilityScoring).createSymSpell();
+        List<String> words = new ArrayList<>(unigrams.keySet()).subList(0, 5_000);
+        lines = new ArrayList<>(LINES);
+        for (int line = 0; line < LINES; line++) {
+            lines.add(BenchmarkData.paragraph(words, lineLength, 1, line));
+        }
+        int zeroFrequency = 0;
+        int noLogProbability = 0;
+        for (String line : lines) {
+            SuggestItem suggestion = symSpell.lookupCompound(line, 2, false).get(0);
+            if (suggestion.getFrequencyOfSuggestionInDict() == 0) {
+                zeroFrequency++;
+            }
+            if (Double.isNaN(suggestion.getLogProbability()) || Double.isInfinite(suggestion.getLogProbability())) {
+                noLogProbability++;
+            }
+        }
+        System.out.printf("%nlogProbabilityScoring=%b, lineLength=%d: %d%% of lines with a frequency of 0, %d%% without a log probability%n",
+                          logProbabilityScoring, lineLength, 100 * zeroFrequency / LINES, 100 * noLogProbability / LINES);
+    }
+
+    @Benchmark
+    public List<SuggestItem> lookupCompound() throws NotInitializedException {
+        return symSpell.lookupCompound(lines.get(next++ & (LINES - 1)), 2, false);
+    }
+}
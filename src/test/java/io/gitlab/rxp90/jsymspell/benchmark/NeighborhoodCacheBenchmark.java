@@ -0,0 +1,49 @@
+package io.gitlab.rxp90.jsymspell.benchmark;
+
+import io.gitlab.rxp90.jsymspell.SymSpellBuilder;
+import io.gitlab.rxp90.jsymspell.SymSpellImpl;
+import io.gitlab.rxp90.jsymspell.Verbosity;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of lookups replaying misspellings with a Zipfian distribution, with and without the neighborhood cache. The hit
+ * rate of the cache is printed when each trial ends.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class NeighborhoodCacheBenchmark {
+
+    @Param({"0", "16384"})
+    public int cacheSize;
+
+    private SymSpellImpl symSpell;
+    private List<String> replay;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Map<String, Long> unigrams = BenchmarkData.unigrams();
+        symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).setNeighborhoodCacheSize(cacheSize).createSymSpell();
+        List<String> misspellings = BenchmarkData.misspellings(new ArrayList<>(unigrams.keySet()).subList(0, 20_000), 50_000, 2, 42);
+        replay = BenchmarkData.zipfian(misspellings, 1_000_000, 1.0, 42);
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.println("cacheSize=" + cacheSize + " " + symSpell.getNeighborhoodCacheStatistics()
+                + String.format(" hitRate=%.3f", symSpell.getNeighborhoodCacheStatistics().getHitRate()));
+    }
+
+    @Benchmark
+    public List<SuggestItem> lookupClosest() throws NotInitializedException {
+        return symSpell.lookup(replay.get(next++ % replay.size()), Verbosity.CLOSEST, false);
+    }
+}
@@ -0,0 +1,57 @@
+package io.gitlab.rxp90.jsymspell.benchmark;
+
+import io.gitlab.rxp90.jsymspell.SymSpellBuilder;
+import io.gitlab.rxp90.jsymspell.SymSpellImpl;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequential {@code lookupCompound} compared to {@link SymSpellImpl#lookupCompoundInParallel} on a paragraph of misspelled
+ * words, for several pool sizes. The parallel version also looks up the combinations and splits the sequential one skips,
+ * so it is slower with a single thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ParallelCompoundBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"1000"})
+    public int words;
+
+    private SymSpellImpl symSpell;
+    private ForkJoinPool pool;
+    private String paragraph;
+
+    @Setup
+    public void setUp() {
+        Map<String, Long> unigrams = BenchmarkData.unigrams();
+        symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).setMaxDictionaryEditDistance(2).createSymSpell();
+        pool = new ForkJoinPool(threads);
+        paragraph = BenchmarkData.paragraph(new ArrayList<>(unigrams.keySet()).subList(0, 20_000), words, 2, 42);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<SuggestItem> sequential() throws NotInitializedException {
+        return symSpell.lookupCompound(paragraph, 2, false);
+    }
+
+    @Benchmark
+    public List<SuggestItem> parallel() throws NotInitializedException {
+        return symSpell.lookupCompoundInParallel(paragraph, 2, false, pool);
+    }
+}
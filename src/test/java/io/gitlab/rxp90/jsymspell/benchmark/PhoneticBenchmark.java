@@ -0,0 +1,83 @@
+package io.gitlab.rxp90.jsymspell.benchmark;
+
+import io.gitlab.rxp90.jsymspell.SymSpell;
+import io.gitlab.rxp90.jsymspell.SymSpellBuilder;
+import io.gitlab.rxp90.jsymspell.Verbosity;
+import io.gitlab.rxp90.jsymspell.api.Metaphone;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memory, recall and latency of the phonetic index compared to a higher edit distance, on sound-alike misspellings such as
+ * "fonetik". The heap used by each index and the recall are printed during setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PhoneticBenchmark {
+
+    private static final String[][] SOUND_ALIKE_RULES = {
+            {"ph", "f"}, {"ck", "k"}, {"ght", "t"}, {"tion", "shun"}, {"qu", "kw"}, {"ee", "ea"}, {"c", "k"}, {"x", "ks"},
+            {"ou", "ow"}, {"y", "i"}, {"s", "z"}, {"wh", "w"}
+    };
+
+    @Param({"ed2", "ed2-phonetic", "ed3"})
+    public String index;
+
+    private SymSpell symSpell;
+    private List<String> queries;
+    private int next;
+
+    @Setup
+    public void setUp() throws NotInitializedException {
+        Map<String, Long> unigrams = BenchmarkData.unigrams();
+        BenchmarkData.Measured<SymSpell> measured = BenchmarkData.measureHeap(() -> new SymSpellBuilder()
+                .setUnigramLexicon(unigrams)
+                .setMaxDictionaryEditDistance("ed3".equals(index) ? 3 : 2)
+                .setPhoneticEncoder("ed2-phonetic".equals(index) ? new Metaphone() : null)
+                .createSymSpell());
+        symSpell = measured.object;
+
+        List<String> expected = new ArrayList<>();
+        queries = new ArrayList<>();
+        for (String word : new ArrayList<>(unigrams.keySet()).subList(0, 20_000)) {
+            String query = soundAlike(word);
+            if (!unigrams.containsKey(query)) {
+                expected.add(word);
+                queries.add(query);
+            }
+        }
+        int found = 0;
+        for (int i = 0; i < queries.size(); i++) {
+            for (SuggestItem suggestion : symSpell.lookup(queries.get(i), Verbosity.CLOSEST)) {
+                if (suggestion.getSuggestion().equals(expected.get(i))) {
+                    found++;
+                    break;
+                }
+            }
+        }
+        System.out.printf("%n%s: %,d bytes, recall %.3f on %d sound-alike queries%n", index, measured.bytes, (double) found / queries.size(), queries.size());
+    }
+
+    @Benchmark
+    public List<SuggestItem> lookup() throws NotInitializedException {
+        return symSpell.lookup(queries.get(next++ % queries.size()), Verbosity.CLOSEST);
+    }
+
+    /**
+     * Rewrites {@code word} the way it sounds, applying every rule that changes it.
+     */
+    private static String soundAlike(String word) {
+        String query = word;
+        for (String[] rule : SOUND_ALIKE_RULES) {
+            query = query.replace(rule[0], rule[1]);
+        }
+        return query;
+    }
+}
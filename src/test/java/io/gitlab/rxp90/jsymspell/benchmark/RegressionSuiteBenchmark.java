@@ -0,0 +1,100 @@
+package io.gitlab.rxp90.jsymspell.benchmark;
+
+import io.gitlab.rxp90.jsymspell.SymSpellBuilder;
+import io.gitlab.rxp90.jsymspell.SymSpellImpl;
+import io.gitlab.rxp90.jsymspell.Verbosity;
+import io.gitlab.rxp90.jsymspell.api.DamerauLevenshteinOSA;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed suite guarding the hot paths, run by the {@code benchmark-regression} profile and compared with the recorded
+ * baseline by {@link BenchmarkRegressionGate}. Queries are misspellings of {@code words.txt} with fixed seeds, so that
+ * every run does the same work; changing them, or adding benchmarks, requires recording a new baseline. {@code distance}
+ * compares each word with a misspelling of it, within the maximum edit distance of the lookups.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RegressionSuiteBenchmark {
+
+    private static final int QUERIES = 4_096;
+    private static final int LINES = 256;
+    private static final long SEED = 42;
+    /**
+     * Word pairs compared per {@code distance} operation, so that its latency is well above the resolution of the timer
+     */
+    private static final int PAIRS = 64;
+
+    private SymSpellImpl symSpell;
+    private final DamerauLevenshteinOSA damerauLevenshteinOSA = new DamerauLevenshteinOSA();
+    private List<String> misspellings;
+    private List<String> words;
+    private List<String> misspelledWords;
+    private List<String> lines;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Map<String, Long> unigrams = BenchmarkData.unigrams();
+        symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).createSymSpell();
+        List<String> lexicon = new ArrayList<>(unigrams.keySet());
+        misspellings = BenchmarkData.misspellings(lexicon, QUERIES, 2, SEED);
+        Random random = new Random(SEED);
+        words = new ArrayList<>(QUERIES);
+        misspelledWords = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            String word = lexicon.get(random.nextInt(lexicon.size()));
+            words.add(word);
+            misspelledWords.add(BenchmarkData.misspellings(Collections.singletonList(word), 1, 2, SEED + i).get(0));
+        }
+        List<String> frequentWords = lexicon.subList(0, 5_000);
+        lines = new ArrayList<>(LINES);
+        for (int line = 0; line < LINES; line++) {
+            lines.add(BenchmarkData.paragraph(frequentWords, 8, 1, SEED + line));
+        }
+    }
+
+    private List<SuggestItem> lookup(Verbosity verbosity) throws NotInitializedException {
+        return symSpell.lookup(misspellings.get(next++ & (QUERIES - 1)), verbosity, false);
+    }
+
+    @Benchmark
+    public List<SuggestItem> lookupTop() throws NotInitializedException {
+        return lookup(Verbosity.TOP);
+    }
+
+    @Benchmark
+    public List<SuggestItem> lookupClosest() throws NotInitializedException {
+        return lookup(Verbosity.CLOSEST);
+    }
+
+    @Benchmark
+    public List<SuggestItem> lookupAll() throws NotInitializedException {
+        return lookup(Verbosity.ALL);
+    }
+
+    @Benchmark
+    public List<SuggestItem> lookupCompound() throws NotInitializedException {
+        return symSpell.lookupCompound(lines.get(next++ & (LINES - 1)), 2, false);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public int distance() {
+        int distances = 0;
+        for (int pair = 0; pair < PAIRS; pair++) {
+            int i = next++ & (QUERIES - 1);
+            distances += damerauLevenshteinOSA.distanceWithEarlyStop(words.get(i), misspelledWords.get(i), 2);
+        }
+        return distances;
+    }
+}
@@ -0,0 +1,136 @@
+package io.gitlab.rxp90.jsymspell.benchmark;
+
+import io.gitlab.rxp90.jsymspell.SymSpellBuilder;
+import io.gitlab.rxp90.jsymspell.SymSpellImpl;
+import io.gitlab.rxp90.jsymspell.Verbosity;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+import io.gitlab.rxp90.jsymspell.server.HashRing;
+import io.gitlab.rxp90.jsymspell.server.ShardedSymSpellClient;
+import io.gitlab.rxp90.jsymspell.server.SymSpellClient;
+import io.gitlab.rxp90.jsymspell.server.SymSpellServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load generator comparing in-process lookups with a {@link SymSpellServer} and three sharded servers, all on the loopback
+ * interface. Each operation looks up a batch of {@code batchSize} misspellings, so the time per word is the time per
+ * operation divided by the batch size. {@code pipelined} keeps {@link #PIPELINE_DEPTH} batches in flight per thread. The
+ * heap of the index held by each server is printed during setup.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ServerBenchmark {
+
+    private static final int PIPELINE_DEPTH = 16;
+    private static final List<String> NODES = Arrays.asList("shard-1", "shard-2", "shard-3");
+
+    @Param({"inProcess", "server", "shards"})
+    public String deployment;
+
+    @Param({"1", "32"})
+    public int batchSize;
+
+    private SymSpellImpl symSpell;
+    private final List<SymSpellServer> servers = new ArrayList<>();
+    private SymSpellClient client;
+    private ShardedSymSpellClient shardedClient;
+    private List<List<String>> batches;
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Setup
+    public void setUp() throws IOException {
+        Map<String, Long> unigrams = BenchmarkData.unigrams();
+        List<String> queries = BenchmarkData.misspellings(new ArrayList<>(unigrams.keySet()), 10_000, 2, 42);
+        batches = new ArrayList<>();
+        for (int i = 0; i + batchSize <= queries.size(); i += batchSize) {
+            batches.add(queries.subList(i, i + batchSize));
+        }
+        InetSocketAddress loopback = new InetSocketAddress("127.0.0.1", 0);
+        switch (deployment) {
+            case "inProcess":
+                symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).createSymSpell();
+                break;
+            case "server":
+                SymSpellImpl full = new SymSpellBuilder().setUnigramLexicon(unigrams).createSymSpell();
+                System.out.printf("%nserver: %,d bytes%n", full.getIndexReport(0).getIndexBytes());
+                servers.add(new SymSpellServer(full, loopback));
+                client = new SymSpellClient(servers.get(0).getAddress());
+                break;
+            default:
+                HashRing ring = new HashRing(NODES);
+                Map<String, InetSocketAddress> addresses = new HashMap<>();
+                for (String node : NODES) {
+                    SymSpellImpl shard = new SymSpellBuilder().setUnigramLexicon(unigrams).setDeletePartition(ring.partition(node)).createSymSpell();
+                    System.out.printf("%n%s: %,d bytes%n", node, shard.getIndexReport(0).getIndexBytes());
+                    SymSpellServer server = new SymSpellServer(shard, loopback);
+                    servers.add(server);
+                    addresses.put(node, server.getAddress());
+                }
+                shardedClient = new ShardedSymSpellClient(ring, addresses);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        for (Closeable closeable : Arrays.asList(client, shardedClient)) {
+            if (closeable != null) {
+                closeable.close();
+            }
+        }
+        for (SymSpellServer server : servers) {
+            server.close();
+        }
+    }
+
+    private List<String> nextBatch() {
+        return batches.get(Math.floorMod(next.getAndIncrement(), batches.size()));
+    }
+
+    private CompletableFuture<List<List<SuggestItem>>> lookup(List<String> batch) throws NotInitializedException {
+        if (client != null) {
+            return client.lookup(batch, Verbosity.CLOSEST, false);
+        } else if (shardedClient != null) {
+            return shardedClient.lookup(batch, Verbosity.CLOSEST, false);
+        }
+        List<List<SuggestItem>> results = new ArrayList<>(batch.size());
+        for (String input : batch) {
+            results.add(symSpell.lookup(input, Verbosity.CLOSEST, false));
+        }
+        return CompletableFuture.completedFuture(results);
+    }
+
+    @Benchmark
+    public List<List<SuggestItem>> lookup() throws NotInitializedException {
+        return lookup(nextBatch()).join();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PIPELINE_DEPTH)
+    public int pipelined() throws NotInitializedException {
+        List<CompletableFuture<List<List<SuggestItem>>>> responses = new ArrayList<>(PIPELINE_DEPTH);
+        for (int i = 0; i < PIPELINE_DEPTH; i++) {
+            responses.add(lookup(nextBatch()));
+        }
+        int suggestionCount = 0;
+        for (CompletableFuture<List<List<SuggestItem>>> response : responses) {
+            for (List<SuggestItem> suggestions : response.join()) {
+                suggestionCount += suggestions.size();
+            }
+        }
+        return suggestionCount;
+    }
+}
@@ -0,0 +1,68 @@
+package io.gitlab.rxp90.jsymspell.benchmark;
+
+import io.gitlab.rxp90.jsymspell.SymSpellBuilder;
+import io.gitlab.rxp90.jsymspell.SymSpellImpl;
+import io.gitlab.rxp90.jsymspell.Verbosity;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.api.SuggestionSink;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups returning a {@code List} of {@link SuggestItem} compared to lookups passing their suggestions to a
+ * {@link SuggestionSink}. Run with {@code -prof gc} to compare the bytes allocated per lookup, reported as
+ * {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class SuggestionSinkBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"TOP", "CLOSEST", "ALL"})
+    public Verbosity verbosity;
+
+    private SymSpellImpl symSpell;
+    private String[] misspellings;
+    private int next;
+    private final FrequencySum sink = new FrequencySum();
+
+    @Setup
+    public void setUp() {
+        Map<String, Long> unigrams = BenchmarkData.unigrams();
+        symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).createSymSpell();
+        List<String> lexicon = new ArrayList<>(unigrams.keySet()).subList(0, 20_000);
+        misspellings = BenchmarkData.misspellings(lexicon, QUERIES, 2, 42).toArray(new String[0]);
+    }
+
+    @Benchmark
+    public double list() throws NotInitializedException {
+        double sum = 0;
+        for (SuggestItem suggestion : symSpell.lookup(misspellings[next++ & (QUERIES - 1)], verbosity, true)) {
+            sum += suggestion.getFrequencyOfSuggestionInDict();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long sink() throws NotInitializedException {
+        sink.sum = 0;
+        symSpell.lookup(misspellings[next++ & (QUERIES - 1)], verbosity, true, sink);
+        return sink.sum;
+    }
+
+    private static final class FrequencySum implements SuggestionSink {
+        private long sum;
+
+        @Override
+        public void accept(int wordId, int editDistance, long frequency) {
+            sum += frequency;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.gitlab.rxp90.jsymspell.benchmark;
+
+import io.gitlab.rxp90.jsymspell.SymSpell;
+import io.gitlab.rxp90.jsymspell.SymSpellBuilder;
+import io.gitlab.rxp90.jsymspell.Verbosity;
+import io.gitlab.rxp90.jsymspell.api.LookupBudget;
+import io.gitlab.rxp90.jsymspell.api.LookupResult;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of lookups on adversarial inputs, with and without a {@link LookupBudget}.
+ * Compare the p0.999 percentiles reported by JMH.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TailLatencyBenchmark {
+
+    /**
+     * Short vowel-heavy strings and long unknown strings explode the candidate queue under {@link Verbosity#ALL}.
+     */
+    private static final List<String> ADVERSARIAL_INPUTS = Arrays.asList("aeiou", "eaoi", "ouiea", "sentatio", "qzxjkvbwpfgm", "iaeaiouaeioua");
+    private static final String ADVERSARIAL_LINE = "thequickbrownfoxjumpsoverthelazydog ae io ua aeiouaeiou xq zj kv";
+
+    @Param({"unlimited", "budgeted"})
+    public String mode;
+
+    private SymSpell symSpell;
+    private LookupBudget budget;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        symSpell = new SymSpellBuilder().setUnigramLexicon(BenchmarkData.unigrams()).setMaxDictionaryEditDistance(3).createSymSpell();
+        budget = "budgeted".equals(mode)
+                ? LookupBudget.unlimited().withMaxCandidates(200).withMaxDistanceComputations(100)
+                : LookupBudget.unlimited();
+    }
+
+    @Benchmark
+    public LookupResult lookupAll() throws NotInitializedException {
+        String input = ADVERSARIAL_INPUTS.get(next++ % ADVERSARIAL_INPUTS.size());
+        return symSpell.lookup(input, Verbosity.ALL, false, budget);
+    }
+
+    @Benchmark
+    public LookupResult lookupCompound() throws NotInitializedException {
+        return symSpell.lookupCompound(ADVERSARIAL_LINE, 2, false, budget);
+    }
+}
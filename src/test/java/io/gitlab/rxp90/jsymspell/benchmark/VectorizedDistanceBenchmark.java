@@ -0,0 +1,94 @@
+package io.gitlab.rxp90.jsymspell.benchmark;
+
+import io.gitlab.rxp90.jsymspell.SymSpell;
+import io.gitlab.rxp90.jsymspell.SymSpellBuilder;
+import io.gitlab.rxp90.jsymspell.Verbosity;
+import io.gitlab.rxp90.jsymspell.api.BatchStringDistance;
+import io.gitlab.rxp90.jsymspell.api.CharComparator;
+import io.gitlab.rxp90.jsymspell.api.DamerauLevenshteinOSA;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vector API kernel compared to the scalar {@link DamerauLevenshteinOSA}, on batches of words scored against the same
+ * misspelling, and on {@link Verbosity#ALL} lookups, which compute their distances in batches when the kernel is
+ * available. Without the {@code jdk.incubator.vector} module, both sides run the scalar code.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class VectorizedDistanceBenchmark {
+
+    private static final int QUERIES = 1024;
+    private static final int BATCH = 64;
+
+    @Param({"2", "3"})
+    public int maxEditDistance;
+
+    private final DamerauLevenshteinOSA scalar = new DamerauLevenshteinOSA();
+    private BatchStringDistance vectorized;
+    private SymSpell scalarSymSpell;
+    private SymSpell vectorizedSymSpell;
+    private String[] misspellings;
+    private String[][] batches;
+    private final int[] distances = new int[BATCH];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        vectorized = scalar.vectorized().orElseThrow(() -> new IllegalStateException("Run with --add-modules jdk.incubator.vector on Java 17+"));
+        Map<String, Long> unigrams = BenchmarkData.unigrams();
+        vectorizedSymSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).setMaxDictionaryEditDistance(maxEditDistance).createSymSpell();
+        // A custom comparator disables the vectorized kernel
+        scalarSymSpell = new SymSpellBuilder().setUnigramLexicon(unigrams)
+                                              .setMaxDictionaryEditDistance(maxEditDistance)
+                                              .setStringDistanceAlgorithm(new DamerauLevenshteinOSA(new CharComparator() {}))
+                                              .createSymSpell();
+        List<String> lexicon = new ArrayList<>(unigrams.keySet()).subList(0, 20_000);
+        misspellings = BenchmarkData.misspellings(lexicon, QUERIES, maxEditDistance, 42).toArray(new String[0]);
+        batches = new String[QUERIES][BATCH];
+        for (int query = 0; query < QUERIES; query++) {
+            // Words of about the same length, as left by the length filters of a lookup
+            int length = misspellings[query].length();
+            for (int i = 0, word = query * 7; i < BATCH; word++) {
+                String candidate = lexicon.get(word % lexicon.size());
+                if (Math.abs(candidate.length() - length) <= maxEditDistance) {
+                    batches[query][i++] = candidate;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int[] batchScalar() {
+        int query = next++ & (QUERIES - 1);
+        String[] batch = batches[query];
+        for (int i = 0; i < BATCH; i++) {
+            distances[i] = scalar.distanceWithEarlyStop(misspellings[query], batch[i], maxEditDistance);
+        }
+        return distances;
+    }
+
+    @Benchmark
+    public int[] batchVectorized() {
+        int query = next++ & (QUERIES - 1);
+        vectorized.distancesWithEarlyStop(misspellings[query], batches[query], BATCH, maxEditDistance, distances);
+        return distances;
+    }
+
+    @Benchmark
+    public List<SuggestItem> lookupAllScalar() throws NotInitializedException {
+        return scalarSymSpell.lookup(misspellings[next++ & (QUERIES - 1)], Verbosity.ALL, false);
+    }
+
+    @Benchmark
+    public List<SuggestItem> lookupAllVectorized() throws NotInitializedException {
+        return vectorizedSymSpell.lookup(misspellings[next++ & (QUERIES - 1)], Verbosity.ALL, false);
+    }
+}
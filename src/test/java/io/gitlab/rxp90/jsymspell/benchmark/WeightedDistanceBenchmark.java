@@ -0,0 +1,73 @@
+package io.gitlab.rxp90.jsymspell.benchmark;
+
+import io.gitlab.rxp90.jsymspell.SymSpell;
+import io.gitlab.rxp90.jsymspell.SymSpellBuilder;
+import io.gitlab.rxp90.jsymspell.Verbosity;
+import io.gitlab.rxp90.jsymspell.api.DamerauLevenshteinOSA;
+import io.gitlab.rxp90.jsymspell.api.EditCosts;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.api.WeightedDamerauLevenshteinOSA;
+import io.gitlab.rxp90.jsymspell.exceptions.NotInitializedException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the weighted dynamic programming compared to the unit cost {@link DamerauLevenshteinOSA}, on pairs of a word and
+ * one of its misspellings, and on whole lookups where only the retrieved suggestions pay for the weighted cost.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class WeightedDistanceBenchmark {
+
+    private static final int PAIRS = 4096;
+    private static final int MAX_DISTANCE = 2;
+
+    private final DamerauLevenshteinOSA unit = new DamerauLevenshteinOSA();
+    private final WeightedDamerauLevenshteinOSA weighted = new WeightedDamerauLevenshteinOSA(EditCosts.qwerty(0.5, 0.25));
+    private SymSpell unitSymSpell;
+    private SymSpell weightedSymSpell;
+    private String[] words;
+    private String[] misspellings;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Map<String, Long> unigrams = BenchmarkData.unigrams();
+        unitSymSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).createSymSpell();
+        weightedSymSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).setStringDistanceAlgorithm(weighted).createSymSpell();
+        List<String> lexicon = new ArrayList<>(unigrams.keySet()).subList(0, 20_000);
+        words = new String[PAIRS];
+        misspellings = new String[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            words[i] = lexicon.get(i * 4);
+            misspellings[i] = BenchmarkData.misspellings(lexicon.subList(i * 4, i * 4 + 1), 1, MAX_DISTANCE, i).get(0);
+        }
+    }
+
+    @Benchmark
+    public int damerauLevenshteinOSA() {
+        int i = next++ & (PAIRS - 1);
+        return unit.distanceWithEarlyStop(misspellings[i], words[i], MAX_DISTANCE);
+    }
+
+    @Benchmark
+    public double weightedDamerauLevenshteinOSA() {
+        int i = next++ & (PAIRS - 1);
+        return weighted.weightedDistanceWithEarlyStop(misspellings[i], words[i], MAX_DISTANCE);
+    }
+
+    @Benchmark
+    public List<SuggestItem> lookupUnit() throws NotInitializedException {
+        return unitSymSpell.lookup(misspellings[next++ & (PAIRS - 1)], Verbosity.ALL, false);
+    }
+
+    @Benchmark
+    public List<SuggestItem> lookupWeighted() throws NotInitializedException {
+        return weightedSymSpell.lookup(misspellings[next++ & (PAIRS - 1)], Verbosity.ALL, false);
+    }
+}
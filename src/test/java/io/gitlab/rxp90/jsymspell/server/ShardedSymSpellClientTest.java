@@ -0,0 +1,159 @@
+package io.gitlab.rxp90.jsymspell.server;
+
+import io.gitlab.rxp90.jsymspell.SymSpellBuilder;
+import io.gitlab.rxp90.jsymspell.SymSpellImpl;
+import io.gitlab.rxp90.jsymspell.Verbosity;
+import io.gitlab.rxp90.jsymspell.api.IndexReport;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedSymSpellClientTest {
+
+    private static final List<String> NODES = Arrays.asList("shard-1", "shard-2", "shard-3");
+    private static final List<String> INPUTS = Arrays.asList("helo", "wrold", "speling", "acommodation", "teh", "the", "xqzjk", "goverment", "recieve");
+
+    private static Map<String, Long> unigrams;
+    private static SymSpellImpl full;
+    private static HashRing ring;
+    private static List<SymSpellImpl> shards = new ArrayList<>();
+    private static List<SymSpellServer> servers = new ArrayList<>();
+    private static Map<String, InetSocketAddress> addresses = new HashMap<>();
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        unigrams = Files.lines(Paths.get("src/test/resources/words.txt"))
+                        .limit(20_000)
+                        .map(line -> line.split(","))
+                        .collect(Collectors.toMap(tokens -> tokens[0], tokens -> Long.parseLong(tokens[1])));
+        full = new SymSpellBuilder().setUnigramLexicon(unigrams).createSymSpell();
+        ring = new HashRing(NODES);
+        for (String node : NODES) {
+            SymSpellImpl shard = new SymSpellBuilder().setUnigramLexicon(unigrams).setDeletePartition(ring.partition(node)).createSymSpell();
+            SymSpellServer server = new SymSpellServer(shard, new InetSocketAddress("127.0.0.1", 0));
+            shards.add(shard);
+            servers.add(server);
+            addresses.put(node, server.getAddress());
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        for (SymSpellServer server : servers) {
+            server.close();
+        }
+    }
+
+    private static Set<String> terms(List<SuggestItem> suggestions) {
+        return suggestions.stream().map(SuggestItem::getSuggestion).collect(Collectors.toSet());
+    }
+
+    @Test
+    void shardsSplitTheDeletes() {
+        Set<String> largestBuckets = new HashSet<>();
+        for (SymSpellImpl shard : shards) {
+            assertTrue(shard.getIndexReport(10).getDeletes() < full.getIndexReport(0).getDeletes() / 2);
+            for (IndexReport.Bucket bucket : shard.getIndexReport(10).getLargestBuckets()) {
+                assertTrue(largestBuckets.add(bucket.getDelete()), bucket.getDelete());
+            }
+        }
+        assertEquals(full.getIndexReport(0).getDeletes(), shards.stream().mapToLong(shard -> shard.getIndexReport(0).getDeletes()).sum());
+        assertEquals(full.getIndexReport(0).getPostings(), shards.stream().mapToLong(shard -> shard.getIndexReport(0).getPostings()).sum());
+    }
+
+    @Test
+    void mergedSuggestionsAreNeverWorseThanTheFullIndex() throws Exception {
+        // A full index stops looking at the deletes of the input once it found close enough suggestions, where each shard
+        // keeps looking, so shards may find more suggestions at the closest distance, but never fewer
+        try (ShardedSymSpellClient client = new ShardedSymSpellClient(ring, addresses)) {
+            for (Verbosity verbosity : Verbosity.values()) {
+                List<List<SuggestItem>> results = client.lookup(INPUTS, verbosity, true).get(10, TimeUnit.SECONDS);
+
+                for (int i = 0; i < INPUTS.size(); i++) {
+                    List<SuggestItem> expected = full.lookup(INPUTS.get(i), verbosity, true);
+                    List<SuggestItem> merged = results.get(i);
+                    assertEquals(expected.get(0).getEditDistance(), merged.get(0).getEditDistance(), INPUTS.get(i));
+                    assertTrue(expected.get(0).getFrequencyOfSuggestionInDict() <= merged.get(0).getFrequencyOfSuggestionInDict(), INPUTS.get(i));
+                    if (verbosity == Verbosity.TOP) {
+                        assertEquals(1, merged.size());
+                    } else {
+                        assertTrue(terms(merged).containsAll(terms(expected)), INPUTS.get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void unknownInputIsSuggestedOnce() throws Exception {
+        try (ShardedSymSpellClient client = new ShardedSymSpellClient(ring, addresses)) {
+            assertEquals(full.lookup("xqzjkvw", Verbosity.ALL, true), client.lookup("xqzjkvw", Verbosity.ALL, true).get(10, TimeUnit.SECONDS));
+            assertEquals(Collections.emptyList(), client.lookup("xqzjkvw", Verbosity.ALL, false).get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void exactMatchIsSuggestedOnce() throws Exception {
+        List<List<SuggestItem>> suggestionsByShard = new ArrayList<>();
+        for (SymSpellImpl shard : shards) {
+            suggestionsByShard.add(shard.lookup("the", Verbosity.CLOSEST, false));
+        }
+
+        assertEquals(full.lookup("the", Verbosity.CLOSEST, false), ShardedSymSpellClient.merge("the", suggestionsByShard, Verbosity.CLOSEST));
+    }
+
+    @Test
+    void missingAddress() {
+        Map<String, InetSocketAddress> incomplete = new HashMap<>(addresses);
+        incomplete.remove("shard-2");
+
+        assertThrows(IllegalArgumentException.class, () -> new ShardedSymSpellClient(ring, incomplete));
+    }
+
+    @Test
+    void ringMovesFewKeysWhenANodeIsAdded() {
+        HashRing larger = new HashRing(Arrays.asList("shard-1", "shard-2", "shard-3", "shard-4"));
+        int moved = 0;
+        Map<String, Integer> keysByNode = new HashMap<>();
+        for (String word : unigrams.keySet()) {
+            String node = ring.nodeOf(word);
+            String newNode = larger.nodeOf(word);
+            keysByNode.merge(node, 1, Integer::sum);
+            if (!node.equals(newNode)) {
+                assertEquals("shard-4", newNode);
+                moved++;
+            }
+        }
+
+        assertEquals(unigrams.size() / 4.0, moved, unigrams.size() * 0.05);
+        for (String node : NODES) {
+            assertEquals(unigrams.size() / 3.0, keysByNode.get(node), unigrams.size() * 0.05);
+        }
+    }
+
+    @Test
+    void invalidRings() {
+        assertThrows(IllegalArgumentException.class, () -> new HashRing(Collections.emptyList()));
+        assertThrows(IllegalArgumentException.class, () -> new HashRing(Arrays.asList("a", "a")));
+        assertThrows(IllegalArgumentException.class, () -> new HashRing(NODES, 0));
+        assertThrows(IllegalArgumentException.class, () -> ring.partition("shard-9"));
+    }
+}
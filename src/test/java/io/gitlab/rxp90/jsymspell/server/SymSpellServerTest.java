@@ -0,0 +1,204 @@
+package io.gitlab.rxp90.jsymspell.server;
+
+import io.gitlab.rxp90.jsymspell.SymSpellBuilder;
+import io.gitlab.rxp90.jsymspell.SymSpellImpl;
+import io.gitlab.rxp90.jsymspell.Verbosity;
+import io.gitlab.rxp90.jsymspell.api.DamerauLevenshteinOSA;
+import io.gitlab.rxp90.jsymspell.api.SuggestItem;
+import io.gitlab.rxp90.jsymspell.exceptions.JSymSpellException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymSpellServerTest {
+
+    private static final InetSocketAddress LOOPBACK = new InetSocketAddress("127.0.0.1", 0);
+    private static final List<String> INPUTS = Arrays.asList("helo", "wrold", "speling", "acommodation", "teh", "the", "xqzjk");
+
+    private static SymSpellImpl symSpell;
+    private static ExecutorService executor;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        Map<String, Long> unigrams = Files.lines(Paths.get("src/test/resources/words.txt"))
+                                          .limit(20_000)
+                                          .map(line -> line.split(","))
+                                          .collect(Collectors.toMap(tokens -> tokens[0], tokens -> Long.parseLong(tokens[1])));
+        symSpell = new SymSpellBuilder().setUnigramLexicon(unigrams).createSymSpell();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void batchedLookupsMatchInProcessLookups() throws Exception {
+        try (SymSpellServer server = new SymSpellServer(symSpell, LOOPBACK);
+             SymSpellClient client = new SymSpellClient(server.getAddress())) {
+            for (Verbosity verbosity : Verbosity.values()) {
+                List<List<SuggestItem>> results = client.lookup(INPUTS, verbosity, true).get(10, TimeUnit.SECONDS);
+
+                assertEquals(INPUTS.size(), results.size());
+                for (int i = 0; i < INPUTS.size(); i++) {
+                    assertEquals(symSpell.lookup(INPUTS.get(i), verbosity, true), results.get(i));
+                }
+            }
+            assertEquals(symSpell.lookup("wrold", Verbosity.TOP, false), client.lookup("wrold", Verbosity.TOP, false).get(10, TimeUnit.SECONDS));
+            assertEquals(Collections.emptyList(), client.lookup(Collections.emptyList(), Verbosity.TOP, false).get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void batchedLookupCompound() throws Exception {
+        List<String> lines = Arrays.asList("whereis th elove", "the quikc brown fox", "");
+        try (SymSpellServer server = new SymSpellServer(symSpell, LOOPBACK);
+             SymSpellClient client = new SymSpellClient(server.getAddress())) {
+            List<List<SuggestItem>> results = client.lookupCompound(lines, 2, false).get(10, TimeUnit.SECONDS);
+
+            for (int i = 0; i < lines.size(); i++) {
+                assertEquals(symSpell.lookupCompound(lines.get(i), 2, false), results.get(i));
+            }
+        }
+    }
+
+    @Test
+    void pipelinedRequestsFromManyThreads() throws Exception {
+        try (SymSpellServer server = new SymSpellServer(symSpell, LOOPBACK, executor);
+             SymSpellClient client = new SymSpellClient(server.getAddress())) {
+            ExecutorService callers = Executors.newFixedThreadPool(8);
+            try {
+                List<CompletableFuture<List<SuggestItem>>> responses = new ArrayList<>();
+                List<String> inputs = new ArrayList<>();
+                for (int i = 0; i < 2_000; i++) {
+                    String input = INPUTS.get(i % INPUTS.size());
+                    inputs.add(input);
+                    responses.add(CompletableFuture.supplyAsync(() -> client.lookup(input, Verbosity.CLOSEST, false), callers)
+                                                   .thenCompose(response -> response));
+                }
+                for (int i = 0; i < responses.size(); i++) {
+                    assertEquals(symSpell.lookup(inputs.get(i), Verbosity.CLOSEST, false), responses.get(i).get(10, TimeUnit.SECONDS));
+                }
+            } finally {
+                callers.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void failedLookupCompletesWithError() throws Exception {
+        SymSpellImpl empty = new SymSpellBuilder().createSymSpell();
+        try (SymSpellServer server = new SymSpellServer(empty, LOOPBACK);
+             SymSpellClient client = new SymSpellClient(server.getAddress())) {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> client.lookup("helo", Verbosity.TOP, false).get(10, TimeUnit.SECONDS));
+
+            assertTrue(failure.getCause() instanceof JSymSpellException);
+            assertTrue(failure.getCause().getMessage().contains("no words in the lexicon"));
+        }
+    }
+
+    @Test
+    void errorsAreReturnedWithoutStoppingTheServer() throws Exception {
+        Map<String, Long> unigrams = new HashMap<>();
+        unigrams.put("hello", 10L);
+        unigrams.put("boom", 10L);
+        SymSpellImpl failing = new SymSpellBuilder().setUnigramLexicon(unigrams)
+                                                    .setStringDistanceAlgorithm((string1, string2, maxDistance) -> {
+                                                        if (string1.startsWith("boom") || string2.startsWith("boom")) {
+                                                            throw new StackOverflowError();
+                                                        }
+                                                        return new DamerauLevenshteinOSA().distanceWithEarlyStop(string1, string2, maxDistance);
+                                                    })
+                                                    .createSymSpell();
+        try (SymSpellServer server = new SymSpellServer(failing, LOOPBACK);
+             SymSpellClient client = new SymSpellClient(server.getAddress())) {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> client.lookup("boomo", Verbosity.TOP, false).get(10, TimeUnit.SECONDS));
+
+            assertTrue(failure.getCause().getMessage().contains("StackOverflowError"));
+            assertEquals("hello", client.lookup("helo", Verbosity.TOP, false).get(10, TimeUnit.SECONDS).get(0).getSuggestion());
+        }
+    }
+
+    @Test
+    void connectionsWithTooManyPendingRequestsAreNoLongerRead() throws Exception {
+        BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+        try (SymSpellServer server = new SymSpellServer(symSpell, LOOPBACK, tasks::add);
+             SymSpellClient client = new SymSpellClient(server.getAddress())) {
+            List<CompletableFuture<List<SuggestItem>>> responses = new ArrayList<>();
+            for (int i = 0; i < 3 * SymSpellServer.MAX_PENDING_REQUESTS; i++) {
+                responses.add(client.lookup(INPUTS.get(i % INPUTS.size()), Verbosity.TOP, false));
+            }
+            List<Runnable> accepted = new ArrayList<>();
+            while (accepted.size() < SymSpellServer.MAX_PENDING_REQUESTS) {
+                accepted.add(tasks.poll(10, TimeUnit.SECONDS));
+            }
+            assertNull(tasks.poll(200, TimeUnit.MILLISECONDS));
+
+            // Responses make room for the requests left unread
+            accepted.forEach(Runnable::run);
+            for (int i = accepted.size(); i < responses.size(); i++) {
+                tasks.poll(10, TimeUnit.SECONDS).run();
+            }
+            for (int i = 0; i < responses.size(); i++) {
+                assertEquals(symSpell.lookup(INPUTS.get(i % INPUTS.size()), Verbosity.TOP, false), responses.get(i).get(10, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    @Test
+    void malformedRequestClosesOnlyItsConnection() throws Exception {
+        try (SymSpellServer server = new SymSpellServer(symSpell, LOOPBACK);
+             SymSpellClient client = new SymSpellClient(server.getAddress())) {
+            try (Socket socket = new Socket(server.getAddress().getAddress(), server.getAddress().getPort())) {
+                OutputStream out = socket.getOutputStream();
+                out.write(new byte[]{0, 0, 0, 5, 0, 0, 0, 1, 42});
+                out.flush();
+                assertEquals(-1, socket.getInputStream().read());
+            }
+
+            assertEquals(symSpell.lookup("helo", Verbosity.TOP, false), client.lookup("helo", Verbosity.TOP, false).get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void closedServerFailsPendingAndLaterRequests() throws Exception {
+        SymSpellServer server = new SymSpellServer(symSpell, LOOPBACK);
+        try (SymSpellClient client = new SymSpellClient(server.getAddress())) {
+            client.lookup("helo", Verbosity.TOP, false).get(10, TimeUnit.SECONDS);
+            server.close();
+
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> {
+                // The first requests may be written before the connection is known to be closed
+                for (int i = 0; i < 100; i++) {
+                    client.lookup("helo", Verbosity.TOP, false).get(10, TimeUnit.SECONDS);
+                    Thread.sleep(10);
+                }
+            });
+            assertTrue(failure.getCause() instanceof IOException);
+        }
+    }
+}